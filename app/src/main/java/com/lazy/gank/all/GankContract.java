@@ -1,9 +1,13 @@
 package com.lazy.gank.all;
 
+import com.lazy.gank.base.PageCursor;
 import com.lazy.gank.entity.GankResult;
 import com.lazy.gank.entity.GankResults;
 import com.lazy.gank.interfaces.mvp.BasePresenter;
 import com.lazy.gank.interfaces.mvp.BaseView;
+import com.lazy.gank.network.PriorityGroup;
+
+import java.util.List;
 
 /**
  * Created by Sky on 2016/9/21.
@@ -16,16 +20,65 @@ public interface GankContract {
 	interface Presenter extends BasePresenter {
 		void showGank(int page, int count);
 
+		/**
+		 * 流式加载, 结果分批回调 {@link View#showGankBatch(List)}
+		 */
+		void showGankBatches(PageCursor.Window window);
+
+		/**
+		 * 下拉刷新: 丢弃预取的页, 不使用 HTTP 缓存, 结果同样分批回调
+		 */
+		void refreshGank(PageCursor.Window window);
+
+		/**
+		 * 提前请求 window, 之后 offset 相同的 {@link #showGankBatches(PageCursor.Window)} 直接使用结果
+		 */
+		void prefetchGank(PageCursor.Window window);
+
+		/**
+		 * 本地保存的 window 这一段 (从 offset 开始), 回调 {@link View#showLocalGank(List)}.
+		 * {@link #showGankBatches(PageCursor.Window)} 会先调用它
+		 */
+		void showLocalGank(PageCursor.Window window);
+
+		/**
+		 * 丢弃预取的页
+		 */
+		void clearPrefetched();
+
 		void setView(View View);
 	}
 
-	interface View extends BaseView {
+	/**
+	 * 请求按 {@link PriorityGroup.Owner#getPriorityGroup()} 的优先级排队
+	 */
+	interface View extends BaseView, PriorityGroup.Owner {
 		String getCategory();
 
-		int getCurrentPage();
-
-		int getCount();
+		/**
+		 * @return 下一页的请求, 条数随网络情况变化
+		 */
+		PageCursor.Window getNextWindow();
 
 		void showGank(GankResults<GankResult> results);
+
+		/**
+		 * 网络返回之前先显示的本地数据, 之后同一页的 {@link #showGankBatch(List)} 按位置替换它
+		 */
+		void showLocalGank(List<GankResult> local);
+
+		void showGankBatch(List<GankResult> batch);
+
+		/**
+		 * 一页加载完成
+		 *
+		 * @param itemCount 本页条数, 0 表示没有更多了
+		 */
+		void onGankPageLoaded(int itemCount);
+
+		/**
+		 * 一页加载失败, 可以再次加载
+		 */
+		void onGankPageFailed();
 	}
 }
@@ -6,6 +6,8 @@ import android.view.View;
 import android.widget.Toast;
 
 import com.chad.library.adapter.base.BaseQuickAdapter;
+import com.lazy.gank.base.PageMerger;
+import com.lazy.gank.base.PageSizePolicy;
 import com.lazy.gank.base.TabContentFragment;
 import com.lazy.gank.entity.GankResult;
 import com.lazy.gank.entity.GankResults;
@@ -15,6 +17,7 @@ import com.lazy.gank.logging.Logcat;
 import com.lazy.gank.recommend.GankListAdapter;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.inject.Inject;
 
@@ -26,7 +29,12 @@ import javax.inject.Inject;
 
 public class GankFragment extends TabContentFragment implements BaseQuickAdapter.OnRecyclerViewItemClickListener,
 		BaseQuickAdapter.RequestLoadMoreListener, GankContract.View, Call<GankPresenter> {
-	int mPageSize = 30;
+	//没有下一页时不再预取
+	boolean mHasMore = true;
+	//正在加载的页还没有计入 mCursor, 这时不预取
+	boolean mLoadingPage;
+	//每页先显示本地数据, 网络结果按位置替换
+	PageMerger<GankResult> mMerger;
 
 	GankListAdapter mGankListAdapter;
 
@@ -61,13 +69,14 @@ public class GankFragment extends TabContentFragment implements BaseQuickAdapter
 		recyclerView.setLayoutManager(layoutManager);
 		mGankListAdapter = new GankListAdapter(new ArrayList<GankResult>(0));
 		recyclerView.setAdapter(mGankListAdapter);
+		mMerger = new PageMerger<>(mGankListAdapter.getData());
 	}
 
 	@Override
 	public void setViewListener() {
 		super.setViewListener();
 		mGankListAdapter.openLoadAnimation();
-		mGankListAdapter.openLoadMore(mPageSize, true);
+		mGankListAdapter.openLoadMore(PageSizePolicy.MIN_PAGE_SIZE, true);
 		mGankListAdapter.setOnRecyclerViewItemClickListener(this);
 		mGankListAdapter.setOnLoadMoreListener(this);
 	}
@@ -77,6 +86,8 @@ public class GankFragment extends TabContentFragment implements BaseQuickAdapter
 		super.processExtraData();
 		mCategory = getArguments().getString("Category");
 
+		mLoadingPage = true;
+		mMerger.begin();
 		mPresenter.subscribe();
 
 	}
@@ -84,16 +95,26 @@ public class GankFragment extends TabContentFragment implements BaseQuickAdapter
 	@Override
 	public void onRefresh() {
 		page = 1;
+		mCursor.reset();
+		mHasMore = true;
 		mGankListAdapter.getData().clear();
-		mPresenter.showGank(page, mPageSize);
+		mLoadingPage = true;
+		mMerger.begin();
+		mPresenter.refreshGank(getNextWindow());
 	}
 
 	@Override
 	public void onLoadMoreRequested() {
+		if (mLoadingPage) {
+			//本地数据显示时第一页还没回来
+			return;
+		}
 		++page;
 		Logcat.d("onLoadMoreRequested" + "page = " + page);
 		Toast.makeText(getContext(), "第" + page + "页", Toast.LENGTH_SHORT).show();
-		mPresenter.showGank(page, mPageSize);
+		mLoadingPage = true;
+		mMerger.begin();
+		mPresenter.showGankBatches(getNextWindow());
 	}
 
 	@Override
@@ -108,8 +129,14 @@ public class GankFragment extends TabContentFragment implements BaseQuickAdapter
 	}
 
 	@Override
-	public int getCount() {
-		return mPageSize;
+	public void onPrefetch(int pagesAhead) {
+		if (!mHasMore || mLoadingPage) {
+			return;
+		}
+		int size = getPageSize();
+		for (int i = 0; i < pagesAhead; i++) {
+			mPresenter.prefetchGank(mCursor.peek(i, size));
+		}
 	}
 
 	@Override
@@ -124,6 +151,44 @@ public class GankFragment extends TabContentFragment implements BaseQuickAdapter
 		}
 	}
 
+	@Override
+	public void showLocalGank(List<GankResult> local) {
+		if (mMerger.showLocal(local)) {
+			mGankListAdapter.notifyDataSetChanged();
+		}
+	}
+
+	@Override
+	public void showGankBatch(List<GankResult> batch) {
+		mMerger.addBatch(batch);
+		mGankListAdapter.notifyDataSetChanged();
+	}
+
+	@Override
+	public void onGankPageLoaded(int itemCount) {
+		mLoadingPage = false;
+		if (mMerger.complete() > 0) {
+			mGankListAdapter.notifyDataSetChanged();
+		}
+		mCursor.advance(itemCount);
+		if (itemCount > 0) {
+			mGankListAdapter.notifyDataChangedAfterLoadMore(true);
+		} else {
+			mHasMore = false;
+			mGankListAdapter.openLoadMore(false);
+			showMessage("到底~\\(≧▽≦)/~啦啦啦");
+			mGankListAdapter.notifyDataChangedAfterLoadMore(false);
+		}
+	}
+
+	@Override
+	public void onGankPageFailed() {
+		mLoadingPage = false;
+		//本地条目留在列表里, 下一页从它们之后开始
+		mCursor.advance(mMerger.fail());
+		mGankListAdapter.notifyDataChangedAfterLoadMore(true);
+	}
+
 	@Override
 	public GankPresenter getPresenter() {
 		return mPresenter;
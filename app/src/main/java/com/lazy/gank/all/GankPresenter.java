@@ -1,15 +1,22 @@
 package com.lazy.gank.all;
 
+import com.lazy.gank.base.PageBuffer;
+import com.lazy.gank.base.PageCursor;
+import com.lazy.gank.data.GankRepository;
 import com.lazy.gank.entity.GankResult;
 import com.lazy.gank.entity.GankResults;
-import com.lazy.gank.network.GankService;
+import com.lazy.gank.network.RequestPriority;
+
+import java.util.List;
 
 import javax.inject.Inject;
 
+import rx.Observable;
 import rx.Subscriber;
 import rx.Subscription;
 import rx.android.schedulers.AndroidSchedulers;
-import rx.schedulers.Schedulers;
+import rx.functions.Action1;
+import rx.subscriptions.CompositeSubscription;
 
 /**
  * Created by Sky on 2016/9/21.
@@ -18,16 +25,23 @@ import rx.schedulers.Schedulers;
  */
 
 public class GankPresenter implements GankContract.Presenter {
+	//流式加载时每批条数
+	public static final int BATCH_SIZE = 5;
+
 	GankContract.View mView;
-	GankService mGankService;
+	GankRepository mGankRepository;
+	private CompositeSubscription mCompositeSubscription;
+	//预取的页
+	private final PageBuffer<GankResult> mPrefetched = new PageBuffer<>();
 
 	@Inject
 	public GankPresenter() {
+		mCompositeSubscription = new CompositeSubscription();
 	}
 
 	@Inject
-	public void setGankService(GankService mGankService) {
-		this.mGankService = mGankService;
+	public void setGankRepository(GankRepository mGankRepository) {
+		this.mGankRepository = mGankRepository;
 	}
 
 	public void setView(GankContract.View mView) {
@@ -36,9 +50,9 @@ public class GankPresenter implements GankContract.Presenter {
 
 	@Override
 	public void showGank(int page, int count) {
-		Subscription subscribe = mGankService
+		Subscription subscribe = mGankRepository
 				.getCategoryData(mView.getCategory(), count, page)
-				.subscribeOn(Schedulers.io())
+				.subscribeOn(mView.getPriorityGroup().scheduler())
 				.observeOn(AndroidSchedulers.mainThread())
 				.subscribe(new Subscriber<GankResults<GankResult>>() {
 
@@ -63,15 +77,121 @@ public class GankPresenter implements GankContract.Presenter {
 						mView.showGank(results);
 					}
 				});
+		mCompositeSubscription.add(subscribe);
+	}
+
+	/**
+	 * 边下载边解析, 每 {@link #BATCH_SIZE} 条发射一次, 已去掉 window 开头加载过的条目
+	 *
+	 * @param window
+	 * @param refresh 下拉刷新, 不使用 HTTP 缓存
+	 * @return
+	 */
+	public Observable<List<GankResult>> getGankBatches(PageCursor.Window window, boolean refresh) {
+		return mGankRepository.getCategoryBatches(mView.getCategory(), window, BATCH_SIZE, refresh);
+	}
+
+	@Override
+	public void prefetchGank(PageCursor.Window window) {
+		if (mPrefetched.contains(window.offset)) {
+			return;
+		}
+		//按 offset 保存, 之后页大小变了也能用
+		//预取排在用户正在等的请求后面
+		mPrefetched.prefetch(window.offset, mGankRepository
+				.getCategoryPage(mView.getCategory(), window)
+				.subscribeOn(mView.getPriorityGroup().scheduler(RequestPriority.PREFETCH)));
+	}
+
+	@Override
+	public void clearPrefetched() {
+		mPrefetched.clear();
+	}
+
+	@Override
+	public void showGankBatches(PageCursor.Window window) {
+		showLocalGank(window);
+		Observable<List<GankResult>> prefetched = mPrefetched.take(window.offset);
+		loadGankBatches(prefetched == null ? getGankBatches(window, false)
+				//预取失败时再走一次流式请求
+				: prefetched.onErrorResumeNext(getGankBatches(window, false)));
+	}
+
+	@Override
+	public void refreshGank(PageCursor.Window window) {
+		mPrefetched.clear();
+		loadGankBatches(getGankBatches(window, true));
+	}
+
+	private void loadGankBatches(Observable<List<GankResult>> source) {
+		Subscription subscribe = source
+				.subscribeOn(mView.getPriorityGroup().scheduler())
+				.observeOn(AndroidSchedulers.mainThread())
+				.subscribe(new Subscriber<List<GankResult>>() {
+					int mItemCount;
+
+					@Override
+					public void onStart() {
+						super.onStart();
+						mView.showLoading();
+					}
+
+					@Override
+					public void onCompleted() {
+						mView.hideLoading();
+						mView.onGankPageLoaded(mItemCount);
+					}
+
+					@Override
+					public void onError(Throwable e) {
+						mView.hideLoading();
+						mView.onGankPageFailed();
+						mView.showMessage("网络错误");
+					}
+
+					@Override
+					public void onNext(List<GankResult> batch) {
+						if (mItemCount == 0) {
+							//第一批到达就可以隐藏 loading 了
+							mView.hideLoading();
+						}
+						mItemCount += batch.size();
+						mView.showGankBatch(batch);
+					}
+				});
+		mCompositeSubscription.add(subscribe);
+	}
+
+	@Override
+	public void showLocalGank(PageCursor.Window window) {
+		Subscription subscribe = mGankRepository
+				.getLocalPage(mView.getCategory(), window.offset, window.newItems())
+				.subscribeOn(mView.getPriorityGroup().scheduler())
+				.observeOn(AndroidSchedulers.mainThread())
+				.subscribe(new Action1<List<GankResult>>() {
+					@Override
+					public void call(List<GankResult> local) {
+						mView.showLocalGank(local);
+					}
+				}, new Action1<Throwable>() {
+					@Override
+					public void call(Throwable throwable) {
+						//本地没有就等网络
+					}
+				});
+		mCompositeSubscription.add(subscribe);
 	}
 
 	@Override
 	public void subscribe() {
-		showGank(mView.getCurrentPage(), mView.getCount());
+		//先显示本地保存的, 网络结果到达后按位置替换
+		showGankBatches(mView.getNextWindow());
 	}
 
 	@Override
 	public void unsubscribe() {
-
+		mPrefetched.clear();
+		//presenter 随 fragment 保留, 视图重建后还要继续 add, 不能 unsubscribe
+		mCompositeSubscription.clear();
 	}
 }
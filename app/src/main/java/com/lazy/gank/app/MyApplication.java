@@ -28,6 +28,9 @@ import com.umeng.analytics.MobclickAgent;
 import java.util.HashSet;
 import java.util.Set;
 
+import rx.functions.Action1;
+import rx.schedulers.Schedulers;
+
 /**
  * Created by lazy on 16/8/14.
  */
@@ -62,6 +65,7 @@ public class MyApplication extends Application implements IConstant {
 		initialize();
 		initializeUMAnalytics();
 		this.initializeInjector();
+		initializeSearchIndex();
 	}
 
 	private void initializeUMAnalytics() {
@@ -78,6 +82,26 @@ public class MyApplication extends Application implements IConstant {
 				.build();
 	}
 
+	/**
+	 * 搜索索引只在内存里, 后台用本地保存的干货重建
+	 */
+	private void initializeSearchIndex() {
+		mApplicationComponent.getGankRepository()
+				.loadSearchIndex()
+				.subscribeOn(Schedulers.io())
+				.subscribe(new Action1<Integer>() {
+					@Override
+					public void call(Integer count) {
+						Logcat.d("search index loaded: " + count, TAG);
+					}
+				}, new Action1<Throwable>() {
+					@Override
+					public void call(Throwable throwable) {
+						Logcat.w("load search index failed: " + throwable, TAG);
+					}
+				});
+	}
+
 	private void initialize() {
 		mApplication = this;
 		mContext = this.getApplicationContext();
@@ -0,0 +1,82 @@
+package com.lazy.gank.base;
+
+import android.support.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import rx.Observable;
+import rx.Subscription;
+import rx.observables.ConnectableObservable;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 预取页的有界缓冲: 按页码保存已发起的请求, 满了就不再预取.
+ * <p>
+ * {@link #take(int)} 取出后由调用方订阅, 请求未结束时订阅者会等到结果;
+ * {@link #clear()} 取消所有未取出的请求并丢弃结果.
+ */
+public class PageBuffer<T> {
+	public static final int DEFAULT_CAPACITY = 2;
+
+	private final int mCapacity;
+	private final Map<Integer, Page<T>> mPages = new HashMap<>();
+
+	public PageBuffer() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public PageBuffer(int capacity) {
+		this.mCapacity = capacity;
+	}
+
+	/**
+	 * @param page
+	 * @param source 需要自己指定 subscribeOn
+	 * @return 是否发起了预取
+	 */
+	public synchronized boolean prefetch(int page, Observable<List<T>> source) {
+		if (mPages.containsKey(page) || mPages.size() >= mCapacity) {
+			return false;
+		}
+		ConnectableObservable<List<T>> replay = source.replay();
+		Page<T> entry = new Page<>(replay);
+		mPages.put(page, entry);
+		entry.mSubscription = replay.connect();
+		return true;
+	}
+
+	/**
+	 * @param page
+	 * @return 预取的结果, 没有预取过返回 null
+	 */
+	@Nullable
+	public synchronized Observable<List<T>> take(int page) {
+		Page<T> entry = mPages.remove(page);
+		return entry == null ? null : entry.mResult;
+	}
+
+	public synchronized boolean contains(int page) {
+		return mPages.containsKey(page);
+	}
+
+	public synchronized void clear() {
+		for (Page<T> entry : mPages.values()) {
+			if (entry.mSubscription != null) {
+				entry.mSubscription.unsubscribe();
+			}
+		}
+		mPages.clear();
+	}
+
+	private static final class Page<T> {
+		final Observable<List<T>> mResult;
+		Subscription mSubscription;
+
+		Page(Observable<List<T>> result) {
+			this.mResult = result;
+		}
+	}
+}
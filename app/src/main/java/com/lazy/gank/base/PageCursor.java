@@ -0,0 +1,163 @@
+package com.lazy.gank.base;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 按已加载条数 (offset) 而不是页码翻页, 每次请求的条数可以不同.
+ * <p>
+ * gank.io 只支持 count/page 对齐的窗口 [(page - 1) * count, page * count), 页大小变化后
+ * offset 不一定对齐: 这时在 [size / 2, size] 里选余数最小的 count, 请求覆盖 offset 的那一页,
+ * 丢掉开头已经加载过的 {@link Window#skip} 条.
+ * <p>
+ * count 只取 {@link #COUNTS} 里的几种, 不同页大小 / 预取和翻页请求的 URL 相同, 能命中 HTTP 缓存和合并中的请求.
+ */
+public class PageCursor {
+	//请求的 count 只用这几种, 从小到大
+	static final int[] COUNTS = {10, 20, 30, 50};
+
+	private int mOffset;
+
+	/**
+	 * @return 已加载的条数
+	 */
+	public int getOffset() {
+		return mOffset;
+	}
+
+	/**
+	 * 一页加载完成
+	 *
+	 * @param itemCount 实际新增的条数
+	 */
+	public void advance(int itemCount) {
+		mOffset += itemCount;
+	}
+
+	public void reset() {
+		mOffset = 0;
+	}
+
+	/**
+	 * @param size 期望的页大小
+	 * @return 下一页
+	 */
+	@NonNull
+	public Window next(int size) {
+		return window(mOffset, size);
+	}
+
+	/**
+	 * 假设之前的每页都是满的, 第 ahead 个之后的页, 用于预取
+	 *
+	 * @param ahead 1 表示 {@link #next(int)} 之后的一页
+	 * @param size
+	 * @return
+	 */
+	@NonNull
+	public Window peek(int ahead, int size) {
+		Window window = window(mOffset, size);
+		for (int i = 0; i < ahead; i++) {
+			window = window(window.offset + window.newItems(), size);
+		}
+		return window;
+	}
+
+	@NonNull
+	static Window window(int offset, int size) {
+		//不超过 size 的最大的一种, 至少是最小的一种
+		int largest = 0;
+		while (largest + 1 < COUNTS.length && COUNTS[largest + 1] <= size) {
+			largest++;
+		}
+		int count = COUNTS[largest];
+		int skip = offset % count;
+		//余数相同时用大的
+		for (int i = largest - 1; i >= 0 && COUNTS[i] >= COUNTS[largest] / 2 && skip > 0; i--) {
+			if (offset % COUNTS[i] < skip) {
+				count = COUNTS[i];
+				skip = offset % count;
+			}
+		}
+		return new Window(offset, count, offset / count + 1, skip);
+	}
+
+	/**
+	 * 一次请求: 第 page 页, 每页 count 条, 丢掉开头 skip 条后从 offset 开始
+	 */
+	public static final class Window {
+		public final int offset;
+		public final int count;
+		public final int page;
+		public final int skip;
+
+		Window(int offset, int count, int page, int skip) {
+			this.offset = offset;
+			this.count = count;
+			this.page = page;
+			this.skip = skip;
+		}
+
+		/**
+		 * @return 这一页满的时候新增的条数
+		 */
+		public int newItems() {
+			return count - skip;
+		}
+
+		/**
+		 * 丢掉分批结果开头的 {@link #skip} 条, 每次订阅重新计数
+		 *
+		 * @param <T>
+		 * @return
+		 */
+		@NonNull
+		public <T> Observable.Transformer<List<T>, List<T>> trim() {
+			return new Observable.Transformer<List<T>, List<T>>() {
+				@Override
+				public Observable<List<T>> call(final Observable<List<T>> batches) {
+					if (skip == 0) {
+						return batches;
+					}
+					return Observable.defer(new Func0<Observable<List<T>>>() {
+						@Override
+						public Observable<List<T>> call() {
+							final int[] remaining = {skip};
+							return batches
+									.map(new Func1<List<T>, List<T>>() {
+										@Override
+										public List<T> call(List<T> batch) {
+											if (remaining[0] == 0) {
+												return batch;
+											}
+											int drop = Math.min(remaining[0], batch.size());
+											remaining[0] -= drop;
+											return new ArrayList<>(batch.subList(drop, batch.size()));
+										}
+									})
+									.filter(new Func1<List<T>, Boolean>() {
+										@Override
+										public Boolean call(List<T> batch) {
+											return !batch.isEmpty();
+										}
+									});
+						}
+					});
+				}
+			};
+		}
+
+		@Override
+		public String toString() {
+			return "Window{offset=" + offset + ", count=" + count + ", page=" + page + ", skip=" + skip + '}';
+		}
+	}
+}
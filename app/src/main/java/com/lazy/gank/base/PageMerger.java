@@ -0,0 +1,102 @@
+package com.lazy.gank.base;
+
+import android.support.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 把一页的本地数据和随后到达的网络分批结果合并进同一个列表 (adapter 的数据).
+ * <p>
+ * {@link #begin()} 记下这一页的起点, 本地数据先追加在后面; 网络的每一批按位置替换本地的条目, 超出的追加.
+ * 整页结束时删除网络没有覆盖到的本地条目; 失败时本地条目留下, 当作这一页已加载的内容.
+ * 第一批网络结果之后到达的本地数据丢弃. 只在主线程使用.
+ */
+public class PageMerger<T> {
+	private final List<T> mData;
+	private int mStart;
+	private int mLocalCount;
+	private int mReceived;
+	private boolean mActive;
+
+	/**
+	 * @param data 显示用的列表, 直接修改它
+	 */
+	public PageMerger(@NonNull List<T> data) {
+		this.mData = data;
+	}
+
+	/**
+	 * 开始加载新的一页, 之后的数据从列表末尾开始
+	 */
+	public void begin() {
+		mStart = mData.size();
+		mLocalCount = 0;
+		mReceived = 0;
+		mActive = true;
+	}
+
+	/**
+	 * @param local
+	 * @return 是否修改了列表
+	 */
+	public boolean showLocal(@NonNull List<T> local) {
+		if (!mActive || mReceived > 0 || mLocalCount > 0 || local.isEmpty()) {
+			return false;
+		}
+		mData.addAll(local);
+		mLocalCount = local.size();
+		return true;
+	}
+
+	/**
+	 * @param batch 网络的一批, 按顺序
+	 */
+	public void addBatch(@NonNull List<T> batch) {
+		if (!mActive) {
+			begin();
+		}
+		for (T item : batch) {
+			int position = mStart + mReceived++;
+			if (mReceived <= mLocalCount) {
+				mData.set(position, item);
+			} else {
+				mData.add(position, item);
+			}
+		}
+	}
+
+	/**
+	 * 整页加载完成, 删除网络没有覆盖到的本地条目
+	 *
+	 * @return 删除的条数
+	 */
+	public int complete() {
+		int removed = 0;
+		if (mActive && mReceived < mLocalCount) {
+			removed = mLocalCount - mReceived;
+			mData.subList(mStart + mReceived, mStart + mLocalCount).clear();
+		}
+		mActive = false;
+		return removed;
+	}
+
+	/**
+	 * 加载失败, 本地条目保留
+	 *
+	 * @return 这一页留下的条数, 调用方计入已加载的 offset
+	 */
+	public int fail() {
+		int kept = mActive ? Math.max(mLocalCount, mReceived) : 0;
+		mActive = false;
+		return kept;
+	}
+
+	/**
+	 * @return 是否有还没被网络结果替换的本地条目
+	 */
+	public boolean isShowingLocal() {
+		return mActive && mReceived < mLocalCount;
+	}
+}
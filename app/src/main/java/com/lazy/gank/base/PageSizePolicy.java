@@ -0,0 +1,82 @@
+package com.lazy.gank.base;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.support.annotation.NonNull;
+import android.support.v4.net.ConnectivityManagerCompat;
+
+import com.lazy.gank.network.RetrofitManager;
+import com.lazy.gank.network.metrics.ThroughputEstimator;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 根据测得的延迟 / 带宽决定每页条数: 让一页大约在 {@link #TARGET_MILLIS} 内下载完.
+ * <p>
+ * 快的网络用大页, 滑同样多的内容请求次数更少; 慢或按流量计费的网络用小页, 第一页出来得更快.
+ * 结果取 10 的倍数, 相同条数的请求能命中 HTTP 缓存, {@link PageCursor} 也更容易对齐.
+ */
+public class PageSizePolicy {
+	//gank.io 单页最多 50 条
+	public static final int MIN_PAGE_SIZE = 10;
+	public static final int MAX_PAGE_SIZE = 50;
+	//还没有测量数据时
+	public static final int DEFAULT_PAGE_SIZE = 20;
+	//一页期望的下载时间
+	public static final long TARGET_MILLIS = 800;
+	//一条干货 JSON 的平均大小, 录制的 api/data/Android/50/1 约 300 字节/条
+	public static final int ITEM_BYTES = 320;
+
+	private static PageSizePolicy sPageSizePolicy;
+
+	private final Context mContext;
+	private final ThroughputEstimator mEstimator;
+
+	PageSizePolicy(Context context, ThroughputEstimator estimator) {
+		this.mContext = context;
+		this.mEstimator = estimator;
+	}
+
+	@NonNull
+	public static PageSizePolicy getInstance(@NonNull Context context) {
+		if (sPageSizePolicy == null) {
+			synchronized (PageSizePolicy.class) {
+				if (sPageSizePolicy == null) {
+					sPageSizePolicy = new PageSizePolicy(context.getApplicationContext(),
+							RetrofitManager.getInstance().getNetworkMetrics().getThroughputEstimator());
+				}
+			}
+		}
+		return sPageSizePolicy;
+	}
+
+	/**
+	 * @return 下一次请求的条数
+	 */
+	public int pageSize() {
+		return pageSize(mEstimator.getLatencyMillis(), mEstimator.getBytesPerSecond(), isMetered());
+	}
+
+	private boolean isMetered() {
+		ConnectivityManager manager = (ConnectivityManager) mContext.getSystemService(Context.CONNECTIVITY_SERVICE);
+		return manager != null && ConnectivityManagerCompat.isActiveNetworkMetered(manager);
+	}
+
+	/**
+	 * @param latencyMillis  -1 表示未知
+	 * @param bytesPerSecond -1 表示未知
+	 * @param metered
+	 * @return
+	 */
+	static int pageSize(long latencyMillis, long bytesPerSecond, boolean metered) {
+		int size;
+		if (bytesPerSecond < 0) {
+			size = DEFAULT_PAGE_SIZE;
+		} else {
+			long budget = TARGET_MILLIS - Math.max(0, latencyMillis);
+			long items = budget <= 0 ? 0 : budget * bytesPerSecond / 1000 / ITEM_BYTES;
+			size = (int) Math.max(MIN_PAGE_SIZE, Math.min(MAX_PAGE_SIZE, items / 10 * 10));
+		}
+		return metered ? Math.min(size, DEFAULT_PAGE_SIZE) : size;
+	}
+}
@@ -0,0 +1,93 @@
+package com.lazy.gank.base;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.StaggeredGridLayoutManager;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 根据滑动速度和离列表底部的距离, 在 onLoadMoreRequested 之前提前请求后面的页.
+ * <p>
+ * 慢速滑动: 剩余不足 {@link #NEAR_END_SCREENS} 屏时预取 1 页;
+ * 快速 fling: 剩余不足 {@link #FAST_NEAR_END_SCREENS} 屏时预取 2 页.
+ */
+public class PrefetchScrollListener extends RecyclerView.OnScrollListener {
+	//dp/s 以上算快速 fling
+	public static final int FAST_VELOCITY_DP = 3000;
+	public static final int NEAR_END_SCREENS = 2;
+	public static final int FAST_NEAR_END_SCREENS = 4;
+
+	public interface Callback {
+		/**
+		 * @param pagesAhead 需要预取的页数, 1 或 2
+		 */
+		void onPrefetch(int pagesAhead);
+	}
+
+	private final Callback mCallback;
+	private final float mFastVelocity;
+	private long mLastScrollTime;
+	//px/s, 平滑后的速度
+	private float mVelocity;
+	private int[] mLastPositions;
+
+	public PrefetchScrollListener(@NonNull RecyclerView recyclerView, @NonNull Callback callback) {
+		this.mCallback = callback;
+		this.mFastVelocity = FAST_VELOCITY_DP * recyclerView.getResources().getDisplayMetrics().density;
+	}
+
+	@Override
+	public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+		if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+			mVelocity = 0;
+			mLastScrollTime = 0;
+		}
+	}
+
+	@Override
+	public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+		if (dy <= 0) {
+			return;
+		}
+		long now = SystemClock.uptimeMillis();
+		if (mLastScrollTime != 0 && now > mLastScrollTime) {
+			float instant = dy * 1000f / (now - mLastScrollTime);
+			mVelocity = mVelocity == 0 ? instant : mVelocity * 0.6f + instant * 0.4f;
+		}
+		mLastScrollTime = now;
+
+		RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+		int visibleCount = layoutManager == null ? 0 : layoutManager.getChildCount();
+		int lastVisible = lastVisiblePosition(layoutManager);
+		if (visibleCount == 0 || lastVisible < 0) {
+			return;
+		}
+		int remaining = layoutManager.getItemCount() - 1 - lastVisible;
+		boolean fast = mVelocity >= mFastVelocity;
+		int threshold = visibleCount * (fast ? FAST_NEAR_END_SCREENS : NEAR_END_SCREENS);
+		if (remaining <= threshold) {
+			mCallback.onPrefetch(fast ? 2 : 1);
+		}
+	}
+
+	private int lastVisiblePosition(RecyclerView.LayoutManager layoutManager) {
+		if (layoutManager instanceof LinearLayoutManager) {
+			return ((LinearLayoutManager) layoutManager).findLastVisibleItemPosition();
+		}
+		if (layoutManager instanceof StaggeredGridLayoutManager) {
+			StaggeredGridLayoutManager grid = (StaggeredGridLayoutManager) layoutManager;
+			if (mLastPositions == null || mLastPositions.length != grid.getSpanCount()) {
+				mLastPositions = new int[grid.getSpanCount()];
+			}
+			int last = -1;
+			for (int position : grid.findLastVisibleItemPositions(mLastPositions)) {
+				last = Math.max(last, position);
+			}
+			return last;
+		}
+		return -1;
+	}
+}
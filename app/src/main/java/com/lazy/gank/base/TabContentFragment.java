@@ -1,11 +1,15 @@
 package com.lazy.gank.base;
 
+import android.support.annotation.NonNull;
 import android.support.v4.widget.SwipeRefreshLayout;
 import android.support.v7.widget.RecyclerView;
 import android.view.View;
 import android.widget.ProgressBar;
 
 import com.lazy.gank.R;
+import com.lazy.gank.network.PriorityGroup;
+import com.lazy.gank.network.PriorityScheduler;
+import com.lazy.gank.network.RequestPriority;
 
 import butterknife.BindView;
 
@@ -15,7 +19,8 @@ import butterknife.BindView;
  * @Describe
  */
 
-public abstract class TabContentFragment extends BaseFragment implements SwipeRefreshLayout.OnRefreshListener {
+public abstract class TabContentFragment extends BaseFragment implements SwipeRefreshLayout.OnRefreshListener,
+		PrefetchScrollListener.Callback, PriorityGroup.Owner {
 
 	@BindView(R.id.recyclerView)
 	protected RecyclerView recyclerView;
@@ -26,6 +31,11 @@ public abstract class TabContentFragment extends BaseFragment implements SwipeRe
 
 	//
 	protected int page = 1;
+	//按已加载条数翻页, 每页条数由 PageSizePolicy 按网络情况决定
+	protected final PageCursor mCursor = new PageCursor();
+	private PrefetchScrollListener mPrefetchScrollListener;
+	//本页请求的优先级, 由 MainActivity 按是否为当前 tab 设置
+	private final PriorityGroup mPriorityGroup = PriorityScheduler.getInstance().newGroup(RequestPriority.ADJACENT);
 
 	@Override
 	public final int getLayoutId() {
@@ -40,6 +50,26 @@ public abstract class TabContentFragment extends BaseFragment implements SwipeRe
 	@Override
 	public void setViewListener() {
 		swipRefreshLayout.setOnRefreshListener(this);
+		mPrefetchScrollListener = new PrefetchScrollListener(recyclerView, this);
+		recyclerView.addOnScrollListener(mPrefetchScrollListener);
+	}
+
+	/**
+	 * 列表快到底时回调, 子类在这里预取 {@link PageCursor#peek(int, int)} 1 .. pagesAhead
+	 *
+	 * @param pagesAhead
+	 */
+	@Override
+	public void onPrefetch(int pagesAhead) {
+
+	}
+
+	@Override
+	public void onDestroyView() {
+		if (recyclerView != null && mPrefetchScrollListener != null) {
+			recyclerView.removeOnScrollListener(mPrefetchScrollListener);
+		}
+		super.onDestroyView();
 	}
 
 	@Override
@@ -47,10 +77,30 @@ public abstract class TabContentFragment extends BaseFragment implements SwipeRe
 
 	}
 
+	@NonNull
+	@Override
+	public PriorityGroup getPriorityGroup() {
+		return mPriorityGroup;
+	}
+
 	public int getCurrentPage() {
 		return page;
 	}
 
+	/**
+	 * @return 当前网络下一页的条数
+	 */
+	public int getPageSize() {
+		return PageSizePolicy.getInstance(getContext()).pageSize();
+	}
+
+	/**
+	 * @return 下一页的请求
+	 */
+	public PageCursor.Window getNextWindow() {
+		return mCursor.next(getPageSize());
+	}
+
 	public void showLoading() {
 		loadingProgress.setVisibility(View.VISIBLE);
 	}
@@ -0,0 +1,29 @@
+package com.lazy.gank.bilibili;
+
+import com.lazy.gank.bilibili.entity.Slideshow;
+import com.lazy.gank.network.HttpCache;
+
+import retrofit2.http.GET;
+import retrofit2.http.Headers;
+import rx.Observable;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe bangumi.bilibili.com 接口, 响应是 JSONP, 需要 JsonpConverterFactory
+ */
+public interface BilibiliService {
+	/**
+	 * 轮播图一小时内不重新验证
+	 */
+	int SLIDESHOW_MAX_AGE = 60 * 60;
+
+	/**
+	 * 番剧首页轮播图
+	 *
+	 * @return
+	 */
+	@Headers(HttpCache.HEADER_MAX_AGE + ": " + SLIDESHOW_MAX_AGE)
+	@GET("jsonp/slideshow/34.ver")
+	Observable<Slideshow> getSlideshow();
+}
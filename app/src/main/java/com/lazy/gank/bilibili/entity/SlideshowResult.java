@@ -2,15 +2,13 @@ package com.lazy.gank.bilibili.entity;
 
 import com.google.gson.annotations.SerializedName;
 
-import java.util.Date;
-
 public class SlideshowResult {
 
 	private int id;
 	private String img;
 	@SerializedName("is_ad")
 	private int isAd;
-	private Date link;
+	private String link;
 	private String simg;
 	private String title;
 
@@ -38,11 +36,11 @@ public class SlideshowResult {
 		return isAd;
 	}
 
-	public void setLink(Date link) {
+	public void setLink(String link) {
 		this.link = link;
 	}
 
-	public Date getLink() {
+	public String getLink() {
 		return link;
 	}
 
@@ -0,0 +1,160 @@
+package com.lazy.gank.data;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.data.codec.GankCodec;
+import com.lazy.gank.entity.GankResult;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 按天完整保存的干货, 每天一个 {@link GankCodec#encodeList(List)} 文件 (yyyyMMdd.day),
+ * 保持 getGankByDate 返回的顺序. 发布过的日期内容不再变化, 存在即可直接使用.
+ * <p>
+ * 只保留最新的 maxDays 天, 写入时删除更早的文件. 所有方法都会访问磁盘, 不要在主线程调用.
+ */
+public class DayStore {
+	public static final String DIRECTORY = "days";
+	//时间线一次 7 天, 保留约两个月
+	public static final int MAX_DAYS = 60;
+
+	private static final String SUFFIX = ".day";
+	private static final String TMP_SUFFIX = ".tmp";
+
+	private static DayStore mDayStore;
+
+	private final File mDirectory;
+	private final int mMaxDays;
+
+	public DayStore(@NonNull File directory, int maxDays) {
+		this.mDirectory = directory;
+		this.mMaxDays = maxDays;
+	}
+
+	@NonNull
+	public static DayStore getInstance(@NonNull Context context) {
+		if (mDayStore == null) {
+			synchronized (DayStore.class) {
+				if (mDayStore == null) {
+					mDayStore = new DayStore(new File(context.getFilesDir(), DIRECTORY), MAX_DAYS);
+				}
+			}
+		}
+		return mDayStore;
+	}
+
+	/**
+	 * @param day yyyyMMdd
+	 * @return 是否已经用 {@link #put(int, List)} 完整保存过
+	 */
+	public boolean contains(int day) {
+		return dayFile(day).exists();
+	}
+
+	/**
+	 * @param day yyyyMMdd
+	 * @return 按网络返回顺序; 没有保存过或文件损坏时为 null
+	 */
+	public synchronized List<GankResult> get(int day) {
+		File file = dayFile(day);
+		if (!file.exists()) {
+			return null;
+		}
+		try {
+			return GankCodec.decodeList(readFully(file));
+		} catch (IOException e) {
+			file.delete();
+			return null;
+		}
+	}
+
+	/**
+	 * 写到临时文件再 rename, 然后删除超出 maxDays 的最早的几天
+	 *
+	 * @param day     yyyyMMdd
+	 * @param results
+	 * @throws IOException
+	 */
+	public synchronized void put(int day, @NonNull List<GankResult> results) throws IOException {
+		if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+			throw new IOException("mkdirs failed: " + mDirectory);
+		}
+		File file = dayFile(day);
+		File tmp = new File(file.getPath() + TMP_SUFFIX);
+		FileOutputStream out = new FileOutputStream(tmp);
+		try {
+			out.write(GankCodec.encodeList(results));
+		} finally {
+			out.close();
+		}
+		if (!tmp.renameTo(file)) {
+			tmp.delete();
+			throw new IOException("rename failed: " + file);
+		}
+		trim();
+	}
+
+	/**
+	 * @return 保存的天数
+	 */
+	public synchronized int size() {
+		return days().size();
+	}
+
+	public synchronized void clear() {
+		File[] files = mDirectory.listFiles();
+		for (File file : files == null ? new File[0] : files) {
+			file.delete();
+		}
+	}
+
+	private void trim() {
+		List<Integer> days = days();
+		for (int i = 0; i < days.size() - mMaxDays; i++) {
+			dayFile(days.get(i)).delete();
+		}
+	}
+
+	//升序
+	private List<Integer> days() {
+		List<Integer> days = new ArrayList<>();
+		File[] files = mDirectory.listFiles();
+		for (File file : files == null ? new File[0] : files) {
+			String name = file.getName();
+			if (!name.endsWith(SUFFIX)) {
+				continue;
+			}
+			try {
+				days.add(Integer.parseInt(name.substring(0, name.length() - SUFFIX.length())));
+			} catch (NumberFormatException e) {
+				file.delete();
+			}
+		}
+		Collections.sort(days);
+		return days;
+	}
+
+	private File dayFile(int day) {
+		return new File(mDirectory, day + SUFFIX);
+	}
+
+	private static byte[] readFully(File file) throws IOException {
+		RandomAccessFile in = new RandomAccessFile(file, "r");
+		try {
+			byte[] bytes = new byte[(int) in.length()];
+			in.readFully(bytes);
+			return bytes;
+		} finally {
+			in.close();
+		}
+	}
+}
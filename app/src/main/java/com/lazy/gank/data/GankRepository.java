@@ -0,0 +1,297 @@
+package com.lazy.gank.data;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.base.PageCursor;
+import com.lazy.gank.entity.CategoryResult;
+import com.lazy.gank.entity.DayGankResults;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.logging.Logcat;
+import com.lazy.gank.network.GankService;
+import com.lazy.gank.network.GankServiceProxy;
+import com.lazy.gank.network.HttpCache;
+import com.lazy.gank.network.converter.GankResultStream;
+import com.lazy.gank.network.policy.CallKey;
+import com.lazy.gank.network.policy.CallPolicies;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func1;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe Presenter 与 GankService 之间的数据层: 网络返回的每条 GankResult 都存进 {@link GankStore},
+ * 页面先用本地数据显示, 再用网络结果更新.
+ * <p>
+ * 返回的 Observable 都在订阅线程上同步执行 (与 GankService 一致), 由调用方 subscribeOn.
+ * 保存失败只记录日志, 不影响网络结果.
+ */
+public class GankRepository {
+	private static final String TAG = "GankRepository";
+
+	private static final Func1<DayGankResults, List<GankResult>> TO_GANK_LIST = new Func1<DayGankResults, List<GankResult>>() {
+		@Override
+		public List<GankResult> call(DayGankResults dayGankResults) {
+			CategoryResult category = dayGankResults.getResults();
+			List<GankResult> gankResults = new ArrayList<GankResult>();
+			if (category != null) {
+				gankResults.addAll(category.androidList == null ? new ArrayList<GankResult>(0) : category.androidList);
+				gankResults.addAll(category.videoList == null ? new ArrayList<GankResult>(0) : category.videoList);
+				gankResults.addAll(category.iOSList == null ? new ArrayList<GankResult>(0) : category.iOSList);
+				gankResults.addAll(category.meizhiList == null ? new ArrayList<GankResult>(0) : category.meizhiList);
+				gankResults.addAll(category.extendSourceList == null ? new ArrayList<GankResult>(0) : category.extendSourceList);
+				gankResults.addAll(category.recommandList == null ? new ArrayList<GankResult>(0) : category.recommandList);
+			}
+
+			return gankResults;
+		}
+	};
+
+	//合并流式分类请求的 key, 参数为 category, count, page, batchSize, refresh
+	private static final String CATEGORY_BATCHES = "api/data/{category}/{count}/{page}#batches";
+
+	private static GankRepository mGankRepository;
+
+	private final GankService mGankService;
+	private final GankStore mStore;
+	private final DayStore mDayStore;
+	private final PublishDateIndex mPublishDateIndex;
+	private final Action1<List<GankResult>> mSaveBatch = new Action1<List<GankResult>>() {
+		@Override
+		public void call(List<GankResult> batch) {
+			save(batch);
+		}
+	};
+
+	public GankRepository(@NonNull GankService gankService, @NonNull GankStore store, @NonNull DayStore dayStore,
+						  @NonNull PublishDateIndex publishDateIndex) {
+		this.mGankService = gankService;
+		this.mStore = store;
+		this.mDayStore = dayStore;
+		this.mPublishDateIndex = publishDateIndex;
+	}
+
+	@NonNull
+	public static GankRepository getInstance(@NonNull Context context) {
+		if (mGankRepository == null) {
+			synchronized (GankRepository.class) {
+				if (mGankRepository == null) {
+					mGankRepository = new GankRepository(GankServiceProxy.getGankService(),
+							GankStore.getInstance(context), DayStore.getInstance(context), PublishDateIndex.getInstance(context));
+				}
+			}
+		}
+		return mGankRepository;
+	}
+
+	/**
+	 * 本地保存的某个分类, 按发布时间从新到旧跳过 offset 条后的 count 条, 网络返回之前先显示
+	 *
+	 * @param category 分类, all 为全部
+	 * @param offset   已加载的条数, 即 {@link PageCursor.Window#offset}
+	 * @param count
+	 * @return
+	 */
+	@NonNull
+	public Observable<List<GankResult>> getLocalPage(@NonNull final String category, final int offset, final int count) {
+		return Observable.fromCallable(new Callable<List<GankResult>>() {
+			@Override
+			public List<GankResult> call() throws Exception {
+				return mStore.query(category, offset, count);
+			}
+		});
+	}
+
+	/**
+	 * 把本地保存的全部条目加入搜索索引 (索引只在内存里), 启动时调用一次.
+	 * 从旧到新加入, 与按时间顺序加载时一样, 相关度相同时新的靠前
+	 *
+	 * @return 加入的条数
+	 */
+	@NonNull
+	public Observable<Integer> loadSearchIndex() {
+		return Observable.fromCallable(new Callable<List<GankResult>>() {
+			@Override
+			public List<GankResult> call() throws Exception {
+				List<GankResult> oldestFirst = mStore.getAll();
+				Collections.reverse(oldestFirst);
+				return oldestFirst;
+			}
+		})
+				.doOnNext(CallPolicies.indexing().indexBatch())
+				.map(new Func1<List<GankResult>, Integer>() {
+					@Override
+					public Integer call(List<GankResult> results) {
+						return results.size();
+					}
+				});
+	}
+
+	/**
+	 * 边下载边解析, 每 batchSize 条发射一次, 已去掉 window 开头加载过的条目.
+	 * 同一页正在加载时 (如预取和用户翻页同时发生) 共享同一个请求解析出来的各批
+	 *
+	 * @param category
+	 * @param window
+	 * @param batchSize
+	 * @param refresh   用户下拉刷新, 不使用 HTTP 缓存
+	 * @return
+	 */
+	@NonNull
+	public Observable<List<GankResult>> getCategoryBatches(@NonNull String category, @NonNull PageCursor.Window window,
+														   int batchSize, boolean refresh) {
+		CallKey key = new CallKey(CATEGORY_BATCHES, new Object[]{category, window.count, window.page, batchSize, refresh});
+		Observable<List<GankResult>> batches = mGankService
+				.getCategoryDataStream(category, window.count, window.page, refresh ? HttpCache.FORCE_NETWORK : null)
+				.concatMap(GankResultStream.toBatches(batchSize))
+				.doOnNext(CallPolicies.indexing().indexBatch())
+				.doOnNext(mSaveBatch);
+		return CallPolicies.coalescing().applyBatches(key, batches)
+				.compose(window.<GankResult>trim());
+	}
+
+	/**
+	 * 整页请求, 用于预取
+	 *
+	 * @param category
+	 * @param window
+	 * @return
+	 */
+	@NonNull
+	public Observable<List<GankResult>> getCategoryPage(@NonNull String category, @NonNull PageCursor.Window window) {
+		return getCategoryData(category, window.count, window.page)
+				.map(new Func1<GankResults<GankResult>, List<GankResult>>() {
+					@Override
+					public List<GankResult> call(GankResults<GankResult> results) {
+						return results.error || results.getResults() == null
+								? Collections.<GankResult>emptyList() : results.getResults();
+					}
+				})
+				.compose(window.<GankResult>trim());
+	}
+
+	@NonNull
+	public Observable<GankResults<GankResult>> getCategoryData(@NonNull String category, int count, int page) {
+		return mGankService
+				.getCategoryData(category, count, page)
+				.doOnNext(new Action1<GankResults<GankResult>>() {
+					@Override
+					public void call(GankResults<GankResult> results) {
+						if (!results.error && results.getResults() != null) {
+							save(results.getResults());
+						}
+					}
+				});
+	}
+
+	/**
+	 * 某一天的干货, 按网络返回的顺序: {@link DayStore} 保存过就直接用 (发布过的日期内容不再变化),
+	 * 否则请求并保存
+	 *
+	 * @param day yyyyMMdd
+	 * @return
+	 */
+	@NonNull
+	public Observable<List<GankResult>> getDay(final int day) {
+		return Observable.fromCallable(new Callable<List<GankResult>>() {
+			@Override
+			public List<GankResult> call() throws Exception {
+				return mDayStore.get(day);
+			}
+		}).concatMap(new Func1<List<GankResult>, Observable<List<GankResult>>>() {
+			@Override
+			public Observable<List<GankResult>> call(List<GankResult> local) {
+				if (local != null) {
+					return Observable.just(local);
+				}
+				int month = PublishDateIndex.month(day);
+				int dayOfMonth = PublishDateIndex.dayOfMonth(day);
+				return mGankService.getGankByDate(String.valueOf(PublishDateIndex.year(day)),
+						month < 10 ? "0" + month : String.valueOf(month),
+						dayOfMonth < 10 ? "0" + dayOfMonth : String.valueOf(dayOfMonth))
+						.map(TO_GANK_LIST)
+						.doOnNext(new Action1<List<GankResult>>() {
+							@Override
+							public void call(List<GankResult> results) {
+								save(results);
+								try {
+									mDayStore.put(day, results);
+								} catch (IOException e) {
+									Logcat.w("save day " + day + " failed: " + e, TAG);
+								}
+							}
+						});
+			}
+		});
+	}
+
+	/**
+	 * 发布日期: 本地索引不为空时直接使用, 为空时等 {@link #syncPublishDates(boolean)}
+	 *
+	 * @return
+	 */
+	@NonNull
+	public Observable<PublishDateIndex> getPublishDates() {
+		return Observable.fromCallable(new Callable<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				return mPublishDateIndex.size();
+			}
+		}).concatMap(new Func1<Integer, Observable<PublishDateIndex>>() {
+			@Override
+			public Observable<PublishDateIndex> call(Integer size) {
+				return size > 0 ? Observable.just(mPublishDateIndex) : syncPublishDates(false);
+			}
+		});
+	}
+
+	/**
+	 * 把 getDayHistoty() 新增的日期合并进本地日期索引; 请求失败时使用已有的索引
+	 *
+	 * @param refresh 用户下拉刷新, 不使用 HTTP 缓存
+	 * @return
+	 */
+	@NonNull
+	public Observable<PublishDateIndex> syncPublishDates(boolean refresh) {
+		return this.mGankService
+				.getDayHistoty(refresh ? HttpCache.FORCE_NETWORK : null)
+				.map(new Func1<GankResults<String>, PublishDateIndex>() {
+					@Override
+					public PublishDateIndex call(GankResults<String> history) {
+						if (!history.error && mPublishDateIndex.merge(history.getResults()) > 0) {
+							try {
+								mPublishDateIndex.save();
+							} catch (IOException e) {
+								Logcat.w("save publish dates failed: " + e, TAG);
+							}
+						}
+						return mPublishDateIndex;
+					}
+				})
+				.onErrorResumeNext(new Func1<Throwable, Observable<PublishDateIndex>>() {
+					@Override
+					public Observable<PublishDateIndex> call(Throwable throwable) {
+						return mPublishDateIndex.size() > 0
+								? Observable.just(mPublishDateIndex) : Observable.<PublishDateIndex>error(throwable);
+					}
+				});
+	}
+
+	private void save(List<GankResult> results) {
+		try {
+			mStore.putAll(results);
+		} catch (IOException e) {
+			//本地只是缓存
+			Logcat.w("save gank failed: " + e, TAG);
+		}
+	}
+}
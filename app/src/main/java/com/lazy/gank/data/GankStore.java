@@ -0,0 +1,213 @@
+package com.lazy.gank.data;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.data.log.FeedLog;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResultPool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 本地保存的所有 GankResult: 追加写进 {@link FeedLog}, 第一次访问时读一遍日志, 在内存里建索引.
+ * <p>
+ * url 相同的以最后写入的为准, 内容没变的不再写日志. 全部 / 每个分类各有一个按发布时间从新到旧的列表,
+ * 分页就是取 subList. 超过 maxItems 条时丢掉发布时间最早的, 日志的大小由 FeedLog 的 maxBytes 限制.
+ * 按天完整保存的在 {@link DayStore}.
+ * <p>
+ * 第一次访问会读磁盘, 写入会写日志, 不要在主线程调用.
+ */
+public class GankStore {
+	//全部分类, 与 api/data/all 一致
+	public static final String TYPE_ALL = "all";
+	public static final int MAX_ITEMS = 5000;
+
+	//之前的 SQLite 版本
+	private static final String LEGACY_DATABASE_NAME = "gank.db";
+	private static final int READ_CHUNK = 512;
+
+	private static GankStore mGankStore;
+
+	private final FeedLog mLog;
+	private final int mMaxItems;
+	//以下由 this 保护
+	private final Map<String, GankResult> mByUrl = new HashMap<>();
+	private final List<GankResult> mAll = new ArrayList<>();
+	private final Map<String, List<GankResult>> mByType = new HashMap<>();
+	private boolean mLoaded;
+
+	public GankStore(@NonNull FeedLog log, int maxItems) {
+		this.mLog = log;
+		this.mMaxItems = maxItems;
+	}
+
+	@NonNull
+	public static GankStore getInstance(@NonNull Context context) {
+		if (mGankStore == null) {
+			synchronized (GankStore.class) {
+				if (mGankStore == null) {
+					context.getApplicationContext().deleteDatabase(LEGACY_DATABASE_NAME);
+					mGankStore = new GankStore(FeedLog.getInstance(context.getApplicationContext()), MAX_ITEMS);
+				}
+			}
+		}
+		return mGankStore;
+	}
+
+	private void ensureLoaded() throws IOException {
+		if (mLoaded) {
+			return;
+		}
+		long size = mLog.size();
+		for (long position = 0; position < size; position += READ_CHUNK) {
+			//GankCodec 读出的已经经过 GankResultPool
+			for (GankResult result : mLog.read(position, READ_CHUNK)) {
+				if (isValid(result)) {
+					index(result);
+				}
+			}
+		}
+		evict();
+		mLoaded = true;
+	}
+
+	/**
+	 * 按 url 覆盖保存, 没有 url / type / publishedAt 的条目跳过
+	 *
+	 * @param results
+	 * @return 新增或内容有变化的条数
+	 * @throws IOException 读写日志失败
+	 */
+	public synchronized int putAll(@NonNull Collection<GankResult> results) throws IOException {
+		ensureLoaded();
+		GankResultPool pool = GankResultPool.getInstance();
+		List<GankResult> changed = new ArrayList<>();
+		for (GankResult result : results) {
+			if (!isValid(result)) {
+				continue;
+			}
+			GankResult canonical = pool.canonical(result);
+			if (mByUrl.get(canonical.url) != canonical) {
+				changed.add(canonical);
+			}
+		}
+		if (changed.isEmpty()) {
+			return 0;
+		}
+		mLog.appendAll(changed);
+		for (GankResult result : changed) {
+			index(result);
+		}
+		evict();
+		return changed.size();
+	}
+
+	/**
+	 * 按发布时间从新到旧分页
+	 *
+	 * @param type   分类, {@link #TYPE_ALL} 为全部
+	 * @param offset
+	 * @param limit
+	 * @return 超出范围时为空
+	 * @throws IOException 第一次读日志失败
+	 */
+	@NonNull
+	public synchronized List<GankResult> query(@NonNull String type, int offset, int limit) throws IOException {
+		ensureLoaded();
+		List<GankResult> list = TYPE_ALL.equals(type) ? mAll : mByType.get(type);
+		if (list == null || offset >= list.size() || limit <= 0) {
+			return new ArrayList<>(0);
+		}
+		return new ArrayList<>(list.subList(Math.max(0, offset), Math.min(list.size(), offset + limit)));
+	}
+
+	/**
+	 * @param url
+	 * @return 没有时为 null
+	 * @throws IOException 第一次读日志失败
+	 */
+	public synchronized GankResult get(@NonNull String url) throws IOException {
+		ensureLoaded();
+		return mByUrl.get(url);
+	}
+
+	/**
+	 * @return 全部条目, 从新到旧
+	 * @throws IOException 第一次读日志失败
+	 */
+	@NonNull
+	public synchronized List<GankResult> getAll() throws IOException {
+		ensureLoaded();
+		return new ArrayList<>(mAll);
+	}
+
+	public synchronized int size() throws IOException {
+		ensureLoaded();
+		return mAll.size();
+	}
+
+	private void index(GankResult result) {
+		GankResult old = mByUrl.put(result.url, result);
+		if (old != null) {
+			remove(mAll, old);
+			remove(mByType.get(old.type), old);
+		}
+		List<GankResult> typed = mByType.get(result.type);
+		if (typed == null) {
+			typed = new ArrayList<>();
+			mByType.put(result.type, typed);
+		}
+		insert(mAll, result);
+		insert(typed, result);
+	}
+
+	private void evict() {
+		while (mAll.size() > mMaxItems) {
+			GankResult oldest = mAll.remove(mAll.size() - 1);
+			mByUrl.remove(oldest.url);
+			remove(mByType.get(oldest.type), oldest);
+		}
+	}
+
+	/**
+	 * 插到发布时间相同的条目之后, 同一批里保持网络返回的顺序
+	 */
+	private static void insert(List<GankResult> newestFirst, GankResult result) {
+		long time = result.publishedAt.getTime();
+		int low = 0;
+		int high = newestFirst.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (newestFirst.get(mid).publishedAt.getTime() >= time) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		newestFirst.add(low, result);
+	}
+
+	private static void remove(List<GankResult> list, GankResult result) {
+		if (list == null) {
+			return;
+		}
+		for (int i = list.size() - 1; i >= 0; i--) {
+			if (list.get(i) == result) {
+				list.remove(i);
+				return;
+			}
+		}
+	}
+
+	private static boolean isValid(GankResult result) {
+		return result.url != null && result.type != null && result.publishedAt != null;
+	}
+}
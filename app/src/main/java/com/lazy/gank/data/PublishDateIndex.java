@@ -0,0 +1,291 @@
+package com.lazy.gank.data;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.lazy.gank.util.GankDateFormat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 有干货发布的日期索引: 升序的 int[] (yyyyMMdd, 如 20160912), 持久化为一个二进制文件.
+ * <p>
+ * 文件格式: magic, version, count, count 个 int (big-endian), 启动时一次读入.
+ * 同步时 {@link #merge(List)} 只处理比已有最新日期更新的头部几条.
+ * 查询都是二分, 不创建字符串.
+ */
+public class PublishDateIndex {
+	public static final String FILE_NAME = "publish_dates.bin";
+	private static final int MAGIC = 0x47445449;
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 12;
+
+	private static PublishDateIndex mPublishDateIndex;
+
+	private final File mFile;
+	private int[] mDays = new int[0];
+	private int mSize;
+	private boolean mLoaded;
+
+	public PublishDateIndex(@NonNull File file) {
+		this.mFile = file;
+	}
+
+	@NonNull
+	public static PublishDateIndex getInstance(@NonNull Context context) {
+		if (mPublishDateIndex == null) {
+			synchronized (PublishDateIndex.class) {
+				if (mPublishDateIndex == null) {
+					mPublishDateIndex = new PublishDateIndex(new File(context.getFilesDir(), FILE_NAME));
+				}
+			}
+		}
+		return mPublishDateIndex;
+	}
+
+	/**
+	 * 读文件, 只读一次; 文件不存在或损坏时为空索引
+	 */
+	public synchronized void load() {
+		if (mLoaded) {
+			return;
+		}
+		mLoaded = true;
+		if (!mFile.exists()) {
+			return;
+		}
+		RandomAccessFile file = null;
+		try {
+			file = new RandomAccessFile(mFile, "r");
+			byte[] bytes = new byte[(int) file.length()];
+			file.readFully(bytes);
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			if (bytes.length < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				return;
+			}
+			int count = buffer.getInt();
+			if (count < 0 || count * 4 != buffer.remaining()) {
+				return;
+			}
+			int[] days = new int[count];
+			buffer.asIntBuffer().get(days);
+			mDays = days;
+			mSize = count;
+		} catch (IOException e) {
+			mSize = 0;
+		} finally {
+			closeQuietly(file);
+		}
+	}
+
+	/**
+	 * 写到临时文件再 rename
+	 *
+	 * @throws IOException
+	 */
+	public synchronized void save() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + mSize * 4);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(mSize);
+		buffer.asIntBuffer().put(mDays, 0, mSize);
+		File tmp = new File(mFile.getPath() + ".tmp");
+		FileOutputStream out = new FileOutputStream(tmp);
+		try {
+			out.write(buffer.array());
+			out.getFD().sync();
+		} finally {
+			out.close();
+		}
+		if (!tmp.renameTo(mFile)) {
+			throw new IOException("rename failed: " + mFile);
+		}
+	}
+
+	/**
+	 * 合并 getDayHistoty() 的结果 (新的在前). 遇到已有的最新日期就停止.
+	 *
+	 * @param newestFirst
+	 * @return 新增的天数
+	 */
+	public synchronized int merge(@Nullable List<String> newestFirst) {
+		load();
+		if (newestFirst == null || newestFirst.isEmpty()) {
+			return 0;
+		}
+		int latest = mSize == 0 ? 0 : mDays[mSize - 1];
+		int[] head = new int[Math.min(newestFirst.size(), 64)];
+		int headSize = 0;
+		boolean sorted = true;
+		for (String date : newestFirst) {
+			int day = GankDateFormat.parseDay(date);
+			if (day < 0) {
+				continue;
+			}
+			if (day <= latest) {
+				if (mSize > 0 && Arrays.binarySearch(mDays, 0, mSize, day) >= 0) {
+					//已经同步过的部分
+					break;
+				}
+				sorted = false;
+			}
+			if (headSize == head.length) {
+				head = Arrays.copyOf(head, head.length * 2);
+			}
+			head[headSize++] = day;
+		}
+		if (headSize == 0) {
+			return 0;
+		}
+		ensureCapacity(mSize + headSize);
+		int oldSize = mSize;
+		//head 是新 -> 旧, 倒着追加
+		int added = 0;
+		for (int i = headSize - 1; i >= 0; i--) {
+			mDays[mSize++] = head[i];
+			added++;
+		}
+		if (!sorted || !isAscending(Math.max(oldSize, 1))) {
+			Arrays.sort(mDays, 0, mSize);
+			added -= dedupe();
+		}
+		return added;
+	}
+
+	public synchronized int size() {
+		load();
+		return mSize;
+	}
+
+	/**
+	 * @param i 0 表示最新的一天
+	 * @return yyyyMMdd
+	 */
+	public synchronized int getNewest(int i) {
+		load();
+		if (i < 0 || i >= mSize) {
+			throw new IndexOutOfBoundsException(i + " >= " + mSize);
+		}
+		return mDays[mSize - 1 - i];
+	}
+
+	/**
+	 * @param count
+	 * @return 最新的 count 天, 新 -> 旧
+	 */
+	@NonNull
+	public synchronized int[] newest(int count) {
+		load();
+		int n = Math.max(0, Math.min(count, mSize));
+		int[] days = new int[n];
+		for (int i = 0; i < n; i++) {
+			days[i] = mDays[mSize - 1 - i];
+		}
+		return days;
+	}
+
+	public synchronized boolean contains(int day) {
+		load();
+		return Arrays.binarySearch(mDays, 0, mSize, day) >= 0;
+	}
+
+	/**
+	 * @param day yyyyMMdd
+	 * @return 早于 day 的最近一个发布日, 没有返回 -1
+	 */
+	public synchronized int previous(int day) {
+		load();
+		int index = insertionPoint(day);
+		return index > 0 ? mDays[index - 1] : -1;
+	}
+
+	/**
+	 * @param day yyyyMMdd
+	 * @return 晚于 day 的最近一个发布日, 没有返回 -1
+	 */
+	public synchronized int next(int day) {
+		load();
+		int index = Arrays.binarySearch(mDays, 0, mSize, day);
+		index = index >= 0 ? index + 1 : -index - 1;
+		return index < mSize ? mDays[index] : -1;
+	}
+
+	/**
+	 * @param year
+	 * @param month 1..12
+	 * @param out   可以为 null, 只返回天数; 否则按升序写入 (yyyyMMdd), 超出长度的不写
+	 * @return 这个月有发布的天数
+	 */
+	public synchronized int daysInMonth(int year, int month, @Nullable int[] out) {
+		load();
+		int first = year * 10000 + month * 100;
+		int from = insertionPoint(first);
+		int to = insertionPoint(first + 100);
+		if (out != null) {
+			System.arraycopy(mDays, from, out, 0, Math.min(to - from, out.length));
+		}
+		return to - from;
+	}
+
+	public static int year(int day) {
+		return day / 10000;
+	}
+
+	public static int month(int day) {
+		return day / 100 % 100;
+	}
+
+	public static int dayOfMonth(int day) {
+		return day % 100;
+	}
+
+	//第一个 >= day 的位置
+	private int insertionPoint(int day) {
+		int index = Arrays.binarySearch(mDays, 0, mSize, day);
+		return index >= 0 ? index : -index - 1;
+	}
+
+	private boolean isAscending(int from) {
+		for (int i = from; i < mSize; i++) {
+			if (mDays[i - 1] >= mDays[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	//排序后去重, 返回去掉的个数
+	private int dedupe() {
+		int size = 0;
+		for (int i = 0; i < mSize; i++) {
+			if (size == 0 || mDays[size - 1] != mDays[i]) {
+				mDays[size++] = mDays[i];
+			}
+		}
+		int removed = mSize - size;
+		mSize = size;
+		return removed;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > mDays.length) {
+			mDays = Arrays.copyOf(mDays, Math.max(capacity, mDays.length * 2));
+		}
+	}
+
+	private static void closeQuietly(RandomAccessFile file) {
+		if (file != null) {
+			try {
+				file.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package com.lazy.gank.data.codec;
+
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.entity.CategoryResult;
+import com.lazy.gank.entity.DayGankResults;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResultPool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe GankResult / DayGankResults 的二进制编码, 手写字段, 不走反射.
+ * <p>
+ * 单条记录 (version 1):
+ * flags(1 字节: publishedAt, createdAt, url, desc 是否存在), type / who / source / used 的字典引用 (varint, 0 为 null),
+ * publishedAt (zigzag varint epoch millis), createdAt (与 publishedAt 的差, 没有 publishedAt 时为 epoch millis),
+ * url / desc (varint 长度 + UTF-8). 读出的记录经过 {@link GankResultPool}.
+ * <p>
+ * 独立的数据块 ({@link #encodeDay(DayGankResults)}, {@link #encodeList(List)}):
+ * magic, version, kind, 块内字典, 内容. 读到不认识的 version 抛 IOException, 调用方按缓存失效处理.
+ */
+public final class GankCodec {
+	public static final int MAGIC = 0x474B5242;
+	public static final int VERSION = 1;
+
+	private static final int KIND_DAY = 1;
+	private static final int KIND_LIST = 2;
+
+	private static final int HAS_PUBLISHED_AT = 1;
+	private static final int HAS_CREATED_AT = 1 << 1;
+	private static final int HAS_URL = 1 << 2;
+	private static final int HAS_DESC = 1 << 3;
+	private static final int KNOWN_FLAGS = HAS_PUBLISHED_AT | HAS_CREATED_AT | HAS_URL | HAS_DESC;
+
+	private static final int DAY_ERROR = 1;
+	private static final int DAY_HAS_CATEGORY = 1 << 1;
+	private static final int DAY_HAS_RESULTS = 1 << 2;
+
+	private GankCodec() {
+	}
+
+	public static void writeResult(@NonNull RecordOutput out, @NonNull GankResult result, @NonNull StringDictionary dictionary) {
+		int flags = (result.publishedAt != null ? HAS_PUBLISHED_AT : 0)
+				| (result.createdAt != null ? HAS_CREATED_AT : 0)
+				| (result.url != null ? HAS_URL : 0)
+				| (result.desc != null ? HAS_DESC : 0);
+		out.writeByte(flags);
+		out.writeVarint(dictionary.ref(result.type));
+		out.writeVarint(dictionary.ref(result.who));
+		out.writeVarint(dictionary.ref(result.source));
+		out.writeVarint(dictionary.ref(result.used));
+		long publishedAt = 0;
+		if (result.publishedAt != null) {
+			publishedAt = result.publishedAt.getTime();
+			out.writeZigZag(publishedAt);
+		}
+		if (result.createdAt != null) {
+			//createdAt 一般在 publishedAt 之前不久, 差值比完整时间短
+			out.writeZigZag(result.createdAt.getTime() - publishedAt);
+		}
+		if (result.url != null) {
+			out.writeUtf8(result.url);
+		}
+		if (result.desc != null) {
+			out.writeUtf8(result.desc);
+		}
+	}
+
+	@NonNull
+	public static GankResult readResult(@NonNull RecordInput in, @NonNull StringDictionary dictionary) throws IOException {
+		int flags = in.readByte();
+		if ((flags & ~KNOWN_FLAGS) != 0) {
+			throw new IOException("unknown record flags: " + Integer.toHexString(flags));
+		}
+		GankResult.Builder result = new GankResult.Builder();
+		result.type(dictionary.deref(in.readVarint(Integer.MAX_VALUE)));
+		result.who(dictionary.deref(in.readVarint(Integer.MAX_VALUE)));
+		result.source(dictionary.deref(in.readVarint(Integer.MAX_VALUE)));
+		result.used(dictionary.deref(in.readVarint(Integer.MAX_VALUE)));
+		long publishedAt = 0;
+		if ((flags & HAS_PUBLISHED_AT) != 0) {
+			publishedAt = in.readZigZag();
+			result.publishedAt(new Date(publishedAt));
+		}
+		if ((flags & HAS_CREATED_AT) != 0) {
+			result.createdAt(new Date(publishedAt + in.readZigZag()));
+		}
+		if ((flags & HAS_URL) != 0) {
+			result.url(in.readUtf8());
+		}
+		if ((flags & HAS_DESC) != 0) {
+			result.desc(in.readUtf8());
+		}
+		return GankResultPool.getInstance().canonical(result);
+	}
+
+	/**
+	 * 条数 + 每条记录, null 写为 0
+	 */
+	public static void writeList(@NonNull RecordOutput out, List<GankResult> results, @NonNull StringDictionary dictionary) {
+		if (results == null) {
+			out.writeVarint(0);
+			return;
+		}
+		out.writeVarint(results.size() + 1);
+		for (GankResult result : results) {
+			writeResult(out, result, dictionary);
+		}
+	}
+
+	public static List<GankResult> readList(@NonNull RecordInput in, @NonNull StringDictionary dictionary) throws IOException {
+		//每条记录至少 5 个字节
+		int size = in.readVarint(in.remaining() / 5 + 1);
+		if (size == 0) {
+			return null;
+		}
+		List<GankResult> results = new ArrayList<>(size - 1);
+		for (int i = 1; i < size; i++) {
+			results.add(readResult(in, dictionary));
+		}
+		return results;
+	}
+
+	@NonNull
+	public static byte[] encodeList(@NonNull List<GankResult> results) {
+		StringDictionary dictionary = new StringDictionary();
+		RecordOutput body = new RecordOutput(results.size() * 128);
+		writeList(body, results, dictionary);
+		return block(KIND_LIST, dictionary, body);
+	}
+
+	@NonNull
+	public static List<GankResult> decodeList(@NonNull byte[] bytes) throws IOException {
+		RecordInput in = new RecordInput(bytes);
+		StringDictionary dictionary = readHeader(in, KIND_LIST);
+		List<GankResult> results = readList(in, dictionary);
+		if (results == null) {
+			throw new IOException("null list");
+		}
+		return results;
+	}
+
+	@NonNull
+	public static byte[] encodeDay(@NonNull DayGankResults day) {
+		StringDictionary dictionary = new StringDictionary();
+		RecordOutput body = new RecordOutput(4096);
+		int flags = (day.error ? DAY_ERROR : 0)
+				| (day.category != null ? DAY_HAS_CATEGORY : 0)
+				| (day.results != null ? DAY_HAS_RESULTS : 0);
+		body.writeByte(flags);
+		if (day.category != null) {
+			body.writeVarint(day.category.size());
+			for (String category : day.category) {
+				body.writeVarint(dictionary.ref(category));
+			}
+		}
+		CategoryResult results = day.results;
+		if (results != null) {
+			//顺序固定, 新增分类时升级 VERSION
+			writeList(body, results.androidList, dictionary);
+			writeList(body, results.videoList, dictionary);
+			writeList(body, results.iOSList, dictionary);
+			writeList(body, results.meizhiList, dictionary);
+			writeList(body, results.extendSourceList, dictionary);
+			writeList(body, results.recommandList, dictionary);
+		}
+		return block(KIND_DAY, dictionary, body);
+	}
+
+	@NonNull
+	public static DayGankResults decodeDay(@NonNull byte[] bytes) throws IOException {
+		RecordInput in = new RecordInput(bytes);
+		StringDictionary dictionary = readHeader(in, KIND_DAY);
+		DayGankResults day = new DayGankResults();
+		int flags = in.readByte();
+		day.error = (flags & DAY_ERROR) != 0;
+		if ((flags & DAY_HAS_CATEGORY) != 0) {
+			int size = in.readVarint(in.remaining());
+			day.category = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				day.category.add(dictionary.deref(in.readVarint(Integer.MAX_VALUE)));
+			}
+		}
+		if ((flags & DAY_HAS_RESULTS) != 0) {
+			CategoryResult results = new CategoryResult();
+			results.androidList = readList(in, dictionary);
+			results.videoList = readList(in, dictionary);
+			results.iOSList = readList(in, dictionary);
+			results.meizhiList = readList(in, dictionary);
+			results.extendSourceList = readList(in, dictionary);
+			results.recommandList = readList(in, dictionary);
+			day.results = results;
+		}
+		return day;
+	}
+
+	private static byte[] block(int kind, StringDictionary dictionary, RecordOutput body) {
+		RecordOutput out = new RecordOutput(body.size() + dictionary.size() * 16 + 16);
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeByte(kind);
+		dictionary.writeTo(out);
+		out.writeBytes(body.buffer(), 0, body.size());
+		return out.toByteArray();
+	}
+
+	private static StringDictionary readHeader(RecordInput in, int kind) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("not a gank block");
+		}
+		int version = in.readByte();
+		if (version != VERSION) {
+			throw new IOException("unsupported version: " + version);
+		}
+		int actualKind = in.readByte();
+		if (actualKind != kind) {
+			throw new IOException("expected kind " + kind + " but was " + actualKind);
+		}
+		StringDictionary dictionary = new StringDictionary();
+		dictionary.readFrom(in);
+		return dictionary;
+	}
+}
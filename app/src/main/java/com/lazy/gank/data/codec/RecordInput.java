@@ -0,0 +1,106 @@
+package com.lazy.gank.data.codec;
+
+import android.support.annotation.NonNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 从 ByteBuffer (堆内存或 mmap) 读 {@link RecordOutput} 写出的数据, 从 buffer 当前位置开始, 读完后位置随之前进.
+ * <p>
+ * 数据不够时抛 {@link EOFException}, 格式错误时抛 IOException. 非线程安全.
+ */
+public final class RecordInput {
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final ByteBuffer mBuffer;
+	//非堆内存的 buffer 解码字符串时用
+	private byte[] mScratch;
+
+	public RecordInput(@NonNull ByteBuffer buffer) {
+		this.mBuffer = buffer;
+	}
+
+	public RecordInput(@NonNull byte[] bytes) {
+		this(ByteBuffer.wrap(bytes));
+	}
+
+	public int position() {
+		return mBuffer.position();
+	}
+
+	public int remaining() {
+		return mBuffer.remaining();
+	}
+
+	public int readByte() throws IOException {
+		require(1);
+		return mBuffer.get() & 0xFF;
+	}
+
+	public int readInt() throws IOException {
+		require(4);
+		return mBuffer.getInt();
+	}
+
+	public long readVarint() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("malformed varint");
+	}
+
+	/**
+	 * @param max 允许的最大值
+	 * @return 0 ~ max
+	 * @throws IOException 超出范围
+	 */
+	public int readVarint(int max) throws IOException {
+		long value = readVarint();
+		if (value < 0 || value > max) {
+			throw new IOException("varint out of range: " + value + " > " + max);
+		}
+		return (int) value;
+	}
+
+	public long readZigZag() throws IOException {
+		long value = readVarint();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	@NonNull
+	public String readUtf8() throws IOException {
+		int length = readVarint(Integer.MAX_VALUE);
+		require(length);
+		if (mBuffer.hasArray()) {
+			int offset = mBuffer.arrayOffset() + mBuffer.position();
+			mBuffer.position(mBuffer.position() + length);
+			return new String(mBuffer.array(), offset, length, UTF_8);
+		}
+		if (mScratch == null || mScratch.length < length) {
+			mScratch = new byte[Math.max(length, 256)];
+		}
+		mBuffer.get(mScratch, 0, length);
+		return new String(mScratch, 0, length, UTF_8);
+	}
+
+	public void skip(int count) throws IOException {
+		require(count);
+		mBuffer.position(mBuffer.position() + count);
+	}
+
+	private void require(int count) throws EOFException {
+		if (mBuffer.remaining() < count) {
+			throw new EOFException("need " + count + " bytes, " + mBuffer.remaining() + " left");
+		}
+	}
+}
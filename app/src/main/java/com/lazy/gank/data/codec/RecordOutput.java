@@ -0,0 +1,159 @@
+package com.lazy.gank.data.codec;
+
+import android.support.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 可复用的字节缓冲, 写 varint / zigzag / 带长度前缀的 UTF-8. 非线程安全.
+ */
+public final class RecordOutput {
+	private byte[] mBuffer;
+	private int mSize;
+
+	public RecordOutput() {
+		this(256);
+	}
+
+	public RecordOutput(int initialCapacity) {
+		this.mBuffer = new byte[Math.max(16, initialCapacity)];
+	}
+
+	public int size() {
+		return mSize;
+	}
+
+	/**
+	 * 清空, 保留已分配的空间
+	 */
+	public void reset() {
+		mSize = 0;
+	}
+
+	public void writeByte(int value) {
+		ensure(1);
+		mBuffer[mSize++] = (byte) value;
+	}
+
+	public void writeBytes(@NonNull byte[] bytes, int offset, int length) {
+		ensure(length);
+		System.arraycopy(bytes, offset, mBuffer, mSize, length);
+		mSize += length;
+	}
+
+	/**
+	 * 4 字节 big-endian
+	 *
+	 * @param value
+	 */
+	public void writeInt(int value) {
+		ensure(4);
+		mBuffer[mSize++] = (byte) (value >>> 24);
+		mBuffer[mSize++] = (byte) (value >>> 16);
+		mBuffer[mSize++] = (byte) (value >>> 8);
+		mBuffer[mSize++] = (byte) value;
+	}
+
+	/**
+	 * 无符号 varint, 每字节 7 位, 低位在前
+	 *
+	 * @param value 按无符号处理
+	 */
+	public void writeVarint(long value) {
+		ensure(10);
+		while ((value & ~0x7FL) != 0) {
+			mBuffer[mSize++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		mBuffer[mSize++] = (byte) value;
+	}
+
+	/**
+	 * 有符号数, 绝对值小的编码短
+	 *
+	 * @param value
+	 */
+	public void writeZigZag(long value) {
+		writeVarint((value << 1) ^ (value >> 63));
+	}
+
+	/**
+	 * varint 字节数 + UTF-8 字节, 不经过 String.getBytes; 落单的代理字符写成 '?', 与 String.getBytes 一致
+	 *
+	 * @param s 非 null
+	 */
+	public void writeUtf8(@NonNull String s) {
+		int length = s.length();
+		int utf8Length = 0;
+		for (int i = 0; i < length; i++) {
+			char c = s.charAt(i);
+			if (c < 0x80) {
+				utf8Length++;
+			} else if (c < 0x800) {
+				utf8Length += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+				utf8Length += 4;
+				i++;
+			} else if (Character.isSurrogate(c)) {
+				utf8Length++;
+			} else {
+				utf8Length += 3;
+			}
+		}
+		writeVarint(utf8Length);
+		ensure(utf8Length);
+		byte[] buffer = mBuffer;
+		int pos = mSize;
+		for (int i = 0; i < length; i++) {
+			char c = s.charAt(i);
+			if (c < 0x80) {
+				buffer[pos++] = (byte) c;
+			} else if (c < 0x800) {
+				buffer[pos++] = (byte) (0xC0 | (c >> 6));
+				buffer[pos++] = (byte) (0x80 | (c & 0x3F));
+			} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, s.charAt(++i));
+				buffer[pos++] = (byte) (0xF0 | (codePoint >> 18));
+				buffer[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				buffer[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				buffer[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else if (Character.isSurrogate(c)) {
+				buffer[pos++] = '?';
+			} else {
+				buffer[pos++] = (byte) (0xE0 | (c >> 12));
+				buffer[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				buffer[pos++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+		mSize = pos;
+	}
+
+	/**
+	 * @return 内部数组, 有效长度为 {@link #size()}
+	 */
+	@NonNull
+	public byte[] buffer() {
+		return mBuffer;
+	}
+
+	@NonNull
+	public byte[] toByteArray() {
+		return Arrays.copyOf(mBuffer, mSize);
+	}
+
+	/**
+	 * @param target 剩余空间不少于 {@link #size()}
+	 */
+	public void writeTo(@NonNull ByteBuffer target) {
+		target.put(mBuffer, 0, mSize);
+	}
+
+	private void ensure(int count) {
+		if (mSize + count > mBuffer.length) {
+			mBuffer = Arrays.copyOf(mBuffer, Math.max(mBuffer.length * 2, mSize + count));
+		}
+	}
+}
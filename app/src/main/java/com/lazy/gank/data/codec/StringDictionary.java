@@ -0,0 +1,103 @@
+package com.lazy.gank.data.codec;
+
+import android.support.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 重复度高的字符串 (type / who / source / used) 的字典: 字符串 -> 从 0 开始的 id, 只增不删, id 不变.
+ * <p>
+ * 记录里只写 id, 字典和记录一起持久化 (写在记录之前, 或单独保存).
+ */
+public final class StringDictionary {
+	//写入记录时的引用: 0 为 null, 否则为 id + 1
+	static final int NULL_REF = 0;
+
+	private final List<String> mStrings = new ArrayList<>();
+	private final Map<String, Integer> mIds = new HashMap<>();
+
+	/**
+	 * @param s
+	 * @return s 的 id, 没有时新增
+	 */
+	public synchronized int idOf(@NonNull String s) {
+		Integer id = mIds.get(s);
+		if (id == null) {
+			id = mStrings.size();
+			mStrings.add(s);
+			mIds.put(s, id);
+		}
+		return id;
+	}
+
+	/**
+	 * @param id
+	 * @return 没有时为 null
+	 */
+	public synchronized String get(int id) {
+		return id >= 0 && id < mStrings.size() ? mStrings.get(id) : null;
+	}
+
+	public synchronized int size() {
+		return mStrings.size();
+	}
+
+	int ref(String s) {
+		return s == null ? NULL_REF : idOf(s) + 1;
+	}
+
+	String deref(int ref) throws IOException {
+		if (ref == NULL_REF) {
+			return null;
+		}
+		String s = get(ref - 1);
+		if (s == null) {
+			throw new IOException("unknown dictionary id: " + (ref - 1));
+		}
+		return s;
+	}
+
+	/**
+	 * 写出 id 在 [from, size) 的条目: 条数 + 每个字符串, 用于追加保存新增的部分
+	 *
+	 * @param out
+	 * @param from
+	 * @return 写出后的 size, 下次从这里开始
+	 */
+	public synchronized int writeTo(@NonNull RecordOutput out, int from) {
+		int size = mStrings.size();
+		out.writeVarint(size - from);
+		for (int i = from; i < size; i++) {
+			out.writeUtf8(mStrings.get(i));
+		}
+		return size;
+	}
+
+	public void writeTo(@NonNull RecordOutput out) {
+		writeTo(out, 0);
+	}
+
+	/**
+	 * 读入 {@link #writeTo(RecordOutput, int)} 写出的条目, 追加在已有条目之后
+	 *
+	 * @param in
+	 * @throws IOException
+	 */
+	public synchronized void readFrom(@NonNull RecordInput in) throws IOException {
+		int count = in.readVarint(in.remaining());
+		for (int i = 0; i < count; i++) {
+			String s = in.readUtf8();
+			if (mIds.containsKey(s)) {
+				throw new IOException("duplicate dictionary entry: " + s);
+			}
+			mIds.put(s, mStrings.size());
+			mStrings.add(s);
+		}
+	}
+}
@@ -0,0 +1,566 @@
+package com.lazy.gank.data.kv;
+
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.data.codec.RecordInput;
+import com.lazy.gank.data.codec.RecordOutput;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe mmap 的键值存储, 代替 SharedPreferences 的 XML 文件.
+ * <p>
+ * 内存里每个 key 一个 {@link Slot}, 基本类型直接存在 long 里, 读写都不装箱.
+ * 文件是 header (magic, version) 加只追加的 frame: length(4) crc32(4) payload, payload 为一次提交的所有操作, 整体生效或整体丢弃.
+ * 写入只是把 frame 拷进映射内存 (length 最后写), 没有 fsync, 进程被杀不丢数据; 需要落盘时调用 {@link #sync()}.
+ * 空间不够时把当前全部内容写成一个 frame 的新文件 (临时文件 + rename), 必要时扩大容量.
+ * 打开时逐个校验 frame, 停在第一个不完整或 crc 不符的 frame, 之后的内容丢弃.
+ * <p>
+ * 文件打不开时只在内存中工作, 写操作返回 false.
+ */
+public class MappedKeyValueStore {
+	private static final int MAGIC = 0x474B5653;
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 8;
+	private static final int FRAME_HEADER_BYTES = 8;
+	private static final int MIN_CAPACITY = 4096;
+
+	static final int OP_INT = 1;
+	static final int OP_LONG = 2;
+	static final int OP_FLOAT = 3;
+	static final int OP_BOOLEAN = 4;
+	static final int OP_STRING = 5;
+	static final int OP_STRING_SET = 6;
+	static final int OP_REMOVE = 7;
+	static final int OP_CLEAR = 8;
+
+	private final File mFile;
+	private final Map<String, Slot> mSlots = new HashMap<>();
+	private final CRC32 mCrc = new CRC32();
+	private final RecordOutput mScratch = new RecordOutput();
+	private RandomAccessFile mRandomAccessFile;
+	private MappedByteBuffer mBuffer;
+	private int mSize;
+	private boolean mLoaded;
+
+	public MappedKeyValueStore(@NonNull File file) {
+		this.mFile = file;
+	}
+
+	private void ensureLoaded() {
+		if (mLoaded) {
+			return;
+		}
+		mLoaded = true;
+		try {
+			map(mFile, MIN_CAPACITY);
+			if (!recover()) {
+				//不是这个格式的文件, 重新开始
+				mSlots.clear();
+				reset();
+			}
+		} catch (IOException e) {
+			closeQuietly();
+		}
+	}
+
+	private void map(File file, int capacity) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			int size = (int) Math.max(capacity, raf.length());
+			mBuffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+			mRandomAccessFile = raf;
+		} catch (IOException | RuntimeException e) {
+			raf.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return header 不对时为 false
+	 */
+	private boolean recover() {
+		int limit = mBuffer.capacity();
+		if (mBuffer.getInt(0) != MAGIC || mBuffer.getInt(4) != VERSION) {
+			return false;
+		}
+		int pos = HEADER_BYTES;
+		byte[] scratch = new byte[256];
+		while (pos + FRAME_HEADER_BYTES < limit) {
+			int length = mBuffer.getInt(pos);
+			if (length <= 0 || length > limit - pos - FRAME_HEADER_BYTES) {
+				break;
+			}
+			if (scratch.length < length) {
+				scratch = new byte[Math.max(length, scratch.length * 2)];
+			}
+			ByteBuffer body = mBuffer.duplicate();
+			body.position(pos + FRAME_HEADER_BYTES);
+			body.get(scratch, 0, length);
+			mCrc.reset();
+			mCrc.update(scratch, 0, length);
+			if ((int) mCrc.getValue() != mBuffer.getInt(pos + 4)) {
+				break;
+			}
+			try {
+				replay(new RecordInput(ByteBuffer.wrap(scratch, 0, length)), mSlots);
+			} catch (IOException e) {
+				break;
+			}
+			pos += FRAME_HEADER_BYTES + length;
+		}
+		mSize = pos;
+		clearTail();
+		return true;
+	}
+
+	private void reset() {
+		ByteBuffer buffer = mBuffer.duplicate();
+		byte[] zeros = new byte[4096];
+		while (buffer.hasRemaining()) {
+			buffer.put(zeros, 0, Math.min(zeros.length, buffer.remaining()));
+		}
+		mBuffer.putInt(4, VERSION);
+		mBuffer.putInt(0, MAGIC);
+		mSize = HEADER_BYTES;
+	}
+
+	private void clearTail() {
+		int limit = mBuffer.capacity();
+		for (int i = mSize; i < limit; i++) {
+			if (mBuffer.get(i) != 0) {
+				ByteBuffer tail = mBuffer.duplicate();
+				tail.position(mSize);
+				byte[] zeros = new byte[4096];
+				while (tail.hasRemaining()) {
+					tail.put(zeros, 0, Math.min(zeros.length, tail.remaining()));
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 解码一个 frame 的所有操作, 修改 slots
+	 */
+	private static void replay(RecordInput in, Map<String, Slot> slots) throws IOException {
+		int count = in.readVarint(in.remaining());
+		for (int i = 0; i < count; i++) {
+			int op = in.readByte();
+			if (op == OP_CLEAR) {
+				slots.clear();
+				continue;
+			}
+			String key = in.readUtf8();
+			if (op == OP_REMOVE) {
+				slots.remove(key);
+				continue;
+			}
+			//已有的 slot 原地修改
+			Slot slot = slots.get(key);
+			if (slot == null) {
+				slot = new Slot();
+			}
+			slot.mType = op;
+			slot.mObject = null;
+			switch (op) {
+				case OP_INT:
+				case OP_LONG:
+					slot.mBits = in.readZigZag();
+					break;
+				case OP_FLOAT:
+					slot.mBits = in.readInt();
+					break;
+				case OP_BOOLEAN:
+					slot.mBits = in.readByte();
+					break;
+				case OP_STRING:
+					slot.mObject = in.readUtf8();
+					break;
+				case OP_STRING_SET:
+					int size = in.readVarint(in.remaining());
+					Set<String> set = new HashSet<>(size * 2);
+					for (int j = 0; j < size; j++) {
+						set.add(in.readUtf8());
+					}
+					slot.mObject = Collections.unmodifiableSet(set);
+					break;
+				default:
+					throw new IOException("unknown op: " + op);
+			}
+			slots.put(key, slot);
+		}
+	}
+
+	public synchronized int getInt(@NonNull String key, int defValue) {
+		Slot slot = slot(key, OP_INT);
+		return slot == null ? defValue : (int) slot.mBits;
+	}
+
+	public synchronized long getLong(@NonNull String key, long defValue) {
+		Slot slot = slot(key, OP_LONG);
+		return slot == null ? defValue : slot.mBits;
+	}
+
+	public synchronized float getFloat(@NonNull String key, float defValue) {
+		Slot slot = slot(key, OP_FLOAT);
+		return slot == null ? defValue : Float.intBitsToFloat((int) slot.mBits);
+	}
+
+	public synchronized boolean getBoolean(@NonNull String key, boolean defValue) {
+		Slot slot = slot(key, OP_BOOLEAN);
+		return slot == null ? defValue : slot.mBits != 0;
+	}
+
+	public synchronized String getString(@NonNull String key, String defValue) {
+		Slot slot = slot(key, OP_STRING);
+		return slot == null ? defValue : (String) slot.mObject;
+	}
+
+	/**
+	 * @return 不可修改的 Set
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized Set<String> getStringSet(@NonNull String key, Set<String> defValue) {
+		Slot slot = slot(key, OP_STRING_SET);
+		return slot == null ? defValue : (Set<String>) slot.mObject;
+	}
+
+	/**
+	 * @throws ClassCastException 保存的是别的类型, 与 SharedPreferences 一致
+	 */
+	private Slot slot(String key, int type) {
+		ensureLoaded();
+		Slot slot = mSlots.get(key);
+		if (slot != null && slot.mType != type) {
+			throw new ClassCastException(key + " is not a " + typeName(type));
+		}
+		return slot;
+	}
+
+	public synchronized boolean contains(@NonNull String key) {
+		ensureLoaded();
+		return mSlots.containsKey(key);
+	}
+
+	/**
+	 * @return 所有值装箱后的副本
+	 */
+	@NonNull
+	public synchronized Map<String, Object> getAll() {
+		ensureLoaded();
+		Map<String, Object> all = new HashMap<>(mSlots.size() * 2);
+		for (Map.Entry<String, Slot> entry : mSlots.entrySet()) {
+			all.put(entry.getKey(), entry.getValue().boxed());
+		}
+		return all;
+	}
+
+	public boolean putInt(@NonNull String key, int value) {
+		return edit().putInt(key, value).commit();
+	}
+
+	public boolean putLong(@NonNull String key, long value) {
+		return edit().putLong(key, value).commit();
+	}
+
+	public boolean putFloat(@NonNull String key, float value) {
+		return edit().putFloat(key, value).commit();
+	}
+
+	public boolean putBoolean(@NonNull String key, boolean value) {
+		return edit().putBoolean(key, value).commit();
+	}
+
+	public boolean putString(@NonNull String key, String value) {
+		return edit().putString(key, value).commit();
+	}
+
+	public boolean remove(@NonNull String key) {
+		return edit().remove(key).commit();
+	}
+
+	public boolean clear() {
+		return edit().clear().commit();
+	}
+
+	/**
+	 * @return 多个修改一起提交, 整体生效
+	 */
+	@NonNull
+	public Batch edit() {
+		return new Batch();
+	}
+
+	synchronized boolean commit(RecordOutput ops, int count) {
+		ensureLoaded();
+		mScratch.reset();
+		mScratch.writeVarint(count);
+		mScratch.writeBytes(ops.buffer(), 0, ops.size());
+		try {
+			replay(new RecordInput(ByteBuffer.wrap(mScratch.buffer(), 0, mScratch.size())), mSlots);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		if (mBuffer == null) {
+			return false;
+		}
+		try {
+			if (mSize + FRAME_HEADER_BYTES + mScratch.size() > mBuffer.capacity()) {
+				//已经生效的这次修改包含在新文件里
+				compact();
+			} else {
+				writeFrame(mScratch);
+			}
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private void writeFrame(RecordOutput payload) {
+		int pos = mSize;
+		ByteBuffer body = mBuffer.duplicate();
+		body.position(pos + FRAME_HEADER_BYTES);
+		payload.writeTo(body);
+		mCrc.reset();
+		mCrc.update(payload.buffer(), 0, payload.size());
+		mBuffer.putInt(pos + 4, (int) mCrc.getValue());
+		//length 最后写, 进程在这之前被杀时这次提交不存在
+		mBuffer.putInt(pos, payload.size());
+		mSize = pos + FRAME_HEADER_BYTES + payload.size();
+	}
+
+	/**
+	 * 当前全部内容写成一个 frame 的新文件, 替换原文件
+	 */
+	private void compact() throws IOException {
+		RecordOutput state = new RecordOutput(mScratch.size() + mSlots.size() * 32);
+		state.writeVarint(mSlots.size());
+		for (Map.Entry<String, Slot> entry : mSlots.entrySet()) {
+			entry.getValue().write(state, entry.getKey());
+		}
+		int required = HEADER_BYTES + FRAME_HEADER_BYTES + state.size();
+		int capacity = mBuffer.capacity();
+		//压缩后至少留一半空间给追加
+		while (capacity < required * 2) {
+			capacity *= 2;
+		}
+		File tmp = new File(mFile.getPath() + ".tmp");
+		tmp.delete();
+		RandomAccessFile old = mRandomAccessFile;
+		map(tmp, capacity);
+		old.close();
+		reset();
+		writeFrame(state);
+		mBuffer.force();
+		if (!tmp.renameTo(mFile)) {
+			//之后只在内存中工作
+			closeQuietly();
+			throw new IOException("rename failed: " + mFile);
+		}
+	}
+
+	/**
+	 * 映射内存写入磁盘
+	 */
+	public synchronized void sync() {
+		if (mBuffer != null) {
+			mBuffer.force();
+		}
+	}
+
+	public synchronized void close() {
+		sync();
+		closeQuietly();
+		mSlots.clear();
+		mLoaded = false;
+	}
+
+	private void closeQuietly() {
+		if (mRandomAccessFile != null) {
+			try {
+				mRandomAccessFile.close();
+			} catch (IOException ignored) {
+			}
+		}
+		mRandomAccessFile = null;
+		mBuffer = null;
+	}
+
+	/**
+	 * @return 文件中已用的字节数
+	 */
+	synchronized int fileSize() {
+		ensureLoaded();
+		return mSize;
+	}
+
+	private static String typeName(int type) {
+		switch (type) {
+			case OP_INT:
+				return "int";
+			case OP_LONG:
+				return "long";
+			case OP_FLOAT:
+				return "float";
+			case OP_BOOLEAN:
+				return "boolean";
+			case OP_STRING:
+				return "String";
+			default:
+				return "Set<String>";
+		}
+	}
+
+	/**
+	 * 一个 key 的值: 基本类型在 mBits, String / Set 在 mObject
+	 */
+	private static final class Slot {
+		int mType;
+		long mBits;
+		Object mObject;
+
+		@SuppressWarnings("unchecked")
+		void write(RecordOutput out, String key) {
+			out.writeByte(mType);
+			out.writeUtf8(key);
+			switch (mType) {
+				case OP_FLOAT:
+					out.writeInt((int) mBits);
+					break;
+				case OP_BOOLEAN:
+					out.writeByte((int) mBits);
+					break;
+				case OP_STRING:
+					out.writeUtf8((String) mObject);
+					break;
+				case OP_STRING_SET:
+					Set<String> set = (Set<String>) mObject;
+					out.writeVarint(set.size());
+					for (String s : set) {
+						out.writeUtf8(s);
+					}
+					break;
+				default:
+					out.writeZigZag(mBits);
+					break;
+			}
+		}
+
+		Object boxed() {
+			switch (mType) {
+				case OP_INT:
+					return (int) mBits;
+				case OP_LONG:
+					return mBits;
+				case OP_FLOAT:
+					return Float.intBitsToFloat((int) mBits);
+				case OP_BOOLEAN:
+					return mBits != 0;
+				default:
+					return mObject;
+			}
+		}
+	}
+
+	/**
+	 * 按调用顺序记录修改, {@link #commit()} 时作为一个 frame 写入; clear 总是最先生效, 与 SharedPreferences.Editor 一致.
+	 * 非线程安全.
+	 */
+	public final class Batch {
+		private final RecordOutput mOps = new RecordOutput(64);
+		private int mCount;
+		private boolean mClear;
+
+		public Batch putInt(@NonNull String key, int value) {
+			begin(OP_INT, key);
+			mOps.writeZigZag(value);
+			return this;
+		}
+
+		public Batch putLong(@NonNull String key, long value) {
+			begin(OP_LONG, key);
+			mOps.writeZigZag(value);
+			return this;
+		}
+
+		public Batch putFloat(@NonNull String key, float value) {
+			begin(OP_FLOAT, key);
+			mOps.writeInt(Float.floatToIntBits(value));
+			return this;
+		}
+
+		public Batch putBoolean(@NonNull String key, boolean value) {
+			begin(OP_BOOLEAN, key);
+			mOps.writeByte(value ? 1 : 0);
+			return this;
+		}
+
+		/**
+		 * @param value null 时删除, 与 SharedPreferences 一致
+		 */
+		public Batch putString(@NonNull String key, String value) {
+			if (value == null) {
+				return remove(key);
+			}
+			begin(OP_STRING, key);
+			mOps.writeUtf8(value);
+			return this;
+		}
+
+		public Batch putStringSet(@NonNull String key, Set<String> values) {
+			if (values == null) {
+				return remove(key);
+			}
+			begin(OP_STRING_SET, key);
+			mOps.writeVarint(values.size());
+			for (String value : values) {
+				mOps.writeUtf8(value);
+			}
+			return this;
+		}
+
+		public Batch remove(@NonNull String key) {
+			begin(OP_REMOVE, key);
+			return this;
+		}
+
+		public Batch clear() {
+			mClear = true;
+			return this;
+		}
+
+		private void begin(int op, String key) {
+			mOps.writeByte(op);
+			mOps.writeUtf8(key);
+			mCount++;
+		}
+
+		/**
+		 * @return 写入文件失败时为 false, 内存中的值已经修改
+		 */
+		public boolean commit() {
+			if (mClear) {
+				RecordOutput ops = new RecordOutput(mOps.size() + 1);
+				ops.writeByte(OP_CLEAR);
+				ops.writeBytes(mOps.buffer(), 0, mOps.size());
+				return MappedKeyValueStore.this.commit(ops, mCount + 1);
+			}
+			return mCount == 0 || MappedKeyValueStore.this.commit(mOps, mCount);
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package com.lazy.gank.data.kv;
+
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 以 {@link MappedKeyValueStore} 实现的 SharedPreferences, 给仍然需要 SharedPreferences 接口的地方用.
+ * <p>
+ * commit() 和 apply() 都只是写映射内存, 没有区别. 监听器与系统实现一样在主线程回调, 也只弱引用.
+ */
+public class MappedPreferences implements SharedPreferences {
+	//记录已经从 XML 迁移过
+	private static final String KEY_MIGRATED = "__migrated_from_shared_preferences";
+
+	private final MappedKeyValueStore mStore;
+	private final WeakHashMap<OnSharedPreferenceChangeListener, Object> mListeners = new WeakHashMap<>();
+	private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+	public MappedPreferences(@NonNull MappedKeyValueStore store) {
+		this.mStore = store;
+	}
+
+	@NonNull
+	public MappedKeyValueStore getStore() {
+		return mStore;
+	}
+
+	/**
+	 * 第一次调用时把 legacy 的全部内容复制过来, 然后清空 legacy; 之后再调用不做任何事
+	 *
+	 * @param legacy
+	 * @return 是否执行了迁移
+	 */
+	public boolean migrateFrom(@NonNull SharedPreferences legacy) {
+		if (mStore.contains(KEY_MIGRATED)) {
+			return false;
+		}
+		MappedKeyValueStore.Batch batch = mStore.edit();
+		for (Map.Entry<String, ?> entry : legacy.getAll().entrySet()) {
+			String key = entry.getKey();
+			Object value = entry.getValue();
+			if (value instanceof Integer) {
+				batch.putInt(key, (Integer) value);
+			} else if (value instanceof Long) {
+				batch.putLong(key, (Long) value);
+			} else if (value instanceof Float) {
+				batch.putFloat(key, (Float) value);
+			} else if (value instanceof Boolean) {
+				batch.putBoolean(key, (Boolean) value);
+			} else if (value instanceof String) {
+				batch.putString(key, (String) value);
+			} else if (value instanceof Set) {
+				@SuppressWarnings("unchecked")
+				Set<String> set = (Set<String>) value;
+				batch.putStringSet(key, set);
+			}
+		}
+		batch.putBoolean(KEY_MIGRATED, true);
+		if (!batch.commit()) {
+			return false;
+		}
+		mStore.sync();
+		legacy.edit().clear().apply();
+		return true;
+	}
+
+	@Override
+	public Map<String, ?> getAll() {
+		Map<String, Object> all = mStore.getAll();
+		all.remove(KEY_MIGRATED);
+		return all;
+	}
+
+	@Nullable
+	@Override
+	public String getString(String key, @Nullable String defValue) {
+		return mStore.getString(key, defValue);
+	}
+
+	@Nullable
+	@Override
+	public Set<String> getStringSet(String key, @Nullable Set<String> defValues) {
+		return mStore.getStringSet(key, defValues);
+	}
+
+	@Override
+	public int getInt(String key, int defValue) {
+		return mStore.getInt(key, defValue);
+	}
+
+	@Override
+	public long getLong(String key, long defValue) {
+		return mStore.getLong(key, defValue);
+	}
+
+	@Override
+	public float getFloat(String key, float defValue) {
+		return mStore.getFloat(key, defValue);
+	}
+
+	@Override
+	public boolean getBoolean(String key, boolean defValue) {
+		return mStore.getBoolean(key, defValue);
+	}
+
+	@Override
+	public boolean contains(String key) {
+		return !KEY_MIGRATED.equals(key) && mStore.contains(key);
+	}
+
+	@Override
+	public Editor edit() {
+		return new MappedEditor();
+	}
+
+	@Override
+	public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+		synchronized (mListeners) {
+			mListeners.put(listener, this);
+		}
+	}
+
+	@Override
+	public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+		synchronized (mListeners) {
+			mListeners.remove(listener);
+		}
+	}
+
+	private void notifyChanged(final List<String> keys) {
+		final List<OnSharedPreferenceChangeListener> listeners;
+		synchronized (mListeners) {
+			if (mListeners.isEmpty() || keys.isEmpty()) {
+				return;
+			}
+			listeners = new ArrayList<>(mListeners.keySet());
+		}
+		Runnable notify = new Runnable() {
+			@Override
+			public void run() {
+				for (int i = keys.size() - 1; i >= 0; i--) {
+					for (OnSharedPreferenceChangeListener listener : listeners) {
+						listener.onSharedPreferenceChanged(MappedPreferences.this, keys.get(i));
+					}
+				}
+			}
+		};
+		if (Looper.myLooper() == Looper.getMainLooper()) {
+			notify.run();
+		} else {
+			mMainHandler.post(notify);
+		}
+	}
+
+	private final class MappedEditor implements Editor {
+		private final MappedKeyValueStore.Batch mBatch = mStore.edit();
+		private final List<String> mKeys = new ArrayList<>();
+
+		@Override
+		public Editor putString(String key, @Nullable String value) {
+			mBatch.putString(key, value);
+			mKeys.add(key);
+			return this;
+		}
+
+		@Override
+		public Editor putStringSet(String key, @Nullable Set<String> values) {
+			mBatch.putStringSet(key, values);
+			mKeys.add(key);
+			return this;
+		}
+
+		@Override
+		public Editor putInt(String key, int value) {
+			mBatch.putInt(key, value);
+			mKeys.add(key);
+			return this;
+		}
+
+		@Override
+		public Editor putLong(String key, long value) {
+			mBatch.putLong(key, value);
+			mKeys.add(key);
+			return this;
+		}
+
+		@Override
+		public Editor putFloat(String key, float value) {
+			mBatch.putFloat(key, value);
+			mKeys.add(key);
+			return this;
+		}
+
+		@Override
+		public Editor putBoolean(String key, boolean value) {
+			mBatch.putBoolean(key, value);
+			mKeys.add(key);
+			return this;
+		}
+
+		@Override
+		public Editor remove(String key) {
+			mBatch.remove(key);
+			mKeys.add(key);
+			return this;
+		}
+
+		@Override
+		public Editor clear() {
+			mBatch.clear();
+			//clear 最先生效, 同一次提交里写回迁移标记, 不会再次迁移
+			if (mStore.contains(KEY_MIGRATED)) {
+				mBatch.putBoolean(KEY_MIGRATED, true);
+			}
+			return this;
+		}
+
+		@Override
+		public boolean commit() {
+			boolean committed = mBatch.commit();
+			notifyChanged(mKeys);
+			return committed;
+		}
+
+		@Override
+		public void apply() {
+			commit();
+		}
+	}
+}
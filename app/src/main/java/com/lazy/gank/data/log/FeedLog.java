@@ -0,0 +1,349 @@
+package com.lazy.gank.data.log;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.data.codec.RecordOutput;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResultPool;
+import com.lazy.gank.logging.Logcat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import rx.Observable;
+import rx.Subscriber;
+import rx.schedulers.Schedulers;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 只追加的 GankResult 日志, 按写入顺序编号 (0 为最早), 由若干 mmap 的段文件 ({@link LogSegment}) 组成.
+ * <p>
+ * 当前段写满 segmentBytes 后封存并新开一段, 然后在后台压缩: 去掉被更新记录覆盖的旧记录 (同一 url 只留最后一条),
+ * 总大小超过 maxBytes 时删除最早的段. 压缩后序号会变小, 分页时以 {@link #size()} 为准.
+ * <p>
+ * 读一页是在 mmap 上顺序解码, 没有逐条的系统调用. 追加只写映射内存, 进程被杀不丢数据;
+ * 断电前需要持久化时调用 {@link #flush()}. 崩溃留下的半条记录在下次打开时丢弃.
+ */
+public class FeedLog {
+	public static final String DIRECTORY = "feed";
+	public static final int SEGMENT_BYTES = 1024 * 1024;
+	//GankStore 启动时会读一遍整个日志
+	public static final long MAX_BYTES = 4 * 1024 * 1024L;
+
+	private static final String TAG = "FeedLog";
+	private static final String SUFFIX = ".seg";
+	private static final String COMPACT_SUFFIX = ".compact";
+
+	private static FeedLog mFeedLog;
+
+	private final File mDirectory;
+	private final int mSegmentBytes;
+	private final long mMaxBytes;
+	//以下由 this 保护, 最后一个是正在写的段
+	private final List<LogSegment> mSegments = new ArrayList<>();
+	private final RecordOutput mRecord = new RecordOutput();
+	private final RecordOutput mEntries = new RecordOutput();
+	private boolean mOpened;
+
+	//同一时间只有一个压缩
+	private final Object mCompactLock = new Object();
+
+	public FeedLog(@NonNull File directory, int segmentBytes, long maxBytes) {
+		this.mDirectory = directory;
+		this.mSegmentBytes = segmentBytes;
+		this.mMaxBytes = maxBytes;
+	}
+
+	@NonNull
+	public static FeedLog getInstance(@NonNull Context context) {
+		if (mFeedLog == null) {
+			synchronized (FeedLog.class) {
+				if (mFeedLog == null) {
+					mFeedLog = new FeedLog(new File(context.getFilesDir(), DIRECTORY), SEGMENT_BYTES, MAX_BYTES);
+				}
+			}
+		}
+		return mFeedLog;
+	}
+
+	private void ensureOpen() throws IOException {
+		if (mOpened) {
+			return;
+		}
+		if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+			throw new IOException("mkdirs failed: " + mDirectory);
+		}
+		List<Long> ids = new ArrayList<>();
+		File[] files = mDirectory.listFiles();
+		for (File file : files == null ? new File[0] : files) {
+			String name = file.getName();
+			if (name.endsWith(COMPACT_SUFFIX)) {
+				//压缩到一半被杀, 原来的段还在
+				file.delete();
+			} else if (name.endsWith(SUFFIX)) {
+				try {
+					ids.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())));
+				} catch (NumberFormatException e) {
+					file.delete();
+				}
+			}
+		}
+		Collections.sort(ids);
+		for (int i = 0; i < ids.size(); i++) {
+			long id = ids.get(i);
+			mSegments.add(i == ids.size() - 1
+					? LogSegment.openWritable(id, segmentFile(id), mSegmentBytes)
+					: LogSegment.openSealed(id, segmentFile(id)));
+		}
+		if (mSegments.isEmpty()) {
+			mSegments.add(LogSegment.openWritable(0, segmentFile(0), mSegmentBytes));
+		}
+		mOpened = true;
+	}
+
+	private File segmentFile(long id) {
+		return new File(mDirectory, String.format(Locale.US, "%016d", id) + SUFFIX);
+	}
+
+	public synchronized void append(@NonNull GankResult result) throws IOException {
+		appendAll(Collections.singletonList(result));
+	}
+
+	/**
+	 * @param results 按顺序追加
+	 * @throws IOException 记录比整个段还大, 或打开 / 新建段失败
+	 */
+	public synchronized void appendAll(@NonNull Collection<GankResult> results) throws IOException {
+		ensureOpen();
+		boolean rolled = false;
+		for (GankResult result : results) {
+			LogSegment active = mSegments.get(mSegments.size() - 1);
+			if (active.append(result, mRecord, mEntries)) {
+				continue;
+			}
+			if (active.count() == 0) {
+				throw new IOException("record too large: " + mRecord.size() + " bytes");
+			}
+			active.seal();
+			long id = active.mId + 1;
+			mSegments.add(LogSegment.openWritable(id, segmentFile(id), mSegmentBytes));
+			rolled = true;
+			if (!mSegments.get(mSegments.size() - 1).append(result, mRecord, mEntries)) {
+				throw new IOException("record too large: " + mRecord.size() + " bytes");
+			}
+		}
+		if (rolled) {
+			compactAsync();
+		}
+	}
+
+	/**
+	 * @return 记录条数
+	 */
+	public synchronized long size() throws IOException {
+		ensureOpen();
+		long size = 0;
+		for (LogSegment segment : mSegments) {
+			size += segment.count();
+		}
+		return size;
+	}
+
+	/**
+	 * 按写入顺序读
+	 *
+	 * @param position 从 0 开始
+	 * @param count
+	 * @return 到末尾时少于 count 条
+	 */
+	@NonNull
+	public synchronized List<GankResult> read(long position, int count) throws IOException {
+		ensureOpen();
+		List<GankResult> results = new ArrayList<>(Math.max(0, count));
+		long start = 0;
+		for (LogSegment segment : mSegments) {
+			if (results.size() >= count) {
+				break;
+			}
+			long end = start + segment.count();
+			if (position < end) {
+				int from = (int) Math.max(0, position - start);
+				segment.read(from, count - results.size(), results);
+			}
+			start = end;
+		}
+		return results;
+	}
+
+	/**
+	 * 最新写入的在前
+	 *
+	 * @param skip  跳过最新的 skip 条
+	 * @param count
+	 * @return
+	 */
+	@NonNull
+	public synchronized List<GankResult> readNewest(int skip, int count) throws IOException {
+		long end = size() - skip;
+		long start = Math.max(0, end - count);
+		List<GankResult> results = end <= 0 ? new ArrayList<GankResult>(0) : read(start, (int) (end - start));
+		Collections.reverse(results);
+		return results;
+	}
+
+	/**
+	 * 把正在写的段写入磁盘
+	 */
+	public synchronized void flush() {
+		if (mOpened) {
+			mSegments.get(mSegments.size() - 1).flush();
+		}
+	}
+
+	public synchronized void close() throws IOException {
+		if (!mOpened) {
+			return;
+		}
+		for (LogSegment segment : mSegments) {
+			segment.close();
+		}
+		mSegments.clear();
+		mOpened = false;
+	}
+
+	public synchronized int getSegmentCount() throws IOException {
+		ensureOpen();
+		return mSegments.size();
+	}
+
+	public void compactAsync() {
+		Observable.fromCallable(new Callable<Boolean>() {
+			@Override
+			public Boolean call() throws Exception {
+				compact();
+				return true;
+			}
+		}).subscribeOn(Schedulers.io()).subscribe(new Subscriber<Boolean>() {
+			@Override
+			public void onCompleted() {
+			}
+
+			@Override
+			public void onError(Throwable e) {
+				Logcat.w("compact failed: " + e, TAG);
+			}
+
+			@Override
+			public void onNext(Boolean ignored) {
+			}
+		});
+	}
+
+	/**
+	 * 删除超出 maxBytes 的最早的段, 再从新到旧重写含有被覆盖记录的封存段. 已经在压缩时等它结束.
+	 * 重写在锁外进行, 不阻塞追加和读取.
+	 *
+	 * @throws IOException
+	 */
+	public void compact() throws IOException {
+		synchronized (mCompactLock) {
+			List<LogSegment> segments;
+			List<GankResult> active;
+			synchronized (this) {
+				ensureOpen();
+				dropOldest();
+				segments = new ArrayList<>(mSegments);
+				active = segments.remove(segments.size() - 1).readAll();
+			}
+			Set<Long> seen = new HashSet<>();
+			keepLatest(active, seen);
+			for (int i = segments.size() - 1; i >= 0; i--) {
+				LogSegment segment = segments.get(i);
+				List<GankResult> records = segment.readAll();
+				boolean[] keep = keepLatest(records, seen);
+				int kept = 0;
+				for (boolean k : keep) {
+					kept += k ? 1 : 0;
+				}
+				if (kept < records.size()) {
+					rewrite(segment, records, keep, kept);
+				}
+			}
+		}
+	}
+
+	private void dropOldest() {
+		long total = 0;
+		for (LogSegment segment : mSegments) {
+			total += segment.size();
+		}
+		while (total > mMaxBytes && mSegments.size() > 1) {
+			LogSegment oldest = mSegments.remove(0);
+			total -= oldest.size();
+			oldest.mFile.delete();
+		}
+	}
+
+	/**
+	 * 从后往前, url 已经出现过的记录标记为不保留
+	 */
+	private static boolean[] keepLatest(List<GankResult> records, Set<Long> seen) {
+		boolean[] keep = new boolean[records.size()];
+		for (int i = records.size() - 1; i >= 0; i--) {
+			String url = records.get(i).url;
+			keep[i] = url == null || seen.add(GankResultPool.urlHash(url));
+		}
+		return keep;
+	}
+
+	private void rewrite(LogSegment segment, List<GankResult> records, boolean[] keep, int kept) throws IOException {
+		if (kept == 0) {
+			synchronized (this) {
+				if (mSegments.remove(segment)) {
+					segment.mFile.delete();
+				}
+			}
+			return;
+		}
+		File tmp = new File(segment.mFile.getPath() + COMPACT_SUFFIX);
+		//记录只会变少, 新文件不会比原来大
+		LogSegment compacted = LogSegment.openWritable(segment.mId, tmp, segment.size());
+		try {
+			RecordOutput record = new RecordOutput();
+			RecordOutput entries = new RecordOutput();
+			for (int i = 0; i < records.size(); i++) {
+				if (keep[i] && !compacted.append(records.get(i), record, entries)) {
+					throw new IOException("compacted segment overflow: " + segment.mFile);
+				}
+			}
+			compacted.seal();
+		} catch (IOException e) {
+			compacted.close();
+			tmp.delete();
+			throw e;
+		}
+		synchronized (this) {
+			int index = mSegments.indexOf(segment);
+			if (index < 0) {
+				//压缩期间被删除
+				tmp.delete();
+				return;
+			}
+			if (!tmp.renameTo(segment.mFile)) {
+				tmp.delete();
+				throw new IOException("rename failed: " + segment.mFile);
+			}
+			mSegments.set(index, LogSegment.openSealed(segment.mId, segment.mFile));
+		}
+	}
+}
@@ -0,0 +1,285 @@
+package com.lazy.gank.data.log;
+
+import com.lazy.gank.data.codec.GankCodec;
+import com.lazy.gank.data.codec.RecordInput;
+import com.lazy.gank.data.codec.RecordOutput;
+import com.lazy.gank.data.codec.StringDictionary;
+import com.lazy.gank.entity.GankResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link FeedLog} 的一个段文件, 整个文件 mmap.
+ * <p>
+ * 文件是连续的 frame: length(4) crc32(4) type(1) payload, length 为 type + payload 的字节数, crc 覆盖 type + payload.
+ * type 为字典 (本段新增的字典条目, 在用到它的记录之前) 或记录 ({@link GankCodec#writeResult}).
+ * 写入时先写 payload 和 crc, 最后写 length; 打开时从头校验, 停在第一个 length 为 0 / 越界 / crc 不符的 frame,
+ * 之后的内容视为崩溃时没写完的尾部, 丢弃并清零.
+ * <p>
+ * 每 {@link #INDEX_INTERVAL} 条记录保存一个偏移 (稀疏索引), 按序号读时从最近的索引点顺序往后读.
+ * 正在写的段按 capacity 映射 (文件随之变大), 封存时截断到实际大小并改为只读映射.
+ * 非线程安全, 由 FeedLog 加锁; 封存后只读, 可以在锁外读.
+ */
+final class LogSegment {
+	static final int FRAME_HEADER_BYTES = 8;
+	static final int INDEX_INTERVAL = 32;
+	private static final int TYPE_DICTIONARY = 1;
+	private static final int TYPE_RECORD = 2;
+
+	final long mId;
+	final File mFile;
+	private final StringDictionary mDictionary = new StringDictionary();
+	private final CRC32 mCrc = new CRC32();
+	//只有正在写的段不为 null
+	private RandomAccessFile mWritable;
+	private MappedByteBuffer mBuffer;
+	private int mSize;
+	private int mCount;
+	private int[] mIndex = new int[8];
+	//已经写进文件的字典条目数
+	private int mDictionaryWritten;
+
+	private LogSegment(long id, File file) {
+		this.mId = id;
+		this.mFile = file;
+	}
+
+	/**
+	 * 打开 (或创建) 可写的段, 丢弃没写完的尾部
+	 */
+	static LogSegment openWritable(long id, File file, int capacity) throws IOException {
+		LogSegment segment = new LogSegment(id, file);
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			int size = (int) Math.max(capacity, raf.length());
+			segment.mBuffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+			segment.mWritable = raf;
+			segment.recover();
+			segment.clearTail();
+		} catch (IOException | RuntimeException e) {
+			raf.close();
+			throw e;
+		}
+		return segment;
+	}
+
+	/**
+	 * 只读打开封存的段
+	 */
+	static LogSegment openSealed(long id, File file) throws IOException {
+		LogSegment segment = new LogSegment(id, file);
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			segment.mBuffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+		} finally {
+			raf.close();
+		}
+		segment.recover();
+		return segment;
+	}
+
+	int size() {
+		return mSize;
+	}
+
+	int count() {
+		return mCount;
+	}
+
+	boolean isWritable() {
+		return mWritable != null;
+	}
+
+	/**
+	 * @param result
+	 * @param record  编码记录用的缓冲
+	 * @param entries 编码字典用的缓冲
+	 * @return 剩余空间不够时为 false, 什么也不写
+	 */
+	boolean append(GankResult result, RecordOutput record, RecordOutput entries) {
+		record.reset();
+		GankCodec.writeResult(record, result, mDictionary);
+		int required = FRAME_HEADER_BYTES + 1 + record.size();
+		boolean newEntries = mDictionary.size() > mDictionaryWritten;
+		entries.reset();
+		if (newEntries) {
+			mDictionary.writeTo(entries, mDictionaryWritten);
+			required += FRAME_HEADER_BYTES + 1 + entries.size();
+		}
+		if (mSize + required > mBuffer.capacity()) {
+			return false;
+		}
+		if (newEntries) {
+			writeFrame(TYPE_DICTIONARY, entries);
+			mDictionaryWritten = mDictionary.size();
+		}
+		if (mCount % INDEX_INTERVAL == 0) {
+			addIndex(mSize);
+		}
+		writeFrame(TYPE_RECORD, record);
+		mCount++;
+		return true;
+	}
+
+	private void writeFrame(int type, RecordOutput payload) {
+		int pos = mSize;
+		int length = 1 + payload.size();
+		ByteBuffer body = mBuffer.duplicate();
+		body.position(pos + FRAME_HEADER_BYTES);
+		body.put((byte) type);
+		payload.writeTo(body);
+		mCrc.reset();
+		mCrc.update(type);
+		mCrc.update(payload.buffer(), 0, payload.size());
+		mBuffer.putInt(pos + 4, (int) mCrc.getValue());
+		//length 最后写, 进程在这之前被杀时这个 frame 不存在
+		mBuffer.putInt(pos, length);
+		mSize = pos + FRAME_HEADER_BYTES + length;
+	}
+
+	/**
+	 * 从第 from 条开始顺序读 count 条 (不够时读到段尾)
+	 *
+	 * @param from
+	 * @param count
+	 * @param out
+	 * @throws IOException
+	 */
+	void read(int from, int count, List<GankResult> out) throws IOException {
+		if (from >= mCount || count <= 0) {
+			return;
+		}
+		ByteBuffer buffer = mBuffer.duplicate();
+		buffer.limit(mSize);
+		RecordInput in = new RecordInput(buffer);
+		int ordinal = from / INDEX_INTERVAL * INDEX_INTERVAL;
+		int pos = mIndex[from / INDEX_INTERVAL];
+		int end = Math.min(mCount, from + count);
+		while (ordinal < end) {
+			int length = buffer.getInt(pos);
+			if (buffer.get(pos + FRAME_HEADER_BYTES) == TYPE_RECORD) {
+				if (ordinal >= from) {
+					buffer.position(pos + FRAME_HEADER_BYTES + 1);
+					out.add(GankCodec.readResult(in, mDictionary));
+				}
+				ordinal++;
+			}
+			pos += FRAME_HEADER_BYTES + length;
+		}
+	}
+
+	List<GankResult> readAll() throws IOException {
+		List<GankResult> results = new ArrayList<>(mCount);
+		read(0, mCount, results);
+		return results;
+	}
+
+	void flush() {
+		if (mWritable != null) {
+			mBuffer.force();
+		}
+	}
+
+	/**
+	 * 写入磁盘, 截断到实际大小, 之后只读
+	 */
+	void seal() throws IOException {
+		if (mWritable == null) {
+			return;
+		}
+		mBuffer.force();
+		FileChannel channel = mWritable.getChannel();
+		mBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, mSize);
+		channel.truncate(mSize);
+		channel.force(true);
+		mWritable.close();
+		mWritable = null;
+	}
+
+	private void recover() {
+		int limit = mBuffer.capacity();
+		int pos = 0;
+		byte[] scratch = new byte[256];
+		while (pos + FRAME_HEADER_BYTES < limit) {
+			int length = mBuffer.getInt(pos);
+			if (length <= 0 || length > limit - pos - FRAME_HEADER_BYTES) {
+				break;
+			}
+			if (scratch.length < length) {
+				scratch = new byte[Math.max(length, scratch.length * 2)];
+			}
+			ByteBuffer body = mBuffer.duplicate();
+			body.position(pos + FRAME_HEADER_BYTES);
+			body.get(scratch, 0, length);
+			mCrc.reset();
+			mCrc.update(scratch, 0, length);
+			if ((int) mCrc.getValue() != mBuffer.getInt(pos + 4)) {
+				break;
+			}
+			int type = scratch[0];
+			if (type == TYPE_DICTIONARY) {
+				try {
+					mDictionary.readFrom(new RecordInput(ByteBuffer.wrap(scratch, 1, length - 1)));
+				} catch (IOException e) {
+					break;
+				}
+			} else if (type == TYPE_RECORD) {
+				if (mCount % INDEX_INTERVAL == 0) {
+					addIndex(pos);
+				}
+				mCount++;
+			} else {
+				break;
+			}
+			pos += FRAME_HEADER_BYTES + length;
+		}
+		mSize = pos;
+		mDictionaryWritten = mDictionary.size();
+	}
+
+	/**
+	 * 没写完的 frame 留下的字节清零, 之后追加的 frame 不会和它们拼出一个看起来有效的 frame
+	 */
+	private void clearTail() {
+		int limit = mBuffer.capacity();
+		for (int i = mSize; i < limit; i++) {
+			if (mBuffer.get(i) != 0) {
+				byte[] zeros = new byte[4096];
+				ByteBuffer tail = mBuffer.duplicate();
+				tail.position(mSize);
+				while (tail.hasRemaining()) {
+					tail.put(zeros, 0, Math.min(zeros.length, tail.remaining()));
+				}
+				mBuffer.force();
+				return;
+			}
+		}
+	}
+
+	private void addIndex(int offset) {
+		int slot = mCount / INDEX_INTERVAL;
+		if (slot == mIndex.length) {
+			mIndex = Arrays.copyOf(mIndex, mIndex.length * 2);
+		}
+		mIndex[slot] = offset;
+	}
+
+	void close() throws IOException {
+		if (mWritable != null) {
+			mBuffer.force();
+			mWritable.close();
+			mWritable = null;
+		}
+	}
+}
@@ -4,87 +4,72 @@ import java.util.Date;
 
 /**
  * Created by lazy on 16/9/11.
+ * <p>
+ * 字段只读: 同一条干货经 {@link GankResultPool} 在各个列表间共享, 修改时用 {@link #newBuilder()} 建新的实例
  */
 public class GankResult {
 
-	public Date createdAt;
+	public final Date createdAt;
 
-	public Date publishedAt;
+	public final Date publishedAt;
 
-	public String type;
+	public final String type;
 
-	public String used;
+	public final String used;
 
-	public String url;
+	public final String url;
 
-	public String desc;
+	public final String desc;
 
-	public String who;
+	public final String who;
 
-	public String source;
+	public final String source;
 
-	public Date getCreatedAt() {
-		return createdAt;
+	GankResult(Builder builder) {
+		this.createdAt = builder.createdAt;
+		this.publishedAt = builder.publishedAt;
+		this.type = builder.type;
+		this.used = builder.used;
+		this.url = builder.url;
+		this.desc = builder.desc;
+		this.who = builder.who;
+		this.source = builder.source;
 	}
 
-	public void setCreatedAt(Date createdAt) {
-		this.createdAt = createdAt;
+	public Date getCreatedAt() {
+		return createdAt;
 	}
 
 	public Date getPublishedAt() {
 		return publishedAt;
 	}
 
-	public void setPublishedAt(Date publishedAt) {
-		this.publishedAt = publishedAt;
-	}
-
 	public String getType() {
 		return type;
 	}
 
-	public void setType(String type) {
-		this.type = type;
-	}
-
 	public String getUsed() {
 		return used;
 	}
 
-	public void setUsed(String used) {
-		this.used = used;
-	}
-
 	public String getUrl() {
 		return url;
 	}
 
-	public void setUrl(String url) {
-		this.url = url;
-	}
-
 	public String getDesc() {
 		return desc;
 	}
 
-	public void setDesc(String desc) {
-		this.desc = desc;
-	}
-
 	public String getWho() {
 		return who;
 	}
 
-	public void setWho(String who) {
-		this.who = who;
-	}
-
 	public String getSource() {
 		return source;
 	}
 
-	public void setSource(String source) {
-		this.source = source;
+	public Builder newBuilder() {
+		return new Builder(this);
 	}
 
 	@Override
@@ -100,4 +85,76 @@ public class GankResult {
 				", source='" + source + '\'' +
 				'}';
 	}
+
+	/**
+	 * 解析时逐个字段填入, 一般交给 {@link GankResultPool#canonical(Builder)} 而不是直接 {@link #build()}
+	 */
+	public static final class Builder {
+		Date createdAt;
+		Date publishedAt;
+		String type;
+		String used;
+		String url;
+		String desc;
+		String who;
+		String source;
+
+		public Builder() {
+		}
+
+		Builder(GankResult result) {
+			this.createdAt = result.createdAt;
+			this.publishedAt = result.publishedAt;
+			this.type = result.type;
+			this.used = result.used;
+			this.url = result.url;
+			this.desc = result.desc;
+			this.who = result.who;
+			this.source = result.source;
+		}
+
+		public Builder createdAt(Date createdAt) {
+			this.createdAt = createdAt;
+			return this;
+		}
+
+		public Builder publishedAt(Date publishedAt) {
+			this.publishedAt = publishedAt;
+			return this;
+		}
+
+		public Builder type(String type) {
+			this.type = type;
+			return this;
+		}
+
+		public Builder used(String used) {
+			this.used = used;
+			return this;
+		}
+
+		public Builder url(String url) {
+			this.url = url;
+			return this;
+		}
+
+		public Builder desc(String desc) {
+			this.desc = desc;
+			return this;
+		}
+
+		public Builder who(String who) {
+			this.who = who;
+			return this;
+		}
+
+		public Builder source(String source) {
+			this.source = source;
+			return this;
+		}
+
+		public GankResult build() {
+			return new GankResult(this);
+		}
+	}
 }
@@ -0,0 +1,140 @@
+package com.lazy.gank.entity;
+
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.util.WeakInterner;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe GankResult 的 identity map: 同一个 url 的干货 (全部 / 分类 / 每日推荐 / 本地缓存) 共用一个实例.
+ * 搜索返回的是 {@link SearchResult}, 不经过这里.
+ * <p>
+ * 以 url 的 64 位 hash 为 key, 弱引用保存, 没有列表再引用时可以被回收.
+ * GankResult 的字段只读; 内容有变化的新数据会替换旧实例, 已经持有旧实例的地方不受影响.
+ * type / who / source / used 经过 {@link WeakInterner}.
+ */
+public final class GankResultPool {
+	//type / who / source / used 的种类不多, 作者约几千个
+	private static final int MAX_INTERNED = 4096;
+
+	private static volatile GankResultPool mGankResultPool;
+
+	private final WeakInterner mInterner = new WeakInterner(MAX_INTERNED);
+	private final Map<Long, ItemRef> mItems = new HashMap<>();
+	private final ReferenceQueue<GankResult> mQueue = new ReferenceQueue<>();
+
+	@NonNull
+	public static GankResultPool getInstance() {
+		if (mGankResultPool == null) {
+			synchronized (GankResultPool.class) {
+				if (mGankResultPool == null) {
+					mGankResultPool = new GankResultPool();
+				}
+			}
+		}
+		return mGankResultPool;
+	}
+
+	/**
+	 * 解析时用: 内容相同的已有实例直接返回, 不创建新的 GankResult
+	 *
+	 * @param builder 刚解析出来的, 之后不再使用它
+	 * @return 同一 url 且内容相同的已有实例, 或入池的新实例; url 为 null 时只处理字符串
+	 */
+	@NonNull
+	public GankResult canonical(@NonNull GankResult.Builder builder) {
+		builder.type = mInterner.intern(builder.type);
+		builder.who = mInterner.intern(builder.who);
+		builder.source = mInterner.intern(builder.source);
+		builder.used = mInterner.intern(builder.used);
+		if (builder.url == null) {
+			return builder.build();
+		}
+		long key = urlHash(builder.url);
+		synchronized (this) {
+			purge();
+			ItemRef ref = mItems.get(key);
+			GankResult existing = ref == null ? null : ref.get();
+			if (existing != null && sameContent(existing, builder)) {
+				return existing;
+			}
+			GankResult result = builder.build();
+			if (existing == null || existing.url.equals(result.url)) {
+				mItems.put(key, new ItemRef(key, result, mQueue));
+			}
+			//hash 冲突时不入池
+			return result;
+		}
+	}
+
+	/**
+	 * @param result
+	 * @return result 已经入池时返回它本身, 否则同 {@link #canonical(GankResult.Builder)}
+	 */
+	@NonNull
+	public GankResult canonical(@NonNull GankResult result) {
+		if (result.url != null) {
+			synchronized (this) {
+				ItemRef ref = mItems.get(urlHash(result.url));
+				if (ref != null && ref.get() == result) {
+					return result;
+				}
+			}
+		}
+		return canonical(result.newBuilder());
+	}
+
+	public synchronized int size() {
+		purge();
+		return mItems.size();
+	}
+
+	private void purge() {
+		ItemRef ref;
+		while ((ref = (ItemRef) mQueue.poll()) != null) {
+			if (mItems.get(ref.mKey) == ref) {
+				mItems.remove(ref.mKey);
+			}
+		}
+	}
+
+	private static boolean sameContent(GankResult a, GankResult.Builder b) {
+		return equals(a.url, b.url) && equals(a.desc, b.desc) && equals(a.type, b.type) && equals(a.who, b.who)
+				&& equals(a.used, b.used) && equals(a.source, b.source)
+				&& equals(a.publishedAt, b.publishedAt) && equals(a.createdAt, b.createdAt);
+	}
+
+	private static boolean equals(Object a, Object b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	/**
+	 * 64 位 FNV-1a
+	 *
+	 * @param url
+	 * @return
+	 */
+	public static long urlHash(@NonNull String url) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < url.length(); i++) {
+			hash ^= url.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	private static final class ItemRef extends WeakReference<GankResult> {
+		final long mKey;
+
+		ItemRef(long key, GankResult result, ReferenceQueue<GankResult> queue) {
+			super(result, queue);
+			this.mKey = key;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lazy.gank.entity.Category;
+import com.lazy.gank.entity.GankResult;
+
+import java.io.IOException;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link Category} 的 TypeAdapter, 不走反射
+ */
+final class CategoryTypeAdapter extends TypeAdapter<Category> {
+	private final TypeAdapter<GankResult> mGankResultAdapter;
+
+	CategoryTypeAdapter(TypeAdapter<GankResult> gankResultAdapter) {
+		this.mGankResultAdapter = gankResultAdapter;
+	}
+
+	@Override
+	public void write(JsonWriter out, Category value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("Android");
+		JsonHelper.writeList(out, value.androidList, mGankResultAdapter);
+		out.name("休息视频");
+		JsonHelper.writeList(out, value.videoList, mGankResultAdapter);
+		out.name("iOS");
+		JsonHelper.writeList(out, value.iOSList, mGankResultAdapter);
+		out.name("福利");
+		JsonHelper.writeList(out, value.meizhiList, mGankResultAdapter);
+		out.name("拓展资源");
+		JsonHelper.writeList(out, value.extendSourceList, mGankResultAdapter);
+		out.name("瞎推荐");
+		JsonHelper.writeList(out, value.recommandList, mGankResultAdapter);
+		out.name("App");
+		JsonHelper.writeList(out, value.appList, mGankResultAdapter);
+		out.endObject();
+	}
+
+	@Override
+	public Category read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		Category result = new Category();
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "Android":
+					result.androidList = JsonHelper.readList(in, mGankResultAdapter);
+					break;
+				case "休息视频":
+					result.videoList = JsonHelper.readList(in, mGankResultAdapter);
+					break;
+				case "iOS":
+					result.iOSList = JsonHelper.readList(in, mGankResultAdapter);
+					break;
+				case "福利":
+					result.meizhiList = JsonHelper.readList(in, mGankResultAdapter);
+					break;
+				case "拓展资源":
+					result.extendSourceList = JsonHelper.readList(in, mGankResultAdapter);
+					break;
+				case "瞎推荐":
+					result.recommandList = JsonHelper.readList(in, mGankResultAdapter);
+					break;
+				case "App":
+					result.appList = JsonHelper.readList(in, mGankResultAdapter);
+					break;
+				default:
+					in.skipValue();
+					break;
+			}
+		}
+		in.endObject();
+		return result;
+	}
+}
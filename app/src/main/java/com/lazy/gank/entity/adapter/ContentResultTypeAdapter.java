@@ -0,0 +1,65 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lazy.gank.entity.ContentResult;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link ContentResult} 的 TypeAdapter, 不走反射
+ */
+final class ContentResultTypeAdapter extends TypeAdapter<ContentResult> {
+	private final TypeAdapter<Date> mDateAdapter;
+
+	ContentResultTypeAdapter(TypeAdapter<Date> dateAdapter) {
+		this.mDateAdapter = dateAdapter;
+	}
+
+	@Override
+	public void write(JsonWriter out, ContentResult value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("title").value(value.title);
+		out.name("content").value(value.content);
+		out.name("publishedAt");
+		mDateAdapter.write(out, value.publishedAt);
+		out.endObject();
+	}
+
+	@Override
+	public ContentResult read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		ContentResult result = new ContentResult();
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "title":
+					result.title = JsonHelper.readString(in);
+					break;
+				case "content":
+					result.content = JsonHelper.readString(in);
+					break;
+				case "publishedAt":
+					result.publishedAt = mDateAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+					break;
+			}
+		}
+		in.endObject();
+		return result;
+	}
+}
@@ -0,0 +1,68 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lazy.gank.entity.CategoryResult;
+import com.lazy.gank.entity.DayGankResults;
+
+import java.io.IOException;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link DayGankResults} 的 TypeAdapter, 不走反射
+ */
+final class DayGankResultsTypeAdapter extends TypeAdapter<DayGankResults> {
+	private final TypeAdapter<String> mStringAdapter;
+	private final TypeAdapter<CategoryResult> mCategoryResultAdapter;
+
+	DayGankResultsTypeAdapter(TypeAdapter<String> stringAdapter, TypeAdapter<CategoryResult> categoryResultAdapter) {
+		this.mStringAdapter = stringAdapter;
+		this.mCategoryResultAdapter = categoryResultAdapter;
+	}
+
+	@Override
+	public void write(JsonWriter out, DayGankResults value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("category");
+		JsonHelper.writeList(out, value.category, mStringAdapter);
+		out.name("error").value(value.error);
+		out.name("results");
+		mCategoryResultAdapter.write(out, value.results);
+		out.endObject();
+	}
+
+	@Override
+	public DayGankResults read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		DayGankResults result = new DayGankResults();
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "category":
+					result.category = JsonHelper.readList(in, mStringAdapter);
+					break;
+				case "error":
+					result.error = JsonHelper.readBoolean(in);
+					break;
+				case "results":
+					result.results = mCategoryResultAdapter.read(in);
+					break;
+				default:
+					in.skipValue();
+					break;
+			}
+		}
+		in.endObject();
+		return result;
+	}
+}
@@ -0,0 +1,52 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lazy.gank.util.GankDateFormat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Date;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe createdAt / publishedAt 的 TypeAdapter, 用 {@link GankDateFormat} 解析,
+ * 不是 gank.io 格式的再交给 Gson 默认的 DateTypeAdapter.
+ * <p>
+ * 写出统一为 ISO-8601 UTC.
+ */
+final class GankDateTypeAdapter extends TypeAdapter<Date> {
+	private final TypeAdapter<Date> mFallback;
+
+	GankDateTypeAdapter(TypeAdapter<Date> fallback) {
+		this.mFallback = fallback;
+	}
+
+	@Override
+	public void write(JsonWriter out, Date value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+		out.value(GankDateFormat.formatIso(value.getTime()));
+	}
+
+	@Override
+	public Date read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		String value = in.nextString();
+		long millis = GankDateFormat.parse(value);
+		if (millis != GankDateFormat.INVALID) {
+			return new Date(millis);
+		}
+		JsonReader reader = new JsonReader(new StringReader("\"" + value + "\""));
+		reader.setLenient(true);
+		return mFallback.read(reader);
+	}
+}
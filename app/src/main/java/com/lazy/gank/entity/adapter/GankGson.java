@@ -0,0 +1,32 @@
+package com.lazy.gank.entity.adapter;
+
+import android.support.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 全局共用的 Gson, 注册了 {@link GankTypeAdapterFactory}. 所有 Retrofit 的 Converter 都应该用它
+ */
+public final class GankGson {
+	private static Gson sGson;
+
+	private GankGson() {
+	}
+
+	@NonNull
+	public static Gson getInstance() {
+		if (sGson == null) {
+			synchronized (GankGson.class) {
+				if (sGson == null) {
+					sGson = new GsonBuilder()
+							.registerTypeAdapterFactory(new GankTypeAdapterFactory())
+							.create();
+				}
+			}
+		}
+		return sGson;
+	}
+}
@@ -0,0 +1,87 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResultPool;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link GankResult} 的 TypeAdapter, 不走反射; 读出的结果经过 {@link GankResultPool}, 同一条干货共用一个实例
+ */
+final class GankResultTypeAdapter extends TypeAdapter<GankResult> {
+	private final TypeAdapter<Date> mDateAdapter;
+
+	GankResultTypeAdapter(TypeAdapter<Date> dateAdapter) {
+		this.mDateAdapter = dateAdapter;
+	}
+
+	@Override
+	public void write(JsonWriter out, GankResult value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("createdAt");
+		mDateAdapter.write(out, value.createdAt);
+		out.name("publishedAt");
+		mDateAdapter.write(out, value.publishedAt);
+		out.name("type").value(value.type);
+		out.name("used").value(value.used);
+		out.name("url").value(value.url);
+		out.name("desc").value(value.desc);
+		out.name("who").value(value.who);
+		out.name("source").value(value.source);
+		out.endObject();
+	}
+
+	@Override
+	public GankResult read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		GankResult.Builder result = new GankResult.Builder();
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "createdAt":
+					result.createdAt(mDateAdapter.read(in));
+					break;
+				case "publishedAt":
+					result.publishedAt(mDateAdapter.read(in));
+					break;
+				case "type":
+					result.type(JsonHelper.readString(in));
+					break;
+				case "used":
+					result.used(JsonHelper.readString(in));
+					break;
+				case "url":
+					result.url(JsonHelper.readString(in));
+					break;
+				case "desc":
+					result.desc(JsonHelper.readString(in));
+					break;
+				case "who":
+					result.who(JsonHelper.readString(in));
+					break;
+				case "source":
+					result.source(JsonHelper.readString(in));
+					break;
+				default:
+					in.skipValue();
+					break;
+			}
+		}
+		in.endObject();
+		return GankResultPool.getInstance().canonical(result);
+	}
+}
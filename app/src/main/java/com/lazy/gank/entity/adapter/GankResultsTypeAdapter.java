@@ -0,0 +1,60 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lazy.gank.entity.GankResults;
+
+import java.io.IOException;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link GankResults} 的 TypeAdapter, 不走反射. 元素类型由 {@link GankTypeAdapterFactory} 传入
+ */
+final class GankResultsTypeAdapter<E> extends TypeAdapter<GankResults<E>> {
+	private final TypeAdapter<E> mElementAdapter;
+
+	GankResultsTypeAdapter(TypeAdapter<E> elementAdapter) {
+		this.mElementAdapter = elementAdapter;
+	}
+
+	@Override
+	public void write(JsonWriter out, GankResults<E> value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("error").value(value.error);
+		out.name("results");
+		JsonHelper.writeList(out, value.results, mElementAdapter);
+		out.endObject();
+	}
+
+	@Override
+	public GankResults<E> read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		GankResults<E> result = new GankResults<>();
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "error":
+					result.error = JsonHelper.readBoolean(in);
+					break;
+				case "results":
+					result.results = JsonHelper.readList(in, mElementAdapter);
+					break;
+				default:
+					in.skipValue();
+					break;
+			}
+		}
+		in.endObject();
+		return result;
+	}
+}
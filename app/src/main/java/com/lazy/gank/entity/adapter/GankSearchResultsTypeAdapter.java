@@ -0,0 +1,65 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lazy.gank.entity.GankSearchResults;
+import com.lazy.gank.entity.SearchResult;
+
+import java.io.IOException;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link GankSearchResults} 的 TypeAdapter, 不走反射
+ */
+final class GankSearchResultsTypeAdapter extends TypeAdapter<GankSearchResults> {
+	private final TypeAdapter<SearchResult> mSearchResultAdapter;
+
+	GankSearchResultsTypeAdapter(TypeAdapter<SearchResult> searchResultAdapter) {
+		this.mSearchResultAdapter = searchResultAdapter;
+	}
+
+	@Override
+	public void write(JsonWriter out, GankSearchResults value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("count").value(value.count);
+		out.name("error").value(value.error);
+		out.name("results");
+		JsonHelper.writeList(out, value.results, mSearchResultAdapter);
+		out.endObject();
+	}
+
+	@Override
+	public GankSearchResults read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		GankSearchResults result = new GankSearchResults();
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "count":
+					result.count = JsonHelper.readInt(in);
+					break;
+				case "error":
+					result.error = JsonHelper.readBoolean(in);
+					break;
+				case "results":
+					result.results = JsonHelper.readList(in, mSearchResultAdapter);
+					break;
+				default:
+					in.skipValue();
+					break;
+			}
+		}
+		in.endObject();
+		return result;
+	}
+}
@@ -0,0 +1,78 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.lazy.gank.bilibili.entity.Slideshow;
+import com.lazy.gank.bilibili.entity.SlideshowResult;
+import com.lazy.gank.entity.Category;
+import com.lazy.gank.entity.CategoryResult;
+import com.lazy.gank.entity.ContentResult;
+import com.lazy.gank.entity.DayGankResults;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.entity.GankSearchResults;
+import com.lazy.gank.entity.SearchResult;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Date;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 所有实体类的 TypeAdapter 入口, 没有注册的类型交回 Gson 默认处理.
+ * <p>
+ * 实体类增删字段时需要同步修改对应的 XxxTypeAdapter.
+ */
+public final class GankTypeAdapterFactory implements TypeAdapterFactory {
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+		Class<? super T> rawType = type.getRawType();
+		if (rawType == Date.class) {
+			return (TypeAdapter<T>) new GankDateTypeAdapter(gson.getDelegateAdapter(this, TypeToken.get(Date.class)));
+		}
+		if (rawType == GankResult.class) {
+			return (TypeAdapter<T>) new GankResultTypeAdapter(gson.getAdapter(Date.class));
+		}
+		if (rawType == GankResults.class) {
+			return (TypeAdapter<T>) new GankResultsTypeAdapter<>(gson.getAdapter(TypeToken.get(elementType(type))));
+		}
+		if (rawType == GankSearchResults.class) {
+			return (TypeAdapter<T>) new GankSearchResultsTypeAdapter(gson.getAdapter(SearchResult.class));
+		}
+		if (rawType == SearchResult.class) {
+			return (TypeAdapter<T>) new SearchResultTypeAdapter(gson.getAdapter(Date.class));
+		}
+		if (rawType == ContentResult.class) {
+			return (TypeAdapter<T>) new ContentResultTypeAdapter(gson.getAdapter(Date.class));
+		}
+		if (rawType == DayGankResults.class) {
+			return (TypeAdapter<T>) new DayGankResultsTypeAdapter(gson.getAdapter(String.class),
+					gson.getAdapter(CategoryResult.class));
+		}
+		if (rawType == CategoryResult.class) {
+			return (TypeAdapter<T>) new CategoryResultTypeAdapter(gson.getAdapter(GankResult.class));
+		}
+		if (rawType == Category.class) {
+			return (TypeAdapter<T>) new CategoryTypeAdapter(gson.getAdapter(GankResult.class));
+		}
+		if (rawType == Slideshow.class) {
+			return (TypeAdapter<T>) new SlideshowTypeAdapter(gson.getAdapter(SlideshowResult.class));
+		}
+		if (rawType == SlideshowResult.class) {
+			return (TypeAdapter<T>) new SlideshowResultTypeAdapter();
+		}
+		return null;
+	}
+
+	private static Type elementType(TypeToken<?> type) {
+		if (type.getType() instanceof ParameterizedType) {
+			return ((ParameterizedType) type.getType()).getActualTypeArguments()[0];
+		}
+		return Object.class;
+	}
+}
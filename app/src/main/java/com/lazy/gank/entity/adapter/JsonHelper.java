@@ -0,0 +1,80 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe TypeAdapter 公用的读写方法, 行为与 Gson 内置的 String/boolean/int/List 适配器一致
+ */
+final class JsonHelper {
+
+	private JsonHelper() {
+	}
+
+	static String readString(JsonReader in) throws IOException {
+		JsonToken token = in.peek();
+		if (token == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		//gank.io 的 used 是 boolean
+		if (token == JsonToken.BOOLEAN) {
+			return Boolean.toString(in.nextBoolean());
+		}
+		return in.nextString();
+	}
+
+	static boolean readBoolean(JsonReader in) throws IOException {
+		JsonToken token = in.peek();
+		if (token == JsonToken.NULL) {
+			in.nextNull();
+			return false;
+		}
+		if (token == JsonToken.STRING) {
+			return Boolean.parseBoolean(in.nextString());
+		}
+		return in.nextBoolean();
+	}
+
+	static int readInt(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return 0;
+		}
+		return in.nextInt();
+	}
+
+	static <T> List<T> readList(JsonReader in, TypeAdapter<T> adapter) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		List<T> list = new ArrayList<>();
+		in.beginArray();
+		while (in.hasNext()) {
+			list.add(adapter.read(in));
+		}
+		in.endArray();
+		return list;
+	}
+
+	static <T> void writeList(JsonWriter out, List<T> list, TypeAdapter<T> adapter) throws IOException {
+		if (list == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginArray();
+		for (T item : list) {
+			adapter.write(out, item);
+		}
+		out.endArray();
+	}
+}
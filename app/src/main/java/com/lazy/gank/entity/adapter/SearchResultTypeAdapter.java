@@ -0,0 +1,77 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lazy.gank.entity.SearchResult;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link SearchResult} 的 TypeAdapter, 不走反射
+ */
+final class SearchResultTypeAdapter extends TypeAdapter<SearchResult> {
+	private final TypeAdapter<Date> mDateAdapter;
+
+	SearchResultTypeAdapter(TypeAdapter<Date> dateAdapter) {
+		this.mDateAdapter = dateAdapter;
+	}
+
+	@Override
+	public void write(JsonWriter out, SearchResult value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("publishedAt");
+		mDateAdapter.write(out, value.publishedAt);
+		out.name("type").value(value.type);
+		out.name("url").value(value.url);
+		out.name("desc").value(value.desc);
+		out.name("who").value(value.who);
+		out.name("readability").value(value.readability);
+		out.endObject();
+	}
+
+	@Override
+	public SearchResult read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		SearchResult result = new SearchResult();
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "publishedAt":
+					result.publishedAt = mDateAdapter.read(in);
+					break;
+				case "type":
+					result.type = JsonHelper.readString(in);
+					break;
+				case "url":
+					result.url = JsonHelper.readString(in);
+					break;
+				case "desc":
+					result.desc = JsonHelper.readString(in);
+					break;
+				case "who":
+					result.who = JsonHelper.readString(in);
+					break;
+				case "readability":
+					result.readability = JsonHelper.readString(in);
+					break;
+				default:
+					in.skipValue();
+					break;
+			}
+		}
+		in.endObject();
+		return result;
+	}
+}
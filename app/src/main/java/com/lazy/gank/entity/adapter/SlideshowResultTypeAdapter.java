@@ -0,0 +1,69 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lazy.gank.bilibili.entity.SlideshowResult;
+
+import java.io.IOException;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link SlideshowResult} 的 TypeAdapter, 不走反射
+ */
+final class SlideshowResultTypeAdapter extends TypeAdapter<SlideshowResult> {
+	@Override
+	public void write(JsonWriter out, SlideshowResult value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("id").value(value.getId());
+		out.name("img").value(value.getImg());
+		out.name("is_ad").value(value.getIsAd());
+		out.name("link").value(value.getLink());
+		out.name("simg").value(value.getSimg());
+		out.name("title").value(value.getTitle());
+		out.endObject();
+	}
+
+	@Override
+	public SlideshowResult read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		SlideshowResult result = new SlideshowResult();
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "id":
+					result.setId(JsonHelper.readInt(in));
+					break;
+				case "img":
+					result.setImg(JsonHelper.readString(in));
+					break;
+				case "is_ad":
+					result.setIsAd(JsonHelper.readInt(in));
+					break;
+				case "link":
+					result.setLink(JsonHelper.readString(in));
+					break;
+				case "simg":
+					result.setSimg(JsonHelper.readString(in));
+					break;
+				case "title":
+					result.setTitle(JsonHelper.readString(in));
+					break;
+				default:
+					in.skipValue();
+					break;
+			}
+		}
+		in.endObject();
+		return result;
+	}
+}
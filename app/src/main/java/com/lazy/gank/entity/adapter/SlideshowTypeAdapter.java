@@ -0,0 +1,65 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.lazy.gank.bilibili.entity.Slideshow;
+import com.lazy.gank.bilibili.entity.SlideshowResult;
+
+import java.io.IOException;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link Slideshow} 的 TypeAdapter, 不走反射
+ */
+final class SlideshowTypeAdapter extends TypeAdapter<Slideshow> {
+	private final TypeAdapter<SlideshowResult> mSlideshowResultAdapter;
+
+	SlideshowTypeAdapter(TypeAdapter<SlideshowResult> slideshowResultAdapter) {
+		this.mSlideshowResultAdapter = slideshowResultAdapter;
+	}
+
+	@Override
+	public void write(JsonWriter out, Slideshow value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("code").value(value.getCode());
+		out.name("message").value(value.getMessage());
+		out.name("result");
+		JsonHelper.writeList(out, value.getResult(), mSlideshowResultAdapter);
+		out.endObject();
+	}
+
+	@Override
+	public Slideshow read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		Slideshow result = new Slideshow();
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "code":
+					result.setCode(JsonHelper.readInt(in));
+					break;
+				case "message":
+					result.setMessage(JsonHelper.readString(in));
+					break;
+				case "result":
+					result.setResult(JsonHelper.readList(in, mSlideshowResultAdapter));
+					break;
+				default:
+					in.skipValue();
+					break;
+			}
+		}
+		in.endObject();
+		return result;
+	}
+}
@@ -11,16 +11,21 @@ import android.support.v4.view.ViewPager;
 import android.support.v4.widget.DrawerLayout;
 import android.support.v7.app.ActionBarDrawerToggle;
 import android.support.v7.widget.Toolbar;
+import android.util.SparseArray;
 import android.view.KeyEvent;
 import android.view.Menu;
 import android.view.MenuItem;
+import android.view.ViewGroup;
 
 import com.lazy.gank.R;
 import com.lazy.gank.all.GankFragment;
 import com.lazy.gank.base.BaseActivity;
 import com.lazy.gank.internal.di.components.ActivityComponent;
 import com.lazy.gank.meizi.MeiziFragment;
+import com.lazy.gank.network.PriorityGroup;
+import com.lazy.gank.network.RequestPriority;
 import com.lazy.gank.recommend.RecommendGankFragment;
+import com.lazy.gank.search.SearchActivity;
 import com.lazy.gank.ui.activity.SettingActivity;
 import com.lazy.gank.util.ActManager;
 import com.lazy.gank.util.DoubleClick;
@@ -46,6 +51,9 @@ public class MainActivity extends BaseActivity
 	@BindArray(R.array.titile_tabs)
 	String[] titleTabs;
 
+	//已创建的 tab 的请求优先级
+	private final SparseArray<PriorityGroup> mTabPriorities = new SparseArray<>();
+
 	@Override
 	protected void onCreate(@Nullable Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
@@ -82,6 +90,18 @@ public class MainActivity extends BaseActivity
 				}
 			}
 
+			@Override
+			public Object instantiateItem(ViewGroup container, int position) {
+				//恢复的 Fragment 不经过 getItem, 在这里统一登记
+				Object item = super.instantiateItem(container, position);
+				if (item instanceof PriorityGroup.Owner) {
+					PriorityGroup group = ((PriorityGroup.Owner) item).getPriorityGroup();
+					mTabPriorities.put(position, group);
+					group.setPriority(tabPriority(position, viewPager.getCurrentItem()));
+				}
+				return item;
+			}
+
 			@Override
 			public int getCount() {
 				return titleTabs.length;
@@ -94,12 +114,35 @@ public class MainActivity extends BaseActivity
 
 		});
 
+		viewPager.addOnPageChangeListener(new ViewPager.SimpleOnPageChangeListener() {
+			@Override
+			public void onPageSelected(int position) {
+				updateTabPriorities(position);
+			}
+		});
 		viewPager.setCurrentItem(1);
 
 		tabs.setupWithViewPager(viewPager);
 
 	}
 
+	/**
+	 * 当前 tab 的请求最先, 相邻 tab 其次, 其余 tab 只有空闲时才请求
+	 *
+	 * @param selected
+	 */
+	private void updateTabPriorities(int selected) {
+		for (int i = 0; i < mTabPriorities.size(); i++) {
+			mTabPriorities.valueAt(i).setPriority(tabPriority(mTabPriorities.keyAt(i), selected));
+		}
+	}
+
+	private static RequestPriority tabPriority(int position, int selected) {
+		int distance = Math.abs(position - selected);
+		return distance == 0 ? RequestPriority.VISIBLE
+				: distance == 1 ? RequestPriority.ADJACENT : RequestPriority.PREFETCH;
+	}
+
 	@Override
 	public void setViewListener() {
 		navView.setNavigationItemSelectedListener(this);
@@ -144,6 +187,10 @@ public class MainActivity extends BaseActivity
 			startActivity(SettingActivity.class);
 			return true;
 		}
+		if (id == R.id.action_search) {
+			startActivity(SearchActivity.class);
+			return true;
+		}
 
 		return super.onOptionsItemSelected(item);
 	}
@@ -10,6 +10,8 @@ public interface IConstant {
 
 	String GANHUO_API = "http://gank.io/";
 
+	String BILIBILI_API = "http://bangumi.bilibili.com/";
+
 	String BILIBILI_SLIDESHOW = "http://bangumi.bilibili.com/jsonp/slideshow/34.ver";
 
 	String PLACE_HOLDER = "http://img.zcool.cn/community/01013d56ebaea86ac7257d204ec3c8.gif";
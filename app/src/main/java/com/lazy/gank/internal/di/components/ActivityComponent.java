@@ -18,6 +18,7 @@ package com.lazy.gank.internal.di.components;
 import com.lazy.gank.internal.di.modules.ActivityModule;
 import com.lazy.gank.internal.di.rules.IActivityRule;
 import com.lazy.gank.internal.di.scope.ActivityScope;
+import com.lazy.gank.search.SearchActivity;
 
 import dagger.Component;
 
@@ -36,4 +37,6 @@ public interface ActivityComponent extends IActivityRule {
 
 	FragmentComponent getFragmentComponent();
 
+	void inject(SearchActivity searchActivity);
+
 }
@@ -4,6 +4,7 @@ package com.lazy.gank.internal.di.modules;
 import android.content.Context;
 
 import com.lazy.gank.app.MyApplication;
+import com.lazy.gank.data.GankRepository;
 import com.lazy.gank.internal.di.rules.IApplicationRule;
 
 import javax.inject.Singleton;
@@ -39,4 +40,11 @@ public class ApplicationModule implements IApplicationRule{
 		return this.mAppication.getAppContext();
 	}
 
+	@Provides
+	@Singleton
+	@Override
+	public GankRepository getGankRepository() {
+		return GankRepository.getInstance(mAppication);
+	}
+
 }
@@ -1,30 +1,22 @@
 package com.lazy.gank.internal.di.modules;
 
-import com.lazy.gank.interfaces.IConstant;
+import com.lazy.gank.bilibili.BilibiliService;
 import com.lazy.gank.internal.di.rules.IRetrofitRule;
-import com.lazy.gank.logging.Logcat;
 import com.lazy.gank.network.GankService;
-
-import java.io.IOException;
+import com.lazy.gank.network.GankServiceProxy;
+import com.lazy.gank.network.RetrofitManager;
 
 import javax.inject.Singleton;
 
 import dagger.Module;
 import dagger.Provides;
-import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
 import retrofit2.Retrofit;
-import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
-import retrofit2.converter.gson.GsonConverterFactory;
-
-import static com.jude.fitsystemwindowlayout.Utils.TAG;
 
 /**
  * Created by Sky on 2016/9/21.
  *
- * @Describe
+ * @Describe 网络相关对象都来自 {@link RetrofitManager}, 与 GankServiceProxy 共用同一个 client
  */
 @Module
 public class RetrofitModule implements IRetrofitRule {
@@ -34,37 +26,27 @@ public class RetrofitModule implements IRetrofitRule {
 	@Singleton
 	@Override
 	public OkHttpClient defaultOkHttpClient() {
-		OkHttpClient.Builder builder = new OkHttpClient.Builder();
-		builder.addNetworkInterceptor(new Interceptor() {
-			@Override
-			public Response intercept(Chain chain) throws IOException {
-				Request request = chain.request();
-				Logcat.i("intercept: " + request.url().toString(), TAG);
-
-				Response proceed = chain.proceed(request);
-				return proceed;
-			}
-		});
-		return builder.build();
+		return RetrofitManager.getInstance().getOkHttpClient();
 	}
 
 	@Provides
 	@Singleton
 	@Override
 	public Retrofit getGankRetrofit() {
-		Retrofit mGankRetrofit = new retrofit2.Retrofit.Builder()
-				.baseUrl(IConstant.GANHUO_API)
-				.addConverterFactory(GsonConverterFactory.create())
-				.addCallAdapterFactory(RxJavaCallAdapterFactory.create())
-				.client(defaultOkHttpClient())
-				.build();
-		return mGankRetrofit;
+		return RetrofitManager.getInstance().getGankRetrofit();
 	}
 
 	@Provides
 	@Singleton
 	@Override
 	public GankService getGankService() {
-		return getGankRetrofit().create(GankService.class);
+		return GankServiceProxy.getGankService();
+	}
+
+	@Provides
+	@Singleton
+	@Override
+	public BilibiliService getBilibiliService() {
+		return RetrofitManager.getInstance().getBilibiliRetrofit().create(BilibiliService.class);
 	}
 }
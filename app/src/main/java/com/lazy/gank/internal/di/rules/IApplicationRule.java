@@ -3,6 +3,7 @@ package com.lazy.gank.internal.di.rules;
 import android.content.Context;
 
 import com.lazy.gank.app.MyApplication;
+import com.lazy.gank.data.GankRepository;
 
 public interface IApplicationRule {
 
@@ -10,5 +11,7 @@ public interface IApplicationRule {
 
 	Context getAppContext();
 
+	GankRepository getGankRepository();
+
 	// TODO: 2016/9/21
 }
\ No newline at end of file
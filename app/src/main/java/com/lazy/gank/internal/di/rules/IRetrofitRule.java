@@ -1,5 +1,6 @@
 package com.lazy.gank.internal.di.rules;
 
+import com.lazy.gank.bilibili.BilibiliService;
 import com.lazy.gank.network.GankService;
 
 import okhttp3.OkHttpClient;
@@ -19,4 +20,6 @@ public interface IRetrofitRule {
 	Retrofit getGankRetrofit();
 
 	GankService getGankService();
+
+	BilibiliService getBilibiliService();
 }
@@ -1,9 +1,13 @@
 package com.lazy.gank.meizi;
 
+import com.lazy.gank.base.PageCursor;
 import com.lazy.gank.entity.GankResult;
 import com.lazy.gank.entity.GankResults;
 import com.lazy.gank.interfaces.mvp.BasePresenter;
 import com.lazy.gank.interfaces.mvp.BaseView;
+import com.lazy.gank.network.PriorityGroup;
+
+import java.util.List;
 
 /**
  * Created by Sky on 2016/9/20.
@@ -16,15 +20,64 @@ public interface MeiziContract {
 	interface Presenter extends BasePresenter {
 		void showMeizi(int page, int count);
 
+		/**
+		 * 流式加载, 结果分批回调 {@link View#addMeiziBatch(List)}
+		 */
+		void showMeiziBatches(PageCursor.Window window);
+
+		/**
+		 * 下拉刷新: 丢弃预取的页, 不使用 HTTP 缓存, 结果同样分批回调
+		 */
+		void refreshMeizi(PageCursor.Window window);
+
+		/**
+		 * 提前请求 window, 之后 offset 相同的 {@link #showMeiziBatches(PageCursor.Window)} 直接使用结果
+		 */
+		void prefetchMeizi(PageCursor.Window window);
+
+		/**
+		 * 本地保存的 window 这一段 (从 offset 开始), 回调 {@link View#showLocalMeizi(List)}.
+		 * {@link #showMeiziBatches(PageCursor.Window)} 会先调用它
+		 */
+		void showLocalMeizi(PageCursor.Window window);
+
+		/**
+		 * 丢弃预取的页
+		 */
+		void clearPrefetched();
+
 		void setView(View view);
 	}
 
-	interface View extends BaseView {
+	/**
+	 * 请求按 {@link PriorityGroup.Owner#getPriorityGroup()} 的优先级排队
+	 */
+	interface View extends BaseView, PriorityGroup.Owner {
 		void addMeizi(GankResults<GankResult> results);
 
-		int getCurrentPage();
+		/**
+		 * 网络返回之前先显示的本地数据, 之后同一页的 {@link #addMeiziBatch(List)} 按位置替换它
+		 */
+		void showLocalMeizi(List<GankResult> local);
+
+		void addMeiziBatch(List<GankResult> batch);
+
+		/**
+		 * 一页加载完成
+		 *
+		 * @param itemCount 本页条数, 0 表示没有更多了
+		 */
+		void onMeiziPageLoaded(int itemCount);
+
+		/**
+		 * 一页加载失败, 可以再次加载
+		 */
+		void onMeiziPageFailed();
 
-		int getCount();
+		/**
+		 * @return 下一页的请求, 条数随网络情况变化
+		 */
+		PageCursor.Window getNextWindow();
 	}
 
 }
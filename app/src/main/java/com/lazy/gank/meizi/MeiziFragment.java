@@ -7,6 +7,8 @@ import android.widget.Toast;
 
 import com.chad.library.adapter.base.BaseQuickAdapter;
 import com.lazy.gank.R;
+import com.lazy.gank.base.PageMerger;
+import com.lazy.gank.base.PageSizePolicy;
 import com.lazy.gank.base.TabContentFragment;
 import com.lazy.gank.entity.GankResult;
 import com.lazy.gank.entity.GankResults;
@@ -15,6 +17,7 @@ import com.lazy.gank.internal.di.components.FragmentComponent;
 import com.lazy.gank.logging.Logcat;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.inject.Inject;
 
@@ -32,7 +35,12 @@ public class MeiziFragment extends TabContentFragment implements BaseQuickAdapte
 	@Inject
 	MeiziPresenter  mMeiziPresenter;
 
-	int mPageSize = 10;
+	//没有下一页时不再预取
+	boolean mHasMore = true;
+	//正在加载的页还没有计入 mCursor, 这时不预取
+	boolean mLoadingPage;
+	//每页先显示本地数据, 网络结果按位置替换
+	PageMerger<GankResult> mMerger;
 
 	public MeiziFragment() {
 	}
@@ -60,13 +68,14 @@ public class MeiziFragment extends TabContentFragment implements BaseQuickAdapte
 		StaggeredGridLayoutManager layoutManager = new StaggeredGridLayoutManager(2, StaggeredGridLayoutManager.VERTICAL);
 		recyclerView.setLayoutManager(layoutManager);
 		recyclerView.setAdapter(mMeiziAdapter);
+		mMerger = new PageMerger<>(mMeiziAdapter.getData());
 	}
 
 	@Override
 	public void setViewListener() {
 		super.setViewListener();
 		mMeiziAdapter.openLoadAnimation();
-		mMeiziAdapter.openLoadMore(mPageSize, true);
+		mMeiziAdapter.openLoadMore(PageSizePolicy.MIN_PAGE_SIZE, true);
 		mMeiziAdapter.setOnLoadMoreListener(this);
 		mMeiziAdapter.setOnRecyclerViewItemClickListener(this);
 	}
@@ -74,24 +83,36 @@ public class MeiziFragment extends TabContentFragment implements BaseQuickAdapte
 	@Override
 	public void processExtraData() {
 		super.processExtraData();
+		mLoadingPage = true;
+		mMerger.begin();
 		mMeiziPresenter.subscribe();
 	}
 
 	@Override
 	public void onRefresh() {
 		page = 1;
+		mCursor.reset();
+		mHasMore = true;
 		mMeiziAdapter.getData().clear();
-		mMeiziPresenter.showMeizi(1, mPageSize);
+		mLoadingPage = true;
+		mMerger.begin();
+		mMeiziPresenter.refreshMeizi(getNextWindow());
 		swipRefreshLayout.setRefreshing(false);
 		Logcat.d("onRefresh");
 	}
 
 	@Override
 	public void onLoadMoreRequested() {
+		if (mLoadingPage) {
+			//本地数据显示时第一页还没回来
+			return;
+		}
 		++page;
 		Logcat.d("onLoadMoreRequested" + "page = " + page);
 		Toast.makeText(getContext(), "第" + page + "页", Toast.LENGTH_SHORT).show();
-		mMeiziPresenter.showMeizi(page, mPageSize);
+		mLoadingPage = true;
+		mMerger.begin();
+		mMeiziPresenter.showMeiziBatches(getNextWindow());
 	}
 
 	@Override
@@ -107,8 +128,51 @@ public class MeiziFragment extends TabContentFragment implements BaseQuickAdapte
 	}
 
 	@Override
-	public int getCount() {
-		return mPageSize;
+	public void showLocalMeizi(List<GankResult> local) {
+		if (mMerger.showLocal(local)) {
+			mMeiziAdapter.notifyDataSetChanged();
+		}
+	}
+
+	@Override
+	public void addMeiziBatch(List<GankResult> batch) {
+		mMerger.addBatch(batch);
+		mMeiziAdapter.notifyDataSetChanged();
+	}
+
+	@Override
+	public void onMeiziPageLoaded(int itemCount) {
+		mLoadingPage = false;
+		if (mMerger.complete() > 0) {
+			mMeiziAdapter.notifyDataSetChanged();
+		}
+		mCursor.advance(itemCount);
+		if (itemCount > 0) {
+			mMeiziAdapter.notifyDataChangedAfterLoadMore(true);
+		} else {
+			mHasMore = false;
+			mMeiziAdapter.notifyDataChangedAfterLoadMore(false);
+			showMessage("到底~\\(≧▽≦)/~啦啦啦");
+		}
+	}
+
+	@Override
+	public void onMeiziPageFailed() {
+		mLoadingPage = false;
+		//本地条目留在列表里, 下一页从它们之后开始
+		mCursor.advance(mMerger.fail());
+		mMeiziAdapter.notifyDataChangedAfterLoadMore(true);
+	}
+
+	@Override
+	public void onPrefetch(int pagesAhead) {
+		if (!mHasMore || mLoadingPage) {
+			return;
+		}
+		int size = getPageSize();
+		for (int i = 0; i < pagesAhead; i++) {
+			mMeiziPresenter.prefetchMeizi(mCursor.peek(i, size));
+		}
 	}
 
 
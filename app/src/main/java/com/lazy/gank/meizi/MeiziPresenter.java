@@ -1,15 +1,21 @@
 package com.lazy.gank.meizi;
 
+import com.lazy.gank.base.PageBuffer;
+import com.lazy.gank.base.PageCursor;
+import com.lazy.gank.data.GankRepository;
 import com.lazy.gank.entity.GankResult;
 import com.lazy.gank.entity.GankResults;
-import com.lazy.gank.network.GankService;
+import com.lazy.gank.network.RequestPriority;
+
+import java.util.List;
 
 import javax.inject.Inject;
 
+import rx.Observable;
 import rx.Subscriber;
 import rx.Subscription;
 import rx.android.schedulers.AndroidSchedulers;
-import rx.schedulers.Schedulers;
+import rx.functions.Action1;
 import rx.subscriptions.CompositeSubscription;
 
 /**
@@ -19,10 +25,14 @@ import rx.subscriptions.CompositeSubscription;
  */
 
 public class MeiziPresenter implements MeiziContract.Presenter {
+	//流式加载时每批条数
+	public static final int BATCH_SIZE = 5;
 
 	MeiziContract.View mView;
-	GankService mGankService;
+	GankRepository mGankRepository;
 	private CompositeSubscription mCompositeSubscription;
+	//预取的页
+	private final PageBuffer<GankResult> mPrefetched = new PageBuffer<>();
 
 	@Inject
 	public MeiziPresenter() {
@@ -30,8 +40,8 @@ public class MeiziPresenter implements MeiziContract.Presenter {
 	}
 
 	@Inject
-	public void setGankService(GankService mGankService) {
-		this.mGankService = mGankService;
+	public void setGankRepository(GankRepository mGankRepository) {
+		this.mGankRepository = mGankRepository;
 	}
 
 
@@ -41,9 +51,9 @@ public class MeiziPresenter implements MeiziContract.Presenter {
 
 	@Override
 	public void showMeizi(int page, int count) {
-		Subscription subscribe = this.mGankService //没用Dagger  GankServiceProxy.getGankService()
+		Subscription subscribe = this.mGankRepository
 				.getCategoryData("福利", count, page)
-				.subscribeOn(Schedulers.io())
+				.subscribeOn(mView.getPriorityGroup().scheduler())
 				.observeOn(AndroidSchedulers.mainThread())
 				.subscribe(new Subscriber<GankResults<GankResult>>() {
 
@@ -71,13 +81,117 @@ public class MeiziPresenter implements MeiziContract.Presenter {
 		mCompositeSubscription.add(subscribe);
 	}
 
+	/**
+	 * 边下载边解析, 每 {@link #BATCH_SIZE} 条发射一次, 已去掉 window 开头加载过的条目
+	 *
+	 * @param window
+	 * @param refresh 下拉刷新, 不使用 HTTP 缓存
+	 * @return
+	 */
+	public Observable<List<GankResult>> getMeiziBatches(PageCursor.Window window, boolean refresh) {
+		return mGankRepository.getCategoryBatches("福利", window, BATCH_SIZE, refresh);
+	}
+
+	@Override
+	public void prefetchMeizi(PageCursor.Window window) {
+		if (mPrefetched.contains(window.offset)) {
+			return;
+		}
+		//按 offset 保存, 之后页大小变了也能用
+		//预取排在用户正在等的请求后面
+		mPrefetched.prefetch(window.offset, mGankRepository
+				.getCategoryPage("福利", window)
+				.subscribeOn(mView.getPriorityGroup().scheduler(RequestPriority.PREFETCH)));
+	}
+
+	@Override
+	public void clearPrefetched() {
+		mPrefetched.clear();
+	}
+
+	@Override
+	public void showMeiziBatches(PageCursor.Window window) {
+		showLocalMeizi(window);
+		Observable<List<GankResult>> prefetched = mPrefetched.take(window.offset);
+		loadMeiziBatches(prefetched == null ? getMeiziBatches(window, false)
+				//预取失败时再走一次流式请求
+				: prefetched.onErrorResumeNext(getMeiziBatches(window, false)));
+	}
+
+	@Override
+	public void refreshMeizi(PageCursor.Window window) {
+		mPrefetched.clear();
+		loadMeiziBatches(getMeiziBatches(window, true));
+	}
+
+	private void loadMeiziBatches(Observable<List<GankResult>> source) {
+		Subscription subscribe = source
+				.subscribeOn(mView.getPriorityGroup().scheduler())
+				.observeOn(AndroidSchedulers.mainThread())
+				.subscribe(new Subscriber<List<GankResult>>() {
+					int mItemCount;
+
+					@Override
+					public void onStart() {
+						super.onStart();
+						mView.showLoading();
+					}
+
+					@Override
+					public void onCompleted() {
+						mView.hideLoading();
+						mView.onMeiziPageLoaded(mItemCount);
+					}
+
+					@Override
+					public void onError(Throwable e) {
+						mView.hideLoading();
+						mView.onMeiziPageFailed();
+						mView.showMessage("网络错误");
+					}
+
+					@Override
+					public void onNext(List<GankResult> batch) {
+						if (mItemCount == 0) {
+							//第一批到达就可以隐藏 loading 了
+							mView.hideLoading();
+						}
+						mItemCount += batch.size();
+						mView.addMeiziBatch(batch);
+					}
+				});
+		mCompositeSubscription.add(subscribe);
+	}
+
+	@Override
+	public void showLocalMeizi(PageCursor.Window window) {
+		Subscription subscribe = mGankRepository
+				.getLocalPage("福利", window.offset, window.newItems())
+				.subscribeOn(mView.getPriorityGroup().scheduler())
+				.observeOn(AndroidSchedulers.mainThread())
+				.subscribe(new Action1<List<GankResult>>() {
+					@Override
+					public void call(List<GankResult> local) {
+						mView.showLocalMeizi(local);
+					}
+				}, new Action1<Throwable>() {
+					@Override
+					public void call(Throwable throwable) {
+						//本地没有就等网络
+					}
+				});
+		mCompositeSubscription.add(subscribe);
+	}
+
 	@Override
 	public void subscribe() {
-		showMeizi(mView.getCurrentPage(), mView.getCount());
+		//先显示本地保存的, 网络结果到达后按位置替换
+		showMeiziBatches(mView.getNextWindow());
 	}
 
 	@Override
 	public void unsubscribe() {
+		mPrefetched.clear();
 		if (!mCompositeSubscription.isUnsubscribed()) {
 			mCompositeSubscription.unsubscribe();
 		}
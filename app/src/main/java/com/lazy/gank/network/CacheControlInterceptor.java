@@ -0,0 +1,43 @@
+package com.lazy.gank.network;
+
+import java.io.IOException;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe Network Interceptor: gank.io 不返回缓存头, 给成功的 GET 响应补上
+ * {@code Cache-Control: public, max-age=MAX_AGE} 让 OkHttp 写入磁盘缓存.
+ * 服务器自带的 ETag / Last-Modified 原样保留, 后台验证时 OkHttp 会自动带条件请求.
+ * <p>
+ * 请求带 {@link HttpCache#HEADER_MAX_AGE} 时去掉这个头再发出, 并用它覆盖服务器返回的缓存头.
+ */
+public class CacheControlInterceptor implements Interceptor {
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		boolean override = request.header(HttpCache.HEADER_MAX_AGE) != null;
+		int maxAge = HttpCache.maxAge(request);
+		if (override) {
+			request = request.newBuilder().removeHeader(HttpCache.HEADER_MAX_AGE).build();
+		}
+		Response response = chain.proceed(request);
+		if (!"GET".equals(request.method()) || !response.isSuccessful()) {
+			return response;
+		}
+		CacheControl cacheControl = response.cacheControl();
+		if (!override && (cacheControl.noStore() || cacheControl.maxAgeSeconds() > 0)) {
+			return response;
+		}
+		return response.newBuilder()
+				.removeHeader("Pragma")
+				.removeHeader("Expires")
+				.header("Cache-Control", "public, max-age=" + maxAge)
+				.build();
+	}
+}
@@ -0,0 +1,116 @@
+package com.lazy.gank.network;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.logging.Logcat;
+import com.lazy.gank.util.NetworkUtil;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 离线优先 (stale-while-revalidate) 的 Application Interceptor:
+ * <ul>
+ * <li>有缓存: 立即返回缓存, 缓存超过 {@link HttpCache#maxAge(Request)} 时后台重新请求刷新缓存</li>
+ * <li>无缓存: 正常走网络</li>
+ * <li>离线: 返回 {@link HttpCache#MAX_STALE} 内的任意缓存, 不再后台刷新</li>
+ * </ul>
+ * 必须配合 {@link CacheControlInterceptor} 使用, 否则 gank.io 的响应不会被写入缓存.
+ */
+public class CacheInterceptor implements Interceptor {
+	private static final String TAG = "CacheInterceptor";
+
+	private static final CacheControl CACHED_ANY_AGE = new CacheControl.Builder()
+			.onlyIfCached()
+			.maxStale(HttpCache.MAX_STALE, TimeUnit.SECONDS)
+			.build();
+
+	//强制带条件(ETag/Last-Modified)去服务器验证
+	private static final CacheControl REVALIDATE = new CacheControl.Builder()
+			.maxAge(0, TimeUnit.SECONDS)
+			.build();
+
+	private final Context mContext;
+	private final Set<String> mRevalidating = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+	private volatile OkHttpClient mClient;
+
+	public CacheInterceptor(@NonNull Context context) {
+		this.mContext = context.getApplicationContext();
+	}
+
+	/**
+	 * 后台刷新使用的 client, build() 之后设置
+	 *
+	 * @param client
+	 */
+	public void setClient(OkHttpClient client) {
+		this.mClient = client;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		CacheControl requestCache = request.cacheControl();
+		if (!"GET".equals(request.method()) || requestCache.noCache() || requestCache.maxAgeSeconds() == 0) {
+			return chain.proceed(request);
+		}
+
+		Response cached = chain.proceed(request.newBuilder().cacheControl(CACHED_ANY_AGE).build());
+		if (cached.code() == 504) {
+			//无缓存 (离线时这里会直接抛出网络异常)
+			cached.body().close();
+			return chain.proceed(request);
+		}
+
+		long age = System.currentTimeMillis() - cached.receivedResponseAtMillis();
+		if (age > TimeUnit.SECONDS.toMillis(HttpCache.maxAge(request)) && NetworkUtil.isNetworkAvailable(mContext)) {
+			revalidate(request);
+		}
+		return cached;
+	}
+
+	private void revalidate(Request request) {
+		final OkHttpClient client = mClient;
+		final String url = request.url().toString();
+		if (client == null || !mRevalidating.add(url)) {
+			return;
+		}
+		//后台刷新不急, 按预取排队
+		Request revalidate = request.newBuilder()
+				.cacheControl(REVALIDATE)
+				.tag(RequestPriority.PREFETCH)
+				.build();
+		client.newCall(revalidate).enqueue(new Callback() {
+			@Override
+			public void onFailure(Call call, IOException e) {
+				mRevalidating.remove(url);
+				Logcat.w("revalidate failed: " + url, TAG);
+			}
+
+			@Override
+			public void onResponse(Call call, Response response) throws IOException {
+				try {
+					//读完 body 才会提交到磁盘缓存
+					response.body().bytes();
+				} finally {
+					response.body().close();
+					mRevalidating.remove(url);
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,86 @@
+package com.lazy.gank.network;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 单个接口的熔断器
+ * <ul>
+ * <li>CLOSED: 正常请求, 连续失败 failureThreshold 次后 OPEN</li>
+ * <li>OPEN: 直接失败, openMillis 之后进入 HALF_OPEN</li>
+ * <li>HALF_OPEN: 只放行一个试探请求, 成功则 CLOSED, 失败则重新 OPEN</li>
+ * </ul>
+ */
+public class CircuitBreaker {
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int mFailureThreshold;
+	private final long mOpenMillis;
+
+	private State mState = State.CLOSED;
+	private int mFailures;
+	private long mOpenedAt;
+	private boolean mTrialInFlight;
+
+	public CircuitBreaker(int failureThreshold, long openMillis) {
+		this.mFailureThreshold = failureThreshold;
+		this.mOpenMillis = openMillis;
+	}
+
+	/**
+	 * @return 是否可以发出请求
+	 */
+	public synchronized boolean allowRequest() {
+		return allowRequest(System.currentTimeMillis());
+	}
+
+	synchronized boolean allowRequest(long now) {
+		switch (mState) {
+			case OPEN:
+				if (now - mOpenedAt < mOpenMillis) {
+					return false;
+				}
+				mState = State.HALF_OPEN;
+				mTrialInFlight = true;
+				return true;
+			case HALF_OPEN:
+				if (mTrialInFlight) {
+					return false;
+				}
+				mTrialInFlight = true;
+				return true;
+			default:
+				return true;
+		}
+	}
+
+	public synchronized void onSuccess() {
+		mState = State.CLOSED;
+		mFailures = 0;
+		mTrialInFlight = false;
+	}
+
+	/**
+	 * 放行的请求没有访问网络 (由缓存返回), 不改变状态; 半开时允许下一个试探请求
+	 */
+	public synchronized void onSkipped() {
+		mTrialInFlight = false;
+	}
+
+	public synchronized void onFailure() {
+		onFailure(System.currentTimeMillis());
+	}
+
+	synchronized void onFailure(long now) {
+		mTrialInFlight = false;
+		if (mState == State.HALF_OPEN || ++mFailures >= mFailureThreshold) {
+			mState = State.OPEN;
+			mOpenedAt = now;
+		}
+	}
+
+	public synchronized State getState() {
+		return mState;
+	}
+}
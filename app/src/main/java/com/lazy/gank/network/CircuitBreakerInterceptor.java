@@ -0,0 +1,88 @@
+package com.lazy.gank.network;
+
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.logging.Logcat;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 按接口模板熔断的 Application Interceptor, 放在 {@link CacheInterceptor} 之后.
+ * <p>
+ * 有缓存的请求已经由 {@link CacheInterceptor} 返回, 只读缓存 (only-if-cached) 的请求直接放行不计数,
+ * 所以熔断期间有缓存的接口照常返回缓存, 没有缓存的在建立连接之前就抛出 {@link CircuitOpenException}.
+ * 在应用层才能统计到 DNS / 连接 / TLS 失败; IOException, RuntimeException 和 5xx 算失败,
+ * 由 HTTP 缓存返回 (没有走网络) 的响应不计数.
+ */
+public class CircuitBreakerInterceptor implements Interceptor {
+	private static final String TAG = "CircuitBreaker";
+
+	public static final int FAILURE_THRESHOLD = 5;
+	public static final long OPEN_SECONDS = 30;
+
+	private final EndpointMatcher mMatcher;
+	private final ConcurrentMap<String, CircuitBreaker> mBreakers = new ConcurrentHashMap<>();
+
+	public CircuitBreakerInterceptor(@NonNull EndpointMatcher matcher) {
+		this.mMatcher = matcher;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		if (request.cacheControl().onlyIfCached()) {
+			return chain.proceed(request);
+		}
+		String endpoint = mMatcher.match(request.url());
+		CircuitBreaker breaker = getBreaker(endpoint);
+		if (!breaker.allowRequest()) {
+			throw new CircuitOpenException(endpoint);
+		}
+		Response response;
+		try {
+			response = chain.proceed(request);
+		} catch (IOException | RuntimeException e) {
+			//半开时不记录的话试探标记一直保留, 熔断器不会再放行
+			onFailure(endpoint, breaker);
+			throw e;
+		}
+		if (response.networkResponse() == null) {
+			//HTTP 缓存返回的, 不说明接口的状态
+			breaker.onSkipped();
+		} else if (response.code() >= 500) {
+			onFailure(endpoint, breaker);
+		} else {
+			breaker.onSuccess();
+		}
+		return response;
+	}
+
+	@NonNull
+	public CircuitBreaker getBreaker(@NonNull String endpoint) {
+		CircuitBreaker breaker = mBreakers.get(endpoint);
+		if (breaker == null) {
+			CircuitBreaker created = new CircuitBreaker(FAILURE_THRESHOLD, TimeUnit.SECONDS.toMillis(OPEN_SECONDS));
+			breaker = mBreakers.putIfAbsent(endpoint, created);
+			if (breaker == null) {
+				breaker = created;
+			}
+		}
+		return breaker;
+	}
+
+	private void onFailure(String endpoint, CircuitBreaker breaker) {
+		breaker.onFailure();
+		if (breaker.getState() == CircuitBreaker.State.OPEN) {
+			Logcat.w("circuit open: " + endpoint, TAG);
+		}
+	}
+}
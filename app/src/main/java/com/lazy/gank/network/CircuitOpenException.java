@@ -0,0 +1,23 @@
+package com.lazy.gank.network;
+
+import java.io.IOException;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 接口熔断中, 请求没有发出
+ */
+public class CircuitOpenException extends IOException {
+	private static final long serialVersionUID = 1L;
+
+	private final String mEndpoint;
+
+	public CircuitOpenException(String endpoint) {
+		super("circuit open: " + endpoint);
+		this.mEndpoint = endpoint;
+	}
+
+	public String getEndpoint() {
+		return mEndpoint;
+	}
+}
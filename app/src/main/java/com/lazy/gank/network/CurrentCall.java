@@ -0,0 +1,43 @@
+package com.lazy.gank.network;
+
+import android.support.annotation.Nullable;
+
+import rx.Subscription;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 当前线程上正在订阅的请求, 用来在 Interceptor 里判断它是否已经取消.
+ * <p>
+ * OkHttp 3.3 的 Interceptor.Chain 拿不到 Call; RxJavaCallAdapter 在订阅的线程上同步 execute, 退订时 cancel Call,
+ * 所以订阅者退订就相当于 Call 被取消. 和 {@link RequestPriority} 一样在订阅时设置.
+ */
+public final class CurrentCall {
+	private static final ThreadLocal<Subscription> CURRENT = new ThreadLocal<>();
+
+	private CurrentCall() {
+	}
+
+	/**
+	 * @return 当前线程上的请求已经退订; 没有设置时为 false
+	 */
+	public static boolean isCanceled() {
+		Subscription subscription = CURRENT.get();
+		return subscription != null && subscription.isUnsubscribed();
+	}
+
+	@Nullable
+	static Subscription get() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * @param subscription 可以为 null
+	 * @return 之前的值, 用来恢复
+	 */
+	static Subscription swap(Subscription subscription) {
+		Subscription previous = CURRENT.get();
+		CURRENT.set(subscription);
+		return previous;
+	}
+}
@@ -0,0 +1,102 @@
+package com.lazy.gank.network;
+
+import android.support.annotation.NonNull;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import okhttp3.HttpUrl;
+import retrofit2.http.GET;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 把请求 URL 还原成 Service 上 @GET 的接口模板,
+ * 例如 http://gank.io/api/data/Android/10/1 -> api/data/{category}/{count}/{page}
+ * <p>
+ * 没有匹配的模板时返回 URL 的 path.
+ */
+public final class EndpointMatcher {
+	private final List<String[]> mTemplates = new ArrayList<>();
+
+	/**
+	 * @param serviceClasses Retrofit 接口
+	 */
+	public EndpointMatcher(@NonNull Class<?>... serviceClasses) {
+		for (Class<?> serviceClass : serviceClasses) {
+			for (Method method : serviceClass.getMethods()) {
+				GET get = method.getAnnotation(GET.class);
+				if (get != null && !contains(get.value())) {
+					mTemplates.add(get.value().split("/"));
+				}
+			}
+		}
+		//固定段多的优先
+		Collections.sort(mTemplates, new Comparator<String[]>() {
+			@Override
+			public int compare(String[] lhs, String[] rhs) {
+				return literalCount(rhs) - literalCount(lhs);
+			}
+		});
+	}
+
+	@NonNull
+	public String match(@NonNull HttpUrl url) {
+		List<String> segments = url.pathSegments();
+		for (String[] template : mTemplates) {
+			if (matches(template, segments)) {
+				return join(template);
+			}
+		}
+		return url.encodedPath();
+	}
+
+	private boolean contains(String template) {
+		for (String[] segments : mTemplates) {
+			if (join(segments).equals(template)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean matches(String[] template, List<String> segments) {
+		if (template.length != segments.size()) {
+			return false;
+		}
+		for (int i = 0; i < template.length; i++) {
+			if (!isVariable(template[i]) && !template[i].equals(segments.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isVariable(String segment) {
+		return segment.startsWith("{") && segment.endsWith("}");
+	}
+
+	private static int literalCount(String[] template) {
+		int count = 0;
+		for (String segment : template) {
+			if (!isVariable(segment)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static String join(String[] template) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < template.length; i++) {
+			if (i > 0) {
+				builder.append('/');
+			}
+			builder.append(template[i]);
+		}
+		return builder.toString();
+	}
+}
@@ -5,9 +5,12 @@ import com.lazy.gank.entity.DayGankResults;
 import com.lazy.gank.entity.GankResult;
 import com.lazy.gank.entity.GankResults;
 import com.lazy.gank.entity.GankSearchResults;
+import com.lazy.gank.network.converter.GankResultStream;
 
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.Path;
+import retrofit2.http.Streaming;
 import rx.Observable;
 
 /**
@@ -68,10 +71,11 @@ public interface GankService {
 	/**
 	 * 获取发过干货日期接口:
 	 *
+	 * @param cacheControl 下拉刷新时为 {@link HttpCache#FORCE_NETWORK}, 否则为 null
 	 * @return
 	 */
 	@GET("api/day/history")
-	Observable<GankResults<String>> getDayHistoty();
+	Observable<GankResults<String>> getDayHistoty(@Header("Cache-Control") String cacheControl);
 
 	/**
 	 * 分类数据: http://gank.io/api/data/数据类型/请求个数/第几页
@@ -92,6 +96,24 @@ public interface GankService {
 			@Path("page") int page
 	);
 
+	/**
+	 * 分类数据的流式版本: 边下载边解析, 见 {@link GankResultStream#batches(int)}
+	 *
+	 * @param category
+	 * @param count
+	 * @param page
+	 * @param cacheControl 下拉刷新时为 {@link HttpCache#FORCE_NETWORK}, 否则为 null
+	 * @return
+	 */
+	@Streaming
+	@GET("api/data/{category}/{count}/{page}")
+	Observable<GankResultStream> getCategoryDataStream(
+			@Path("category") String category,
+			@Path("count") int count,
+			@Path("page") int page,
+			@Header("Cache-Control") String cacheControl
+	);
+
 	/**
 	 * 获取特定日期的gank
 	 *
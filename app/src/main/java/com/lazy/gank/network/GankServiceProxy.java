@@ -1,5 +1,9 @@
 package com.lazy.gank.network;
 
+import com.lazy.gank.network.metrics.NetworkMetrics;
+import com.lazy.gank.network.policy.CallPolicies;
+import com.lazy.gank.network.policy.HedgingPolicy;
+
 /**
  * Created by Sky on 2016/9/12.
  *
@@ -7,13 +11,27 @@ package com.lazy.gank.network;
  */
 
 public class GankServiceProxy {
+	//对冲慢请求的接口: 非流式的列表 / 按天查询
+	private static final String[] HEDGED_ENDPOINTS = {
+			"api/data/{category}/{count}/{page}",
+			"api/day/{year}/{month}/{day}",
+			"api/day/history"
+	};
+
 	private static GankService sGankService;
 
 	public static GankService getGankService() {
 		if (sGankService == null) {
 			synchronized (GankServiceProxy.class) {
 				if (sGankService == null) {
-					sGankService = RetrofitManager.getInstance().getGankRetrofit().create(GankService.class);
+					RetrofitManager manager = RetrofitManager.getInstance();
+					NetworkMetrics metrics = manager.getNetworkMetrics();
+					HedgingPolicy hedging = CallPolicies.hedging();
+					for (String endpoint : HEDGED_ENDPOINTS) {
+						//等待时间为该接口观测到的 p95
+						hedging.hedge(endpoint, HedgingPolicy.observedP95(metrics.get(endpoint)));
+					}
+					sGankService = CallPolicies.gank(manager.getGankRetrofit().create(GankService.class));
 				}
 			}
 		}
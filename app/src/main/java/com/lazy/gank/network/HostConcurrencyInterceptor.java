@@ -0,0 +1,68 @@
+package com.lazy.gank.network;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 限制每个 host 同时进行的请求数.
+ * <p>
+ * Dispatcher#setMaxRequestsPerHost 只对 enqueue 的异步请求生效, 而 RxJavaCallAdapter
+ * 在 io 线程里同步 execute, 所以这里用信号量兜底. 只读缓存的请求不占名额.
+ */
+public class HostConcurrencyInterceptor implements Interceptor {
+	private final int mMaxRequestsPerHost;
+	private final ConcurrentMap<String, Semaphore> mPermits = new ConcurrentHashMap<>();
+
+	public HostConcurrencyInterceptor(int maxRequestsPerHost) {
+		this.mMaxRequestsPerHost = maxRequestsPerHost;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		if (request.cacheControl().onlyIfCached()) {
+			return chain.proceed(request);
+		}
+		Semaphore permits = permits(request.url().host());
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException("interrupted while waiting for " + request.url().host());
+		}
+		try {
+			return chain.proceed(request);
+		} finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * @param host
+	 * @return 正在等待名额的请求数
+	 */
+	public int getQueueLength(String host) {
+		Semaphore permits = mPermits.get(host);
+		return permits == null ? 0 : permits.getQueueLength();
+	}
+
+	private Semaphore permits(String host) {
+		Semaphore permits = mPermits.get(host);
+		if (permits == null) {
+			Semaphore created = new Semaphore(mMaxRequestsPerHost, true);
+			permits = mPermits.putIfAbsent(host, created);
+			if (permits == null) {
+				permits = created;
+			}
+		}
+		return permits;
+	}
+}
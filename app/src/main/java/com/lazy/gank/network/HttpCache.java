@@ -0,0 +1,82 @@
+package com.lazy.gank.network;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.util.StorageUtils;
+
+import java.io.File;
+
+import okhttp3.Cache;
+import okhttp3.Request;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 磁盘响应缓存, 所有 OkHttpClient 共用同一个实例 (同一目录只能有一个 DiskLruCache)
+ */
+
+public final class HttpCache {
+	/**
+	 * 缓存目录 StorageUtils.getAppCacheFile()/http
+	 */
+	public static final String DIR_NAME = "http";
+	/**
+	 * 磁盘缓存上限 10M
+	 */
+	public static final long MAX_SIZE = 10 * 1024 * 1024;
+	/**
+	 * 响应在此时间(秒)内视为新鲜, 超过后先返回缓存再后台重新验证
+	 */
+	public static final int MAX_AGE = 60;
+	/**
+	 * 离线时最多使用多旧的缓存(秒)
+	 */
+	public static final int MAX_STALE = 7 * 24 * 60 * 60;
+	/**
+	 * 接口自己的新鲜时间(秒), 如 {@code @Headers(HttpCache.HEADER_MAX_AGE + ": 3600")};
+	 * 只在本地使用, 发出请求前由 {@link CacheControlInterceptor} 去掉
+	 */
+	public static final String HEADER_MAX_AGE = "X-Cache-Max-Age";
+	/**
+	 * 用户主动刷新时 {@code @Header("Cache-Control")} 的值: 不读缓存直接请求网络, 结果仍写入缓存.
+	 * 被动加载传 null, 按离线优先的策略走缓存
+	 */
+	public static final String FORCE_NETWORK = "no-cache";
+
+	private static Cache sCache;
+
+	private HttpCache() {
+	}
+
+	@NonNull
+	public static Cache getInstance(@NonNull Context context) {
+		if (sCache == null) {
+			synchronized (HttpCache.class) {
+				if (sCache == null) {
+					File directory = new File(StorageUtils.getAppCacheFile(context), DIR_NAME);
+					sCache = new Cache(directory, MAX_SIZE);
+				}
+			}
+		}
+		return sCache;
+	}
+
+	/**
+	 * @param request
+	 * @return 请求的 {@link #HEADER_MAX_AGE}, 没有或无效时为 {@link #MAX_AGE}
+	 */
+	public static int maxAge(@NonNull Request request) {
+		String value = request.header(HEADER_MAX_AGE);
+		if (value != null) {
+			try {
+				int maxAge = Integer.parseInt(value.trim());
+				if (maxAge >= 0) {
+					return maxAge;
+				}
+			} catch (NumberFormatException ignored) {
+			}
+		}
+		return MAX_AGE;
+	}
+}
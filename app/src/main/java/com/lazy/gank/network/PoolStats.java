@@ -0,0 +1,47 @@
+package com.lazy.gank.network;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 共享 OkHttpClient 的连接池 / 调度 / 缓存快照
+ */
+public final class PoolStats {
+	public final int connectionCount;
+	public final int idleConnectionCount;
+	public final int runningCallsCount;
+	public final int queuedCallsCount;
+	public final int cacheRequestCount;
+	public final int cacheHitCount;
+	public final int cacheNetworkCount;
+
+	PoolStats(int connectionCount, int idleConnectionCount, int runningCallsCount, int queuedCallsCount,
+			  int cacheRequestCount, int cacheHitCount, int cacheNetworkCount) {
+		this.connectionCount = connectionCount;
+		this.idleConnectionCount = idleConnectionCount;
+		this.runningCallsCount = runningCallsCount;
+		this.queuedCallsCount = queuedCallsCount;
+		this.cacheRequestCount = cacheRequestCount;
+		this.cacheHitCount = cacheHitCount;
+		this.cacheNetworkCount = cacheNetworkCount;
+	}
+
+	/**
+	 * @return 正在使用的连接数
+	 */
+	public int activeConnectionCount() {
+		return connectionCount - idleConnectionCount;
+	}
+
+	@Override
+	public String toString() {
+		return "PoolStats{" +
+				"connectionCount=" + connectionCount +
+				", idleConnectionCount=" + idleConnectionCount +
+				", runningCallsCount=" + runningCallsCount +
+				", queuedCallsCount=" + queuedCallsCount +
+				", cacheRequestCount=" + cacheRequestCount +
+				", cacheHitCount=" + cacheHitCount +
+				", cacheNetworkCount=" + cacheNetworkCount +
+				'}';
+	}
+}
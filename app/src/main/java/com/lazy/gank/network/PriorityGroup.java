@@ -0,0 +1,64 @@
+package com.lazy.gank.network;
+
+import android.support.annotation.NonNull;
+
+import rx.Scheduler;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link PriorityScheduler} 里优先级一起变化的一组任务, 一般一个 tab 一个.
+ * <p>
+ * 优先级在执行时才读取, 改变后排队中的任务立即按新的优先级重新排序.
+ */
+public final class PriorityGroup {
+	private final PriorityScheduler mScheduler;
+	private volatile RequestPriority mPriority;
+
+	PriorityGroup(PriorityScheduler scheduler, RequestPriority priority) {
+		this.mScheduler = scheduler;
+		this.mPriority = priority;
+	}
+
+	@NonNull
+	public RequestPriority getPriority() {
+		return mPriority;
+	}
+
+	public void setPriority(@NonNull RequestPriority priority) {
+		if (mPriority != priority) {
+			mPriority = priority;
+			mScheduler.reprioritize();
+		}
+	}
+
+	/**
+	 * @return 按 group 当前优先级排队的 Scheduler
+	 */
+	@NonNull
+	public Scheduler scheduler() {
+		return scheduler(RequestPriority.VISIBLE);
+	}
+
+	/**
+	 * @param floor 最高只能到这个优先级, 如预取用 PREFETCH, 当前 tab 的预取也不会排到别的请求前面
+	 * @return
+	 */
+	@NonNull
+	public Scheduler scheduler(@NonNull RequestPriority floor) {
+		return mScheduler.new GroupScheduler(this, floor);
+	}
+
+	RequestPriority effective(RequestPriority floor) {
+		RequestPriority priority = mPriority;
+		return priority.compareTo(floor) >= 0 ? priority : floor;
+	}
+
+	/**
+	 * 持有 PriorityGroup 的页面, 由所在的 ViewPager 设置优先级
+	 */
+	public interface Owner {
+		@NonNull
+		PriorityGroup getPriorityGroup();
+	}
+}
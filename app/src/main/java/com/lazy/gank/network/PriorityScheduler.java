@@ -0,0 +1,325 @@
+package com.lazy.gank.network;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.schedulers.Schedulers;
+import rx.subscriptions.CompositeSubscription;
+import rx.subscriptions.MultipleAssignmentSubscription;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 按 {@link RequestPriority} 排队的线程池, 代替 GankService 调用的 Schedulers.io().
+ * <p>
+ * 同时最多 maxThreads 个任务在跑, 排队的任务总是先取优先级高的; PREFETCH 最多占 maxPrefetchThreads 个线程,
+ * 且只有前面没有更高优先级的任务时才会开始. 已经在跑的任务不会被打断, 只影响还在排队的.
+ * <p>
+ * 任务的优先级来自 {@link PriorityGroup}, 切换 tab 时改 group 的优先级, 排队中的任务随之重新排序.
+ * 任务执行期间 {@link RequestPriority#current()} 为任务的优先级, RateLimitInterceptor 按它排队.
+ */
+public final class PriorityScheduler {
+	//同时执行的任务数 (与 RetrofitManager.MAX_REQUESTS_PER_HOST 一致) / 其中预取最多占几个
+	public static final int MAX_THREADS = 4;
+	public static final int MAX_PREFETCH_THREADS = 1;
+
+	private static final Comparator<Task> ORDER = new Comparator<Task>() {
+		@Override
+		public int compare(Task lhs, Task rhs) {
+			int c = lhs.mPriority.compareTo(rhs.mPriority);
+			if (c != 0) {
+				return c;
+			}
+			return lhs.mSequence < rhs.mSequence ? -1 : (lhs.mSequence == rhs.mSequence ? 0 : 1);
+		}
+	};
+
+	private static PriorityScheduler sPriorityScheduler;
+
+	private final Executor mExecutor;
+	private final int mMaxThreads;
+	private final int mMaxPrefetchThreads;
+	//以下由 this 保护
+	private PriorityQueue<Task> mQueue = new PriorityQueue<>(11, ORDER);
+	private long mSequence;
+	private int mRunning;
+	private int mRunningPrefetch;
+
+	PriorityScheduler(@NonNull Executor executor, int maxThreads, int maxPrefetchThreads) {
+		if (maxThreads <= 0 || maxPrefetchThreads <= 0 || maxPrefetchThreads > maxThreads) {
+			throw new IllegalArgumentException("maxThreads=" + maxThreads + ", maxPrefetchThreads=" + maxPrefetchThreads);
+		}
+		this.mExecutor = executor;
+		this.mMaxThreads = maxThreads;
+		this.mMaxPrefetchThreads = maxPrefetchThreads;
+	}
+
+	@NonNull
+	public static PriorityScheduler getInstance() {
+		if (sPriorityScheduler == null) {
+			synchronized (PriorityScheduler.class) {
+				if (sPriorityScheduler == null) {
+					sPriorityScheduler = new PriorityScheduler(newExecutor(), MAX_THREADS, MAX_PREFETCH_THREADS);
+				}
+			}
+		}
+		return sPriorityScheduler;
+	}
+
+	/**
+	 * @param priority 初始优先级
+	 * @return 一组优先级相同的任务, 一般一个 tab 一个
+	 */
+	@NonNull
+	public PriorityGroup newGroup(@NonNull RequestPriority priority) {
+		return new PriorityGroup(this, priority);
+	}
+
+	/**
+	 * @param priority
+	 * @return 排队中的该优先级的任务数
+	 */
+	public synchronized int getQueuedCount(@NonNull RequestPriority priority) {
+		int count = 0;
+		for (Task task : mQueue) {
+			if (task.mPriority == priority) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * group 的优先级变了, 重新计算排队任务的优先级
+	 */
+	synchronized void reprioritize() {
+		//PriorityQueue 不会因为元素的比较结果变化而调整, 只能重建
+		List<Task> tasks = new ArrayList<>(mQueue);
+		PriorityQueue<Task> queue = new PriorityQueue<>(Math.max(11, tasks.size()), ORDER);
+		for (Task task : tasks) {
+			task.mPriority = task.mGroup.effective(task.mFloor);
+			queue.add(task);
+		}
+		mQueue = queue;
+		dispatch();
+	}
+
+	private synchronized void submit(Task task) {
+		task.mPriority = task.mGroup.effective(task.mFloor);
+		task.mSequence = mSequence++;
+		mQueue.add(task);
+		dispatch();
+	}
+
+	private synchronized void finish(Task task) {
+		mRunning--;
+		if (task.mRunningAs == RequestPriority.PREFETCH) {
+			mRunningPrefetch--;
+		}
+		dispatch();
+	}
+
+	private void dispatch() {
+		while (mRunning < mMaxThreads) {
+			Task head = mQueue.peek();
+			//队首是 PREFETCH 说明后面也都是 PREFETCH
+			if (head == null || (head.mPriority == RequestPriority.PREFETCH && mRunningPrefetch >= mMaxPrefetchThreads)) {
+				return;
+			}
+			mQueue.poll();
+			head.mRunningAs = head.mPriority;
+			mRunning++;
+			if (head.mRunningAs == RequestPriority.PREFETCH) {
+				mRunningPrefetch++;
+			}
+			mExecutor.execute(head);
+		}
+	}
+
+	private static ExecutorService newExecutor() {
+		return Executors.newCachedThreadPool(new ThreadFactory() {
+			private final AtomicInteger mCount = new AtomicInteger();
+
+			@Override
+			public Thread newThread(@NonNull Runnable r) {
+				Thread thread = new Thread(r, "gank-priority-" + mCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * 一个 Worker 同一时间最多有一个 Task 在队列里或在执行, 保证 Worker 的 action 按顺序串行执行
+	 */
+	private final class Task implements Runnable {
+		final PriorityGroup mGroup;
+		final RequestPriority mFloor;
+		final PriorityWorker mWorker;
+		RequestPriority mPriority;
+		RequestPriority mRunningAs;
+		long mSequence;
+
+		Task(PriorityGroup group, RequestPriority floor, PriorityWorker worker) {
+			this.mGroup = group;
+			this.mFloor = floor;
+			this.mWorker = worker;
+		}
+
+		@Override
+		public void run() {
+			RequestPriority previous = RequestPriority.swap(mRunningAs);
+			try {
+				mWorker.drain();
+			} finally {
+				RequestPriority.swap(previous);
+				finish(this);
+			}
+		}
+	}
+
+	/**
+	 * 绑定到 group 的 rx Scheduler
+	 */
+	final class GroupScheduler extends Scheduler {
+		private final PriorityGroup mGroup;
+		private final RequestPriority mFloor;
+
+		GroupScheduler(PriorityGroup group, RequestPriority floor) {
+			this.mGroup = group;
+			this.mFloor = floor;
+		}
+
+		@Override
+		public Worker createWorker() {
+			return new PriorityWorker(mGroup, mFloor);
+		}
+	}
+
+	private final class PriorityWorker extends Scheduler.Worker {
+		private final PriorityGroup mGroup;
+		private final RequestPriority mFloor;
+		private final CompositeSubscription mActions = new CompositeSubscription();
+		private final ConcurrentLinkedQueue<ScheduledAction> mPending = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger mWip = new AtomicInteger();
+
+		PriorityWorker(PriorityGroup group, RequestPriority floor) {
+			this.mGroup = group;
+			this.mFloor = floor;
+		}
+
+		@Override
+		public Subscription schedule(Action0 action) {
+			if (isUnsubscribed()) {
+				return Subscriptions.unsubscribed();
+			}
+			ScheduledAction scheduled = new ScheduledAction(action, mActions);
+			mActions.add(scheduled);
+			mPending.offer(scheduled);
+			if (mWip.getAndIncrement() == 0) {
+				submit(new Task(mGroup, mFloor, this));
+			}
+			return scheduled;
+		}
+
+		@Override
+		public Subscription schedule(final Action0 action, long delayTime, TimeUnit unit) {
+			if (delayTime <= 0) {
+				return schedule(action);
+			}
+			if (isUnsubscribed()) {
+				return Subscriptions.unsubscribed();
+			}
+			//延时在 computation 上等, 到点后再排队
+			final MultipleAssignmentSubscription subscription = new MultipleAssignmentSubscription();
+			mActions.add(subscription);
+			subscription.set(Observable.timer(delayTime, unit, Schedulers.computation())
+					.subscribe(new Action1<Long>() {
+						@Override
+						public void call(Long ignored) {
+							subscription.set(schedule(action));
+						}
+					}));
+			return subscription;
+		}
+
+		void drain() {
+			do {
+				ScheduledAction scheduled = mPending.poll();
+				if (scheduled != null && !isUnsubscribed()) {
+					scheduled.run();
+				}
+			} while (mWip.decrementAndGet() > 0);
+		}
+
+		@Override
+		public void unsubscribe() {
+			mActions.unsubscribe();
+			mPending.clear();
+		}
+
+		@Override
+		public boolean isUnsubscribed() {
+			return mActions.isUnsubscribed();
+		}
+	}
+
+	private static final class ScheduledAction implements Subscription {
+		private final Action0 mAction;
+		private final CompositeSubscription mParent;
+		private final AtomicBoolean mUnsubscribed = new AtomicBoolean();
+
+		ScheduledAction(Action0 action, CompositeSubscription parent) {
+			this.mAction = action;
+			this.mParent = parent;
+		}
+
+		void run() {
+			if (mUnsubscribed.get()) {
+				return;
+			}
+			//subscribeOn 的下游退订时 Worker 退订, 这里随之退订
+			Subscription previous = CurrentCall.swap(this);
+			try {
+				mAction.call();
+			} catch (Throwable e) {
+				//和 rx 自带的 Scheduler 一样交给线程的 UncaughtExceptionHandler, 不能让 Worker 卡住
+				Thread thread = Thread.currentThread();
+				thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+			} finally {
+				CurrentCall.swap(previous);
+				unsubscribe();
+			}
+		}
+
+		@Override
+		public void unsubscribe() {
+			if (mUnsubscribed.compareAndSet(false, true)) {
+				mParent.remove(this);
+			}
+		}
+
+		@Override
+		public boolean isUnsubscribed() {
+			return mUnsubscribed.get();
+		}
+	}
+}
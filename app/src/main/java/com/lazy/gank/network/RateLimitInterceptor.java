@@ -0,0 +1,235 @@
+package com.lazy.gank.network;
+
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.network.metrics.Histogram;
+import com.lazy.gank.network.metrics.Percentiles;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import rx.Subscription;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 按 host 的令牌桶限流 (Application Interceptor).
+ * <p>
+ * 每个 host 每秒补充 permitsPerSecond 个令牌, 最多攒 burst 个; 没有令牌的请求不失败,
+ * 按 {@link RequestPriority} (同优先级先来先得) 排队等待. 只读缓存的请求不消耗令牌.
+ * 排队中被取消 (见 {@link CurrentCall}) 的请求离开队列, 不消耗令牌, 抛出 IOException("Canceled").
+ * 放在 {@link HostConcurrencyInterceptor} 之前, 排队时不占用连接名额.
+ */
+public class RateLimitInterceptor implements Interceptor {
+	//1 分钟
+	private static final long MAX_WAIT_MILLIS = 60 * 1000;
+	//排队时多久检查一次是否取消
+	private static final long CANCEL_CHECK_MILLIS = 100;
+
+	private final double mPermitsPerSecond;
+	private final int mBurst;
+	private final ConcurrentMap<String, TokenBucket> mBuckets = new ConcurrentHashMap<>();
+
+	/**
+	 * @param permitsPerSecond 默认每个 host 每秒的请求数
+	 * @param burst            默认每个 host 可以连续发出的请求数
+	 */
+	public RateLimitInterceptor(double permitsPerSecond, int burst) {
+		this.mPermitsPerSecond = permitsPerSecond;
+		this.mBurst = burst;
+	}
+
+	/**
+	 * 单独设置某个 host 的限制, 需要在这个 host 的第一个请求之前调用
+	 *
+	 * @param host
+	 * @param permitsPerSecond
+	 * @param burst
+	 */
+	public void setLimit(@NonNull String host, double permitsPerSecond, int burst) {
+		mBuckets.put(host, new TokenBucket(host, permitsPerSecond, burst));
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		if (request.cacheControl().onlyIfCached()) {
+			return chain.proceed(request);
+		}
+		TokenBucket bucket = getBucket(request.url().host());
+		try {
+			bucket.acquire(RequestPriority.of(request), CurrentCall.get());
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException("interrupted while waiting for " + request.url().host());
+		}
+		return chain.proceed(request);
+	}
+
+	/**
+	 * @return 每个 host 的排队情况
+	 */
+	@NonNull
+	public List<Stats> getStats() {
+		List<Stats> stats = new ArrayList<>(mBuckets.size());
+		for (TokenBucket bucket : mBuckets.values()) {
+			stats.add(bucket.stats());
+		}
+		return stats;
+	}
+
+	@NonNull
+	TokenBucket getBucket(String host) {
+		TokenBucket bucket = mBuckets.get(host);
+		if (bucket == null) {
+			TokenBucket created = new TokenBucket(host, mPermitsPerSecond, mBurst);
+			bucket = mBuckets.putIfAbsent(host, created);
+			if (bucket == null) {
+				bucket = created;
+			}
+		}
+		return bucket;
+	}
+
+	/**
+	 * 单个 host 的统计
+	 */
+	public static final class Stats {
+		public final String host;
+		//正在排队的请求数
+		public final int queueDepth;
+		//排过队的请求数
+		public final long throttled;
+		//所有请求的等待时间 (毫秒), 包括不用等的
+		public final Percentiles waitMillis;
+
+		Stats(String host, int queueDepth, long throttled, Percentiles waitMillis) {
+			this.host = host;
+			this.queueDepth = queueDepth;
+			this.throttled = throttled;
+			this.waitMillis = waitMillis;
+		}
+
+		@Override
+		public String toString() {
+			return host + " queue=" + queueDepth + " throttled=" + throttled + " wait=" + waitMillis;
+		}
+	}
+
+	static final class TokenBucket {
+		private final String mHost;
+		private final double mPermitsPerNano;
+		private final int mBurst;
+		private final PriorityQueue<Waiter> mWaiters = new PriorityQueue<>();
+		private final Histogram mWaitMillis = new Histogram(MAX_WAIT_MILLIS);
+		private double mTokens;
+		private long mRefilledAt = System.nanoTime();
+		private long mSequence;
+		private long mThrottled;
+
+		TokenBucket(String host, double permitsPerSecond, int burst) {
+			this.mHost = host;
+			this.mPermitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+			this.mBurst = burst;
+			this.mTokens = burst;
+		}
+
+		long acquire(RequestPriority priority) throws InterruptedException, IOException {
+			return acquire(priority, null);
+		}
+
+		/**
+		 * 拿到一个令牌才返回
+		 *
+		 * @param priority
+		 * @param call     已退订时不再排队, 可以为 null
+		 * @return 等待的毫秒数
+		 * @throws InterruptedException
+		 * @throws IOException          call 在拿到令牌之前退订
+		 */
+		long acquire(RequestPriority priority, Subscription call) throws InterruptedException, IOException {
+			long start = System.nanoTime();
+			synchronized (this) {
+				checkCanceled(call);
+				refill(start);
+				if (mWaiters.isEmpty() && mTokens >= 1) {
+					mTokens -= 1;
+					mWaitMillis.record(0);
+					return 0;
+				}
+				Waiter waiter = new Waiter(priority, mSequence++);
+				mWaiters.add(waiter);
+				mThrottled++;
+				try {
+					while (true) {
+						checkCanceled(call);
+						long now = System.nanoTime();
+						refill(now);
+						if (mWaiters.peek() == waiter && mTokens >= 1) {
+							break;
+						}
+						//排在最前面的等下一个令牌, 其余的等被唤醒
+						long waitNanos = mWaiters.peek() == waiter
+								? (long) Math.ceil((1 - mTokens) / mPermitsPerNano) : Long.MAX_VALUE;
+						//同时定期检查是否取消
+						TimeUnit.NANOSECONDS.timedWait(this,
+								Math.min(waitNanos, TimeUnit.MILLISECONDS.toNanos(CANCEL_CHECK_MILLIS)));
+					}
+					mTokens -= 1;
+				} finally {
+					mWaiters.remove(waiter);
+					notifyAll();
+				}
+			}
+			long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			mWaitMillis.record(waited);
+			return waited;
+		}
+
+		private static void checkCanceled(Subscription call) throws IOException {
+			if (call != null && call.isUnsubscribed()) {
+				throw new IOException("Canceled");
+			}
+		}
+
+		private void refill(long now) {
+			mTokens = Math.min(mBurst, mTokens + (now - mRefilledAt) * mPermitsPerNano);
+			mRefilledAt = now;
+		}
+
+		synchronized int getQueueDepth() {
+			return mWaiters.size();
+		}
+
+		synchronized Stats stats() {
+			return new Stats(mHost, mWaiters.size(), mThrottled, mWaitMillis.snapshot());
+		}
+	}
+
+	private static final class Waiter implements Comparable<Waiter> {
+		final RequestPriority mPriority;
+		final long mSequence;
+
+		Waiter(RequestPriority priority, long sequence) {
+			this.mPriority = priority;
+			this.mSequence = sequence;
+		}
+
+		@Override
+		public int compareTo(Waiter another) {
+			int byPriority = mPriority.compareTo(another.mPriority);
+			if (byPriority != 0) {
+				return byPriority;
+			}
+			return mSequence < another.mSequence ? -1 : (mSequence == another.mSequence ? 0 : 1);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.lazy.gank.network;
+
+import android.support.annotation.NonNull;
+
+import okhttp3.Request;
+import rx.Observable;
+import rx.Subscriber;
+import rx.Subscription;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 请求的优先级, 排在前面的优先. 通过当前线程传给 Interceptor:
+ * RxJavaCallAdapter 在订阅的线程上同步 execute, 所以订阅时设置就能在 intercept 里取到.
+ * <p>
+ * 没有设置时按 {@link #VISIBLE} 处理. 后台重新验证缓存等 enqueue 的请求不在订阅线程上执行,
+ * 用 Request.Builder#tag 指定, 见 {@link #of(Request)}.
+ */
+public enum RequestPriority {
+	/**
+	 * 用户正在看的内容
+	 */
+	VISIBLE,
+	/**
+	 * 相邻的 tab
+	 */
+	ADJACENT,
+	/**
+	 * 预取, 可能用不上
+	 */
+	PREFETCH;
+
+	private static final ThreadLocal<RequestPriority> CURRENT = new ThreadLocal<>();
+
+	/**
+	 * @return 当前线程上的优先级
+	 */
+	@NonNull
+	public static RequestPriority current() {
+		RequestPriority priority = CURRENT.get();
+		return priority == null ? VISIBLE : priority;
+	}
+
+	/**
+	 * @param request
+	 * @return request 的 tag 是 RequestPriority 时用它, 否则为 {@link #current()}
+	 */
+	@NonNull
+	public static RequestPriority of(@NonNull Request request) {
+		Object tag = request.tag();
+		return tag instanceof RequestPriority ? (RequestPriority) tag : current();
+	}
+
+	/**
+	 * 订阅 call 期间把当前线程的优先级设为 this, 并记下订阅者供 {@link CurrentCall} 判断取消.
+	 * 需要在 subscribeOn 之后的线程上订阅
+	 *
+	 * @param call Service 调用
+	 * @param <T>
+	 * @return
+	 */
+	@NonNull
+	public <T> Observable<T> apply(@NonNull final Observable<T> call) {
+		final RequestPriority priority = this;
+		return Observable.create(new Observable.OnSubscribe<T>() {
+			@Override
+			public void call(Subscriber<? super T> subscriber) {
+				RequestPriority previous = swap(priority);
+				Subscription previousCall = CurrentCall.swap(subscriber);
+				try {
+					call.unsafeSubscribe(subscriber);
+				} finally {
+					CurrentCall.swap(previousCall);
+					swap(previous);
+				}
+			}
+		});
+	}
+
+	/**
+	 * @param priority 可以为 null
+	 * @return 之前的值, 用来恢复
+	 */
+	static RequestPriority swap(RequestPriority priority) {
+		RequestPriority previous = CURRENT.get();
+		CURRENT.set(priority);
+		return previous;
+	}
+}
@@ -1,29 +1,63 @@
 package com.lazy.gank.network;
 
+import android.content.Context;
 import android.support.annotation.NonNull;
 
+import com.google.gson.Gson;
+import com.lazy.gank.app.MyApplication;
+import com.lazy.gank.bilibili.BilibiliService;
+import com.lazy.gank.entity.adapter.GankGson;
 import com.lazy.gank.interfaces.IConstant;
-import com.lazy.gank.logging.Logcat;
+import com.lazy.gank.network.metrics.NetworkMetrics;
+import com.lazy.gank.network.converter.GankStreamConverterFactory;
+import com.lazy.gank.network.converter.JsonpConverterFactory;
+import com.lazy.gank.network.converter.MemoizingConverterFactory;
 
-import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-import okhttp3.Interceptor;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
  * Created by lazy on 16/9/11.
+ * <p>
+ * 应用内唯一的 HTTP client 注册处: 所有 Retrofit (包括 Dagger RetrofitModule 提供的)
+ * 共用同一个 OkHttpClient, 也就共用连接池里的 keep-alive 连接.
  */
-class RetrofitManager {
-	private static final String TAG = "RetrofitManager";
+public class RetrofitManager {
+	//连接池: 最多保留的空闲连接 / 空闲连接存活时间
+	public static final int MAX_IDLE_CONNECTIONS = 5;
+	public static final long KEEP_ALIVE_MINUTES = 5;
+	//调度: 总并发 / 单个 host 并发
+	public static final int MAX_REQUESTS = 16;
+	public static final int MAX_REQUESTS_PER_HOST = 4;
+	//限流: 每个 host 每秒的请求数 / 可以连续发出的请求数
+	public static final double RATE_LIMIT_PER_SECOND = 5;
+	public static final int RATE_LIMIT_BURST = 10;
+
 	private static RetrofitManager mRetrofitManager;
+	private final ConnectionPool mConnectionPool;
+	private final Dispatcher mDispatcher;
+	private final OkHttpClient mOkHttpClient;
+	private CircuitBreakerInterceptor mCircuitBreakerInterceptor;
+	private final RateLimitInterceptor mRateLimitInterceptor = new RateLimitInterceptor(RATE_LIMIT_PER_SECOND, RATE_LIMIT_BURST);
+	private NetworkMetrics mNetworkMetrics;
+	private final MemoizingConverterFactory mMemoizingConverterFactory = MemoizingConverterFactory.create();
 	private Retrofit mGankRetrofit;
+	private Retrofit mBilibiliRetrofit;
 
 	private RetrofitManager() {
+		mConnectionPool = new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES);
+		mDispatcher = new Dispatcher();
+		mDispatcher.setMaxRequests(MAX_REQUESTS);
+		mDispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+		mOkHttpClient = defaultOkHttpClient();
 	}
 
 	@NonNull
@@ -38,16 +72,25 @@ class RetrofitManager {
 		return mRetrofitManager;
 	}
 
+	@NonNull
+	public OkHttpClient getOkHttpClient() {
+		return mOkHttpClient;
+	}
+
 	@NonNull
 	public Retrofit getGankRetrofit() {
 		if (mGankRetrofit == null) {
 			synchronized (RetrofitManager.class) {
 				if (mGankRetrofit == null) {
+					Gson gson = GankGson.getInstance();
 					mGankRetrofit = new retrofit2.Retrofit.Builder()
 							.baseUrl(IConstant.GANHUO_API)
-							.addConverterFactory(GsonConverterFactory.create())
+							.addConverterFactory(GankStreamConverterFactory.create(gson))
+							//内容没变的响应不再解析, 必须在 Gson 之前
+							.addConverterFactory(mMemoizingConverterFactory)
+							.addConverterFactory(GsonConverterFactory.create(gson))
 							.addCallAdapterFactory(RxJavaCallAdapterFactory.create())
-							.client(defaultOkHttpClient())
+							.client(mOkHttpClient)
 							.build();
 				}
 			}
@@ -55,18 +98,104 @@ class RetrofitManager {
 		return mGankRetrofit;
 	}
 
-	private OkHttpClient defaultOkHttpClient() {
-		OkHttpClient.Builder builder = new OkHttpClient.Builder();
-		builder.addNetworkInterceptor(new Interceptor() {
-			@Override
-			public Response intercept(Chain chain) throws IOException {
-				Request request = chain.request();
-				Logcat.i("intercept: " + request.url().toString(), TAG);
-
-				Response proceed = chain.proceed(request);
-				return proceed;
+	/**
+	 * bangumi.bilibili.com, 与 gank.io 共用同一个 client
+	 *
+	 * @return
+	 */
+	@NonNull
+	public Retrofit getBilibiliRetrofit() {
+		if (mBilibiliRetrofit == null) {
+			synchronized (RetrofitManager.class) {
+				if (mBilibiliRetrofit == null) {
+					mBilibiliRetrofit = new retrofit2.Retrofit.Builder()
+							.baseUrl(IConstant.BILIBILI_API)
+							.addConverterFactory(JsonpConverterFactory.create(GankGson.getInstance()))
+							.addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+							.client(mOkHttpClient)
+							.build();
+				}
 			}
-		});
-		return builder.build();
+		}
+		return mBilibiliRetrofit;
+	}
+
+	/**
+	 * 响应内容未变化而跳过解析的统计
+	 *
+	 * @return
+	 */
+	@NonNull
+	public MemoizingConverterFactory getMemoizingConverterFactory() {
+		return mMemoizingConverterFactory;
+	}
+
+	/**
+	 * 按接口模板统计的延迟 / 流量
+	 *
+	 * @return
+	 */
+	@NonNull
+	public NetworkMetrics getNetworkMetrics() {
+		return mNetworkMetrics;
+	}
+
+	/**
+	 * @param endpoint 接口模板, 如 api/data/{category}/{count}/{page}
+	 * @return 该接口的熔断器
+	 */
+	@NonNull
+	public CircuitBreaker getCircuitBreaker(@NonNull String endpoint) {
+		return mCircuitBreakerInterceptor.getBreaker(endpoint);
+	}
+
+	/**
+	 * 每个 host 限流排队的情况
+	 *
+	 * @return
+	 */
+	@NonNull
+	public List<RateLimitInterceptor.Stats> getRateLimitStats() {
+		return mRateLimitInterceptor.getStats();
+	}
+
+	/**
+	 * 连接池 / 调度 / 缓存的实时统计
+	 *
+	 * @return
+	 */
+	@NonNull
+	public PoolStats getPoolStats() {
+		Cache cache = mOkHttpClient.cache();
+		return new PoolStats(mConnectionPool.connectionCount(), mConnectionPool.idleConnectionCount(),
+				mDispatcher.runningCallsCount(), mDispatcher.queuedCallsCount(),
+				cache == null ? 0 : cache.requestCount(),
+				cache == null ? 0 : cache.hitCount(),
+				cache == null ? 0 : cache.networkCount());
+	}
+
+	private OkHttpClient defaultOkHttpClient() {
+		Context context = MyApplication.getAppication();
+		CacheInterceptor cacheInterceptor = new CacheInterceptor(context);
+		EndpointMatcher matcher = new EndpointMatcher(GankService.class, BilibiliService.class);
+		mCircuitBreakerInterceptor = new CircuitBreakerInterceptor(matcher);
+		mNetworkMetrics = new NetworkMetrics(matcher);
+		OkHttpClient.Builder builder = new OkHttpClient.Builder()
+				.connectionPool(mConnectionPool)
+				.dispatcher(mDispatcher)
+				.cache(HttpCache.getInstance(context))
+				.dns(mNetworkMetrics.dns())
+				.socketFactory(mNetworkMetrics.socketFactory())
+				.addInterceptor(cacheInterceptor)
+				//应用层熔断: 能统计到 DNS / 连接失败, 熔断时也不再建立连接
+				.addInterceptor(mCircuitBreakerInterceptor)
+				.addInterceptor(mRateLimitInterceptor)
+				.addInterceptor(new HostConcurrencyInterceptor(MAX_REQUESTS_PER_HOST))
+				.addInterceptor(mNetworkMetrics.interceptor())
+				.addNetworkInterceptor(mNetworkMetrics.networkInterceptor())
+				.addNetworkInterceptor(new CacheControlInterceptor());
+		OkHttpClient client = builder.build();
+		cacheInterceptor.setClient(client);
+		return client;
 	}
 }
@@ -0,0 +1,116 @@
+package com.lazy.gank.network.converter;
+
+import android.support.annotation.NonNull;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.lazy.gank.entity.GankResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.ResponseBody;
+import rx.Observable;
+import rx.Subscriber;
+import rx.functions.Func1;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@code GankResults<GankResult>} 的流式结果: 边下载边解析, 每解析出 batchSize 条就发射一次.
+ * <p>
+ * 持有未读完的 ResponseBody, 只能订阅一次; 读完/出错/取消订阅时关闭.
+ * 服务器返回 {@code error: true} 时不发射任何数据, 直接完成.
+ */
+public class GankResultStream {
+	private final ResponseBody mBody;
+	private final TypeAdapter<GankResult> mAdapter;
+
+	GankResultStream(ResponseBody body, TypeAdapter<GankResult> adapter) {
+		this.mBody = body;
+		this.mAdapter = adapter;
+	}
+
+	/**
+	 * 方便 flatMap / concatMap 使用
+	 *
+	 * @param batchSize
+	 * @return
+	 */
+	@NonNull
+	public static Func1<GankResultStream, Observable<List<GankResult>>> toBatches(final int batchSize) {
+		return new Func1<GankResultStream, Observable<List<GankResult>>>() {
+			@Override
+			public Observable<List<GankResult>> call(GankResultStream stream) {
+				return stream.batches(batchSize);
+			}
+		};
+	}
+
+	@NonNull
+	public Observable<List<GankResult>> batches(final int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("batchSize <= 0: " + batchSize);
+		}
+		return Observable.create(new Observable.OnSubscribe<List<GankResult>>() {
+			@Override
+			public void call(Subscriber<? super List<GankResult>> subscriber) {
+				JsonReader reader = new JsonReader(mBody.charStream());
+				try {
+					read(reader, batchSize, subscriber);
+					if (!subscriber.isUnsubscribed()) {
+						subscriber.onCompleted();
+					}
+				} catch (IOException | RuntimeException e) {
+					if (!subscriber.isUnsubscribed()) {
+						subscriber.onError(e);
+					}
+				} finally {
+					close();
+				}
+			}
+		}).onBackpressureBuffer();
+	}
+
+	public void close() {
+		mBody.close();
+	}
+
+	private void read(JsonReader reader, int batchSize, Subscriber<? super List<GankResult>> subscriber) throws IOException {
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			if ("error".equals(name)) {
+				if (reader.nextBoolean()) {
+					return;
+				}
+			} else if ("results".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+				readResults(reader, batchSize, subscriber);
+				return;
+			} else {
+				reader.skipValue();
+			}
+		}
+	}
+
+	private void readResults(JsonReader reader, int batchSize, Subscriber<? super List<GankResult>> subscriber) throws IOException {
+		List<GankResult> batch = new ArrayList<>(batchSize);
+		reader.beginArray();
+		while (reader.hasNext()) {
+			if (subscriber.isUnsubscribed()) {
+				return;
+			}
+			batch.add(mAdapter.read(reader));
+			if (batch.size() == batchSize) {
+				subscriber.onNext(batch);
+				batch = new ArrayList<>(batchSize);
+			}
+		}
+		reader.endArray();
+		if (!batch.isEmpty() && !subscriber.isUnsubscribed()) {
+			subscriber.onNext(batch);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.lazy.gank.network.converter;
+
+import android.support.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.lazy.gank.entity.GankResult;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 把 ResponseBody 转成 {@link GankResultStream}, 不在转换时读取 body.
+ * <p>
+ * 接口需要加 @Streaming, 且必须在 GsonConverterFactory 之前添加.
+ */
+public final class GankStreamConverterFactory extends Converter.Factory {
+	private final TypeAdapter<GankResult> mAdapter;
+
+	private GankStreamConverterFactory(TypeAdapter<GankResult> adapter) {
+		this.mAdapter = adapter;
+	}
+
+	@NonNull
+	public static GankStreamConverterFactory create(@NonNull Gson gson) {
+		return new GankStreamConverterFactory(gson.getAdapter(GankResult.class));
+	}
+
+	@Override
+	public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+		if (type != GankResultStream.class) {
+			return null;
+		}
+		return new Converter<ResponseBody, GankResultStream>() {
+			@Override
+			public GankResultStream convert(ResponseBody value) throws IOException {
+				return new GankResultStream(value, mAdapter);
+			}
+		};
+	}
+}
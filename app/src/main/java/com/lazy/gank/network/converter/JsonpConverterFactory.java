@@ -0,0 +1,90 @@
+package com.lazy.gank.network.converter;
+
+import android.support.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 解析 JSONP 响应, 如 {@code callback({...});}, 也兼容普通 JSON.
+ * <p>
+ * 直接在 BufferedSource 上跳过 {@code callback(} 前缀, 然后把剩下的流交给 JsonReader,
+ * 读完第一个 JSON 值就停止, 结尾的 {@code );} 不读; 整个 body 不会被复制成 String.
+ */
+public final class JsonpConverterFactory extends Converter.Factory {
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final Gson mGson;
+
+	private JsonpConverterFactory(Gson gson) {
+		this.mGson = gson;
+	}
+
+	@NonNull
+	public static JsonpConverterFactory create(@NonNull Gson gson) {
+		return new JsonpConverterFactory(gson);
+	}
+
+	@Override
+	public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+		return new JsonpConverter<>(mGson.getAdapter(TypeToken.get(type)));
+	}
+
+	/**
+	 * 跳过 JSONP 的回调名和左括号, 之后 source 从 JSON 值的第一个字符开始
+	 *
+	 * @param source
+	 * @throws IOException 找不到 JSON 的开头
+	 */
+	static void skipPadding(BufferedSource source) throws IOException {
+		while (source.request(1)) {
+			byte b = source.buffer().getByte(0);
+			if (b == '{' || b == '[') {
+				return;
+			}
+			source.skip(1);
+			if (b == '(') {
+				return;
+			}
+		}
+		throw new IOException("not a JSONP/JSON body");
+	}
+
+	private static final class JsonpConverter<T> implements Converter<ResponseBody, T> {
+		private final TypeAdapter<T> mAdapter;
+
+		JsonpConverter(TypeAdapter<T> adapter) {
+			this.mAdapter = adapter;
+		}
+
+		@Override
+		public T convert(ResponseBody value) throws IOException {
+			try {
+				BufferedSource source = value.source();
+				skipPadding(source);
+				MediaType contentType = value.contentType();
+				Charset charset = contentType == null ? UTF_8 : contentType.charset(UTF_8);
+				JsonReader reader = new JsonReader(new InputStreamReader(source.inputStream(), charset));
+				return mAdapter.read(reader);
+			} finally {
+				value.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package com.lazy.gank.network.converter;
+
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.entity.CategoryResult;
+import com.lazy.gank.entity.DayGankResults;
+import com.lazy.gank.entity.GankResults;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.ResponseBody;
+import okio.ByteString;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.http.Streaming;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 响应内容没变时直接返回上一次解析好的对象, 不再走 Gson.
+ * <p>
+ * 304 和缓存命中时 OkHttp 交给我们的是缓存里的 body, 所以用 body 的 SHA-1 (+ 目标类型)
+ * 作为 key 就同时覆盖了: 服务器有 ETag / Last-Modified (OkHttp Cache 保存并发送条件请求)
+ * 和服务器什么校验头都不给 (内容相同) 两种情况.
+ * <p>
+ * 返回的对象会被多次调用共享: 缓存前 {@link GankResults} / {@link DayGankResults} 里的列表换成只读的,
+ * 修改时抛 UnsupportedOperationException, 需要修改的调用方自己复制. 放在 GsonConverterFactory 之前, @Streaming 接口不处理.
+ */
+public final class MemoizingConverterFactory extends Converter.Factory {
+	public static final int DEFAULT_MAX_ENTRIES = 64;
+
+	private final Map<String, Object> mParsed;
+	private final AtomicLong mHits = new AtomicLong();
+	private final AtomicLong mMisses = new AtomicLong();
+
+	private MemoizingConverterFactory(final int maxEntries) {
+		mParsed = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	@NonNull
+	public static MemoizingConverterFactory create() {
+		return new MemoizingConverterFactory(DEFAULT_MAX_ENTRIES);
+	}
+
+	@NonNull
+	public static MemoizingConverterFactory create(int maxEntries) {
+		return new MemoizingConverterFactory(maxEntries);
+	}
+
+	@Override
+	public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+		if (type == GankResultStream.class || isStreaming(annotations)) {
+			return null;
+		}
+		return new MemoizingConverter<>(type.toString(), retrofit.<Object>nextResponseBodyConverter(this, type, annotations));
+	}
+
+	/**
+	 * @return 跳过 Gson 的次数
+	 */
+	public long getHitCount() {
+		return mHits.get();
+	}
+
+	public long getMissCount() {
+		return mMisses.get();
+	}
+
+	/**
+	 * 把会被共享的列表换成只读的
+	 */
+	static void freeze(Object parsed) {
+		if (parsed instanceof GankResults) {
+			@SuppressWarnings("unchecked")
+			GankResults<Object> results = (GankResults<Object>) parsed;
+			results.results = readOnly(results.results);
+		} else if (parsed instanceof DayGankResults) {
+			DayGankResults day = (DayGankResults) parsed;
+			day.category = readOnly(day.category);
+			CategoryResult category = day.results;
+			if (category != null) {
+				category.androidList = readOnly(category.androidList);
+				category.videoList = readOnly(category.videoList);
+				category.iOSList = readOnly(category.iOSList);
+				category.meizhiList = readOnly(category.meizhiList);
+				category.extendSourceList = readOnly(category.extendSourceList);
+				category.recommandList = readOnly(category.recommandList);
+			}
+		}
+	}
+
+	private static <E> List<E> readOnly(List<E> list) {
+		return list == null ? null : Collections.unmodifiableList(list);
+	}
+
+	private static boolean isStreaming(Annotation[] annotations) {
+		for (Annotation annotation : annotations) {
+			if (annotation instanceof Streaming) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private final class MemoizingConverter<T> implements Converter<ResponseBody, T> {
+		private final String mType;
+		private final Converter<ResponseBody, T> mDelegate;
+
+		MemoizingConverter(String type, Converter<ResponseBody, T> delegate) {
+			this.mType = type;
+			this.mDelegate = delegate;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T convert(ResponseBody value) throws IOException {
+			ByteString content;
+			try {
+				content = value.source().readByteString();
+			} finally {
+				value.close();
+			}
+			String key = mType + '#' + content.sha1().hex();
+			synchronized (mParsed) {
+				Object parsed = mParsed.get(key);
+				if (parsed != null) {
+					mHits.incrementAndGet();
+					return (T) parsed;
+				}
+			}
+			mMisses.incrementAndGet();
+			T parsed = mDelegate.convert(ResponseBody.create(value.contentType(), content.toByteArray()));
+			if (parsed != null) {
+				freeze(parsed);
+				synchronized (mParsed) {
+					mParsed.put(key, parsed);
+				}
+			}
+			return parsed;
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package com.lazy.gank.network.metrics;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 一次请求的计时上下文, 由 {@link MetricsInterceptor} 放到当前线程,
+ * DNS / connect / network interceptor 在同一线程上取出来记录
+ */
+final class CallTiming {
+	final EndpointMetrics mMetrics;
+	final long mStartNanos;
+
+	CallTiming(EndpointMetrics metrics, long startNanos) {
+		this.mMetrics = metrics;
+		this.mStartNanos = startNanos;
+	}
+}
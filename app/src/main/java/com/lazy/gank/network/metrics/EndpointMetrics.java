@@ -0,0 +1,68 @@
+package com.lazy.gank.network.metrics;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 单个接口模板的统计. 时间单位都是毫秒, 大小是字节.
+ * <p>
+ * dns / connect 只在新建连接时记录, 复用 keep-alive 连接的请求不计入.
+ */
+public class EndpointMetrics {
+	//1 分钟
+	private static final long MAX_MILLIS = 60 * 1000;
+	//16 MB
+	private static final long MAX_BYTES = 16 * 1024 * 1024;
+
+	private final String mEndpoint;
+	final Histogram mDns = new Histogram(MAX_MILLIS);
+	final Histogram mConnect = new Histogram(MAX_MILLIS);
+	final Histogram mTtfb = new Histogram(MAX_MILLIS);
+	final Histogram mTotal = new Histogram(MAX_MILLIS);
+	final Histogram mResponseSize = new Histogram(MAX_BYTES);
+	final AtomicLong mRequestBytes = new AtomicLong();
+	final AtomicLong mResponseBytes = new AtomicLong();
+	final AtomicLong mCacheHits = new AtomicLong();
+	final AtomicLong mFailures = new AtomicLong();
+
+	EndpointMetrics(String endpoint) {
+		this.mEndpoint = endpoint;
+	}
+
+	@NonNull
+	public String getEndpoint() {
+		return mEndpoint;
+	}
+
+	/**
+	 * 完整请求的总耗时 (含 body 下载) 的分位数, 用于决定超时 / hedging 等待时间
+	 *
+	 * @return
+	 */
+	@NonNull
+	public Percentiles totalLatency() {
+		return mTotal.snapshot();
+	}
+
+	@NonNull
+	public EndpointSnapshot snapshot() {
+		return new EndpointSnapshot(mEndpoint, mDns.snapshot(), mConnect.snapshot(), mTtfb.snapshot(),
+				mTotal.snapshot(), mResponseSize.snapshot(), mRequestBytes.get(), mResponseBytes.get(),
+				mCacheHits.get(), mFailures.get());
+	}
+
+	void reset() {
+		mDns.reset();
+		mConnect.reset();
+		mTtfb.reset();
+		mTotal.reset();
+		mResponseSize.reset();
+		mRequestBytes.set(0);
+		mResponseBytes.set(0);
+		mCacheHits.set(0);
+		mFailures.set(0);
+	}
+}
@@ -0,0 +1,46 @@
+package com.lazy.gank.network.metrics;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link EndpointMetrics} 某一时刻的快照
+ */
+public final class EndpointSnapshot {
+	public final String endpoint;
+	public final Percentiles dnsMillis;
+	public final Percentiles connectMillis;
+	public final Percentiles ttfbMillis;
+	public final Percentiles totalMillis;
+	public final Percentiles responseSize;
+	public final long requestBytes;
+	public final long responseBytes;
+	public final long cacheHits;
+	public final long failures;
+
+	EndpointSnapshot(String endpoint, Percentiles dnsMillis, Percentiles connectMillis, Percentiles ttfbMillis,
+	                 Percentiles totalMillis, Percentiles responseSize, long requestBytes, long responseBytes,
+	                 long cacheHits, long failures) {
+		this.endpoint = endpoint;
+		this.dnsMillis = dnsMillis;
+		this.connectMillis = connectMillis;
+		this.ttfbMillis = ttfbMillis;
+		this.totalMillis = totalMillis;
+		this.responseSize = responseSize;
+		this.requestBytes = requestBytes;
+		this.responseBytes = responseBytes;
+		this.cacheHits = cacheHits;
+		this.failures = failures;
+	}
+
+	@Override
+	public String toString() {
+		return endpoint
+				+ "\n  dns     " + dnsMillis
+				+ "\n  connect " + connectMillis
+				+ "\n  ttfb    " + ttfbMillis
+				+ "\n  total   " + totalMillis
+				+ "\n  size    " + responseSize
+				+ "\n  bytes   sent=" + requestBytes + " received=" + responseBytes
+				+ " cacheHits=" + cacheHits + " failures=" + failures;
+	}
+}
@@ -0,0 +1,124 @@
+package com.lazy.gank.network.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 固定内存的对数直方图 (非负 long), 相对误差约 12.5%.
+ * <p>
+ * 0..15 各占一个桶, 之后每个 2 的幂区间再分 8 个子桶; 超出上限的值记到最后一个桶.
+ * 记录是无锁的, 可以被多个线程同时调用.
+ */
+public class Histogram {
+	private static final int LINEAR = 16;
+	private static final int SUB_BUCKETS = 8;
+
+	private final AtomicLongArray mCounts;
+
+	/**
+	 * @param maxValue 需要精确区分的最大值, 决定桶数
+	 */
+	public Histogram(long maxValue) {
+		mCounts = new AtomicLongArray(indexOf(Math.max(maxValue, LINEAR)) + 1);
+	}
+
+	public void record(long value) {
+		int index = indexOf(Math.max(0, value));
+		mCounts.incrementAndGet(Math.min(index, mCounts.length() - 1));
+	}
+
+	public long count() {
+		long count = 0;
+		for (int i = 0; i < mCounts.length(); i++) {
+			count += mCounts.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * @param quantile 0..1
+	 * @return 所在桶的中间值, 没有数据时返回 0
+	 */
+	public long percentile(double quantile) {
+		return percentile(copy(), quantile);
+	}
+
+	/**
+	 * 同一份数据计算多个分位数
+	 *
+	 * @return count, p50, p95, p99, max
+	 */
+	public Percentiles snapshot() {
+		long[] counts = copy();
+		long count = 0;
+		int last = -1;
+		for (int i = 0; i < counts.length; i++) {
+			count += counts[i];
+			if (counts[i] > 0) {
+				last = i;
+			}
+		}
+		return new Percentiles(count, percentile(counts, 0.50), percentile(counts, 0.95),
+				percentile(counts, 0.99), last < 0 ? 0 : upperBound(last));
+	}
+
+	public void reset() {
+		for (int i = 0; i < mCounts.length(); i++) {
+			mCounts.set(i, 0);
+		}
+	}
+
+	private long[] copy() {
+		long[] counts = new long[mCounts.length()];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = mCounts.get(i);
+		}
+		return counts;
+	}
+
+	private static long percentile(long[] counts, double quantile) {
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(quantile * total));
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return (lowerBound(i) + upperBound(i)) / 2;
+			}
+		}
+		return upperBound(counts.length - 1);
+	}
+
+	static int indexOf(long value) {
+		if (value < LINEAR) {
+			return (int) value;
+		}
+		int msb = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (msb - 3)) & (SUB_BUCKETS - 1);
+		return LINEAR + (msb - 4) * SUB_BUCKETS + sub;
+	}
+
+	static long lowerBound(int index) {
+		if (index < LINEAR) {
+			return index;
+		}
+		int msb = (index - LINEAR) / SUB_BUCKETS + 4;
+		int sub = (index - LINEAR) % SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + sub) << (msb - 3);
+	}
+
+	static long upperBound(int index) {
+		if (index < LINEAR) {
+			return index;
+		}
+		int msb = (index - LINEAR) / SUB_BUCKETS + 4;
+		return lowerBound(index) + (1L << (msb - 3)) - 1;
+	}
+}
@@ -0,0 +1,41 @@
+package com.lazy.gank.network.metrics;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe Application Interceptor: 开始计时, 统计缓存命中和失败
+ */
+final class MetricsInterceptor implements Interceptor {
+	private final NetworkMetrics mNetworkMetrics;
+
+	MetricsInterceptor(NetworkMetrics networkMetrics) {
+		this.mNetworkMetrics = networkMetrics;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		EndpointMetrics metrics = mNetworkMetrics.get(request.url());
+		CallTiming previous = NetworkMetrics.CURRENT.get();
+		NetworkMetrics.CURRENT.set(new CallTiming(metrics, System.nanoTime()));
+		Response response;
+		try {
+			response = chain.proceed(request);
+		} catch (IOException e) {
+			metrics.mFailures.incrementAndGet();
+			throw e;
+		} finally {
+			NetworkMetrics.CURRENT.set(previous);
+		}
+		if (response.networkResponse() == null && response.cacheResponse() != null) {
+			metrics.mCacheHits.incrementAndGet();
+		}
+		return response;
+	}
+}
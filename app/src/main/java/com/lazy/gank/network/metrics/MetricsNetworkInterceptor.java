@@ -0,0 +1,144 @@
+package com.lazy.gank.network.metrics;
+
+import java.io.IOException;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe Network Interceptor: 记录 TTFB (请求发出到收到响应头), 请求/响应字节数,
+ * 以及 body 读完 (或提前关闭) 时的总耗时. 缓存命中的请求不会经过这里.
+ * <p>
+ * body 完整读完时把 TTFB / 传输速度交给 {@link ThroughputEstimator}.
+ */
+final class MetricsNetworkInterceptor implements Interceptor {
+	private final ThroughputEstimator mThroughput;
+
+	MetricsNetworkInterceptor(ThroughputEstimator throughput) {
+		this.mThroughput = throughput;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		CallTiming timing = NetworkMetrics.CURRENT.get();
+		Request request = chain.request();
+		if (timing == null) {
+			return chain.proceed(request);
+		}
+		EndpointMetrics metrics = timing.mMetrics;
+		long sent = System.nanoTime();
+		metrics.mRequestBytes.addAndGet(requestBytes(request));
+		Response response = chain.proceed(request);
+		long ttfb = NetworkMetrics.millisSince(sent);
+		metrics.mTtfb.record(ttfb);
+
+		long headerBytes = headerBytes(response.headers());
+		if (response.body() == null) {
+			metrics.mResponseBytes.addAndGet(headerBytes);
+			metrics.mTotal.record(NetworkMetrics.millisSince(timing.mStartNanos));
+			return response;
+		}
+		return response.newBuilder()
+				.body(new CountingBody(response.body(), timing, headerBytes, ttfb, mThroughput))
+				.build();
+	}
+
+	private static long requestBytes(Request request) throws IOException {
+		long bytes = request.method().length() + request.url().encodedPath().length() + headerBytes(request.headers());
+		if (request.body() != null && request.body().contentLength() > 0) {
+			bytes += request.body().contentLength();
+		}
+		return bytes;
+	}
+
+	private static long headerBytes(Headers headers) {
+		long bytes = 0;
+		for (int i = 0, size = headers.size(); i < size; i++) {
+			//"name: value\r\n"
+			bytes += headers.name(i).length() + headers.value(i).length() + 4;
+		}
+		return bytes;
+	}
+
+	private static final class CountingBody extends ResponseBody {
+		private final ResponseBody mDelegate;
+		private final CallTiming mTiming;
+		private final long mHeaderBytes;
+		private final long mTtfbMillis;
+		private final ThroughputEstimator mThroughput;
+		private final long mResponseNanos = System.nanoTime();
+		private BufferedSource mSource;
+		private long mBytesRead;
+		private boolean mFinished;
+
+		CountingBody(ResponseBody delegate, CallTiming timing, long headerBytes, long ttfbMillis, ThroughputEstimator throughput) {
+			this.mDelegate = delegate;
+			this.mTiming = timing;
+			this.mHeaderBytes = headerBytes;
+			this.mTtfbMillis = ttfbMillis;
+			this.mThroughput = throughput;
+		}
+
+		@Override
+		public MediaType contentType() {
+			return mDelegate.contentType();
+		}
+
+		@Override
+		public long contentLength() {
+			return mDelegate.contentLength();
+		}
+
+		@Override
+		public synchronized BufferedSource source() {
+			if (mSource == null) {
+				mSource = Okio.buffer(new ForwardingSource(mDelegate.source()) {
+					@Override
+					public long read(Buffer sink, long byteCount) throws IOException {
+						long read = super.read(sink, byteCount);
+						if (read == -1) {
+							finish();
+						} else {
+							mBytesRead += read;
+						}
+						return read;
+					}
+
+					@Override
+					public void close() throws IOException {
+						//Gson 读完 JSON 就关闭, 流式 (chunked) 响应也没有 Content-Length, 读到 EOF 之前关闭也要采样
+						finish();
+						super.close();
+					}
+				});
+			}
+			return mSource;
+		}
+
+		/**
+		 * 读到 EOF 或关闭时调用一次. 已读的字节除以已用的时间就是这段时间的带宽,
+		 * 没读完的也可以作为样本, 太小的由 {@link ThroughputEstimator#MIN_SAMPLE_BYTES} 过滤
+		 */
+		private synchronized void finish() {
+			if (mFinished) {
+				return;
+			}
+			mFinished = true;
+			mThroughput.onSample(mTtfbMillis, mBytesRead, NetworkMetrics.millisSince(mResponseNanos));
+			EndpointMetrics metrics = mTiming.mMetrics;
+			metrics.mTotal.record(NetworkMetrics.millisSince(mTiming.mStartNanos));
+			metrics.mResponseSize.record(mBytesRead);
+			metrics.mResponseBytes.addAndGet(mHeaderBytes + mBytesRead);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package com.lazy.gank.network.metrics;
+
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.network.EndpointMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.SocketFactory;
+
+import okhttp3.Dns;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 按接口模板 (而不是 URL) 统计的网络指标: DNS / connect / TTFB / 总耗时, 请求/响应字节数.
+ * <p>
+ * 需要把 {@link #interceptor()}, {@link #networkInterceptor()}, {@link #dns()}, {@link #socketFactory()}
+ * 都装到同一个 OkHttpClient 上. 每个接口占用固定内存, 运行时用 {@link #snapshot()} 查询分位数.
+ */
+public class NetworkMetrics {
+	static final ThreadLocal<CallTiming> CURRENT = new ThreadLocal<>();
+
+	private final EndpointMatcher mMatcher;
+	private final ConcurrentMap<String, EndpointMetrics> mEndpoints = new ConcurrentHashMap<>();
+	private final ThroughputEstimator mThroughput = new ThroughputEstimator();
+
+	public NetworkMetrics(@NonNull EndpointMatcher matcher) {
+		this.mMatcher = matcher;
+	}
+
+	/**
+	 * Application Interceptor, 放在会等待的 Interceptor (并发限制等) 之后, 不把排队时间算进去
+	 *
+	 * @return
+	 */
+	@NonNull
+	public Interceptor interceptor() {
+		return new MetricsInterceptor(this);
+	}
+
+	@NonNull
+	public Interceptor networkInterceptor() {
+		return new MetricsNetworkInterceptor(mThroughput);
+	}
+
+	@NonNull
+	public Dns dns() {
+		return new TimingDns();
+	}
+
+	@NonNull
+	public SocketFactory socketFactory() {
+		return new TimingSocketFactory();
+	}
+
+	/**
+	 * 所有接口共用的延迟 / 带宽估计
+	 *
+	 * @return
+	 */
+	@NonNull
+	public ThroughputEstimator getThroughputEstimator() {
+		return mThroughput;
+	}
+
+	/**
+	 * @param endpoint 接口模板, 如 api/data/{category}/{count}/{page}
+	 * @return
+	 */
+	@NonNull
+	public EndpointMetrics get(@NonNull String endpoint) {
+		EndpointMetrics metrics = mEndpoints.get(endpoint);
+		if (metrics == null) {
+			EndpointMetrics created = new EndpointMetrics(endpoint);
+			metrics = mEndpoints.putIfAbsent(endpoint, created);
+			if (metrics == null) {
+				metrics = created;
+			}
+		}
+		return metrics;
+	}
+
+	@NonNull
+	EndpointMetrics get(@NonNull HttpUrl url) {
+		return get(mMatcher.match(url));
+	}
+
+	@NonNull
+	public List<EndpointSnapshot> snapshot() {
+		List<EndpointSnapshot> snapshots = new ArrayList<>(mEndpoints.size());
+		for (EndpointMetrics metrics : mEndpoints.values()) {
+			snapshots.add(metrics.snapshot());
+		}
+		return snapshots;
+	}
+
+	public void reset() {
+		for (EndpointMetrics metrics : mEndpoints.values()) {
+			metrics.reset();
+		}
+		mThroughput.reset();
+	}
+
+	static long millisSince(long startNanos) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+	}
+}
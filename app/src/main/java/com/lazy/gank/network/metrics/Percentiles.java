@@ -0,0 +1,27 @@
+package com.lazy.gank.network.metrics;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe {@link Histogram} 某一时刻的分位数
+ */
+public final class Percentiles {
+	public final long count;
+	public final long p50;
+	public final long p95;
+	public final long p99;
+	public final long max;
+
+	public Percentiles(long count, long p50, long p95, long p99, long max) {
+		this.count = count;
+		this.p50 = p50;
+		this.p95 = p95;
+		this.p99 = p99;
+		this.max = max;
+	}
+
+	@Override
+	public String toString() {
+		return "n=" + count + " p50=" + p50 + " p95=" + p95 + " p99=" + p99 + " max=" + max;
+	}
+}
@@ -0,0 +1,50 @@
+package com.lazy.gank.network.metrics;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 当前网络的延迟 / 带宽估计, 由 {@link MetricsNetworkInterceptor} 在每个网络响应结束时更新.
+ * <p>
+ * 两者都是指数加权平均, 新样本权重 {@link #WEIGHT}. 带宽只用 body 不小于 {@link #MIN_SAMPLE_BYTES}
+ * 且完整读完的响应计算 (小响应主要是延迟); 缓存命中不经过网络, 不影响估计.
+ */
+public class ThroughputEstimator {
+	public static final double WEIGHT = 0.3;
+	public static final long MIN_SAMPLE_BYTES = 4 * 1024;
+
+	private double mLatencyMillis = -1;
+	private double mBytesPerSecond = -1;
+
+	/**
+	 * @param ttfbMillis 请求发出到收到响应头
+	 * @param bodyBytes  body 字节数
+	 * @param bodyMillis 收到响应头到 body 读完
+	 */
+	public synchronized void onSample(long ttfbMillis, long bodyBytes, long bodyMillis) {
+		mLatencyMillis = mLatencyMillis < 0 ? ttfbMillis : mLatencyMillis + WEIGHT * (ttfbMillis - mLatencyMillis);
+		if (bodyBytes < MIN_SAMPLE_BYTES) {
+			return;
+		}
+		double bytesPerSecond = bodyBytes * 1000.0 / Math.max(1, bodyMillis);
+		mBytesPerSecond = mBytesPerSecond < 0 ? bytesPerSecond : mBytesPerSecond + WEIGHT * (bytesPerSecond - mBytesPerSecond);
+	}
+
+	/**
+	 * @return 没有样本时为 -1
+	 */
+	public synchronized long getLatencyMillis() {
+		return Math.round(mLatencyMillis);
+	}
+
+	/**
+	 * @return 没有足够大的样本时为 -1
+	 */
+	public synchronized long getBytesPerSecond() {
+		return Math.round(mBytesPerSecond);
+	}
+
+	public synchronized void reset() {
+		mLatencyMillis = -1;
+		mBytesPerSecond = -1;
+	}
+}
@@ -0,0 +1,28 @@
+package com.lazy.gank.network.metrics;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+import okhttp3.Dns;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 记录 DNS 解析耗时的 {@link Dns#SYSTEM}
+ */
+final class TimingDns implements Dns {
+
+	@Override
+	public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+		long start = System.nanoTime();
+		try {
+			return Dns.SYSTEM.lookup(hostname);
+		} finally {
+			CallTiming timing = NetworkMetrics.CURRENT.get();
+			if (timing != null) {
+				timing.mMetrics.mDns.record(NetworkMetrics.millisSince(start));
+			}
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.lazy.gank.network.metrics;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+
+import javax.net.SocketFactory;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 记录 TCP connect 耗时的 SocketFactory.
+ * <p>
+ * OkHttp 只调用 {@link #createSocket()} 再自己 connect, 其余方法直接交给默认实现.
+ */
+final class TimingSocketFactory extends SocketFactory {
+	private final SocketFactory mDelegate = SocketFactory.getDefault();
+
+	@Override
+	public Socket createSocket() throws IOException {
+		return new Socket() {
+			@Override
+			public void connect(SocketAddress endpoint, int timeout) throws IOException {
+				long start = System.nanoTime();
+				try {
+					super.connect(endpoint, timeout);
+				} finally {
+					CallTiming timing = NetworkMetrics.CURRENT.get();
+					if (timing != null) {
+						timing.mMetrics.mConnect.record(NetworkMetrics.millisSince(start));
+					}
+				}
+			}
+		};
+	}
+
+	@Override
+	public Socket createSocket(String host, int port) throws IOException {
+		return mDelegate.createSocket(host, port);
+	}
+
+	@Override
+	public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+		return mDelegate.createSocket(host, port, localHost, localPort);
+	}
+
+	@Override
+	public Socket createSocket(InetAddress host, int port) throws IOException {
+		return mDelegate.createSocket(host, port);
+	}
+
+	@Override
+	public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+		return mDelegate.createSocket(address, port, localAddress, localPort);
+	}
+}
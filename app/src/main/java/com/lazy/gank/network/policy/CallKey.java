@@ -0,0 +1,68 @@
+package com.lazy.gank.network.policy;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 一次 Service 调用的标识: 接口模板 + 参数
+ * <p>
+ * 例如 {@code api/data/{category}/{count}/{page}} + [福利, 10, 1]
+ */
+public final class CallKey {
+	private final String mEndpoint;
+	private final Object[] mArgs;
+	private final boolean mStreaming;
+	private final String mKey;
+
+	public CallKey(@NonNull String endpoint, Object[] args) {
+		this(endpoint, args, false);
+	}
+
+	public CallKey(@NonNull String endpoint, Object[] args, boolean streaming) {
+		this.mEndpoint = endpoint;
+		this.mArgs = args == null ? new Object[0] : args;
+		this.mStreaming = streaming;
+		this.mKey = (streaming ? "stream:" : "") + mEndpoint + Arrays.toString(mArgs);
+	}
+
+	/**
+	 * 接口模板, 即 @GET 的 value
+	 *
+	 * @return
+	 */
+	@NonNull
+	public String endpoint() {
+		return mEndpoint;
+	}
+
+	public Object[] args() {
+		return mArgs;
+	}
+
+	/**
+	 * 是否 @Streaming 接口: 结果持有未读完的 ResponseBody, 不能被多个订阅者共享
+	 *
+	 * @return
+	 */
+	public boolean isStreaming() {
+		return mStreaming;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return this == o || o instanceof CallKey && mKey.equals(((CallKey) o).mKey);
+	}
+
+	@Override
+	public int hashCode() {
+		return mKey.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return mKey;
+	}
+}
@@ -0,0 +1,113 @@
+package com.lazy.gank.network.policy;
+
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.network.GankService;
+import com.lazy.gank.search.GankSearchIndex;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import retrofit2.http.GET;
+import retrofit2.http.Streaming;
+import rx.Observable;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 给 Retrofit 生成的 Service 套上 {@link CallPolicy}
+ * <p>
+ * 策略按顺序包装: 第一个最靠近网络, 最后一个最靠近订阅者.
+ */
+public final class CallPolicies {
+	private static final IndexingPolicy sIndexingPolicy = new IndexingPolicy(GankSearchIndex.getInstance());
+	private static final CoalescingPolicy sCoalescingPolicy = new CoalescingPolicy();
+	private static final RetryPolicy sRetryPolicy = new RetryPolicy();
+	private static final HedgingPolicy sHedgingPolicy = new HedgingPolicy();
+
+	private CallPolicies() {
+	}
+
+	/**
+	 * GankService 的默认策略链, 所有 GankService 实例共用同一组策略:
+	 * 慢请求对冲 (需要先 {@link HedgingPolicy#hedge(String, HedgingPolicy.Delay)} 开启),
+	 * 结果加入本地搜索索引, 合并相同请求, 失败后整体重试 (重试时重新合并)
+	 *
+	 * @param service Retrofit create 出来的 Service
+	 * @return
+	 */
+	@NonNull
+	public static GankService gank(@NonNull GankService service) {
+		return wrap(GankService.class, service, sHedgingPolicy, sIndexingPolicy, sCoalescingPolicy, sRetryPolicy);
+	}
+
+	@NonNull
+	public static IndexingPolicy indexing() {
+		return sIndexingPolicy;
+	}
+
+	@NonNull
+	public static CoalescingPolicy coalescing() {
+		return sCoalescingPolicy;
+	}
+
+	@NonNull
+	public static HedgingPolicy hedging() {
+		return sHedgingPolicy;
+	}
+
+	@NonNull
+	public static <S> S wrap(@NonNull Class<S> serviceClass, @NonNull S delegate, CallPolicy... policies) {
+		Object proxy = Proxy.newProxyInstance(serviceClass.getClassLoader(), new Class<?>[]{serviceClass},
+				new PolicyHandler(delegate, Arrays.asList(policies)));
+		return serviceClass.cast(proxy);
+	}
+
+	private static class PolicyHandler implements InvocationHandler {
+		private final Object mDelegate;
+		private final List<CallPolicy> mPolicies;
+		private final Map<Method, CallKey> mPrototypes = new ConcurrentHashMap<>();
+
+		PolicyHandler(Object delegate, List<CallPolicy> policies) {
+			this.mDelegate = delegate;
+			this.mPolicies = policies;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result;
+			try {
+				result = method.invoke(mDelegate, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+			if (!(result instanceof Observable)) {
+				return result;
+			}
+			CallKey prototype = prototype(method);
+			CallKey key = new CallKey(prototype.endpoint(), args, prototype.isStreaming());
+			Observable<?> call = (Observable<?>) result;
+			for (CallPolicy policy : mPolicies) {
+				call = policy.apply(key, call);
+			}
+			return call;
+		}
+
+		private CallKey prototype(Method method) {
+			CallKey prototype = mPrototypes.get(method);
+			if (prototype == null) {
+				GET get = method.getAnnotation(GET.class);
+				String endpoint = get != null ? get.value() : method.getName();
+				prototype = new CallKey(endpoint, null, method.isAnnotationPresent(Streaming.class));
+				mPrototypes.put(method, prototype);
+			}
+			return prototype;
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.lazy.gank.network.policy;
+
+import rx.Observable;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 作用于每个 Service 调用的 Observable 上的策略 (合并请求, 重试, ...)
+ */
+public interface CallPolicy {
+
+	/**
+	 * @param key  当前调用
+	 * @param call 下层的调用 (Retrofit 或上一个策略返回的 Observable)
+	 * @param <T>
+	 * @return 包装后的 Observable
+	 */
+	<T> Observable<T> apply(CallKey key, Observable<T> call);
+}
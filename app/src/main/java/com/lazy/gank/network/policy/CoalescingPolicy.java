@@ -0,0 +1,108 @@
+package com.lazy.gank.network.policy;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func0;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 合并相同的进行中请求: 同一 {@link CallKey} 在请求返回之前的所有订阅者
+ * 共享同一个网络请求和同一次 Gson 解析结果.
+ * <p>
+ * 所有订阅者都取消时底层请求也会被取消; 请求结束后下一次调用重新发起请求.
+ * {@link CallKey#isStreaming()} 的调用不合并, 由调用方把解析出来的各批交给 {@link #applyBatches(CallKey, Observable)}.
+ */
+public class CoalescingPolicy implements CallPolicy {
+	private final ConcurrentMap<CallKey, Observable<?>> mInFlight = new ConcurrentHashMap<>();
+	private final AtomicLong mIssued = new AtomicLong();
+	private final AtomicLong mCoalesced = new AtomicLong();
+
+	@Override
+	public <T> Observable<T> apply(final CallKey key, final Observable<T> call) {
+		if (key.isStreaming()) {
+			return call;
+		}
+		return coalesce(key, call, false);
+	}
+
+	/**
+	 * 合并流式请求解析出来的各批: ResponseBody 不能共享, 共享的是解析后的结果.
+	 * 晚加入的订阅者先收到已经发射过的批.
+	 *
+	 * @param key     需要包含影响结果的所有参数
+	 * @param batches 每次订阅发起一次流式请求
+	 * @param <T>
+	 * @return
+	 */
+	public <T> Observable<T> applyBatches(final CallKey key, final Observable<T> batches) {
+		return coalesce(key, batches, true);
+	}
+
+	private <T> Observable<T> coalesce(final CallKey key, final Observable<T> call, final boolean replayAll) {
+		return Observable.defer(new Func0<Observable<T>>() {
+			@Override
+			public Observable<T> call() {
+				Observable<T> existing = get(key);
+				if (existing != null) {
+					mCoalesced.incrementAndGet();
+					return existing;
+				}
+				Observable<T> flight = newFlight(key, call, replayAll);
+				@SuppressWarnings("unchecked")
+				Observable<T> previous = (Observable<T>) mInFlight.putIfAbsent(key, flight);
+				if (previous != null) {
+					mCoalesced.incrementAndGet();
+					return previous;
+				}
+				mIssued.incrementAndGet();
+				return flight;
+			}
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Observable<T> get(CallKey key) {
+		return (Observable<T>) mInFlight.get(key);
+	}
+
+	private <T> Observable<T> newFlight(final CallKey key, Observable<T> call, boolean replayAll) {
+		final Observable<?>[] self = new Observable<?>[1];
+		Observable<T> source = call
+				.doOnUnsubscribe(new Action0() {
+					@Override
+					public void call() {
+						//结束或全部订阅者取消
+						mInFlight.remove(key, self[0]);
+					}
+				});
+		Observable<T> flight = (replayAll ? source.replay() : source.replay(1)).refCount();
+		self[0] = flight;
+		return flight;
+	}
+
+	/**
+	 * @return 实际发出的请求数
+	 */
+	public long getIssuedCount() {
+		return mIssued.get();
+	}
+
+	/**
+	 * @return 被合并(节省)的请求数
+	 */
+	public long getCoalescedCount() {
+		return mCoalesced.get();
+	}
+
+	/**
+	 * @return 当前进行中的请求数
+	 */
+	public int getInFlightCount() {
+		return mInFlight.size();
+	}
+}
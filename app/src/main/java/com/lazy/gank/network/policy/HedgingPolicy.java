@@ -0,0 +1,205 @@
+package com.lazy.gank.network.policy;
+
+import android.support.annotation.NonNull;
+
+import com.lazy.gank.network.RequestPriority;
+import com.lazy.gank.network.metrics.EndpointMetrics;
+import com.lazy.gank.network.metrics.Percentiles;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 对冲请求: 请求发出 delay 后还没有结果, 再发一个相同的请求, 用先返回的那个, 另一个取消.
+ * <p>
+ * 只对 {@link #hedge(String, Delay)} 登记过的接口生效 (GankService 都是 GET, 可以安全重复), 调用只能有一个结果.
+ * 全局按比例限制: 每个请求积累 maxHedgeRatio 个额度, 每次对冲消耗 1 个, 对冲数不会超过请求数 * maxHedgeRatio (+ 少量突发).
+ * {@link CallKey#isStreaming()} 的调用不对冲, 输掉的一方可能已经拿到了未读完的 ResponseBody.
+ */
+public class HedgingPolicy implements CallPolicy {
+	//对冲数 / 请求数 的上限
+	public static final double MAX_HEDGE_RATIO = 0.1;
+	//最多攒下的对冲额度
+	public static final double MAX_BURST = 3;
+	//观测到的延迟少于这么多个样本时不对冲
+	public static final int MIN_SAMPLES = 20;
+	public static final long MIN_DELAY_MILLIS = 50;
+
+	private final double mMaxHedgeRatio;
+	private final Scheduler mScheduler;
+	private final Map<String, Delay> mDelays = new ConcurrentHashMap<>();
+	//以下由 this 保护
+	private double mCredits;
+
+	private final AtomicLong mCalls = new AtomicLong();
+	private final AtomicLong mHedges = new AtomicLong();
+	private final AtomicLong mHedgeWins = new AtomicLong();
+
+	public HedgingPolicy() {
+		this(MAX_HEDGE_RATIO, Schedulers.io());
+	}
+
+	/**
+	 * @param maxHedgeRatio 对冲数 / 请求数 的上限
+	 * @param scheduler     计时和执行对冲请求; 请求是同步执行的, 不能用 computation
+	 */
+	public HedgingPolicy(double maxHedgeRatio, @NonNull Scheduler scheduler) {
+		if (maxHedgeRatio < 0) {
+			throw new IllegalArgumentException("maxHedgeRatio < 0: " + maxHedgeRatio);
+		}
+		this.mMaxHedgeRatio = maxHedgeRatio;
+		this.mScheduler = scheduler;
+	}
+
+	/**
+	 * 对该接口开启对冲
+	 *
+	 * @param endpoint 接口模板, 如 api/data/{category}/{count}/{page}
+	 * @param delay
+	 * @return
+	 */
+	@NonNull
+	public HedgingPolicy hedge(@NonNull String endpoint, @NonNull Delay delay) {
+		mDelays.put(endpoint, delay);
+		return this;
+	}
+
+	@Override
+	public <T> Observable<T> apply(final CallKey key, final Observable<T> call) {
+		final Delay delay = mDelays.get(key.endpoint());
+		if (delay == null || key.isStreaming()) {
+			return call;
+		}
+		return Observable.defer(new Func0<Observable<T>>() {
+			@Override
+			public Observable<T> call() {
+				mCalls.incrementAndGet();
+				earnCredit();
+				long delayMillis = delay.delayMillis();
+				if (delayMillis < 0) {
+					return call;
+				}
+				//对冲请求在 mScheduler 上执行, 沿用原请求的优先级
+				final RequestPriority priority = RequestPriority.current();
+				final AtomicBoolean decided = new AtomicBoolean();
+				Observable<T> hedged = Observable.timer(delayMillis, TimeUnit.MILLISECONDS, mScheduler)
+						.flatMap(new Func1<Long, Observable<T>>() {
+							@Override
+							public Observable<T> call(Long ignored) {
+								if (decided.get() || !spendCredit()) {
+									return Observable.never();
+								}
+								mHedges.incrementAndGet();
+								//对冲失败时继续等原请求
+								return priority.apply(call).doOnNext(new Action1<T>() {
+									@Override
+									public void call(T t) {
+										if (decided.compareAndSet(false, true)) {
+											mHedgeWins.incrementAndGet();
+										}
+									}
+								}).onErrorResumeNext(Observable.<T>never());
+							}
+						});
+				Observable<T> primary = call.doOnNext(new Action1<T>() {
+					@Override
+					public void call(T t) {
+						decided.set(true);
+					}
+				});
+				//原请求会阻塞订阅线程, 计时必须先订阅.
+				//不用 amb: amb 在所有源订阅完之前不 request, 对冲的结果要等原请求返回才能发出
+				return Observable.merge(hedged, primary).take(1);
+			}
+		});
+	}
+
+	private synchronized void earnCredit() {
+		mCredits = Math.min(MAX_BURST, mCredits + mMaxHedgeRatio);
+	}
+
+	private synchronized boolean spendCredit() {
+		if (mCredits < 1) {
+			return false;
+		}
+		mCredits -= 1;
+		return true;
+	}
+
+	/**
+	 * @return 经过对冲策略的请求数
+	 */
+	public long getCallCount() {
+		return mCalls.get();
+	}
+
+	/**
+	 * @return 发出的对冲请求数
+	 */
+	public long getHedgeCount() {
+		return mHedges.get();
+	}
+
+	/**
+	 * @return 对冲请求先返回的次数
+	 */
+	public long getHedgeWinCount() {
+		return mHedgeWins.get();
+	}
+
+	/**
+	 * @param millis
+	 * @return 固定等待时间
+	 */
+	@NonNull
+	public static Delay fixed(final long millis) {
+		return new Delay() {
+			@Override
+			public long delayMillis() {
+				return millis;
+			}
+		};
+	}
+
+	/**
+	 * 等待该接口观测到的 p95 总耗时; 样本不足 {@link #MIN_SAMPLES} 时不对冲
+	 *
+	 * @param metrics
+	 * @return
+	 */
+	@NonNull
+	public static Delay observedP95(@NonNull final EndpointMetrics metrics) {
+		return new Delay() {
+			@Override
+			public long delayMillis() {
+				Percentiles latency = metrics.totalLatency();
+				if (latency.count < MIN_SAMPLES) {
+					return -1;
+				}
+				return Math.max(MIN_DELAY_MILLIS, latency.p95);
+			}
+		};
+	}
+
+	/**
+	 * 发出对冲请求前的等待时间, 每次调用时读取
+	 */
+	public interface Delay {
+		/**
+		 * @return 毫秒, 小于 0 表示这次不对冲
+		 */
+		long delayMillis();
+	}
+}
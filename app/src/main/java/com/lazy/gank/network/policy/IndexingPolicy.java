@@ -0,0 +1,75 @@
+package com.lazy.gank.network.policy;
+
+import com.lazy.gank.entity.CategoryResult;
+import com.lazy.gank.entity.DayGankResults;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.search.GankSearchIndex;
+
+import java.util.List;
+
+import rx.Observable;
+import rx.functions.Action1;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 把请求返回的 {@link GankResult} 加入本地搜索索引 {@link GankSearchIndex}.
+ * <p>
+ * 流式接口在这里拿不到数据, 由调用方在每批数据上调用 {@link #indexBatch()}.
+ */
+public class IndexingPolicy implements CallPolicy {
+	private final GankSearchIndex mIndex;
+
+	public IndexingPolicy(GankSearchIndex index) {
+		this.mIndex = index;
+	}
+
+	@Override
+	public <T> Observable<T> apply(CallKey key, Observable<T> call) {
+		if (key.isStreaming()) {
+			return call;
+		}
+		return call.doOnNext(new Action1<T>() {
+			@Override
+			public void call(T value) {
+				index(value);
+			}
+		});
+	}
+
+	/**
+	 * 流式结果每一批加入索引
+	 *
+	 * @return
+	 */
+	public Action1<List<GankResult>> indexBatch() {
+		return new Action1<List<GankResult>>() {
+			@Override
+			public void call(List<GankResult> batch) {
+				mIndex.addAll(batch);
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private void index(Object value) {
+		if (value instanceof GankResults) {
+			GankResults<?> results = (GankResults<?>) value;
+			List<?> list = results.getResults();
+			if (!results.error && list != null && !list.isEmpty() && list.get(0) instanceof GankResult) {
+				mIndex.addAll((List<GankResult>) list);
+			}
+		} else if (value instanceof DayGankResults) {
+			CategoryResult category = ((DayGankResults) value).getResults();
+			if (category != null) {
+				mIndex.addAll(category.androidList);
+				mIndex.addAll(category.iOSList);
+				mIndex.addAll(category.videoList);
+				mIndex.addAll(category.meizhiList);
+				mIndex.addAll(category.extendSourceList);
+				mIndex.addAll(category.recommandList);
+			}
+		}
+	}
+}
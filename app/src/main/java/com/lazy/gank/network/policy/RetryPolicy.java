@@ -0,0 +1,110 @@
+package com.lazy.gank.network.policy;
+
+import com.lazy.gank.network.CircuitOpenException;
+import com.lazy.gank.network.RequestPriority;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.adapter.rxjava.HttpException;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.schedulers.Schedulers;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 失败重试: 指数退避 + full jitter, 第 n 次重试前等待 random(0, min(cap, base * 2^n)).
+ * <p>
+ * GankService 都是 GET, 可以安全重试; 只重试网络异常 (熔断除外) 和 408 / 429 / 5xx,
+ * 其他 HTTP 错误和解析错误直接交给订阅者.
+ */
+public class RetryPolicy implements CallPolicy {
+	public static final int MAX_RETRIES = 3;
+	public static final long BASE_DELAY_MILLIS = 500;
+	public static final long MAX_DELAY_MILLIS = 8000;
+
+	private final int mMaxRetries;
+	private final long mBaseDelayMillis;
+	private final long mMaxDelayMillis;
+	private final Random mRandom = new Random();
+
+	public RetryPolicy() {
+		this(MAX_RETRIES, BASE_DELAY_MILLIS, MAX_DELAY_MILLIS);
+	}
+
+	public RetryPolicy(int maxRetries, long baseDelayMillis, long maxDelayMillis) {
+		this.mMaxRetries = maxRetries;
+		this.mBaseDelayMillis = baseDelayMillis;
+		this.mMaxDelayMillis = maxDelayMillis;
+	}
+
+	@Override
+	public <T> Observable<T> apply(CallKey key, final Observable<T> call) {
+		return Observable.defer(new Func0<Observable<T>>() {
+			@Override
+			public Observable<T> call() {
+				//重试在 io 线程上重新订阅, 沿用第一次订阅时的优先级
+				RequestPriority priority = RequestPriority.current();
+				return priority.apply(call).retryWhen(new Func1<Observable<? extends Throwable>, Observable<?>>() {
+					@Override
+					public Observable<?> call(Observable<? extends Throwable> errors) {
+						return errors.zipWith(Observable.range(1, mMaxRetries + 1), new Func2<Throwable, Integer, Attempt>() {
+							@Override
+							public Attempt call(Throwable error, Integer attempt) {
+								return new Attempt(error, attempt);
+							}
+						}).flatMap(new Func1<Attempt, Observable<Long>>() {
+							@Override
+							public Observable<Long> call(Attempt attempt) {
+								if (attempt.mNumber > mMaxRetries || !isRetryable(attempt.mError)) {
+									return Observable.error(attempt.mError);
+								}
+								//重新订阅会同步执行请求, 不能放在 computation 线程
+								return Observable.timer(delayMillis(attempt.mNumber), TimeUnit.MILLISECONDS, Schedulers.io());
+							}
+						});
+					}
+				});
+			}
+		});
+	}
+
+	long delayMillis(int attempt) {
+		long ceiling = Math.min(mMaxDelayMillis, mBaseDelayMillis << Math.min(attempt - 1, 20));
+		synchronized (mRandom) {
+			return (long) (mRandom.nextDouble() * ceiling);
+		}
+	}
+
+	static boolean isRetryable(Throwable error) {
+		//熔断中 / 线程被中断
+		if (error instanceof CircuitOpenException
+				|| error instanceof InterruptedIOException && !(error instanceof SocketTimeoutException)) {
+			return false;
+		}
+		if (error instanceof IOException) {
+			return true;
+		}
+		if (error instanceof HttpException) {
+			int code = ((HttpException) error).code();
+			return code == 408 || code == 429 || code >= 500;
+		}
+		return false;
+	}
+
+	private static final class Attempt {
+		final Throwable mError;
+		final int mNumber;
+
+		Attempt(Throwable error, int number) {
+			this.mError = error;
+			this.mNumber = number;
+		}
+	}
+}
@@ -9,15 +9,14 @@ import com.facebook.drawee.view.SimpleDraweeView;
 import com.lazy.gank.R;
 import com.lazy.gank.entity.GankResult;
 import com.lazy.gank.interfaces.IConstant;
+import com.lazy.gank.util.GankDateFormat;
 
-import java.text.SimpleDateFormat;
 import java.util.List;
 
 
 public class GankListAdapter extends BaseQuickAdapter<GankResult> implements View.OnClickListener {
 
 	private static final String TAG = "GankListAdapter";
-	SimpleDateFormat simpleFormatter = new SimpleDateFormat("MM-dd H:m");
 
 	public GankListAdapter(List<GankResult> data) {
 		super(R.layout.gank_item, data);
@@ -30,8 +29,8 @@ public class GankListAdapter extends BaseQuickAdapter<GankResult> implements Vie
 
 	@Override
 	protected void convert(BaseViewHolder vh, GankResult gankResult) {
-		gankResult.url = gankResult.url == null ? IConstant.PLACE_HOLDER : gankResult.url;
-		Uri uri = Uri.parse(gankResult.url);
+		//gankResult 是共享的实例, 不修改它
+		Uri uri = Uri.parse(gankResult.url == null ? IConstant.PLACE_HOLDER : gankResult.url);
 
 		SimpleDraweeView imageView = vh.getView(R.id.img);
 		imageView.setImageURI(uri);
@@ -42,7 +41,7 @@ public class GankListAdapter extends BaseQuickAdapter<GankResult> implements Vie
 		vh.setText(R.id.gank_who, gankResult.who);
 		vh.setText(R.id.desc, gankResult.desc);
 		vh.setText(R.id.type, gankResult.type);
-		vh.setText(R.id.publishedAt, simpleFormatter.format(gankResult.publishedAt));
+		vh.setText(R.id.publishedAt, GankDateFormat.formatMonthDayTime(gankResult.publishedAt.getTime()));
 
 	}
 
@@ -1,9 +1,11 @@
 package com.lazy.gank.recommend;
 
+import com.lazy.gank.bilibili.entity.SlideshowResult;
 import com.lazy.gank.entity.DayGankResults;
 import com.lazy.gank.entity.GankResult;
 import com.lazy.gank.interfaces.mvp.BasePresenter;
 import com.lazy.gank.interfaces.mvp.BaseView;
+import com.lazy.gank.network.PriorityGroup;
 
 import java.util.List;
 
@@ -15,16 +17,42 @@ import java.util.List;
 
 public interface GankRecommendContract {
 
-	interface View extends BaseView {
+	/**
+	 * 请求按 {@link PriorityGroup.Owner#getPriorityGroup()} 的优先级排队
+	 */
+	interface View extends BaseView, PriorityGroup.Owner {
 		void addGanks(List<GankResult> ganks);
 
+		/**
+		 * 时间线重新加载前清空列表
+		 */
+		void clearGanks();
+
 		void showDayGankResults(DayGankResults dayGankResults);
+
+		/**
+		 * 头部轮播图; 有缓存时先用缓存回调一次
+		 */
+		void showSlideshow(List<SlideshowResult> slideshow);
 	}
 
 	interface Presenter extends BasePresenter {
 		void showHistoryGank();
 
+		/**
+		 * 最近 days 天的时间线, 每加载完一天回调一次 {@link View#addGanks(List)}.
+		 * 后台同步发布日期后有更新的一天时, {@link View#clearGanks()} 并重新加载
+		 */
+		void showHistoryTimeline(int days);
+
+		/**
+		 * 下拉刷新: 同 {@link #showHistoryTimeline(int)}, 同步发布日期时不使用 HTTP 缓存
+		 */
+		void refreshHistoryTimeline(int days);
+
 		void showRecommendGank(String year, String mouth, String day);
+
+		void showSlideshow();
 	}
 
 }
@@ -2,13 +2,14 @@ package com.lazy.gank.recommend;
 
 import android.support.annotation.NonNull;
 
-import com.lazy.gank.entity.CategoryResult;
-import com.lazy.gank.entity.DayGankResults;
+import com.lazy.gank.bilibili.BilibiliService;
+import com.lazy.gank.bilibili.entity.Slideshow;
+import com.lazy.gank.data.GankRepository;
+import com.lazy.gank.data.PublishDateIndex;
 import com.lazy.gank.entity.GankResult;
-import com.lazy.gank.entity.GankResults;
 import com.lazy.gank.internal.di.scope.ActivityScope;
-import com.lazy.gank.network.GankService;
-import com.lazy.gank.network.GankServiceProxy;
+import com.lazy.gank.logging.Logcat;
+import com.lazy.gank.network.RequestPriority;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,7 +21,6 @@ import rx.Subscriber;
 import rx.Subscription;
 import rx.android.schedulers.AndroidSchedulers;
 import rx.functions.Func1;
-import rx.schedulers.Schedulers;
 import rx.subscriptions.CompositeSubscription;
 
 /**
@@ -30,16 +30,28 @@ import rx.subscriptions.CompositeSubscription;
  */
 @ActivityScope
 public class GankRecommendPresenter implements GankRecommendContract.Presenter {
+	private static final String TAG = "GankRecommendPresenter";
+
+	//时间线默认加载的天数 / 同时请求的天数
+	public static final int TIMELINE_DAYS = 7;
+	public static final int MAX_CONCURRENT_DAYS = 3;
+
 	GankRecommendContract.View mView;
 
-	GankService mGankService;
+	GankRepository mGankRepository;
+
+	BilibiliService mBilibiliService;
 
 	private CompositeSubscription mCompositeSubscription;
+	private Subscription mTimelineSubscription;
+	//当前时间线最新的一天, -1 为还没有读日期索引; 在索引的锁里写, 与 merge 不会交错
+	private volatile int mTimelineNewest = -1;
 
 	//构造器参数注入
 	@Inject
-	public GankRecommendPresenter(GankService mGankService) {
-		this.mGankService = mGankService;
+	public GankRecommendPresenter(GankRepository mGankRepository, BilibiliService mBilibiliService) {
+		this.mGankRepository = mGankRepository;
+		this.mBilibiliService = mBilibiliService;
 		mCompositeSubscription = new CompositeSubscription();
 	}
 
@@ -50,7 +62,8 @@ public class GankRecommendPresenter implements GankRecommendContract.Presenter {
 
 	@Override
 	public void subscribe() {
-		showHistoryGank();
+		showSlideshow();
+		showHistoryTimeline(TIMELINE_DAYS);
 	}
 
 	@Override
@@ -62,34 +75,17 @@ public class GankRecommendPresenter implements GankRecommendContract.Presenter {
 
 	@Override
 	public void showHistoryGank() {
-		Subscription subscription = this.mGankService //没用Dagger  GankServiceProxy.getGankService()
-				.getDayHistoty()
-				.subscribeOn(Schedulers.io())
-				.flatMap(new Func1<GankResults<String>, Observable<DayGankResults>>() {
+		Subscription subscription = mGankRepository.getPublishDates()
+				.flatMap(new Func1<PublishDateIndex, Observable<List<GankResult>>>() {
 					@Override
-					public Observable<DayGankResults> call(GankResults<String> stringGankResults) {
-						String lastDate = stringGankResults.getResults().get(10);
-						String[] dateWords = lastDate.split("-");
-						return GankServiceProxy.getGankService().getGankByDate(dateWords[0],
-								dateWords[1], dateWords[2]);
-					}
-				})
-				.map(new Func1<DayGankResults, List<GankResult>>() {
-					@Override
-					public List<GankResult> call(DayGankResults dayGankResults) {
-						CategoryResult category = dayGankResults.getResults();
-						List<GankResult> gankResults = new ArrayList<GankResult>();
-						if (category != null) {
-							gankResults.addAll(category.androidList == null ? new ArrayList<GankResult>(0) : category.androidList);
-							gankResults.addAll(category.iOSList == null ? new ArrayList<GankResult>(0) : category.iOSList);
-							gankResults.addAll(category.meizhiList == null ? new ArrayList<GankResult>(0) : category.meizhiList);
-							gankResults.addAll(category.extendSourceList == null ? new ArrayList<GankResult>(0) : category.extendSourceList);
-							gankResults.addAll(category.recommandList == null ? new ArrayList<GankResult>(0) : category.recommandList);
+					public Observable<List<GankResult>> call(PublishDateIndex index) {
+						if (index.size() <= 10) {
+							return Observable.empty();
 						}
-
-						return gankResults;
+						return mGankRepository.getDay(index.getNewest(10));
 					}
 				})
+				.subscribeOn(mView.getPriorityGroup().scheduler())
 				.observeOn(AndroidSchedulers.mainThread())
 				.subscribe(new Subscriber<List<GankResult>>() {
 
@@ -119,6 +115,155 @@ public class GankRecommendPresenter implements GankRecommendContract.Presenter {
 
 	}
 
+	@Override
+	public void showHistoryTimeline(int days) {
+		showHistoryTimeline(days, false);
+	}
+
+	@Override
+	public void refreshHistoryTimeline(int days) {
+		showHistoryTimeline(days, true);
+	}
+
+	private void showHistoryTimeline(final int days, boolean refresh) {
+		loadTimeline(days);
+		//时间线先用本地日期索引, 在后台同步, 有更新的日期时重新加载
+		mCompositeSubscription.add(mGankRepository.syncPublishDates(refresh)
+				.subscribeOn(mView.getPriorityGroup().scheduler(RequestPriority.PREFETCH))
+				.observeOn(AndroidSchedulers.mainThread())
+				.subscribe(new Subscriber<PublishDateIndex>() {
+					@Override
+					public void onCompleted() {
+					}
+
+					@Override
+					public void onError(Throwable e) {
+						Logcat.w("sync publish dates failed: " + e, TAG);
+					}
+
+					@Override
+					public void onNext(PublishDateIndex index) {
+						int shown = mTimelineNewest;
+						//还没有读索引时, 之后会直接读到同步后的日期
+						if (shown >= 0 && index.size() > 0 && index.getNewest(0) != shown) {
+							mView.clearGanks();
+							loadTimeline(days);
+						}
+					}
+				}));
+	}
+
+	private void loadTimeline(int days) {
+		if (mTimelineSubscription != null) {
+			mCompositeSubscription.remove(mTimelineSubscription);
+		}
+		mTimelineNewest = -1;
+		mTimelineSubscription = getHistoryTimeline(days, MAX_CONCURRENT_DAYS)
+				.observeOn(AndroidSchedulers.mainThread())
+				.subscribe(new Subscriber<List<GankResult>>() {
+					int mDayCount;
+
+					@Override
+					public void onStart() {
+						super.onStart();
+						mView.showLoading();
+					}
+
+					@Override
+					public void onCompleted() {
+						mView.hideLoading();
+						if (mDayCount == 0) {
+							mView.showMessage("网络错误");
+						}
+					}
+
+					@Override
+					public void onError(Throwable e) {
+						mView.hideLoading();
+						mView.showMessage("网络错误");
+					}
+
+					@Override
+					public void onNext(List<GankResult> gankResults) {
+						if (mDayCount++ == 0) {
+							mView.hideLoading();
+						}
+						mView.addGanks(gankResults);
+					}
+
+				});
+		mCompositeSubscription.add(mTimelineSubscription);
+	}
+
+	/**
+	 * 最近 days 天的干货, 最多 maxConcurrent 个 getGankByDate 同时请求, 按日期从新到旧依次发射每一天.
+	 * <p>
+	 * 本地完整保存过的日期不请求网络; 某一天失败时跳过这一天.
+	 *
+	 * @param days
+	 * @param maxConcurrent
+	 * @return
+	 */
+	public Observable<List<GankResult>> getHistoryTimeline(final int days, final int maxConcurrent) {
+		return mGankRepository.getPublishDates()
+				.subscribeOn(mView.getPriorityGroup().scheduler())
+				.concatMap(new Func1<PublishDateIndex, Observable<Integer>>() {
+					@Override
+					public Observable<Integer> call(PublishDateIndex index) {
+						int[] newest;
+						synchronized (index) {
+							newest = index.newest(days);
+							mTimelineNewest = newest.length > 0 ? newest[0] : 0;
+						}
+						List<Integer> dates = new ArrayList<>(newest.length);
+						for (int day : newest) {
+							dates.add(day);
+						}
+						return Observable.from(dates);
+					}
+				})
+				.concatMapEager(new Func1<Integer, Observable<List<GankResult>>>() {
+					@Override
+					public Observable<List<GankResult>> call(Integer day) {
+						//GankService 是同步执行的, 每一天单独排队才能并发
+						return mGankRepository.getDay(day)
+								.subscribeOn(mView.getPriorityGroup().scheduler())
+								.onErrorResumeNext(Observable.<List<GankResult>>empty());
+					}
+				}, days, maxConcurrent);
+	}
+
+	@Override
+	public void showSlideshow() {
+		//CacheInterceptor 有缓存时直接返回缓存, 过期后在后台刷新, 下次进入生效
+		Subscription subscription = mBilibiliService.getSlideshow()
+				.subscribeOn(mView.getPriorityGroup().scheduler())
+				.filter(new Func1<Slideshow, Boolean>() {
+					@Override
+					public Boolean call(Slideshow slideshow) {
+						return slideshow.getCode() == 0 && slideshow.getResult() != null && !slideshow.getResult().isEmpty();
+					}
+				})
+				.observeOn(AndroidSchedulers.mainThread())
+				.subscribe(new Subscriber<Slideshow>() {
+					@Override
+					public void onCompleted() {
+					}
+
+					@Override
+					public void onError(Throwable e) {
+						//轮播图不影响列表, 失败只记录
+						Logcat.w("load slideshow failed: " + e, TAG);
+					}
+
+					@Override
+					public void onNext(Slideshow slideshow) {
+						mView.showSlideshow(slideshow.getResult());
+					}
+				});
+		mCompositeSubscription.add(subscription);
+	}
+
 	@Override
 	public void showRecommendGank(String year, String mouth, String day) {
 
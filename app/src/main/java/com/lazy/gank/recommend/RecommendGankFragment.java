@@ -15,10 +15,15 @@ import com.chad.library.adapter.base.BaseQuickAdapter;
 import com.facebook.drawee.view.SimpleDraweeView;
 import com.lazy.gank.R;
 import com.lazy.gank.base.BaseFragment;
+import com.lazy.gank.bilibili.entity.SlideshowResult;
 import com.lazy.gank.entity.DayGankResults;
 import com.lazy.gank.entity.GankResult;
 import com.lazy.gank.interfaces.mvp.Call;
 import com.lazy.gank.internal.di.components.FragmentComponent;
+import com.lazy.gank.network.PriorityGroup;
+import com.lazy.gank.network.PriorityScheduler;
+import com.lazy.gank.network.RequestPriority;
+import com.lazy.gank.widget.FrescoImageLoader;
 import com.lazy.gank.widget.RecycleViewDivider;
 
 import java.util.ArrayList;
@@ -27,6 +32,9 @@ import java.util.List;
 import javax.inject.Inject;
 
 import butterknife.BindView;
+import cn.lightsky.infiniteindicator.InfiniteIndicator;
+import cn.lightsky.infiniteindicator.page.OnPageClickListener;
+import cn.lightsky.infiniteindicator.page.Page;
 
 /**
  * Created by Sky on 2016/9/12.
@@ -45,6 +53,7 @@ public class RecommendGankFragment extends BaseFragment implements GankRecommend
 	ProgressBar loadingProgress;
 
 	View headerView;
+	InfiniteIndicator slideshowIndicator;
 
 	//Declare Adapter
 	GankListAdapter mGankListAdapter;
@@ -55,6 +64,8 @@ public class RecommendGankFragment extends BaseFragment implements GankRecommend
 
 	//Flag
 	int page;
+	//本页请求的优先级, 由 MainActivity 按是否为当前 tab 设置
+	private final PriorityGroup mPriorityGroup = PriorityScheduler.getInstance().newGroup(RequestPriority.ADJACENT);
 
 	public RecommendGankFragment() {
 	}
@@ -64,6 +75,12 @@ public class RecommendGankFragment extends BaseFragment implements GankRecommend
 		return new RecommendGankFragment();
 	}
 
+	@NonNull
+	@Override
+	public PriorityGroup getPriorityGroup() {
+		return mPriorityGroup;
+	}
+
 	@Override
 	protected void initializeInjector(@NonNull FragmentComponent component) {
 		//DI 当前图表对象
@@ -93,6 +110,7 @@ public class RecommendGankFragment extends BaseFragment implements GankRecommend
 	@Override
 	public void findViews() {
 		mGankListAdapter = new GankListAdapter(new ArrayList<GankResult>(0));
+		mGankListAdapter.addHeaderView(getSlideshowView());
 		headerView = getHeaderView();
 		mGankListAdapter.addHeaderView(headerView);
 		historyGankList.setLayoutManager(new LinearLayoutManager(getContext()));
@@ -106,7 +124,8 @@ public class RecommendGankFragment extends BaseFragment implements GankRecommend
 			@Override
 			public void onRefresh() {
 				page = 1;
-				mPresenter.showHistoryGank();
+				clearGanks();
+				mPresenter.refreshHistoryTimeline(GankRecommendPresenter.TIMELINE_DAYS);
 				swipRefreshLayout.setRefreshing(false);
 			}
 		});
@@ -135,11 +154,34 @@ public class RecommendGankFragment extends BaseFragment implements GankRecommend
 		mGankListAdapter.addData(ganks);
 	}
 
+	@Override
+	public void clearGanks() {
+		mGankListAdapter.getData().clear();
+		mGankListAdapter.notifyDataSetChanged();
+	}
+
 	@Override
 	public void showDayGankResults(DayGankResults dayGankResults) {
 		hideLoading();
 	}
 
+	@Override
+	public void showSlideshow(List<SlideshowResult> slideshow) {
+		List<Page> pages = new ArrayList<>(slideshow.size());
+		for (SlideshowResult result : slideshow) {
+			pages.add(new Page(result.getLink(), result.getImg(), new OnPageClickListener() {
+				@Override
+				public void onPageClick(int position, Page page) {
+					showMessage(page.data);
+				}
+			}));
+		}
+		slideshowIndicator.stop();
+		slideshowIndicator.addPages(pages);
+		slideshowIndicator.initFirstPage();
+		slideshowIndicator.start();
+	}
+
 	@Override
 	public void showLoading() {
 		loadingProgress.setVisibility(View.VISIBLE);
@@ -157,6 +199,13 @@ public class RecommendGankFragment extends BaseFragment implements GankRecommend
 //		mPresenter.unsubscribe(); //auto unsubscribe
 	}
 
+	public View getSlideshowView() {
+		View slideshowView = LayoutInflater.from(getActivity()).inflate(R.layout.bilibili_recommend_head, null);
+		slideshowIndicator = (InfiniteIndicator) slideshowView.findViewById(R.id.autoIndicator);
+		slideshowIndicator.setImageLoader(new FrescoImageLoader());
+		return slideshowView;
+	}
+
 	public View getHeaderView() {
 		View headerView = LayoutInflater.from(getActivity()).inflate(R.layout.gank_recommend_head, null);
 		SimpleDraweeView img = (SimpleDraweeView) headerView.findViewById(R.id.headImg);
@@ -0,0 +1,253 @@
+package com.lazy.gank.search;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.lazy.gank.entity.GankResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 本地全文索引: 索引 app 见过的所有 {@link GankResult} 的 desc / who / type / source,
+ * 用 BM25 排序, 可以离线搜索.
+ * <p>
+ * 以 url 去重, 重复的条目只更新引用不重新建索引. 所有方法线程安全.
+ * 索引只在内存里, 启动时由 {@link com.lazy.gank.data.GankRepository#loadSearchIndex()} 从本地保存的条目重建.
+ */
+public class GankSearchIndex {
+	//BM25 参数
+	static final float K1 = 1.2f;
+	static final float B = 0.75f;
+
+	private static GankSearchIndex mGankSearchIndex;
+
+	private final Map<String, PostingList> mPostings = new HashMap<>();
+	private final Map<String, Integer> mDocIds = new HashMap<>();
+	private GankResult[] mDocs = new GankResult[64];
+	private int[] mDocLengths = new int[64];
+	private int mDocCount;
+	private long mTotalLength;
+
+	//查询时复用
+	private float[] mScores = new float[64];
+	private int[] mTouched = new int[64];
+	private int mTouchedCount;
+	private final List<String> mTokens = new ArrayList<>();
+	private final Map<String, int[]> mTermFrequencies = new HashMap<>();
+
+	public GankSearchIndex() {
+	}
+
+	@NonNull
+	public static GankSearchIndex getInstance() {
+		if (mGankSearchIndex == null) {
+			synchronized (GankSearchIndex.class) {
+				if (mGankSearchIndex == null) {
+					mGankSearchIndex = new GankSearchIndex();
+				}
+			}
+		}
+		return mGankSearchIndex;
+	}
+
+	public synchronized void addAll(@Nullable List<GankResult> results) {
+		if (results == null) {
+			return;
+		}
+		for (GankResult result : results) {
+			add(result);
+		}
+	}
+
+	public synchronized void add(@Nullable GankResult result) {
+		if (result == null || result.url == null) {
+			return;
+		}
+		Integer existing = mDocIds.get(result.url);
+		if (existing != null) {
+			mDocs[existing] = result;
+			return;
+		}
+		int doc = mDocCount;
+		ensureCapacity(doc + 1);
+		mDocIds.put(result.url, doc);
+		mDocs[doc] = result;
+		mDocCount++;
+
+		mTokens.clear();
+		Tokenizer.tokenize(result.desc, true, mTokens);
+		Tokenizer.tokenize(result.who, true, mTokens);
+		Tokenizer.tokenize(result.type, true, mTokens);
+		Tokenizer.tokenize(result.source, true, mTokens);
+		mDocLengths[doc] = mTokens.size();
+		mTotalLength += mTokens.size();
+
+		mTermFrequencies.clear();
+		for (String token : mTokens) {
+			int[] frequency = mTermFrequencies.get(token);
+			if (frequency == null) {
+				mTermFrequencies.put(token, new int[]{1});
+			} else {
+				frequency[0]++;
+			}
+		}
+		for (Map.Entry<String, int[]> entry : mTermFrequencies.entrySet()) {
+			PostingList postings = mPostings.get(entry.getKey());
+			if (postings == null) {
+				postings = new PostingList();
+				mPostings.put(entry.getKey(), postings);
+			}
+			postings.add(doc, entry.getValue()[0]);
+		}
+	}
+
+	/**
+	 * @param query
+	 * @param limit
+	 * @return 按相关度排序
+	 */
+	@NonNull
+	public List<GankResult> search(String query, int limit) {
+		return search(query, null, limit);
+	}
+
+	/**
+	 * @param query
+	 * @param type  只返回该分类, null 或 "all" 表示全部
+	 * @param limit
+	 * @return 按相关度排序
+	 */
+	@NonNull
+	public synchronized List<GankResult> search(String query, @Nullable String type, int limit) {
+		if (mDocCount == 0 || limit <= 0) {
+			return Collections.emptyList();
+		}
+		Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+		if (terms.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final float averageLength = (float) mTotalLength / mDocCount;
+		for (String term : terms) {
+			PostingList postings = mPostings.get(term);
+			if (postings == null) {
+				continue;
+			}
+			final float idf = (float) Math.log(1 + (mDocCount - postings.docCount() + 0.5) / (postings.docCount() + 0.5));
+			postings.forEach(new PostingList.Visitor() {
+				@Override
+				public void visit(int doc, int termFrequency) {
+					float norm = K1 * (1 - B + B * mDocLengths[doc] / averageLength);
+					if (mScores[doc] == 0) {
+						mTouched[mTouchedCount++] = doc;
+					}
+					mScores[doc] += idf * termFrequency * (K1 + 1) / (termFrequency + norm);
+				}
+			});
+		}
+		List<GankResult> results = topHits(type == null || "all".equals(type) ? null : type, limit);
+		for (int i = 0; i < mTouchedCount; i++) {
+			mScores[mTouched[i]] = 0;
+		}
+		mTouchedCount = 0;
+		return results;
+	}
+
+	public synchronized int size() {
+		return mDocCount;
+	}
+
+	public synchronized void clear() {
+		mPostings.clear();
+		mDocIds.clear();
+		Arrays.fill(mDocs, null);
+		mDocCount = 0;
+		mTotalLength = 0;
+	}
+
+	private List<GankResult> topHits(String type, int limit) {
+		//最小堆, 堆顶是当前第 limit 名
+		int[] heap = new int[Math.min(limit, mTouchedCount)];
+		int size = 0;
+		for (int i = 0; i < mTouchedCount; i++) {
+			int doc = mTouched[i];
+			if (type != null && !type.equals(mDocs[doc].type)) {
+				continue;
+			}
+			if (size < heap.length) {
+				heap[size] = doc;
+				siftUp(heap, size++);
+			} else if (heap.length > 0 && better(doc, heap[0])) {
+				heap[0] = doc;
+				siftDown(heap, size);
+			}
+		}
+		GankResult[] sorted = new GankResult[size];
+		while (size > 0) {
+			sorted[--size] = mDocs[heap[0]];
+			heap[0] = heap[size];
+			siftDown(heap, size);
+		}
+		return Arrays.asList(sorted);
+	}
+
+	//分数相同时新加入的靠前
+	private boolean better(int doc, int other) {
+		return mScores[doc] > mScores[other] || mScores[doc] == mScores[other] && doc > other;
+	}
+
+	private void siftUp(int[] heap, int index) {
+		while (index > 0) {
+			int parent = (index - 1) / 2;
+			if (!better(heap[parent], heap[index])) {
+				break;
+			}
+			swap(heap, parent, index);
+			index = parent;
+		}
+	}
+
+	private void siftDown(int[] heap, int size) {
+		int index = 0;
+		while (true) {
+			int smallest = index;
+			int left = index * 2 + 1;
+			int right = left + 1;
+			if (left < size && better(heap[smallest], heap[left])) {
+				smallest = left;
+			}
+			if (right < size && better(heap[smallest], heap[right])) {
+				smallest = right;
+			}
+			if (smallest == index) {
+				return;
+			}
+			swap(heap, smallest, index);
+			index = smallest;
+		}
+	}
+
+	private static void swap(int[] heap, int i, int j) {
+		int tmp = heap[i];
+		heap[i] = heap[j];
+		heap[j] = tmp;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > mDocs.length) {
+			int newLength = Math.max(capacity, mDocs.length * 2);
+			mDocs = Arrays.copyOf(mDocs, newLength);
+			mDocLengths = Arrays.copyOf(mDocLengths, newLength);
+			mScores = Arrays.copyOf(mScores, newLength);
+			mTouched = Arrays.copyOf(mTouched, newLength);
+		}
+	}
+}
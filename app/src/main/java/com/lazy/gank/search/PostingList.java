@@ -0,0 +1,78 @@
+package com.lazy.gank.search;
+
+import java.util.Arrays;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 一个词的倒排表: (docId 差值, 词频) 依次按 varint 写进 byte[].
+ * <p>
+ * docId 只增不减, 所以只支持追加.
+ */
+final class PostingList {
+	interface Visitor {
+		void visit(int doc, int termFrequency);
+	}
+
+	private byte[] mData = new byte[8];
+	private int mSize;
+	private int mDocCount;
+	private int mLastDoc = -1;
+
+	void add(int doc, int termFrequency) {
+		if (doc <= mLastDoc) {
+			throw new IllegalArgumentException("doc " + doc + " <= " + mLastDoc);
+		}
+		writeVarint(doc - mLastDoc);
+		writeVarint(termFrequency);
+		mLastDoc = doc;
+		mDocCount++;
+	}
+
+	void forEach(Visitor visitor) {
+		byte[] data = mData;
+		int pos = 0;
+		int doc = -1;
+		while (pos < mSize) {
+			int delta = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = data[pos++];
+				delta |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			int termFrequency = 0;
+			shift = 0;
+			do {
+				b = data[pos++];
+				termFrequency |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			doc += delta;
+			visitor.visit(doc, termFrequency);
+		}
+	}
+
+	/**
+	 * @return 包含这个词的文档数
+	 */
+	int docCount() {
+		return mDocCount;
+	}
+
+	int sizeInBytes() {
+		return mSize;
+	}
+
+	private void writeVarint(int value) {
+		if (mSize + 5 > mData.length) {
+			mData = Arrays.copyOf(mData, Math.max(mData.length * 2, mSize + 5));
+		}
+		while ((value & ~0x7F) != 0) {
+			mData[mSize++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		mData[mSize++] = (byte) value;
+	}
+}
@@ -0,0 +1,42 @@
+package com.lazy.gank.search;
+
+import android.support.annotation.NonNull;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 搜索词归一化: 全角转半角 (NFKC), 转小写, 去掉首尾空白, 连续空白合并成一个空格.
+ * <p>
+ * 例如 "　ＲｘＪａｖａ  教程 " -> "rxjava 教程"
+ */
+public final class QueryNormalizer {
+
+	private QueryNormalizer() {
+	}
+
+	@NonNull
+	public static String normalize(CharSequence query) {
+		if (query == null) {
+			return "";
+		}
+		String text = Normalizer.normalize(query, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+		StringBuilder builder = new StringBuilder(text.length());
+		boolean space = false;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+				space = builder.length() > 0;
+			} else {
+				if (space) {
+					builder.append(' ');
+					space = false;
+				}
+				builder.append(c);
+			}
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,162 @@
+package com.lazy.gank.search;
+
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.Toolbar;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.ProgressBar;
+
+import com.chad.library.adapter.base.BaseQuickAdapter;
+import com.lazy.gank.R;
+import com.lazy.gank.base.BaseActivity;
+import com.lazy.gank.entity.GankSearchResults;
+import com.lazy.gank.entity.SearchResult;
+import com.lazy.gank.internal.di.components.ActivityComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import butterknife.BindView;
+import butterknife.ButterKnife;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 搜索页: 输入即搜索, 滑到底加载下一页
+ */
+public class SearchActivity extends BaseActivity implements SearchContract.View,
+		BaseQuickAdapter.RequestLoadMoreListener, BaseQuickAdapter.OnRecyclerViewItemClickListener {
+	//gank.io 搜索接口每页条数
+	private static final int PAGE_SIZE = 20;
+
+	@BindView(R.id.toolbar)
+	Toolbar toolbar;
+	@BindView(R.id.search_edit)
+	EditText searchEdit;
+	@BindView(R.id.recyclerView)
+	RecyclerView recyclerView;
+	@BindView(R.id.loading_progress)
+	ProgressBar loadingProgress;
+
+	@Inject
+	SearchPresenter mPresenter;
+
+	SearchListAdapter mSearchListAdapter;
+
+	@Override
+	protected void onCreate(@Nullable Bundle savedInstanceState) {
+		super.onCreate(savedInstanceState);
+		mPresenter.setView(this);
+		mPresenter.subscribe();
+	}
+
+	@Override
+	public void findViews() {
+		setContentView(R.layout.activity_search);
+		ButterKnife.bind(this);
+		toolbar.setNavigationIcon(R.drawable.ic_arrow_left_white_24dp);
+		setSupportActionBar(toolbar);
+		toolbar.setNavigationOnClickListener(new View.OnClickListener() {
+			@Override
+			public void onClick(View v) {
+				finish();
+			}
+		});
+		recyclerView.setLayoutManager(new LinearLayoutManager(this));
+		mSearchListAdapter = new SearchListAdapter(new ArrayList<SearchResult>(0));
+		recyclerView.setAdapter(mSearchListAdapter);
+	}
+
+	@Override
+	public void setViewListener() {
+		searchEdit.addTextChangedListener(new TextWatcher() {
+			@Override
+			public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+			}
+
+			@Override
+			public void onTextChanged(CharSequence s, int start, int before, int count) {
+			}
+
+			@Override
+			public void afterTextChanged(Editable s) {
+				//去抖 / 去重由 presenter 处理
+				mPresenter.onQueryChanged(s.toString());
+			}
+		});
+		mSearchListAdapter.openLoadMore(PAGE_SIZE, true);
+		mSearchListAdapter.setOnLoadMoreListener(this);
+		mSearchListAdapter.setOnRecyclerViewItemClickListener(this);
+	}
+
+	@Override
+	public void processExtraData() {
+
+	}
+
+	@Override
+	protected void initializeInjector(@NonNull ActivityComponent activityComponent) {
+		activityComponent.inject(this);
+	}
+
+	@Override
+	protected void onDestroy() {
+		mPresenter.unsubscribe();
+		super.onDestroy();
+	}
+
+	@Override
+	public String getCategory() {
+		return "all";
+	}
+
+	@Override
+	public int getCount() {
+		return PAGE_SIZE;
+	}
+
+	@Override
+	public void showSearchResults(String query, int page, GankSearchResults results) {
+		List<SearchResult> list = results.error || results.getResults() == null
+				? new ArrayList<SearchResult>(0) : results.getResults();
+		boolean hasMore = list.size() >= PAGE_SIZE;
+		if (page == 1) {
+			mSearchListAdapter.openLoadMore(PAGE_SIZE, hasMore);
+			mSearchListAdapter.setNewData(new ArrayList<>(list));
+			recyclerView.scrollToPosition(0);
+		} else {
+			mSearchListAdapter.notifyDataChangedAfterLoadMore(list, hasMore);
+		}
+		if (page == 1 && list.isEmpty()) {
+			showMessage("没有找到 " + query);
+		}
+	}
+
+	@Override
+	public void onLoadMoreRequested() {
+		mPresenter.showNextPage();
+	}
+
+	@Override
+	public void onItemClick(View view, int i) {
+		showMessage(mSearchListAdapter.getData().get(i).url);
+	}
+
+	@Override
+	public void showLoading() {
+		loadingProgress.setVisibility(View.VISIBLE);
+	}
+
+	@Override
+	public void hideLoading() {
+		loadingProgress.setVisibility(View.GONE);
+	}
+}
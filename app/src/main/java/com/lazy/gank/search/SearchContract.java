@@ -0,0 +1,40 @@
+package com.lazy.gank.search;
+
+import com.lazy.gank.entity.GankSearchResults;
+import com.lazy.gank.interfaces.mvp.BasePresenter;
+import com.lazy.gank.interfaces.mvp.BaseView;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 搜索页
+ */
+public interface SearchContract {
+
+	interface Presenter extends BasePresenter {
+		/**
+		 * 输入框内容变化时调用, 每个字符都可以调用
+		 */
+		void onQueryChanged(CharSequence query);
+
+		/**
+		 * 当前搜索词的下一页
+		 */
+		void showNextPage();
+
+		void setView(View view);
+	}
+
+	interface View extends BaseView {
+		String getCategory();
+
+		int getCount();
+
+		/**
+		 * @param query   归一化后的搜索词
+		 * @param page    页码, 1 表示新的搜索
+		 * @param results
+		 */
+		void showSearchResults(String query, int page, GankSearchResults results);
+	}
+}
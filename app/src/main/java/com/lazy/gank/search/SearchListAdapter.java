@@ -0,0 +1,30 @@
+package com.lazy.gank.search;
+
+import com.chad.library.adapter.base.BaseQuickAdapter;
+import com.chad.library.adapter.base.BaseViewHolder;
+import com.lazy.gank.R;
+import com.lazy.gank.entity.SearchResult;
+import com.lazy.gank.util.GankDateFormat;
+
+import java.util.List;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 搜索结果列表
+ */
+public class SearchListAdapter extends BaseQuickAdapter<SearchResult> {
+
+	public SearchListAdapter(List<SearchResult> data) {
+		super(R.layout.search_item, data);
+	}
+
+	@Override
+	protected void convert(BaseViewHolder vh, SearchResult searchResult) {
+		vh.setText(R.id.gank_who, searchResult.who);
+		vh.setText(R.id.desc, searchResult.desc);
+		vh.setText(R.id.type, searchResult.type);
+		vh.setText(R.id.publishedAt, searchResult.publishedAt == null
+				? "" : GankDateFormat.formatMonthDayTime(searchResult.publishedAt.getTime()));
+	}
+}
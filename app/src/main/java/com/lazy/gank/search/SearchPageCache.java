@@ -0,0 +1,53 @@
+package com.lazy.gank.search;
+
+import android.support.annotation.Nullable;
+
+import com.lazy.gank.entity.GankSearchResults;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 最近搜索结果页的 LRU, key 是 (归一化后的搜索词, 分类, 每页条数, 页码)
+ */
+public class SearchPageCache {
+	public static final int DEFAULT_MAX_PAGES = 32;
+
+	private final Map<String, GankSearchResults> mPages;
+
+	public SearchPageCache() {
+		this(DEFAULT_MAX_PAGES);
+	}
+
+	public SearchPageCache(final int maxPages) {
+		mPages = new LinkedHashMap<String, GankSearchResults>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, GankSearchResults> eldest) {
+				return size() > maxPages;
+			}
+		};
+	}
+
+	@Nullable
+	public synchronized GankSearchResults get(String query, String category, int count, int page) {
+		return mPages.get(key(query, category, count, page));
+	}
+
+	public synchronized void put(String query, String category, int count, int page, GankSearchResults results) {
+		mPages.put(key(query, category, count, page), results);
+	}
+
+	public synchronized int size() {
+		return mPages.size();
+	}
+
+	public synchronized void clear() {
+		mPages.clear();
+	}
+
+	private static String key(String query, String category, int count, int page) {
+		return query + '\u0000' + category + '\u0000' + count + '\u0000' + page;
+	}
+}
@@ -0,0 +1,191 @@
+package com.lazy.gank.search;
+
+import com.lazy.gank.entity.GankSearchResults;
+import com.lazy.gank.network.GankService;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.android.schedulers.AndroidSchedulers;
+import rx.functions.Action1;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+import rx.subjects.PublishSubject;
+import rx.subscriptions.CompositeSubscription;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 输入即搜索: 归一化 -> 去抖 -> 去重 -> switchMap (新搜索词取消上一个请求) -> 结果页 LRU
+ */
+public class SearchPresenter implements SearchContract.Presenter {
+	public static final long DEBOUNCE_MILLIS = 300;
+
+	SearchContract.View mView;
+	GankService mGankService;
+	private final SearchPageCache mPageCache = new SearchPageCache();
+	private final PublishSubject<CharSequence> mQueries = PublishSubject.create();
+	private CompositeSubscription mCompositeSubscription;
+	private String mQuery = "";
+	private int mPage = 1;
+
+	@Inject
+	public SearchPresenter() {
+		mCompositeSubscription = new CompositeSubscription();
+	}
+
+	@Inject
+	public void setGankService(GankService mGankService) {
+		this.mGankService = mGankService;
+	}
+
+	@Override
+	public void setView(SearchContract.View mView) {
+		this.mView = mView;
+	}
+
+	@Override
+	public void onQueryChanged(CharSequence query) {
+		mQueries.onNext(query);
+	}
+
+	@Override
+	public void subscribe() {
+		mCompositeSubscription.add(typeahead(mQueries, AndroidSchedulers.mainThread())
+				.subscribe(new Subscriber<GankSearchResults>() {
+					@Override
+					public void onCompleted() {
+					}
+
+					@Override
+					public void onError(Throwable e) {
+						mView.hideLoading();
+						mView.showMessage("网络错误");
+					}
+
+					@Override
+					public void onNext(GankSearchResults results) {
+						mView.hideLoading();
+						mView.showSearchResults(mQuery, 1, results);
+					}
+				}));
+	}
+
+	/**
+	 * @param queries   原始输入
+	 * @param scheduler 去抖计时和结果回调的线程, 一般是主线程
+	 * @return 每个稳定下来的搜索词的第一页; 单次请求失败不会结束整个流
+	 */
+	public Observable<GankSearchResults> typeahead(Observable<CharSequence> queries, final Scheduler scheduler) {
+		return queries
+				.map(new Func1<CharSequence, String>() {
+					@Override
+					public String call(CharSequence query) {
+						return QueryNormalizer.normalize(query);
+					}
+				})
+				.debounce(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS, scheduler)
+				.distinctUntilChanged()
+				.filter(new Func1<String, Boolean>() {
+					@Override
+					public Boolean call(String query) {
+						return !query.isEmpty();
+					}
+				})
+				.doOnNext(new Action1<String>() {
+					@Override
+					public void call(String query) {
+						mQuery = query;
+						mPage = 1;
+						mView.showLoading();
+					}
+				})
+				.switchMap(new Func1<String, Observable<GankSearchResults>>() {
+					@Override
+					public Observable<GankSearchResults> call(String query) {
+						return search(query, mView.getCategory(), mView.getCount(), 1)
+								.subscribeOn(Schedulers.io())
+								.observeOn(scheduler)
+								.onErrorResumeNext(new Func1<Throwable, Observable<GankSearchResults>>() {
+									@Override
+									public Observable<GankSearchResults> call(Throwable throwable) {
+										mView.hideLoading();
+										mView.showMessage("网络错误");
+										return Observable.empty();
+									}
+								});
+					}
+				});
+	}
+
+	@Override
+	public void showNextPage() {
+		if (mQuery.isEmpty()) {
+			return;
+		}
+		final String query = mQuery;
+		final int page = mPage + 1;
+		mCompositeSubscription.add(search(query, mView.getCategory(), mView.getCount(), page)
+				.subscribeOn(Schedulers.io())
+				.observeOn(AndroidSchedulers.mainThread())
+				.subscribe(new Subscriber<GankSearchResults>() {
+					@Override
+					public void onStart() {
+						super.onStart();
+						mView.showLoading();
+					}
+
+					@Override
+					public void onCompleted() {
+						mView.hideLoading();
+					}
+
+					@Override
+					public void onError(Throwable e) {
+						mView.hideLoading();
+						mView.showMessage("网络错误");
+					}
+
+					@Override
+					public void onNext(GankSearchResults results) {
+						//搜索词已经变了
+						if (!query.equals(mQuery)) {
+							return;
+						}
+						mPage = page;
+						mView.showSearchResults(query, page, results);
+					}
+				}));
+	}
+
+	/**
+	 * 先查结果页 LRU, 没有再请求
+	 *
+	 * @param query 已归一化
+	 */
+	public Observable<GankSearchResults> search(final String query, final String category, final int count, final int page) {
+		GankSearchResults cached = mPageCache.get(query, category, count, page);
+		if (cached != null) {
+			return Observable.just(cached);
+		}
+		return mGankService.search(query, category, count, page)
+				.doOnNext(new Action1<GankSearchResults>() {
+					@Override
+					public void call(GankSearchResults results) {
+						if (!results.error) {
+							mPageCache.put(query, category, count, page, results);
+						}
+					}
+				});
+	}
+
+	@Override
+	public void unsubscribe() {
+		//和 GankPresenter 一样只清空, 之后还能再 subscribe
+		mCompositeSubscription.clear();
+	}
+}
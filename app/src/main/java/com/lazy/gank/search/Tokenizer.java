@@ -0,0 +1,81 @@
+package com.lazy.gank.search;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 分词: 字母数字连续串转小写作为一个词, 中日韩文字连续串按二元组 (bigram) 切分,
+ * 单独一个汉字时保留单字. 其余字符都是分隔符.
+ * <p>
+ * 例如 "Android 性能优化" -> [android, 性能, 能优, 优化]; 建索引时还输出每个单字, 单字的查询 ("图") 也能命中.
+ */
+public final class Tokenizer {
+
+	private Tokenizer() {
+	}
+
+	@NonNull
+	public static List<String> tokenize(CharSequence text) {
+		List<String> tokens = new ArrayList<>();
+		tokenize(text, tokens);
+		return tokens;
+	}
+
+	public static void tokenize(CharSequence text, @NonNull List<String> out) {
+		tokenize(text, false, out);
+	}
+
+	/**
+	 * @param text
+	 * @param unigrams 连续的汉字除了二元组也输出每个单字, 建索引时使用
+	 * @param out
+	 */
+	public static void tokenize(CharSequence text, boolean unigrams, @NonNull List<String> out) {
+		if (text == null) {
+			return;
+		}
+		int length = text.length();
+		int i = 0;
+		while (i < length) {
+			char c = text.charAt(i);
+			if (isCjk(c)) {
+				int start = i;
+				while (i < length && isCjk(text.charAt(i))) {
+					i++;
+				}
+				if (i - start == 1 || unigrams) {
+					for (int j = start; j < i; j++) {
+						out.add(String.valueOf(text.charAt(j)));
+					}
+				}
+				for (int j = start; j + 1 < i; j++) {
+					out.add(new String(new char[]{text.charAt(j), text.charAt(j + 1)}));
+				}
+			} else if (Character.isLetterOrDigit(c)) {
+				StringBuilder word = new StringBuilder();
+				while (i < length && Character.isLetterOrDigit(text.charAt(i)) && !isCjk(text.charAt(i))) {
+					word.append(Character.toLowerCase(text.charAt(i)));
+					i++;
+				}
+				out.add(word.toString());
+			} else {
+				i++;
+			}
+		}
+	}
+
+	/**
+	 * 中日韩统一表意文字 / 假名 / 谚文
+	 */
+	static boolean isCjk(char c) {
+		return (c >= 0x4E00 && c <= 0x9FFF)
+				|| (c >= 0x3400 && c <= 0x4DBF)
+				|| (c >= 0xF900 && c <= 0xFAFF)
+				|| (c >= 0x3040 && c <= 0x30FF)
+				|| (c >= 0xAC00 && c <= 0xD7AF);
+	}
+}
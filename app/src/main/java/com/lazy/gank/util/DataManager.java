@@ -7,7 +7,16 @@ import android.content.pm.PackageManager;
 import android.text.TextUtils;
 
 import com.lazy.gank.app.MyApplication;
+import com.lazy.gank.data.kv.MappedKeyValueStore;
+import com.lazy.gank.data.kv.MappedPreferences;
 
+import java.io.File;
+
+/**
+ * 键值保存在 mmap 的 {@link MappedKeyValueStore} (files/preferences.kv), 不再每次 put 都重写 XML;
+ * 第一次使用时从原来的 preferences.xml 迁移.
+ * 读直接读 store (不装箱), 写经过 {@link MappedPreferences}, 通过 getSharedPreferences() 注册的监听器能收到
+ */
 public class DataManager {
 	private static DataManager mDataManager;
 	private static Context context;
@@ -15,9 +24,14 @@ public class DataManager {
 	private int mode;
 	//成员变量 cache
 	private String umengChannelName = "";
+	private final MappedKeyValueStore mStore;
+	private final MappedPreferences mPreferences;
 
 	private DataManager() {
 		this.mode = Context.MODE_PRIVATE;
+		this.mStore = new MappedKeyValueStore(new File(context.getFilesDir(), name + ".kv"));
+		this.mPreferences = new MappedPreferences(mStore);
+		mPreferences.migrateFrom(context.getSharedPreferences(name, mode));
 	}
 
 	public static DataManager getInstance() {
@@ -33,56 +47,55 @@ public class DataManager {
 	}
 
 	public SharedPreferences getSharedPreferences() {
-		SharedPreferences localSharedPreferences = context.getSharedPreferences(name, mode);
-		return localSharedPreferences;
+		return mPreferences;
 	}
 
 	public String getString(String paramString1, String paramString2) {
-		return getSharedPreferences().getString(paramString1, paramString2);
+		return mStore.getString(paramString1, paramString2);
 	}
 
 	public int getInt(String paramString, int paramInt) {
-		return getSharedPreferences().getInt(paramString, paramInt);
+		return mStore.getInt(paramString, paramInt);
 	}
 
 	public long getLong(String paramString, long paramLong) {
-		return getSharedPreferences().getLong(paramString, paramLong);
+		return mStore.getLong(paramString, paramLong);
 	}
 
 	public boolean getBoolean(String key, boolean defValue) {
-		return getSharedPreferences().getBoolean(key, defValue);
+		return mStore.getBoolean(key, defValue);
 	}
 
 	public float getFloat(String paramString, float paramFloat) {
-		return getSharedPreferences().getFloat(paramString, paramFloat);
+		return mStore.getFloat(paramString, paramFloat);
 	}
 
 	public boolean putString(String paramString1, String paramString2) {
-		return getSharedPreferences().edit().putString(paramString1, paramString2).commit();
+		return getEditor().putString(paramString1, paramString2).commit();
 	}
 
 	public boolean putInt(String paramString, int paramInt) {
-		return getSharedPreferences().edit().putInt(paramString, paramInt).commit();
+		return getEditor().putInt(paramString, paramInt).commit();
 	}
 
 	public boolean putLong(String paramString, long paramLong) {
-		return getSharedPreferences().edit().putLong(paramString, paramLong).commit();
+		return getEditor().putLong(paramString, paramLong).commit();
 	}
 
 	public boolean putBoolean(String paramString, boolean paramBoolean) {
-		return getSharedPreferences().edit().putBoolean(paramString, paramBoolean).commit();
+		return getEditor().putBoolean(paramString, paramBoolean).commit();
 	}
 
 	public boolean putFloat(String paramString, float paramFloat) {
-		return getSharedPreferences().edit().putFloat(paramString, paramFloat).commit();
+		return getEditor().putFloat(paramString, paramFloat).commit();
 	}
 
 	public SharedPreferences.Editor getEditor() {
-		return getSharedPreferences().edit();
+		return mPreferences.edit();
 	}
 
 	public boolean contains(String paramString) {
-		return getSharedPreferences().contains(paramString);
+		return mPreferences.contains(paramString);
 	}
 
 	public String getString(int paramInt, String paramString) {
@@ -0,0 +1,248 @@
+package com.lazy.gank.util;
+
+import java.util.TimeZone;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe gank.io 时间格式的解析/格式化, 不创建 SimpleDateFormat / Calendar, 失败时不抛异常.
+ * <p>
+ * 支持: {@code 2016-09-12T11:39:55.131Z}, {@code 2016-09-12T11:39:55.986000}(无时区按 UTC),
+ * {@code 2016-09-12 11:39:55+08:00}, {@code 2016-09-12}
+ */
+public final class GankDateFormat {
+	/**
+	 * 解析失败
+	 */
+	public static final long INVALID = Long.MIN_VALUE;
+
+	private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+	private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+
+	private GankDateFormat() {
+	}
+
+	/**
+	 * @param s
+	 * @return epoch millis, 失败返回 {@link #INVALID}
+	 */
+	public static long parse(CharSequence s) {
+		int length = s.length();
+		if (length < 10 || s.charAt(4) != '-' || s.charAt(7) != '-') {
+			return INVALID;
+		}
+		int year = digits(s, 0, 4);
+		int month = digits(s, 5, 7);
+		int day = digits(s, 8, 10);
+		if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+			return INVALID;
+		}
+		long millis = epochDay(year, month, day) * MILLIS_PER_DAY;
+		if (length == 10) {
+			return millis;
+		}
+
+		char separator = s.charAt(10);
+		if (length < 19 || (separator != 'T' && separator != ' ') || s.charAt(13) != ':' || s.charAt(16) != ':') {
+			return INVALID;
+		}
+		int hour = digits(s, 11, 13);
+		int minute = digits(s, 14, 16);
+		int second = digits(s, 17, 19);
+		if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60) {
+			return INVALID;
+		}
+		millis += ((hour * 60L + minute) * 60L + second) * 1000L;
+
+		int pos = 19;
+		if (pos < length && s.charAt(pos) == '.') {
+			//只取前三位, 其余精度丢弃
+			pos++;
+			int fraction = 0;
+			int scale = 100;
+			int start = pos;
+			while (pos < length && isDigit(s.charAt(pos))) {
+				fraction += (s.charAt(pos) - '0') * scale;
+				scale /= 10;
+				pos++;
+			}
+			if (pos == start) {
+				return INVALID;
+			}
+			millis += fraction;
+		}
+
+		if (pos == length) {
+			return millis;
+		}
+		char zone = s.charAt(pos);
+		if (zone == 'Z' && pos + 1 == length) {
+			return millis;
+		}
+		if (zone != '+' && zone != '-') {
+			return INVALID;
+		}
+		int offsetHour = digits(s, pos + 1, pos + 3);
+		int minuteStart = pos + 3 < length && s.charAt(pos + 3) == ':' ? pos + 4 : pos + 3;
+		int offsetMinute = minuteStart == length ? 0 : digits(s, minuteStart, minuteStart + 2);
+		if (offsetHour < 0 || offsetMinute < 0 || (minuteStart != length && minuteStart + 2 != length)) {
+			return INVALID;
+		}
+		long offset = (offsetHour * 60L + offsetMinute) * MILLIS_PER_MINUTE;
+		return zone == '+' ? millis - offset : millis + offset;
+	}
+
+	/**
+	 * 只解析日期部分
+	 *
+	 * @param s 2016-09-12 或以它开头的时间
+	 * @return yyyyMMdd, 如 20160912, 失败返回 -1
+	 */
+	public static int parseDay(CharSequence s) {
+		if (s == null || s.length() < 10 || s.charAt(4) != '-' || s.charAt(7) != '-') {
+			return -1;
+		}
+		int year = digits(s, 0, 4);
+		int month = digits(s, 5, 7);
+		int day = digits(s, 8, 10);
+		if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+			return -1;
+		}
+		return year * 10000 + month * 100 + day;
+	}
+
+	/**
+	 * @param day yyyyMMdd
+	 * @return 这一天 UTC 0 点的 epoch millis
+	 */
+	public static long epochMillisOfDay(int day) {
+		return epochDay(day / 10000, day / 100 % 100, day % 100) * MILLIS_PER_DAY;
+	}
+
+	/**
+	 * ISO-8601 UTC, 如 2016-09-12T11:39:55.131Z
+	 *
+	 * @param millis
+	 * @return
+	 */
+	public static String formatIso(long millis) {
+		long epochDay = floorDiv(millis, MILLIS_PER_DAY);
+		int millisOfDay = (int) (millis - epochDay * MILLIS_PER_DAY);
+		int civil = civil(epochDay);
+		char[] out = new char[24];
+		put4(out, 0, civil / 10000);
+		out[4] = '-';
+		put2(out, 5, civil / 100 % 100);
+		out[7] = '-';
+		put2(out, 8, civil % 100);
+		out[10] = 'T';
+		put2(out, 11, millisOfDay / 3600000);
+		out[13] = ':';
+		put2(out, 14, millisOfDay / 60000 % 60);
+		out[16] = ':';
+		put2(out, 17, millisOfDay / 1000 % 60);
+		out[19] = '.';
+		put3(out, 20, millisOfDay % 1000);
+		out[23] = 'Z';
+		return new String(out);
+	}
+
+	/**
+	 * 本地时区的 "MM-dd H:m", 与 new SimpleDateFormat("MM-dd H:m").format(date) 一致
+	 *
+	 * @param millis
+	 * @return
+	 */
+	public static String formatMonthDayTime(long millis) {
+		long local = millis + TimeZone.getDefault().getOffset(millis);
+		long epochDay = floorDiv(local, MILLIS_PER_DAY);
+		int millisOfDay = (int) (local - epochDay * MILLIS_PER_DAY);
+		int civil = civil(epochDay);
+		int hour = millisOfDay / 3600000;
+		int minute = millisOfDay / 60000 % 60;
+
+		char[] out = new char[11];
+		put2(out, 0, civil / 100 % 100);
+		out[2] = '-';
+		put2(out, 3, civil % 100);
+		out[5] = ' ';
+		int pos = 6;
+		if (hour >= 10) {
+			out[pos++] = (char) ('0' + hour / 10);
+		}
+		out[pos++] = (char) ('0' + hour % 10);
+		out[pos++] = ':';
+		if (minute >= 10) {
+			out[pos++] = (char) ('0' + minute / 10);
+		}
+		out[pos++] = (char) ('0' + minute % 10);
+		return new String(out, 0, pos);
+	}
+
+	/**
+	 * @return 1970-01-01 起的天数
+	 */
+	static long epochDay(int year, int month, int day) {
+		long y = month <= 2 ? year - 1 : year;
+		long era = (y >= 0 ? y : y - 399) / 400;
+		long yearOfEra = y - era * 400;
+		long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
+	}
+
+	/**
+	 * @return yyyyMMdd
+	 */
+	static int civil(long epochDay) {
+		long z = epochDay + 719468;
+		long era = (z >= 0 ? z : z - 146096) / 146097;
+		long dayOfEra = z - era * 146097;
+		long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		long mp = (5 * dayOfYear + 2) / 153;
+		int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+		int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+		int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+		return year * 10000 + month * 100 + day;
+	}
+
+	private static long floorDiv(long x, long y) {
+		long q = x / y;
+		return (x % y != 0 && (x ^ y) < 0) ? q - 1 : q;
+	}
+
+	private static int digits(CharSequence s, int start, int end) {
+		if (end > s.length()) {
+			return -1;
+		}
+		int value = 0;
+		for (int i = start; i < end; i++) {
+			char c = s.charAt(i);
+			if (!isDigit(c)) {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static void put2(char[] out, int pos, int value) {
+		out[pos] = (char) ('0' + value / 10);
+		out[pos + 1] = (char) ('0' + value % 10);
+	}
+
+	private static void put3(char[] out, int pos, int value) {
+		out[pos] = (char) ('0' + value / 100);
+		put2(out, pos + 1, value % 100);
+	}
+
+	private static void put4(char[] out, int pos, int value) {
+		put2(out, pos, value / 100);
+		put2(out, pos + 2, value % 100);
+	}
+}
@@ -0,0 +1,32 @@
+package com.lazy.gank.util;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 网络状态
+ */
+
+public final class NetworkUtil {
+
+	private NetworkUtil() {
+	}
+
+	/**
+	 * 当前是否有可用网络
+	 *
+	 * @param context
+	 * @return
+	 */
+	public static boolean isNetworkAvailable(Context context) {
+		ConnectivityManager manager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+		if (manager == null) {
+			return false;
+		}
+		NetworkInfo info = manager.getActiveNetworkInfo();
+		return info != null && info.isConnected();
+	}
+}
@@ -0,0 +1,43 @@
+package com.lazy.gank.util;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 有上限的弱引用字符串池: 相同内容返回同一个实例, 没有人引用时可以被回收.
+ * <p>
+ * 只用于重复度高的短字符串 (type / who / source / used), 满了之后新的字符串原样返回, 不再入池.
+ */
+public final class WeakInterner {
+	private final int mMaxSize;
+	private final WeakHashMap<String, WeakReference<String>> mPool = new WeakHashMap<>();
+
+	public WeakInterner(int maxSize) {
+		this.mMaxSize = maxSize;
+	}
+
+	/**
+	 * @param s
+	 * @return 池里相同内容的实例; s 为 null 或池已满时返回 s
+	 */
+	public synchronized String intern(String s) {
+		if (s == null) {
+			return null;
+		}
+		WeakReference<String> ref = mPool.get(s);
+		String interned = ref == null ? null : ref.get();
+		if (interned != null) {
+			return interned;
+		}
+		if (mPool.size() < mMaxSize) {
+			mPool.put(s, new WeakReference<>(s));
+		}
+		return s;
+	}
+
+	public synchronized int size() {
+		return mPool.size();
+	}
+}
@@ -0,0 +1,53 @@
+package com.lazy.gank.widget;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.widget.ImageView;
+
+import com.facebook.common.executors.UiThreadImmediateExecutorService;
+import com.facebook.common.references.CloseableReference;
+import com.facebook.datasource.DataSource;
+import com.facebook.drawee.backends.pipeline.Fresco;
+import com.facebook.imagepipeline.datasource.BaseBitmapDataSubscriber;
+import com.facebook.imagepipeline.image.CloseableImage;
+import com.facebook.imagepipeline.request.ImageRequest;
+
+import cn.lightsky.infiniteindicator.loader.ImageLoader;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe InfiniteIndicator 的 ImageLoader, 图片走 Fresco 的内存/磁盘缓存
+ * <p>
+ * InfiniteIndicator 使用普通 ImageView, Fresco 回调里的 Bitmap 在回调结束后会被回收, 所以复制一份再设置.
+ */
+public class FrescoImageLoader implements ImageLoader {
+
+	@Override
+	public void initLoader(Context context) {
+		//Fresco 在 MyApplication 中初始化
+	}
+
+	@Override
+	public void load(Context context, final ImageView targetView, Object res) {
+		final String uri = String.valueOf(res);
+		//页面会被复用, 只设置最后一次请求的图片
+		targetView.setTag(uri);
+		targetView.setScaleType(ImageView.ScaleType.CENTER_CROP);
+		DataSource<CloseableReference<CloseableImage>> dataSource = Fresco.getImagePipeline()
+				.fetchDecodedImage(ImageRequest.fromUri(Uri.parse(uri)), context);
+		dataSource.subscribe(new BaseBitmapDataSubscriber() {
+			@Override
+			protected void onNewResultImpl(Bitmap bitmap) {
+				if (bitmap != null && uri.equals(targetView.getTag())) {
+					targetView.setImageBitmap(bitmap.copy(bitmap.getConfig(), false));
+				}
+			}
+
+			@Override
+			protected void onFailureImpl(DataSource<CloseableReference<CloseableImage>> dataSource) {
+			}
+		}, UiThreadImmediateExecutorService.getInstance());
+	}
+}
@@ -0,0 +1,58 @@
+package com.lazy.gank;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * 读取 src/test/resources/gank 下录制的 gank.io 响应
+ * <p>
+ * 文件名: 编码后的请求路径, '/' 换成 '_', 去掉 '%', 如 api/data/福利/10/1 -> api_data_E7A68FE588A9_10_1.json
+ * <p>
+ * 现有的文件是按 gank.io 的响应格式手写的, 不是真实数据; 有网络时用 GankRecorderTest 重新录制
+ */
+public final class Fixtures {
+	public static final String DATA_ANDROID_50 = "api_data_Android_50_1.json";
+	public static final String DATA_MEIZI_10 = "api_data_E7A68FE588A9_10_1.json";
+	public static final String DATA_ALL_20 = "api_data_all_20_1.json";
+	public static final String DAY = "api_day_2016_09_12.json";
+	public static final String DAY_HISTORY = "api_day_history.json";
+	public static final String HISTORY_10 = "api_history_content_count_10_page_1.json";
+	public static final String HISTORY_DAY = "api_history_content_day_2016_09_12.json";
+	public static final String SEARCH = "api_search_query_listview_category_Android_count_10_page_1.json";
+
+	private Fixtures() {
+	}
+
+	public static byte[] bytes(String name) throws IOException {
+		InputStream in = Fixtures.class.getClassLoader().getResourceAsStream("gank/" + name);
+		if (in == null) {
+			throw new IOException("fixture not found: " + name);
+		}
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * @param encodedPath 编码后的请求路径, 如 /api/data/%E7%A6%8F%E5%88%A9/10/1
+	 * @return 对应的文件名, 如 api_data_E7A68FE588A9_10_1.json
+	 */
+	public static String nameOf(String encodedPath) {
+		String path = encodedPath.startsWith("/") ? encodedPath.substring(1) : encodedPath;
+		return path.replace('/', '_').replace("%", "") + ".json";
+	}
+
+	public static String string(String name) throws IOException {
+		return new String(bytes(name), Charset.forName("UTF-8"));
+	}
+}
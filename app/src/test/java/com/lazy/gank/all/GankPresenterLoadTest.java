@@ -0,0 +1,189 @@
+package com.lazy.gank.all;
+
+import com.lazy.gank.Fixtures;
+import com.lazy.gank.base.PageCursor;
+import com.lazy.gank.data.DayStore;
+import com.lazy.gank.data.GankRepository;
+import com.lazy.gank.data.GankStore;
+import com.lazy.gank.data.PublishDateIndex;
+import com.lazy.gank.data.log.FeedLog;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.entity.adapter.GankGson;
+import com.lazy.gank.network.GankService;
+import com.lazy.gank.network.PriorityGroup;
+import com.lazy.gank.network.PriorityScheduler;
+import com.lazy.gank.network.RequestPriority;
+import com.lazy.gank.network.converter.GankStreamConverterFactory;
+import com.lazy.gank.server.GankReplayServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
+import retrofit2.converter.gson.GsonConverterFactory;
+import rx.Scheduler;
+import rx.android.plugins.RxAndroidPlugins;
+import rx.android.plugins.RxAndroidSchedulersHook;
+import rx.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ * <p>
+ * 对着 {@link GankReplayServer} 连续翻页: 每页加载完预取下一页, 服务器有延迟和随机 503
+ */
+public class GankPresenterLoadTest {
+	private static final int PAGES = 8;
+	private static final int PAGE_SIZE = 50;
+
+	@Rule
+	public TemporaryFolder mFolder = new TemporaryFolder();
+
+	private GankReplayServer mServer;
+	private FeedLog mLog;
+	private GankPresenter mPresenter;
+	private RecordingView mView;
+
+	@Before
+	public void setUp() throws Exception {
+		//回调直接在请求线程执行
+		RxAndroidPlugins.getInstance().registerSchedulersHook(new RxAndroidSchedulersHook() {
+			@Override
+			public Scheduler getMainThreadScheduler() {
+				return Schedulers.immediate();
+			}
+		});
+		GankReplayServer.Builder builder = new GankReplayServer.Builder()
+				.latency(40, 40)
+				.serverErrorRate(0.2)
+				.seed(7);
+		for (int page = 2; page <= PAGES; page++) {
+			builder.alias("api/data/Android/" + PAGE_SIZE + "/" + page, Fixtures.DATA_ANDROID_50);
+		}
+		mServer = builder.build();
+		mServer.start();
+		GankService service = new Retrofit.Builder()
+				.baseUrl(mServer.url())
+				.addConverterFactory(GankStreamConverterFactory.create(GankGson.getInstance()))
+				.addConverterFactory(GsonConverterFactory.create(GankGson.getInstance()))
+				.addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+				.client(new OkHttpClient())
+				.build()
+				.create(GankService.class);
+		mLog = new FeedLog(mFolder.newFolder("feed"), 16 * 1024, FeedLog.MAX_BYTES);
+		GankRepository repository = new GankRepository(service, new GankStore(mLog, GankStore.MAX_ITEMS),
+				new DayStore(mFolder.newFolder("days"), DayStore.MAX_DAYS),
+				new PublishDateIndex(mFolder.newFile()));
+
+		mView = new RecordingView(PriorityScheduler.getInstance().newGroup(RequestPriority.VISIBLE));
+		mPresenter = new GankPresenter();
+		mPresenter.setGankRepository(repository);
+		mPresenter.setView(mView);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		mPresenter.unsubscribe();
+		RxAndroidPlugins.getInstance().reset();
+		mLog.close();
+		mServer.shutdown();
+	}
+
+	@Test
+	public void scrollingThroughPagesLoadsEveryPage() throws Exception {
+		PageCursor cursor = new PageCursor();
+		int failures = 0;
+		while (cursor.getOffset() < PAGES * PAGE_SIZE) {
+			mPresenter.showGankBatches(cursor.next(PAGE_SIZE));
+			Integer loaded = mView.mPages.poll(10, TimeUnit.SECONDS);
+			assertNotNull("page at " + cursor.getOffset() + " timed out", loaded);
+			if (loaded < 0) {
+				//失败的页再加载一次
+				assertTrue("too many failures", ++failures < PAGES * 2);
+				continue;
+			}
+			assertEquals(PAGE_SIZE, loaded.intValue());
+			cursor.advance(loaded);
+			mPresenter.prefetchGank(cursor.next(PAGE_SIZE));
+		}
+
+		assertEquals(PAGES * PAGE_SIZE, mView.mBatchItems);
+		//最后预取的一页没人用, 之外每页只成功请求一次
+		assertTrue("served " + mServer.getServedCount(), mServer.getServedCount() <= PAGES + 1);
+		assertEquals(mServer.getInjectedErrorCount() + mServer.getServedCount(), mServer.getRequestCount());
+	}
+
+	private static final class RecordingView implements GankContract.View {
+		private final PriorityGroup mGroup;
+		//每页的条数, 失败为 -1
+		final LinkedBlockingQueue<Integer> mPages = new LinkedBlockingQueue<>();
+		volatile int mBatchItems;
+
+		RecordingView(PriorityGroup group) {
+			this.mGroup = group;
+		}
+
+		@Override
+		public PriorityGroup getPriorityGroup() {
+			return mGroup;
+		}
+
+		@Override
+		public String getCategory() {
+			return "Android";
+		}
+
+		@Override
+		public PageCursor.Window getNextWindow() {
+			return new PageCursor().next(PAGE_SIZE);
+		}
+
+		@Override
+		public void showGank(GankResults<GankResult> results) {
+		}
+
+		@Override
+		public void showLocalGank(List<GankResult> local) {
+		}
+
+		@Override
+		public void showGankBatch(List<GankResult> batch) {
+			mBatchItems += batch.size();
+		}
+
+		@Override
+		public void onGankPageLoaded(int itemCount) {
+			mPages.add(itemCount);
+		}
+
+		@Override
+		public void onGankPageFailed() {
+			mPages.add(-1);
+		}
+
+		@Override
+		public void showMessage(String msg) {
+		}
+
+		@Override
+		public void showLoading() {
+		}
+
+		@Override
+		public void hideLoading() {
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.lazy.gank.base;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import rx.Observable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class PageCursorTest {
+
+	@Test
+	public void alignedOffsetKeepsRequestedSize() {
+		PageCursor cursor = new PageCursor();
+		PageCursor.Window first = cursor.next(20);
+		assertEquals(1, first.page);
+		assertEquals(20, first.count);
+		assertEquals(0, first.skip);
+
+		cursor.advance(20);
+		PageCursor.Window second = cursor.next(20);
+		assertEquals(2, second.page);
+		assertEquals(0, second.skip);
+	}
+
+	@Test
+	public void sizeChangeMidStreamNeverSkipsOrRepeatsItems() {
+		PageCursor cursor = new PageCursor();
+		int[] sizes = {20, 50, 10, 30, 50, 40, 10, 20, 50};
+		for (int size : sizes) {
+			PageCursor.Window window = cursor.next(size);
+			int start = (window.page - 1) * window.count;
+			//请求的那一页覆盖 offset, 丢掉 skip 条后正好从 offset 开始
+			assertEquals(cursor.getOffset(), start + window.skip);
+			assertTrue(window.skip < window.count);
+			assertTrue(window.count >= size / 2 && window.count <= size);
+			assertTrue(Arrays.binarySearch(PageCursor.COUNTS, window.count) >= 0);
+			cursor.advance(window.newItems());
+		}
+	}
+
+	@Test
+	public void prefersDivisorOfOffset() {
+		//offset 30, 期望 20: 第 4 页 x 10 条正好对齐
+		PageCursor.Window window = PageCursor.window(30, 20);
+		assertEquals(10, window.count);
+		assertEquals(4, window.page);
+		assertEquals(0, window.skip);
+
+		//offset 60, 期望 50: 50 余 10, 30 正好对齐
+		window = PageCursor.window(60, 50);
+		assertEquals(30, window.count);
+		assertEquals(3, window.page);
+		assertEquals(0, window.skip);
+	}
+
+	@Test
+	public void countsAreQuantized() {
+		assertEquals(30, PageCursor.window(0, 40).count);
+		assertEquals(10, PageCursor.window(0, 13).count);
+		assertEquals(10, PageCursor.window(0, 7).count);
+		assertEquals(50, PageCursor.window(0, 60).count);
+		//不会为了对齐选 7 / 13 这样的 count, 多请求几条再丢掉
+		PageCursor.Window window = PageCursor.window(13, 10);
+		assertEquals(10, window.count);
+		assertEquals(2, window.page);
+		assertEquals(3, window.skip);
+	}
+
+	@Test
+	public void peekChainsFullPages() {
+		PageCursor cursor = new PageCursor();
+		cursor.advance(10);
+		assertEquals(10, cursor.peek(0, 20).offset);
+		PageCursor.Window next = cursor.peek(1, 20);
+		assertEquals(cursor.peek(0, 20).offset + cursor.peek(0, 20).newItems(), next.offset);
+	}
+
+	@Test
+	public void trimDropsSkippedItemsAcrossBatches() {
+		PageCursor.Window window = PageCursor.window(23, 20);
+		//23 % 20 = 3, 23 % 10 = 3, 余数相同用大的
+		assertEquals(20, window.count);
+		assertEquals(2, window.page);
+		assertEquals(3, window.skip);
+
+		List<List<Integer>> batches = Observable.just(Arrays.asList(20, 21), Arrays.asList(22, 23, 24, 25), Arrays.asList(26, 27))
+				.compose(window.<Integer>trim())
+				.toList().toBlocking().single();
+		List<Integer> items = new ArrayList<>();
+		for (List<Integer> batch : batches) {
+			items.addAll(batch);
+		}
+		assertEquals(Arrays.asList(23, 24, 25, 26, 27), items);
+		assertEquals(2, batches.size());
+	}
+}
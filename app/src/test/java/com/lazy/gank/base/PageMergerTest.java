@@ -0,0 +1,62 @@
+package com.lazy.gank.base;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class PageMergerTest {
+
+	@Test
+	public void networkBatchesReplaceLocalItemsInPlace() {
+		List<String> data = new ArrayList<>(Arrays.asList("a", "b"));
+		PageMerger<String> merger = new PageMerger<>(data);
+
+		merger.begin();
+		assertTrue(merger.showLocal(Arrays.asList("l1", "l2", "l3", "l4")));
+		merger.addBatch(Arrays.asList("n1", "n2"));
+		assertEquals(Arrays.asList("a", "b", "n1", "n2", "l3", "l4"), data);
+		assertTrue(merger.isShowingLocal());
+
+		merger.addBatch(Arrays.asList("n3"));
+		assertEquals(1, merger.complete());
+		assertEquals(Arrays.asList("a", "b", "n1", "n2", "n3"), data);
+		assertFalse(merger.isShowingLocal());
+	}
+
+	@Test
+	public void extraNetworkItemsAreAppendedAndLateLocalIsIgnored() {
+		List<String> data = new ArrayList<>();
+		PageMerger<String> merger = new PageMerger<>(data);
+
+		merger.begin();
+		merger.addBatch(Arrays.asList("n1", "n2"));
+		assertFalse(merger.showLocal(Arrays.asList("l1")));
+		merger.begin();
+		merger.showLocal(Arrays.asList("l3"));
+		merger.addBatch(Arrays.asList("n3", "n4"));
+		assertEquals(0, merger.complete());
+		assertEquals(Arrays.asList("n1", "n2", "n3", "n4"), data);
+	}
+
+	@Test
+	public void failedPageKeepsLocalItems() {
+		List<String> data = new ArrayList<>();
+		PageMerger<String> merger = new PageMerger<>(data);
+
+		merger.begin();
+		merger.showLocal(Arrays.asList("l1", "l2", "l3"));
+		merger.addBatch(Arrays.asList("n1"));
+		assertEquals(3, merger.fail());
+		assertEquals(Arrays.asList("n1", "l2", "l3"), data);
+		assertEquals(0, merger.fail());
+	}
+}
@@ -0,0 +1,63 @@
+package com.lazy.gank.data;
+
+import com.google.gson.reflect.TypeToken;
+import com.lazy.gank.Fixtures;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.entity.adapter.GankGson;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class DayStoreTest {
+	@Rule
+	public TemporaryFolder mFolder = new TemporaryFolder();
+
+	@Test
+	public void keepsNetworkOrderAndNewestDays() throws Exception {
+		List<GankResult> page = GankGson.getInstance().<GankResults<GankResult>>fromJson(Fixtures.string(Fixtures.DATA_ALL_20),
+				new TypeToken<GankResults<GankResult>>() {
+				}.getType()).getResults();
+		File directory = mFolder.newFolder("days");
+		DayStore store = new DayStore(directory, 3);
+
+		for (int day = 20161001; day <= 20161005; day++) {
+			store.put(day, page.subList(day - 20161001, page.size()));
+		}
+
+		assertEquals(3, store.size());
+		assertFalse(store.contains(20161002));
+		assertNull(store.get(20161002));
+		List<GankResult> day = new DayStore(directory, 3).get(20161004);
+		assertEquals(page.size() - 3, day.size());
+		for (int i = 0; i < day.size(); i++) {
+			assertEquals(page.get(i + 3).url, day.get(i).url);
+		}
+	}
+
+	@Test
+	public void corruptFileIsDropped() throws Exception {
+		File directory = mFolder.newFolder("days");
+		FileOutputStream out = new FileOutputStream(new File(directory, "20161001.day"));
+		out.write(new byte[]{1, 2, 3});
+		out.close();
+		DayStore store = new DayStore(directory, 3);
+
+		assertTrue(store.contains(20161001));
+		assertNull(store.get(20161001));
+		assertFalse(store.contains(20161001));
+	}
+}
@@ -0,0 +1,140 @@
+package com.lazy.gank.data;
+
+import com.lazy.gank.base.PageCursor;
+import com.lazy.gank.data.log.FeedLog;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.adapter.GankGson;
+import com.lazy.gank.network.GankService;
+import com.lazy.gank.network.converter.GankStreamConverterFactory;
+import com.lazy.gank.server.GankReplayServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
+import retrofit2.converter.gson.GsonConverterFactory;
+import rx.Observable;
+import rx.functions.Func2;
+import rx.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class GankRepositoryTest {
+	@Rule
+	public TemporaryFolder mFolder = new TemporaryFolder();
+
+	private GankReplayServer mServer;
+	private FeedLog mLog;
+	private GankRepository mRepository;
+
+	@Before
+	public void setUp() throws Exception {
+		//两个并发请求都要在响应返回前订阅
+		mServer = new GankReplayServer.Builder().latency(300, 0).build();
+		mServer.start();
+		GankService service = new Retrofit.Builder()
+				.baseUrl(mServer.url())
+				.addConverterFactory(GankStreamConverterFactory.create(GankGson.getInstance()))
+				.addConverterFactory(GsonConverterFactory.create(GankGson.getInstance()))
+				.addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+				.client(new OkHttpClient())
+				.build()
+				.create(GankService.class);
+		mLog = new FeedLog(mFolder.newFolder("feed"), 16 * 1024, FeedLog.MAX_BYTES);
+		mRepository = new GankRepository(service, new GankStore(mLog, GankStore.MAX_ITEMS),
+				new DayStore(mFolder.newFolder("days"), DayStore.MAX_DAYS),
+				new PublishDateIndex(mFolder.newFile()));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		mLog.close();
+		mServer.shutdown();
+	}
+
+	@Test
+	public void networkBatchesArePagedFromStoreByOffset() throws Exception {
+		PageCursor cursor = new PageCursor();
+		List<GankResult> network = new ArrayList<>();
+		for (List<GankResult> batch : mRepository.getCategoryBatches("Android", cursor.next(50), 5, false)
+				.toList().toBlocking().single()) {
+			network.addAll(batch);
+		}
+		assertEquals(50, network.size());
+
+		cursor.advance(20);
+		PageCursor.Window window = cursor.next(10);
+		List<GankResult> local = mRepository.getLocalPage("Android", window.offset, window.newItems())
+				.toBlocking().single();
+		//gank.io 按发布时间从新到旧返回, 录制的数据同一天内没有排序
+		List<GankResult> newestFirst = new ArrayList<>(network);
+		Collections.sort(newestFirst, new Comparator<GankResult>() {
+			@Override
+			public int compare(GankResult a, GankResult b) {
+				return b.publishedAt.compareTo(a.publishedAt);
+			}
+		});
+		assertEquals(10, local.size());
+		for (int i = 0; i < local.size(); i++) {
+			assertEquals(newestFirst.get(20 + i).url, local.get(i).url);
+		}
+		assertEquals(50, mRepository.getLocalPage(GankStore.TYPE_ALL, 0, 100).toBlocking().single().size());
+		//下次启动时用它们重建搜索索引
+		assertEquals(50, mRepository.loadSearchIndex().toBlocking().single().intValue());
+	}
+
+	@Test
+	public void concurrentCategoryLoadsIssueOneRequest() throws Exception {
+		PageCursor.Window first = new PageCursor().next(50);
+		PageCursor cursor = new PageCursor();
+		cursor.advance(20);
+		//预取和用户翻页: 同一页, 跳过的条数不同
+		PageCursor.Window second = cursor.next(50);
+		assertEquals(first.page, second.page);
+
+		Observable<Integer> a = count(mRepository.getCategoryBatches("Android", first, 5, false));
+		Observable<Integer> b = count(mRepository.getCategoryBatches("Android", second, 5, false));
+		List<Integer> counts = Observable.merge(a.subscribeOn(Schedulers.io()), b.subscribeOn(Schedulers.io()))
+				.toSortedList().toBlocking().single();
+
+		assertEquals(Arrays.asList(30, 50), counts);
+		assertEquals(1, mServer.getServedCount());
+	}
+
+	private static Observable<Integer> count(Observable<List<GankResult>> batches) {
+		return batches.reduce(0, new Func2<Integer, List<GankResult>, Integer>() {
+			@Override
+			public Integer call(Integer count, List<GankResult> batch) {
+				return count + batch.size();
+			}
+		});
+	}
+
+	@Test
+	public void fetchedDayIsServedFromDayStoreInNetworkOrder() throws Exception {
+		List<GankResult> network = mRepository.getDay(20160912).toBlocking().single();
+		int served = mServer.getServedCount();
+
+		List<GankResult> local = mRepository.getDay(20160912).toBlocking().single();
+
+		assertEquals(served, mServer.getServedCount());
+		assertEquals(network.size(), local.size());
+		for (int i = 0; i < network.size(); i++) {
+			assertEquals(network.get(i).url, local.get(i).url);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.lazy.gank.data;
+
+import com.google.gson.reflect.TypeToken;
+import com.lazy.gank.Fixtures;
+import com.lazy.gank.data.log.FeedLog;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.entity.adapter.GankGson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class GankStoreTest {
+	@Rule
+	public TemporaryFolder mFolder = new TemporaryFolder();
+
+	private File mDirectory;
+	private FeedLog mLog;
+
+	@Before
+	public void setUp() throws Exception {
+		mDirectory = mFolder.newFolder("feed");
+		mLog = new FeedLog(mDirectory, 16 * 1024, FeedLog.MAX_BYTES);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		mLog.close();
+	}
+
+	@Test
+	public void pagesByTypeNewestFirstAndReloads() throws Exception {
+		List<GankResult> all = page(Fixtures.DATA_ALL_20);
+		GankStore store = new GankStore(mLog, GankStore.MAX_ITEMS);
+		assertEquals(all.size(), store.putAll(all));
+		//内容没变的不再写日志
+		assertEquals(0, store.putAll(page(Fixtures.DATA_ALL_20)));
+		assertEquals(all.size(), mLog.size());
+
+		List<GankResult> expected = sortedNewestFirst(all);
+		assertUrls(expected.subList(5, 15), store.query(GankStore.TYPE_ALL, 5, 10));
+		assertTrue(store.query(GankStore.TYPE_ALL, all.size(), 10).isEmpty());
+		String type = all.get(0).type;
+		for (GankResult result : store.query(type, 0, 50)) {
+			assertEquals(type, result.type);
+		}
+
+		mLog.close();
+		mLog = new FeedLog(mDirectory, 16 * 1024, FeedLog.MAX_BYTES);
+		assertUrls(expected, new GankStore(mLog, GankStore.MAX_ITEMS).query(GankStore.TYPE_ALL, 0, 50));
+	}
+
+	@Test
+	public void updateReplacesAndOldestAreEvicted() throws Exception {
+		List<GankResult> android = page(Fixtures.DATA_ANDROID_50);
+		GankStore store = new GankStore(mLog, 30);
+		store.putAll(android);
+
+		List<GankResult> expected = sortedNewestFirst(android).subList(0, 30);
+		assertEquals(30, store.size());
+		assertUrls(expected, store.query("Android", 0, 50));
+		assertNull(store.get(sortedNewestFirst(android).get(30).url));
+
+		GankResult updated = android.get(0).newBuilder()
+				.desc("updated")
+				.publishedAt(new Date(expected.get(0).publishedAt.getTime() + 1000))
+				.build();
+		assertEquals(1, store.putAll(Collections.singletonList(updated)));
+		assertEquals("updated", store.query(GankStore.TYPE_ALL, 0, 1).get(0).desc);
+		assertEquals(30, store.size());
+
+		mLog.close();
+		mLog = new FeedLog(mDirectory, 16 * 1024, FeedLog.MAX_BYTES);
+		GankStore reloaded = new GankStore(mLog, 30);
+		assertEquals(30, reloaded.size());
+		assertEquals("updated", reloaded.get(updated.url).desc);
+	}
+
+	private static List<GankResult> page(String fixture) throws Exception {
+		GankResults<GankResult> page = GankGson.getInstance().fromJson(Fixtures.string(fixture),
+				new TypeToken<GankResults<GankResult>>() {
+				}.getType());
+		return page.getResults();
+	}
+
+	private static List<GankResult> sortedNewestFirst(List<GankResult> results) {
+		List<GankResult> sorted = new ArrayList<>(results);
+		//稳定排序, 发布时间相同的保持原来的顺序
+		Collections.sort(sorted, new Comparator<GankResult>() {
+			@Override
+			public int compare(GankResult a, GankResult b) {
+				long x = a.publishedAt.getTime();
+				long y = b.publishedAt.getTime();
+				return x < y ? 1 : x > y ? -1 : 0;
+			}
+		});
+		return sorted;
+	}
+
+	private static void assertUrls(List<GankResult> expected, List<GankResult> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).url, actual.get(i).url);
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package com.lazy.gank.data;
+
+import com.google.gson.reflect.TypeToken;
+import com.lazy.gank.Fixtures;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.entity.adapter.GankGson;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class PublishDateIndexTest {
+	@Rule
+	public TemporaryFolder mFolder = new TemporaryFolder();
+
+	@Test
+	public void mergeSaveLoadAndLookups() throws Exception {
+		GankResults<String> history = GankGson.getInstance().fromJson(Fixtures.string(Fixtures.DAY_HISTORY),
+				new TypeToken<GankResults<String>>() {
+				}.getType());
+		List<String> dates = history.getResults();
+		File file = mFolder.newFile();
+
+		PublishDateIndex index = new PublishDateIndex(file);
+		//先同步除了最新两天以外的
+		assertEquals(dates.size() - 2, index.merge(dates.subList(2, dates.size())));
+		index.save();
+
+		PublishDateIndex reloaded = new PublishDateIndex(file);
+		assertEquals(dates.size() - 2, reloaded.size());
+		//增量: 只有头部两条是新的
+		assertEquals(2, reloaded.merge(dates));
+		assertEquals(0, reloaded.merge(dates));
+		assertEquals(dates.size(), reloaded.size());
+
+		assertEquals(20161014, reloaded.getNewest(0));
+		assertArrayEquals(new int[]{20161014, 20161013, 20161012}, reloaded.newest(3));
+		assertTrue(reloaded.contains(20161010));
+		assertFalse(reloaded.contains(20161009));
+		assertEquals(20161007, reloaded.previous(20161010));
+		assertEquals(20161007, reloaded.previous(20161009));
+		assertEquals(20161010, reloaded.next(20161007));
+		assertEquals(-1, reloaded.next(20161014));
+
+		int[] september = new int[31];
+		int count = reloaded.daysInMonth(2016, 9, september);
+		assertEquals(22, count);
+		assertEquals(20160901, september[0]);
+		assertEquals(20160930, september[count - 1]);
+	}
+
+	@Test
+	public void outOfOrderAndDuplicateDates() {
+		PublishDateIndex index = new PublishDateIndex(new File(mFolder.getRoot(), "missing.bin"));
+		index.merge(Arrays.asList("2016-10-14", "2016-10-10"));
+		assertEquals(1, index.merge(Arrays.asList("2016-10-12", "2016-10-14", "bad")));
+		assertArrayEquals(new int[]{20161014, 20161012, 20161010}, index.newest(10));
+	}
+}
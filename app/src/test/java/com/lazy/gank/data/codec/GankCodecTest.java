@@ -0,0 +1,119 @@
+package com.lazy.gank.data.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.lazy.gank.Fixtures;
+import com.lazy.gank.entity.DayGankResults;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.entity.adapter.GankGson;
+
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class GankCodecTest {
+	private static final Type PAGE_TYPE = new TypeToken<GankResults<GankResult>>() {
+	}.getType();
+
+	@Test
+	public void roundTripsPage() throws Exception {
+		List<GankResult> results = page().getResults();
+		List<GankResult> decoded = GankCodec.decodeList(GankCodec.encodeList(results));
+
+		assertEquals(results.size(), decoded.size());
+		for (int i = 0; i < results.size(); i++) {
+			assertResultEquals(results.get(i), decoded.get(i));
+		}
+	}
+
+	@Test
+	public void roundTripsDay() throws Exception {
+		DayGankResults day = GankGson.getInstance().fromJson(Fixtures.string(Fixtures.DAY), DayGankResults.class);
+		DayGankResults decoded = GankCodec.decodeDay(GankCodec.encodeDay(day));
+
+		assertEquals(day.error, decoded.error);
+		assertEquals(day.category, decoded.category);
+		assertListEquals(day.results.androidList, decoded.results.androidList);
+		assertListEquals(day.results.videoList, decoded.results.videoList);
+		assertListEquals(day.results.iOSList, decoded.results.iOSList);
+		assertListEquals(day.results.meizhiList, decoded.results.meizhiList);
+		assertListEquals(day.results.extendSourceList, decoded.results.extendSourceList);
+		assertListEquals(day.results.recommandList, decoded.results.recommandList);
+	}
+
+	@Test
+	public void nullsAndUnicode() throws Exception {
+		GankResult result = new GankResult.Builder().createdAt(new Date(-1)).desc("表情 😀 落单 \uD800").build();
+		List<GankResult> decoded = GankCodec.decodeList(GankCodec.encodeList(Arrays.asList(result, new GankResult.Builder().build())));
+
+		assertEquals(new Date(-1), decoded.get(0).createdAt);
+		assertNull(decoded.get(0).publishedAt);
+		assertEquals(new String(result.desc.getBytes(Charset.forName("UTF-8")), Charset.forName("UTF-8")), decoded.get(0).desc);
+		assertNull(decoded.get(1).url);
+		assertNull(decoded.get(1).type);
+	}
+
+	@Test
+	public void rejectsUnknownVersionAndTruncation() throws Exception {
+		byte[] bytes = GankCodec.encodeList(page().getResults());
+		try {
+			GankCodec.decodeList(Arrays.copyOf(bytes, bytes.length - 1));
+			fail();
+		} catch (EOFException expected) {
+		}
+		bytes[4] = (byte) (GankCodec.VERSION + 1);
+		try {
+			GankCodec.decodeList(bytes);
+			fail();
+		} catch (IOException expected) {
+		}
+	}
+
+	@Test
+	public void smallerThanJson() throws Exception {
+		Gson gson = GankGson.getInstance();
+		String json = Fixtures.string(Fixtures.DATA_ANDROID_50);
+		byte[] binary = GankCodec.encodeList(gson.<GankResults<GankResult>>fromJson(json, PAGE_TYPE).getResults());
+		assertTrue(binary.length < json.getBytes(Charset.forName("UTF-8")).length / 2);
+
+		String dayJson = Fixtures.string(Fixtures.DAY);
+		byte[] day = GankCodec.encodeDay(gson.fromJson(dayJson, DayGankResults.class));
+		assertTrue(day.length < dayJson.getBytes(Charset.forName("UTF-8")).length);
+	}
+
+	private static GankResults<GankResult> page() throws IOException {
+		return GankGson.getInstance().fromJson(Fixtures.string(Fixtures.DATA_ANDROID_50), PAGE_TYPE);
+	}
+
+	private static void assertListEquals(List<GankResult> expected, List<GankResult> actual) {
+		if (expected == null) {
+			assertNull(actual);
+			return;
+		}
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertResultEquals(expected.get(i), actual.get(i));
+		}
+	}
+
+	private static void assertResultEquals(GankResult expected, GankResult actual) {
+		assertEquals(expected.toString(), actual.toString());
+		assertEquals(expected.publishedAt, actual.publishedAt);
+		assertEquals(expected.createdAt, actual.createdAt);
+	}
+}
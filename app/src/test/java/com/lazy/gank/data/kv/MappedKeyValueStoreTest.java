@@ -0,0 +1,120 @@
+package com.lazy.gank.data.kv;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class MappedKeyValueStoreTest {
+	@Rule
+	public TemporaryFolder mFolder = new TemporaryFolder();
+
+	@Test
+	public void typedValuesSurviveReopen() throws Exception {
+		File file = new File(mFolder.getRoot(), "preferences.kv");
+		MappedKeyValueStore store = new MappedKeyValueStore(file);
+		store.putInt("int", -7);
+		store.putLong("long", Long.MAX_VALUE);
+		store.putFloat("float", 1.5f);
+		store.putBoolean("boolean", true);
+		store.putString("string", "渠道");
+		store.edit().putStringSet("set", new HashSet<>(Arrays.asList("a", "b"))).remove("int").commit();
+		store.close();
+
+		store = new MappedKeyValueStore(file);
+		assertEquals(1, store.getInt("int", 1));
+		assertEquals(Long.MAX_VALUE, store.getLong("long", 0));
+		assertEquals(1.5f, store.getFloat("float", 0), 0);
+		assertTrue(store.getBoolean("boolean", false));
+		assertEquals("渠道", store.getString("string", null));
+		assertEquals(new HashSet<>(Arrays.asList("a", "b")), store.getStringSet("set", null));
+		assertEquals(5, store.getAll().size());
+
+		try {
+			store.getInt("string", 0);
+			assertTrue(false);
+		} catch (ClassCastException expected) {
+		}
+	}
+
+	@Test
+	public void clearAppliesBeforeOtherEdits() throws Exception {
+		MappedKeyValueStore store = new MappedKeyValueStore(new File(mFolder.getRoot(), "preferences.kv"));
+		store.putInt("a", 1);
+		store.edit().putInt("b", 2).clear().commit();
+		assertFalse(store.contains("a"));
+		assertEquals(2, store.getInt("b", 0));
+	}
+
+	@Test
+	public void tornCommitIsDropped() throws Exception {
+		File file = new File(mFolder.getRoot(), "preferences.kv");
+		MappedKeyValueStore store = new MappedKeyValueStore(file);
+		store.putString("channel", "gank");
+		int committed = store.fileSize();
+		store.edit().putString("channel", "torn").putInt("version", 2).commit();
+		int end = store.fileSize();
+		store.close();
+
+		//最后一次提交只写了一半
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		raf.seek(end - 2);
+		raf.write(new byte[]{0, 0, 9, 9, 9});
+		raf.close();
+
+		store = new MappedKeyValueStore(file);
+		assertEquals("gank", store.getString("channel", null));
+		assertFalse(store.contains("version"));
+		assertEquals(committed, store.fileSize());
+		store.putInt("version", 3);
+		store.close();
+		assertEquals(3, new MappedKeyValueStore(file).getInt("version", 0));
+	}
+
+	@Test
+	public void compactsWhenFull() throws Exception {
+		File file = new File(mFolder.getRoot(), "preferences.kv");
+		MappedKeyValueStore store = new MappedKeyValueStore(file);
+		for (int i = 0; i < 10000; i++) {
+			store.putLong("time", i);
+			store.putString("key" + (i % 10), "value " + i);
+		}
+		store.close();
+
+		assertTrue(file.length() <= 4096);
+		store = new MappedKeyValueStore(file);
+		assertEquals(9999, store.getLong("time", 0));
+		assertEquals("value 9999", store.getString("key9", null));
+		assertEquals(11, store.getAll().size());
+	}
+
+	@Test
+	public void repeatedPutsStayInOnePage() throws Exception {
+		File file = new File(mFolder.getRoot(), "preferences.kv");
+		MappedKeyValueStore store = new MappedKeyValueStore(file);
+		int rounds = 100000;
+		for (int i = 0; i < rounds; i++) {
+			store.putString("channel", "gank");
+			store.putInt("channel_version", i);
+		}
+		assertEquals(rounds - 1, store.getInt("channel_version", 0));
+		store.close();
+
+		//每次写满都压缩, 文件不会增长
+		assertTrue(file.length() <= 4096);
+		store = new MappedKeyValueStore(file);
+		assertEquals("gank", store.getString("channel", null));
+		assertEquals(rounds - 1, store.getInt("channel_version", 0));
+	}
+}
@@ -0,0 +1,152 @@
+package com.lazy.gank.data.log;
+
+import com.google.gson.reflect.TypeToken;
+import com.lazy.gank.Fixtures;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.entity.adapter.GankGson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class FeedLogTest {
+	@Rule
+	public TemporaryFolder mFolder = new TemporaryFolder();
+
+	private List<GankResult> mPage;
+	private File mDirectory;
+	private FeedLog mLog;
+
+	@Before
+	public void setUp() throws Exception {
+		GankResults<GankResult> page = GankGson.getInstance().fromJson(Fixtures.string(Fixtures.DATA_ANDROID_50),
+				new TypeToken<GankResults<GankResult>>() {
+				}.getType());
+		mPage = page.getResults();
+		mDirectory = mFolder.newFolder("feed");
+		mLog = new FeedLog(mDirectory, 16 * 1024, FeedLog.MAX_BYTES);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		mLog.close();
+	}
+
+	@Test
+	public void readsPagesAcrossSegments() throws Exception {
+		List<GankResult> written = copies(10, "");
+		mLog.appendAll(written);
+
+		assertEquals(500, mLog.size());
+		assertTrue(mLog.getSegmentCount() > 1);
+		for (int position = 0; position < 500; position += 50) {
+			assertSame(written.subList(position, position + 50), mLog.read(position, 50));
+		}
+		assertEquals(written.get(499).url, mLog.readNewest(0, 50).get(0).url);
+		assertEquals(written.get(0).url, mLog.readNewest(450, 50).get(49).url);
+
+		mLog.close();
+		assertSame(written.subList(470, 500), new FeedLog(mDirectory, 16 * 1024, FeedLog.MAX_BYTES).read(470, 50));
+	}
+
+	@Test
+	public void dropsTornTailAfterCrash() throws Exception {
+		mLog.appendAll(mPage.subList(0, 10));
+		mLog.close();
+		File segment = mDirectory.listFiles()[0];
+		RandomAccessFile file = new RandomAccessFile(segment, "rw");
+		long end = file.length();
+		while (end > 0) {
+			file.seek(end - 1);
+			if (file.read() != 0) {
+				break;
+			}
+			end--;
+		}
+		//最后一条只写了一半, 后面还有上次留下的垃圾
+		file.seek(end - 3);
+		file.write(new byte[]{0, 0, 0, 7, 1, 2, 3, 4, 5});
+		file.close();
+
+		mLog = new FeedLog(mDirectory, 16 * 1024, FeedLog.MAX_BYTES);
+		assertEquals(9, mLog.size());
+		mLog.appendAll(mPage.subList(9, 20));
+		mLog.close();
+
+		mLog = new FeedLog(mDirectory, 16 * 1024, FeedLog.MAX_BYTES);
+		assertSame(mPage.subList(0, 20), mLog.read(0, 50));
+	}
+
+	@Test
+	public void compactionKeepsLatestPerUrl() throws Exception {
+		for (int round = 0; round < 4; round++) {
+			mLog.appendAll(copies(1, " v" + round));
+		}
+		mLog.compact();
+
+		long size = mLog.size();
+		assertTrue(size < 200);
+		Map<String, String> latest = new HashMap<>();
+		for (GankResult result : mLog.read(0, (int) size)) {
+			latest.put(result.url, result.desc);
+		}
+		assertEquals(mPage.size(), latest.size());
+		for (GankResult result : mPage) {
+			assertEquals(result.desc + " v3", latest.get(result.url));
+		}
+	}
+
+	@Test
+	public void readsPagesWithDefaultSegmentSize() throws Exception {
+		mLog.close();
+		mLog = new FeedLog(mDirectory, FeedLog.SEGMENT_BYTES, FeedLog.MAX_BYTES);
+		List<GankResult> written = copies(200, "");
+		mLog.appendAll(written);
+
+		int size = written.size();
+		assertEquals(size, mLog.size());
+		for (int i = 0; i < 200; i++) {
+			int position = i * 50 * 7 % size;
+			assertSame(written.subList(position, Math.min(size, position + 50)), mLog.read(position, 50));
+		}
+	}
+
+	private List<GankResult> copies(int times, String descSuffix) {
+		List<GankResult> copies = new ArrayList<>();
+		for (int i = 0; i < times; i++) {
+			for (GankResult source : mPage) {
+				copies.add(new GankResult.Builder()
+						.url(times == 1 ? source.url : source.url + "#" + i)
+						.desc(source.desc + descSuffix)
+						.type(source.type)
+						.who(source.who)
+						.publishedAt(source.publishedAt)
+						.build());
+			}
+		}
+		return copies;
+	}
+
+	private static void assertSame(List<GankResult> expected, List<GankResult> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).toString(), actual.get(i).toString());
+		}
+	}
+}
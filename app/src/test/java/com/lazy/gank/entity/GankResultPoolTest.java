@@ -0,0 +1,114 @@
+package com.lazy.gank.entity;
+
+import com.google.gson.reflect.TypeToken;
+import com.lazy.gank.Fixtures;
+import com.lazy.gank.entity.adapter.GankGson;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class GankResultPoolTest {
+
+	@Test
+	public void sharesOneInstancePerItem() throws Exception {
+		GankResultPool pool = new GankResultPool();
+		GankResult first = pool.canonical(copy(item("http://a"), ""));
+		GankResult again = pool.canonical(copy(item("http://a"), ""));
+		assertSame(first, again);
+		assertSame(first.who, pool.canonical(copy(item("http://b"), "")).who);
+
+		//内容变了, 用新的实例
+		GankResult edited = pool.canonical(copy(item("http://a"), " edited"));
+		assertNotSame(first, edited);
+		assertSame(edited, pool.canonical(copy(item("http://a"), " edited")));
+	}
+
+	@Test
+	public void parsedPagesShareItems() throws Exception {
+		List<GankResult> android = page(Fixtures.DATA_ANDROID_50);
+		List<GankResult> again = page(Fixtures.DATA_ANDROID_50);
+		for (int i = 0; i < android.size(); i++) {
+			assertSame(android.get(i), again.get(i));
+		}
+	}
+
+	/**
+	 * 长时间滑动妹子页: 同一条干货被本地缓存页, 网络页, 全部 tab 和每日推荐各加载一次, 全部留在列表里
+	 */
+	@Test
+	public void repeatedLoadsKeepOneInstancePerItem() throws Exception {
+		List<GankResult> meizi = page(Fixtures.DATA_MEIZI_10);
+		int items = 5000;
+		int loads = 4;
+
+		GankResultPool pool = new GankResultPool();
+		List<GankResult> parsed = new ArrayList<>(items * loads);
+		for (int load = 0; load < loads; load++) {
+			for (int i = 0; i < items; i++) {
+				parsed.add(pool.canonical(copy(meizi.get(i % meizi.size()), "#" + i)));
+			}
+		}
+
+		assertEquals(items, pool.size());
+		Set<GankResult> distinct = Collections.newSetFromMap(new IdentityHashMap<GankResult, Boolean>());
+		distinct.addAll(parsed);
+		assertEquals(items, distinct.size());
+		for (int i = 0; i < items; i++) {
+			for (int load = 1; load < loads; load++) {
+				assertSame(parsed.get(i), parsed.get(load * items + i));
+			}
+		}
+		//字符串也只留一份
+		assertSame(parsed.get(0).who, parsed.get(meizi.size()).who);
+		assertSame(parsed.get(0).type, parsed.get(items - 1).type);
+	}
+
+	private static List<GankResult> page(String fixture) throws Exception {
+		GankResults<GankResult> page = GankGson.getInstance().fromJson(Fixtures.string(fixture),
+				new TypeToken<GankResults<GankResult>>() {
+				}.getType());
+		return page.getResults();
+	}
+
+	private static GankResult.Builder item(String url) {
+		return new GankResult.Builder()
+				.url(url)
+				.desc("desc")
+				.type("福利")
+				.who("daimajia")
+				.publishedAt(new Date(1473651595131L));
+	}
+
+	private static GankResult.Builder copy(GankResult source, String suffix) {
+		return copy(source.newBuilder(), suffix);
+	}
+
+	/**
+	 * 与重新解析一次 JSON 相同: 每个字段都是新的实例
+	 */
+	private static GankResult.Builder copy(GankResult.Builder source, String suffix) {
+		GankResult result = source.build();
+		return new GankResult.Builder()
+				.url(result.url + suffix)
+				.desc(new String(result.desc + suffix))
+				.type(new String(result.type))
+				.who(result.who == null ? null : new String(result.who))
+				.source(result.source == null ? null : new String(result.source))
+				.used(result.used == null ? null : new String(result.used))
+				.publishedAt(result.publishedAt == null ? null : new Date(result.publishedAt.getTime()))
+				.createdAt(result.createdAt == null ? null : new Date(result.createdAt.getTime()));
+	}
+}
@@ -0,0 +1,52 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.lazy.gank.Fixtures;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+
+import java.lang.reflect.Type;
+
+/**
+ * Created by lazy on 2026/10/17.
+ * <p>
+ * 手写 TypeAdapter 与 Gson 反射解析 api/data/Android/50/1 的耗时对比. 不是 *Test, 单元测试不会运行,
+ * 需要时在 IDE 里直接运行 main.
+ */
+public final class GankParseBenchmark {
+	private static final Type GANK_PAGE = new TypeToken<GankResults<GankResult>>() {
+	}.getType();
+	private static final int WARMUP = 2000;
+	private static final int ITERATIONS = 5000;
+
+	private GankParseBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		String json = Fixtures.string(Fixtures.DATA_ANDROID_50);
+		//首次解析 (包含反射/适配器创建的预热成本)
+		long reflectiveCold = time(new Gson(), json, 1);
+		long generatedCold = time(new GsonBuilder().registerTypeAdapterFactory(new GankTypeAdapterFactory()).create(), json, 1);
+
+		Gson reflective = new Gson();
+		Gson generated = GankGson.getInstance();
+		time(reflective, json, WARMUP);
+		time(generated, json, WARMUP);
+		long reflectiveWarm = time(reflective, json, ITERATIONS);
+		long generatedWarm = time(generated, json, ITERATIONS);
+
+		System.out.println("cold   reflective: " + reflectiveCold / 1000 + " us, generated: " + generatedCold / 1000 + " us");
+		System.out.println("warm   reflective: " + reflectiveWarm / ITERATIONS / 1000 + " us/op, generated: "
+				+ generatedWarm / ITERATIONS / 1000 + " us/op (50 items)");
+	}
+
+	private static long time(Gson gson, String json, int iterations) {
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			gson.fromJson(json, GANK_PAGE);
+		}
+		return System.nanoTime() - start;
+	}
+}
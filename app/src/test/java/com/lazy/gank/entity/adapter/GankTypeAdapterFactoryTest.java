@@ -0,0 +1,92 @@
+package com.lazy.gank.entity.adapter;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.lazy.gank.Fixtures;
+import com.lazy.gank.entity.DayGankResults;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.entity.GankSearchResults;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 手写 TypeAdapter 与 Gson 反射解析结果一致, 并对比两者创建的对象数; 耗时对比见 {@link GankParseBenchmark}
+ */
+public class GankTypeAdapterFactoryTest {
+	private static final Type GANK_PAGE = new TypeToken<GankResults<GankResult>>() {
+	}.getType();
+	private static final Type DAY_HISTORY = new TypeToken<GankResults<String>>() {
+	}.getType();
+
+	private final Gson mReflective = new Gson();
+	private final Gson mGenerated = GankGson.getInstance();
+
+	@Test
+	public void sameResultAsReflection() throws Exception {
+		assertSame(Fixtures.DATA_ANDROID_50, GANK_PAGE);
+		assertSame(Fixtures.DATA_MEIZI_10, GANK_PAGE);
+		assertSame(Fixtures.DATA_ALL_20, GANK_PAGE);
+		assertSame(Fixtures.DAY, DayGankResults.class);
+		assertSame(Fixtures.DAY_HISTORY, DAY_HISTORY);
+		assertSame(Fixtures.SEARCH, GankSearchResults.class);
+	}
+
+	@Test
+	public void writeThenReadRoundTrip() throws Exception {
+		GankResults<GankResult> page = mGenerated.fromJson(Fixtures.string(Fixtures.DATA_ANDROID_50), GANK_PAGE);
+		String json = mGenerated.toJson(page, GANK_PAGE);
+		GankResults<GankResult> again = mGenerated.fromJson(json, GANK_PAGE);
+		assertEquals(mReflective.toJson(page, GANK_PAGE), mReflective.toJson(again, GANK_PAGE));
+	}
+
+	@Test
+	public void noReflectiveAdapters() throws Exception {
+		assertTrue(mGenerated.getAdapter(GankResult.class) instanceof GankResultTypeAdapter);
+		assertTrue(mGenerated.getAdapter(TypeToken.get(GANK_PAGE)) instanceof GankResultsTypeAdapter);
+		assertTrue(mGenerated.getAdapter(TypeToken.get(DAY_HISTORY)) instanceof GankResultsTypeAdapter);
+		assertTrue(mGenerated.getAdapter(DayGankResults.class) instanceof DayGankResultsTypeAdapter);
+		assertTrue(mGenerated.getAdapter(GankSearchResults.class) instanceof GankSearchResultsTypeAdapter);
+	}
+
+	/**
+	 * 同一页加载多次 (本地页, 网络页, 刷新): 反射每次都新建每一条, 手写的经过 GankResultPool 只留一份
+	 */
+	@Test
+	public void repeatedParsesAllocateFewerItemsThanReflection() throws Exception {
+		String json = Fixtures.string(Fixtures.DATA_ANDROID_50);
+		int loads = 4;
+		Set<GankResult> reflective = Collections.newSetFromMap(new IdentityHashMap<GankResult, Boolean>());
+		Set<GankResult> generated = Collections.newSetFromMap(new IdentityHashMap<GankResult, Boolean>());
+		List<GankResults<GankResult>> pages = new ArrayList<>();
+		for (int i = 0; i < loads; i++) {
+			GankResults<GankResult> page = mReflective.fromJson(json, GANK_PAGE);
+			reflective.addAll(page.getResults());
+			pages.add(page);
+			page = mGenerated.fromJson(json, GANK_PAGE);
+			generated.addAll(page.getResults());
+			pages.add(page);
+		}
+
+		int items = pages.get(0).getResults().size();
+		assertEquals(items * loads, reflective.size());
+		assertEquals(items, generated.size());
+	}
+
+	private void assertSame(String fixture, Type type) throws Exception {
+		String json = Fixtures.string(fixture);
+		Object reflective = mReflective.fromJson(json, type);
+		Object generated = mGenerated.fromJson(json, type);
+		assertEquals(fixture, mReflective.toJson(reflective, type), mReflective.toJson(generated, type));
+	}
+}
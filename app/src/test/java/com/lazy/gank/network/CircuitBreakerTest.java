@@ -0,0 +1,57 @@
+package com.lazy.gank.network;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class CircuitBreakerTest {
+
+	@Test
+	public void opensAfterThresholdAndProbesAfterTimeout() {
+		CircuitBreaker breaker = new CircuitBreaker(3, 1000);
+		for (int i = 0; i < 3; i++) {
+			assertTrue(breaker.allowRequest(0));
+			breaker.onFailure(0);
+		}
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertFalse(breaker.allowRequest(999));
+
+		//半开只放行一个试探请求
+		assertTrue(breaker.allowRequest(1000));
+		assertFalse(breaker.allowRequest(1001));
+		breaker.onFailure(1002);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertFalse(breaker.allowRequest(1500));
+
+		assertTrue(breaker.allowRequest(2002));
+		breaker.onSuccess();
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertTrue(breaker.allowRequest(2003));
+	}
+
+	@Test
+	public void successResetsFailureCount() {
+		CircuitBreaker breaker = new CircuitBreaker(2, 1000);
+		breaker.onFailure(0);
+		breaker.onSuccess();
+		breaker.onFailure(0);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+	}
+
+	@Test
+	public void skippedTrialAllowsNextProbe() {
+		CircuitBreaker breaker = new CircuitBreaker(1, 1000);
+		breaker.onFailure(0);
+		assertTrue(breaker.allowRequest(1000));
+		//试探请求由缓存返回
+		breaker.onSkipped();
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		assertTrue(breaker.allowRequest(1001));
+		assertFalse(breaker.allowRequest(1002));
+	}
+}
@@ -0,0 +1,150 @@
+package com.lazy.gank.network;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import rx.Scheduler;
+import rx.functions.Action0;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class PrioritySchedulerTest {
+	private final ExecutorService mExecutor = Executors.newCachedThreadPool();
+
+	@After
+	public void tearDown() {
+		mExecutor.shutdownNow();
+	}
+
+	@Test
+	public void queuedTasksRunByPriority() throws Exception {
+		PriorityScheduler scheduler = new PriorityScheduler(mExecutor, 1, 1);
+		CountDownLatch release = block(scheduler.newGroup(RequestPriority.VISIBLE).scheduler());
+
+		List<String> order = Collections.synchronizedList(new ArrayList<String>());
+		CountDownLatch done = new CountDownLatch(3);
+		record(scheduler.newGroup(RequestPriority.PREFETCH).scheduler(), "prefetch", order, done);
+		record(scheduler.newGroup(RequestPriority.ADJACENT).scheduler(), "adjacent", order, done);
+		record(scheduler.newGroup(RequestPriority.VISIBLE).scheduler(), "visible", order, done);
+		release.countDown();
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("visible", "adjacent", "prefetch"), order);
+	}
+
+	@Test
+	public void switchingTabsReordersQueuedTasks() throws Exception {
+		PriorityScheduler scheduler = new PriorityScheduler(mExecutor, 1, 1);
+		CountDownLatch release = block(scheduler.newGroup(RequestPriority.VISIBLE).scheduler());
+
+		PriorityGroup left = scheduler.newGroup(RequestPriority.VISIBLE);
+		PriorityGroup right = scheduler.newGroup(RequestPriority.ADJACENT);
+		List<String> order = Collections.synchronizedList(new ArrayList<String>());
+		CountDownLatch done = new CountDownLatch(3);
+		record(left.scheduler(), "left", order, done);
+		record(right.scheduler(), "right", order, done);
+		//当前 tab 的预取不会因为切换 tab 排到前面
+		record(right.scheduler(RequestPriority.PREFETCH), "right-prefetch", order, done);
+		assertEquals(1, scheduler.getQueuedCount(RequestPriority.ADJACENT));
+
+		left.setPriority(RequestPriority.ADJACENT);
+		right.setPriority(RequestPriority.VISIBLE);
+		assertEquals(1, scheduler.getQueuedCount(RequestPriority.VISIBLE));
+		release.countDown();
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("right", "left", "right-prefetch"), order);
+	}
+
+	@Test
+	public void prefetchDoesNotTakeEveryThread() throws Exception {
+		PriorityScheduler scheduler = new PriorityScheduler(mExecutor, 3, 1);
+		PriorityGroup group = scheduler.newGroup(RequestPriority.VISIBLE);
+		CountDownLatch release = block(group.scheduler(RequestPriority.PREFETCH));
+
+		List<String> order = Collections.synchronizedList(new ArrayList<String>());
+		CountDownLatch prefetched = new CountDownLatch(1);
+		record(group.scheduler(RequestPriority.PREFETCH), "prefetch", order, prefetched);
+		CountDownLatch visible = new CountDownLatch(1);
+		record(group.scheduler(), "visible", order, visible);
+
+		//还有空闲线程, 但预取已经占满了自己的份额
+		assertTrue(visible.await(5, TimeUnit.SECONDS));
+		assertFalse(prefetched.await(100, TimeUnit.MILLISECONDS));
+		assertEquals(1, scheduler.getQueuedCount(RequestPriority.PREFETCH));
+
+		release.countDown();
+		assertTrue(prefetched.await(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("visible", "prefetch"), order);
+	}
+
+	@Test
+	public void taskRunsWithItsPriority() throws Exception {
+		PriorityScheduler scheduler = new PriorityScheduler(mExecutor, 2, 1);
+		PriorityGroup group = scheduler.newGroup(RequestPriority.ADJACENT);
+		final RequestPriority[] seen = new RequestPriority[2];
+		final CountDownLatch done = new CountDownLatch(2);
+		group.scheduler().createWorker().schedule(new Action0() {
+			@Override
+			public void call() {
+				seen[0] = RequestPriority.current();
+				done.countDown();
+			}
+		});
+		group.scheduler(RequestPriority.PREFETCH).createWorker().schedule(new Action0() {
+			@Override
+			public void call() {
+				seen[1] = RequestPriority.current();
+				done.countDown();
+			}
+		});
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(RequestPriority.ADJACENT, seen[0]);
+		assertEquals(RequestPriority.PREFETCH, seen[1]);
+	}
+
+	/**
+	 * 占住一个线程, 返回的 latch countDown 后释放
+	 */
+	private static CountDownLatch block(Scheduler scheduler) throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		scheduler.createWorker().schedule(new Action0() {
+			@Override
+			public void call() {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException ignored) {
+				}
+			}
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		return release;
+	}
+
+	private static void record(Scheduler scheduler, final String name, final List<String> order, final CountDownLatch done) {
+		scheduler.createWorker().schedule(new Action0() {
+			@Override
+			public void call() {
+				order.add(name);
+				done.countDown();
+			}
+		});
+	}
+}
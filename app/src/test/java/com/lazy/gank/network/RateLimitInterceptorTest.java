@@ -0,0 +1,102 @@
+package com.lazy.gank.network;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import rx.subscriptions.BooleanSubscription;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class RateLimitInterceptorTest {
+
+	@Test
+	public void burstThenThrottle() throws Exception {
+		RateLimitInterceptor.TokenBucket bucket = new RateLimitInterceptor(20, 2).getBucket("gank.io");
+
+		assertEquals(0, bucket.acquire(RequestPriority.VISIBLE));
+		assertEquals(0, bucket.acquire(RequestPriority.VISIBLE));
+		long waited = bucket.acquire(RequestPriority.VISIBLE);
+		//20/s -> 每个令牌 50ms
+		assertTrue("waited " + waited, waited >= 30 && waited < 500);
+		assertEquals(1, bucket.stats().throttled);
+	}
+
+	@Test
+	public void queuedRequestsLeaveInPriorityOrder() throws Exception {
+		final RateLimitInterceptor.TokenBucket bucket = new RateLimitInterceptor(5, 1).getBucket("gank.io");
+		bucket.acquire(RequestPriority.VISIBLE);
+
+		final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+		List<Thread> threads = new ArrayList<>();
+		String[] names = {"prefetch-1", "prefetch-2", "adjacent", "visible"};
+		RequestPriority[] priorities = {RequestPriority.PREFETCH, RequestPriority.PREFETCH,
+				RequestPriority.ADJACENT, RequestPriority.VISIBLE};
+		for (int i = 0; i < names.length; i++) {
+			final String name = names[i];
+			final RequestPriority priority = priorities[i];
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						bucket.acquire(priority);
+						order.add(name);
+					} catch (InterruptedException | IOException ignored) {
+					}
+				}
+			});
+			thread.start();
+			threads.add(thread);
+			//保证按顺序入队, 且都在第一个令牌 (200ms) 补充之前
+			while (bucket.getQueueDepth() < i + 1) {
+				Thread.sleep(1);
+			}
+		}
+		for (Thread thread : threads) {
+			thread.join(5000);
+		}
+
+		assertEquals(Arrays.asList("visible", "adjacent", "prefetch-1", "prefetch-2"), order);
+		assertEquals(0, bucket.getQueueDepth());
+	}
+
+	@Test
+	public void canceledWaiterLeavesQueueWithoutTakingToken() throws Exception {
+		final RateLimitInterceptor.TokenBucket bucket = new RateLimitInterceptor(5, 1).getBucket("gank.io");
+		bucket.acquire(RequestPriority.VISIBLE);
+
+		final BooleanSubscription call = new BooleanSubscription();
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+		Thread canceled = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					bucket.acquire(RequestPriority.VISIBLE, call);
+				} catch (InterruptedException | IOException e) {
+					error.set(e);
+				}
+			}
+		});
+		canceled.start();
+		while (bucket.getQueueDepth() < 1) {
+			Thread.sleep(1);
+		}
+		call.unsubscribe();
+		canceled.join(5000);
+
+		assertTrue(error.get() instanceof IOException);
+		assertEquals(0, bucket.getQueueDepth());
+		//下一个令牌 (200ms) 留给了后面的请求
+		long waited = bucket.acquire(RequestPriority.PREFETCH);
+		assertTrue("waited " + waited, waited < 250);
+	}
+}
@@ -0,0 +1,50 @@
+package com.lazy.gank.network.converter;
+
+import com.lazy.gank.bilibili.entity.Slideshow;
+import com.lazy.gank.entity.adapter.GankGson;
+
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class JsonpConverterFactoryTest {
+	private static final MediaType JS = MediaType.parse("application/javascript; charset=UTF-8");
+	private static final String JSON = "{\"code\":0,\"message\":\"success\",\"result\":[{\"id\":1,\"img\":\"http://i0.hdslb.com/a.jpg\","
+			+ "\"is_ad\":0,\"link\":\"http://bangumi.bilibili.com/anime/5551\",\"simg\":\"\",\"title\":\"标题\"}]}";
+
+	@SuppressWarnings("unchecked")
+	private static Converter<ResponseBody, Slideshow> converter() {
+		Retrofit retrofit = new Retrofit.Builder()
+				.baseUrl("http://bangumi.bilibili.com/")
+				.addConverterFactory(JsonpConverterFactory.create(GankGson.getInstance()))
+				.build();
+		return (Converter<ResponseBody, Slideshow>) (Converter<ResponseBody, ?>) retrofit.responseBodyConverter(Slideshow.class, new Annotation[0]);
+	}
+
+	@Test
+	public void stripsCallbackPadding() throws Exception {
+		Slideshow slideshow = converter().convert(ResponseBody.create(JS, "/**/ jsonp_1476668512_1 (" + JSON + ");\n"));
+
+		assertEquals(0, slideshow.getCode());
+		assertEquals(1, slideshow.getResult().size());
+		assertEquals("http://bangumi.bilibili.com/anime/5551", slideshow.getResult().get(0).getLink());
+		assertEquals("标题", slideshow.getResult().get(0).getTitle());
+	}
+
+	@Test
+	public void acceptsPlainJson() throws Exception {
+		Slideshow slideshow = converter().convert(ResponseBody.create(JS, "\n" + JSON));
+
+		assertEquals("http://i0.hdslb.com/a.jpg", slideshow.getResult().get(0).getImg());
+	}
+}
@@ -0,0 +1,95 @@
+package com.lazy.gank.network.converter;
+
+import com.google.gson.reflect.TypeToken;
+import com.lazy.gank.Fixtures;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.entity.adapter.GankGson;
+import com.lazy.gank.network.GankService;
+import com.lazy.gank.server.GankReplayServer;
+
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class MemoizingConverterFactoryTest {
+	private static final MediaType JSON = MediaType.parse("application/json; charset=UTF-8");
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void identicalBodyReusesParsedObject() throws Exception {
+		MemoizingConverterFactory factory = MemoizingConverterFactory.create();
+		Retrofit retrofit = new Retrofit.Builder()
+				.baseUrl("http://gank.io/")
+				.addConverterFactory(factory)
+				.addConverterFactory(GsonConverterFactory.create(GankGson.getInstance()))
+				.build();
+		Type type = new TypeToken<GankResults<GankResult>>() {
+		}.getType();
+		Converter<ResponseBody, GankResults<GankResult>> converter =
+				(Converter<ResponseBody, GankResults<GankResult>>) (Converter<ResponseBody, ?>) retrofit.responseBodyConverter(type, new Annotation[0]);
+
+		byte[] android = Fixtures.bytes(Fixtures.DATA_ANDROID_50);
+		GankResults<GankResult> first = converter.convert(ResponseBody.create(JSON, android));
+		GankResults<GankResult> second = converter.convert(ResponseBody.create(JSON, android));
+		GankResults<GankResult> other = converter.convert(ResponseBody.create(JSON, Fixtures.bytes(Fixtures.DATA_ALL_20)));
+
+		assertSame(first, second);
+		assertNotSame(first, other);
+		assertEquals(50, first.getResults().size());
+		assertEquals(1, factory.getHitCount());
+		assertEquals(2, factory.getMissCount());
+		//共享的列表是只读的
+		try {
+			first.getResults().remove(0);
+			fail();
+		} catch (UnsupportedOperationException expected) {
+		}
+		assertEquals(50, second.getResults().size());
+	}
+
+	@Test
+	public void repeatedServiceCallSkipsGson() throws Exception {
+		GankReplayServer server = new GankReplayServer.Builder().build();
+		server.start();
+		try {
+			MemoizingConverterFactory factory = MemoizingConverterFactory.create();
+			GankService service = new Retrofit.Builder()
+					.baseUrl(server.url())
+					.addConverterFactory(GankStreamConverterFactory.create(GankGson.getInstance()))
+					.addConverterFactory(factory)
+					.addConverterFactory(GsonConverterFactory.create(GankGson.getInstance()))
+					.addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+					.client(new OkHttpClient())
+					.build()
+					.create(GankService.class);
+
+			GankResults<GankResult> first = service.getCategoryData("Android", 50, 1).toBlocking().first();
+			GankResults<GankResult> second = service.getCategoryData("Android", 50, 1).toBlocking().first();
+
+			assertEquals(2, server.getServedCount());
+			assertSame(first, second);
+			assertEquals(1, factory.getHitCount());
+			assertEquals(1, factory.getMissCount());
+		} finally {
+			server.shutdown();
+		}
+	}
+}
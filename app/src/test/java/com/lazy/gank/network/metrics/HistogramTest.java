@@ -0,0 +1,43 @@
+package com.lazy.gank.network.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class HistogramTest {
+
+	@Test
+	public void bucketsCoverEveryValue() {
+		for (long value = 0; value < 1 << 20; value++) {
+			int index = Histogram.indexOf(value);
+			assertTrue(value >= Histogram.lowerBound(index) && value <= Histogram.upperBound(index));
+		}
+	}
+
+	@Test
+	public void percentilesWithinBucketError() {
+		Histogram histogram = new Histogram(60 * 1000);
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i);
+		}
+		Percentiles percentiles = histogram.snapshot();
+		assertEquals(1000, percentiles.count);
+		assertEquals(500, percentiles.p50, 500 * 0.125);
+		assertEquals(950, percentiles.p95, 950 * 0.125);
+		assertEquals(990, percentiles.p99, 990 * 0.125);
+		assertTrue(percentiles.max >= 1000);
+	}
+
+	@Test
+	public void valuesAboveMaxGoToLastBucket() {
+		Histogram histogram = new Histogram(100);
+		histogram.record(Long.MAX_VALUE);
+		histogram.record(-1);
+		assertEquals(2, histogram.count());
+		assertEquals(0, histogram.percentile(0.5));
+	}
+}
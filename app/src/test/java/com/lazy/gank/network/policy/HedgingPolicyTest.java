@@ -0,0 +1,116 @@
+package com.lazy.gank.network.policy;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Observable;
+import rx.Subscriber;
+import rx.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class HedgingPolicyTest {
+	private static final CallKey KEY = new CallKey("api/day/history", null);
+
+	@Test
+	public void slowPrimaryLosesToHedge() {
+		HedgingPolicy policy = new HedgingPolicy(1, Schedulers.io()).hedge(KEY.endpoint(), HedgingPolicy.fixed(50));
+		SlowFirstCall call = new SlowFirstCall(2000);
+
+		long start = System.currentTimeMillis();
+		int winner = policy.apply(KEY, call.observable()).toBlocking().single();
+
+		assertEquals(2, winner);
+		assertTrue(System.currentTimeMillis() - start < 1000);
+		//输的那个被取消
+		assertTrue(call.awaitCancelled());
+		assertEquals(1, policy.getHedgeCount());
+		assertEquals(1, policy.getHedgeWinCount());
+	}
+
+	@Test
+	public void fastPrimaryIsNotHedged() {
+		HedgingPolicy policy = new HedgingPolicy(1, Schedulers.io()).hedge(KEY.endpoint(), HedgingPolicy.fixed(200));
+		SlowFirstCall call = new SlowFirstCall(0);
+
+		assertEquals(1, (int) policy.apply(KEY, call.observable()).toBlocking().single());
+		assertEquals(1, call.mSubscriptions.get());
+		assertEquals(0, policy.getHedgeCount());
+	}
+
+	@Test
+	public void hedgesAreCappedByRatio() {
+		HedgingPolicy policy = new HedgingPolicy(0.5, Schedulers.io()).hedge(KEY.endpoint(), HedgingPolicy.fixed(20));
+		for (int i = 0; i < 6; i++) {
+			policy.apply(KEY, new SlowFirstCall(150).observable()).toBlocking().single();
+		}
+		assertEquals(6, policy.getCallCount());
+		//每个请求攒 0.5 个额度
+		assertEquals(3, policy.getHedgeCount());
+	}
+
+	@Test
+	public void notHedgedUnlessEnabled() {
+		HedgingPolicy policy = new HedgingPolicy(1, Schedulers.io());
+		SlowFirstCall call = new SlowFirstCall(150);
+
+		assertEquals(1, (int) policy.apply(KEY, call.observable()).toBlocking().single());
+		assertEquals(1, call.mSubscriptions.get());
+		assertEquals(0, policy.getCallCount());
+	}
+
+	/**
+	 * 同步执行的请求, 第一次订阅耗时 slowMillis, 之后立即返回; 结果为第几次订阅
+	 */
+	private static class SlowFirstCall {
+		final AtomicInteger mSubscriptions = new AtomicInteger();
+		final AtomicBoolean mCancelled = new AtomicBoolean();
+		private final long mSlowMillis;
+
+		SlowFirstCall(long slowMillis) {
+			this.mSlowMillis = slowMillis;
+		}
+
+		Observable<Integer> observable() {
+			return Observable.create(new Observable.OnSubscribe<Integer>() {
+				@Override
+				public void call(Subscriber<? super Integer> subscriber) {
+					int n = mSubscriptions.incrementAndGet();
+					if (n == 1) {
+						long deadline = System.currentTimeMillis() + mSlowMillis;
+						while (System.currentTimeMillis() < deadline) {
+							if (subscriber.isUnsubscribed()) {
+								mCancelled.set(true);
+								return;
+							}
+							sleep(5);
+						}
+					}
+					subscriber.onNext(n);
+					subscriber.onCompleted();
+				}
+			});
+		}
+
+		boolean awaitCancelled() {
+			for (int i = 0; i < 200 && !mCancelled.get(); i++) {
+				sleep(10);
+			}
+			return mCancelled.get();
+		}
+
+		private static void sleep(long millis) {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
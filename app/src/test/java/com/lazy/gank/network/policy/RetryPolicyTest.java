@@ -0,0 +1,46 @@
+package com.lazy.gank.network.policy;
+
+import com.lazy.gank.network.RequestPriority;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import rx.Observable;
+import rx.Subscriber;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class RetryPolicyTest {
+	private static final CallKey KEY = new CallKey("api/day/history", null);
+
+	@Test
+	public void retriesKeepPriority() {
+		final List<RequestPriority> priorities = new CopyOnWriteArrayList<>();
+		Observable<Integer> call = Observable.create(new Observable.OnSubscribe<Integer>() {
+			@Override
+			public void call(Subscriber<? super Integer> subscriber) {
+				priorities.add(RequestPriority.current());
+				if (priorities.size() < 3) {
+					subscriber.onError(new IOException("reset"));
+				} else {
+					subscriber.onNext(priorities.size());
+					subscriber.onCompleted();
+				}
+			}
+		});
+
+		RetryPolicy policy = new RetryPolicy(3, 1, 1);
+		int result = RequestPriority.PREFETCH.apply(policy.apply(KEY, call)).toBlocking().single();
+
+		assertEquals(3, result);
+		for (RequestPriority priority : priorities) {
+			assertEquals(RequestPriority.PREFETCH, priority);
+		}
+	}
+}
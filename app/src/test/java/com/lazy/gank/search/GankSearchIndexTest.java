@@ -0,0 +1,90 @@
+package com.lazy.gank.search;
+
+import com.google.gson.reflect.TypeToken;
+import com.lazy.gank.Fixtures;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.entity.adapter.GankGson;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class GankSearchIndexTest {
+
+	@Test
+	public void bigramTokenizer() {
+		assertEquals(Arrays.asList("android", "性能", "能优", "优化", "rxjava2", "篇"),
+				Tokenizer.tokenize("Android 性能优化, RxJava2 篇"));
+	}
+
+	@Test
+	public void indexKeepsSingleCharacters() {
+		List<String> tokens = new ArrayList<>();
+		Tokenizer.tokenize("图片加载", true, tokens);
+		assertEquals(Arrays.asList("图", "片", "加", "载", "图片", "片加", "加载"), tokens);
+
+		GankSearchIndex index = new GankSearchIndex();
+		index.add(result("1", "图片加载框架对比", "Android"));
+		index.add(result("2", "RecyclerView 下拉刷新", "Android"));
+		assertEquals("1", index.search("图", 10).get(0).url);
+		assertEquals(1, index.search("图片", 10).size());
+	}
+
+	@Test
+	public void ranksByBm25() {
+		GankSearchIndex index = new GankSearchIndex();
+		index.add(result("1", "RecyclerView 下拉刷新", "Android"));
+		index.add(result("2", "性能优化: RecyclerView 复用与 RecyclerView 预取", "Android"));
+		index.add(result("3", "Swift 性能优化", "iOS"));
+
+		List<GankResult> hits = index.search("recyclerview", 10);
+		assertEquals(2, hits.size());
+		assertEquals("2", hits.get(0).url);
+
+		assertEquals(2, index.search("性能优化", 10).size());
+		assertEquals("3", index.search("性能优化", "iOS", 10).get(0).url);
+		assertTrue(index.search("kotlin", 10).isEmpty());
+
+		//重复的 url 不重复建索引
+		index.add(result("1", "RecyclerView 下拉刷新", "Android"));
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	public void searchesLargeIndex() throws Exception {
+		GankResults<GankResult> page = GankGson.getInstance().fromJson(Fixtures.string(Fixtures.DATA_ANDROID_50),
+				new TypeToken<GankResults<GankResult>>() {
+				}.getType());
+		GankSearchIndex index = new GankSearchIndex();
+		List<GankResult> copies = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			for (GankResult source : page.getResults()) {
+				copies.add(source.newBuilder().url(source.url + "#" + i).desc(source.desc + " " + i).build());
+			}
+		}
+		index.addAll(copies);
+		assertEquals(30000, index.size());
+
+		List<GankResult> hits = index.search("recyclerview", 20);
+		assertEquals(20, hits.size());
+		for (GankResult hit : hits) {
+			assertTrue(hit.desc.toLowerCase().contains("recyclerview"));
+		}
+		assertEquals(20, index.search("性能优化", 20).size());
+		//全部是 Android
+		assertTrue(index.search("性能优化", "iOS", 20).isEmpty());
+	}
+
+	private static GankResult result(String url, String desc, String type) {
+		return new GankResult.Builder().url(url).desc(desc).type(type).build();
+	}
+}
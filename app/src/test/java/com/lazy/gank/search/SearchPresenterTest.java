@@ -0,0 +1,90 @@
+package com.lazy.gank.search;
+
+import com.lazy.gank.entity.GankSearchResults;
+import com.lazy.gank.network.GankService;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import rx.Observable;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class SearchPresenterTest {
+	private GankService mGankService;
+	private SearchPresenter mPresenter;
+	private TestScheduler mScheduler;
+
+	@Before
+	public void setUp() {
+		mGankService = mock(GankService.class);
+		when(mGankService.search(anyString(), anyString(), anyInt(), anyInt()))
+				.thenReturn(Observable.just(new GankSearchResults()));
+		SearchContract.View view = mock(SearchContract.View.class);
+		when(view.getCategory()).thenReturn("all");
+		when(view.getCount()).thenReturn(10);
+		mPresenter = new SearchPresenter();
+		mPresenter.setGankService(mGankService);
+		mPresenter.setView(view);
+		mScheduler = new TestScheduler();
+	}
+
+	@Test
+	public void normalize() {
+		assertEquals("rxjava 教程", QueryNormalizer.normalize("　ＲｘＪａｖａ  教程 "));
+		assertEquals("", QueryNormalizer.normalize("   "));
+	}
+
+	@Test
+	public void debouncesKeystrokesAndCachesPages() throws Exception {
+		PublishSubject<CharSequence> queries = PublishSubject.create();
+		TestSubscriber<GankSearchResults> subscriber = new TestSubscriber<>();
+		mPresenter.typeahead(queries, mScheduler).subscribe(subscriber);
+
+		queries.onNext("R");
+		queries.onNext("Rx");
+		mScheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+		queries.onNext("RxJ");
+		mScheduler.advanceTimeBy(SearchPresenter.DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+		verify(mGankService, timeout(1000)).search("rxj", "all", 10, 1);
+		awaitResults(subscriber, 1);
+
+		//只改了大小写/空白, 归一化后相同, 不会再次搜索
+		queries.onNext(" rxj ");
+		mScheduler.advanceTimeBy(SearchPresenter.DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+		//换个词再回来, 命中结果页缓存
+		queries.onNext("rx");
+		mScheduler.advanceTimeBy(SearchPresenter.DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+		awaitResults(subscriber, 2);
+		queries.onNext("rxj");
+		mScheduler.advanceTimeBy(SearchPresenter.DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+		awaitResults(subscriber, 3);
+
+		verify(mGankService, times(1)).search("rxj", "all", 10, 1);
+		verify(mGankService, times(1)).search("rx", "all", 10, 1);
+		verify(mGankService, times(0)).search("r", "all", 10, 1);
+	}
+
+	private void awaitResults(TestSubscriber<GankSearchResults> subscriber, int count) throws InterruptedException {
+		for (int i = 0; i < 100 && subscriber.getOnNextEvents().size() < count; i++) {
+			Thread.sleep(10);
+			mScheduler.triggerActions();
+		}
+		assertEquals(count, subscriber.getOnNextEvents().size());
+	}
+}
@@ -0,0 +1,54 @@
+package com.lazy.gank.server;
+
+import com.lazy.gank.entity.adapter.GankGson;
+import com.lazy.gank.interfaces.IConstant;
+import com.lazy.gank.network.GankService;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.File;
+
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Created by lazy on 2026/10/17.
+ * <p>
+ * 重新录制 gank.io 的响应, 默认跳过. 录制到指定目录:
+ * <pre>
+ * GANK_RECORD=app/src/test/resources/gank ./gradlew testDebugUnitTest --tests '*GankRecorderTest'
+ * </pre>
+ */
+public class GankRecorderTest {
+
+	@Test
+	public void recordEveryEndpoint() throws Exception {
+		String directory = System.getenv("GANK_RECORD");
+		Assume.assumeTrue(directory != null && !directory.isEmpty());
+		File dir = new File(directory);
+		Assume.assumeTrue(dir.isDirectory() || dir.mkdirs());
+
+		OkHttpClient client = new OkHttpClient.Builder()
+				.addInterceptor(new RecordingInterceptor(dir))
+				.build();
+		GankService service = new Retrofit.Builder()
+				.baseUrl(IConstant.GANHUO_API)
+				.addConverterFactory(GsonConverterFactory.create(GankGson.getInstance()))
+				.addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+				.client(client)
+				.build()
+				.create(GankService.class);
+
+		service.getCategoryData("Android", 50, 1).toBlocking().first();
+		service.getCategoryData("福利", 10, 1).toBlocking().first();
+		service.getCategoryData("all", 20, 1).toBlocking().first();
+		service.getDayHistoty(null).toBlocking().first();
+		service.getGankByDate("2016", "09", "12").toBlocking().first();
+		service.getHistoty(10, 1).toBlocking().first();
+		service.getHistotyByDay("2016", "09", "12").toBlocking().first();
+		service.search("listview", "Android", 10, 1).toBlocking().first();
+	}
+}
@@ -0,0 +1,239 @@
+package com.lazy.gank.server;
+
+import com.lazy.gank.Fixtures;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 进程内的 gank.io 替身: 回放 src/test/resources/gank 下录制的响应 (见 {@link RecordingInterceptor}),
+ * 可以注入延迟 / 带宽限制 / 错误, 用来在普通 Linux 机器上压测 presenter 和网络层.
+ * <p>
+ * 错误注入用 (seed, 路径, 该路径第几次请求) 决定, 同样的请求顺序每次得到同样的结果.
+ * <pre>
+ * GankReplayServer server = new GankReplayServer.Builder()
+ *         .latency(80, 40)
+ *         .bandwidth(64 * 1024)
+ *         .serverErrorRate(0.1)
+ *         .build();
+ * server.start();
+ * Retrofit retrofit = new Retrofit.Builder().baseUrl(server.url())...
+ * </pre>
+ */
+public final class GankReplayServer {
+	private final MockWebServer mServer = new MockWebServer();
+	private final Builder mConfig;
+	private final Map<String, byte[]> mBodies = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, AtomicInteger> mHits = new ConcurrentHashMap<>();
+	private final AtomicInteger mServed = new AtomicInteger();
+	private final AtomicInteger mInjected = new AtomicInteger();
+	private final AtomicLong mBytes = new AtomicLong();
+
+	private GankReplayServer(Builder builder) {
+		this.mConfig = builder;
+		mServer.setDispatcher(new ReplayDispatcher());
+	}
+
+	public void start() throws IOException {
+		mServer.start();
+	}
+
+	public void shutdown() throws IOException {
+		mServer.shutdown();
+	}
+
+	/**
+	 * @return 相当于 {@link com.lazy.gank.interfaces.IConstant#GANHUO_API}
+	 */
+	public HttpUrl url() {
+		return mServer.url("/");
+	}
+
+	/**
+	 * @return 收到的请求数 (包括注入错误的)
+	 */
+	public int getRequestCount() {
+		return mServer.getRequestCount();
+	}
+
+	/**
+	 * @return 正常回放的响应数
+	 */
+	public int getServedCount() {
+		return mServed.get();
+	}
+
+	/**
+	 * @return 注入错误的次数
+	 */
+	public int getInjectedErrorCount() {
+		return mInjected.get();
+	}
+
+	/**
+	 * @return 回放的 body 总字节数
+	 */
+	public long getServedBytes() {
+		return mBytes.get();
+	}
+
+	private MockResponse replay(String path) throws InterruptedException {
+		String fixture = mConfig.mAliases.containsKey(path) ? mConfig.mAliases.get(path) : Fixtures.nameOf(path);
+		byte[] body = mBodies.get(fixture);
+		if (body == null) {
+			try {
+				body = Fixtures.bytes(fixture);
+			} catch (IOException e) {
+				return new MockResponse().setResponseCode(404);
+			}
+			mBodies.put(fixture, body);
+		}
+
+		long hash = hash(path);
+		long latency = mConfig.mLatencyMillis + (long) (uniform(hash) * mConfig.mJitterMillis);
+		if (latency > 0) {
+			//在返回响应头之前等待, 相当于服务器处理时间 + RTT
+			Thread.sleep(latency);
+		}
+
+		double roll = uniform(mix(hash));
+		if (roll < mConfig.mDisconnectRate) {
+			mInjected.incrementAndGet();
+			return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START);
+		}
+		if (roll < mConfig.mDisconnectRate + mConfig.mServerErrorRate) {
+			mInjected.incrementAndGet();
+			return new MockResponse().setResponseCode(503);
+		}
+
+		MockResponse response = new MockResponse()
+				.setHeader("Content-Type", "application/json; charset=utf-8")
+				.setBody(new Buffer().write(body));
+		if (mConfig.mBytesPerSecond > 0) {
+			//每 100ms 发送 1/10 的带宽
+			response.throttleBody(Math.max(1, mConfig.mBytesPerSecond / 10), 100, TimeUnit.MILLISECONDS);
+		}
+		mServed.incrementAndGet();
+		mBytes.addAndGet(body.length);
+		return response;
+	}
+
+	private long hash(String path) {
+		mHits.putIfAbsent(path, new AtomicInteger());
+		int hit = mHits.get(path).getAndIncrement();
+		return mix(mix(mix(mConfig.mSeed) ^ path.hashCode()) ^ hit);
+	}
+
+	/**
+	 * SplitMix64, 相邻的输入也得到不相关的输出 (java.util.Random 相邻 seed 的第一个值几乎一样)
+	 */
+	private static long mix(long z) {
+		z += 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * @return [0, 1)
+	 */
+	private static double uniform(long hash) {
+		return (hash >>> 11) * 0x1.0p-53;
+	}
+
+	private final class ReplayDispatcher extends Dispatcher {
+		@Override
+		public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+			if (!"GET".equals(request.getMethod())) {
+				return new MockResponse().setResponseCode(405);
+			}
+			String path = request.getPath();
+			int query = path.indexOf('?');
+			return replay(query < 0 ? path : path.substring(0, query));
+		}
+	}
+
+	public static final class Builder {
+		long mLatencyMillis;
+		long mJitterMillis;
+		long mBytesPerSecond;
+		double mServerErrorRate;
+		double mDisconnectRate;
+		long mSeed = 1;
+		final Map<String, String> mAliases = new LinkedHashMap<>();
+
+		/**
+		 * @param millis       每个请求在返回响应头之前的固定延迟
+		 * @param jitterMillis 额外的随机延迟 [0, jitterMillis)
+		 * @return
+		 */
+		public Builder latency(long millis, long jitterMillis) {
+			this.mLatencyMillis = millis;
+			this.mJitterMillis = jitterMillis;
+			return this;
+		}
+
+		/**
+		 * @param bytesPerSecond 每个响应 body 的发送速率, 0 表示不限
+		 * @return
+		 */
+		public Builder bandwidth(long bytesPerSecond) {
+			this.mBytesPerSecond = bytesPerSecond;
+			return this;
+		}
+
+		/**
+		 * @param rate 返回 503 的比例
+		 * @return
+		 */
+		public Builder serverErrorRate(double rate) {
+			this.mServerErrorRate = rate;
+			return this;
+		}
+
+		/**
+		 * @param rate 不返回响应直接断开连接的比例
+		 * @return
+		 */
+		public Builder disconnectRate(double rate) {
+			this.mDisconnectRate = rate;
+			return this;
+		}
+
+		public Builder seed(long seed) {
+			this.mSeed = seed;
+			return this;
+		}
+
+		/**
+		 * 没有录制的路径使用另一个录制文件, 如翻页时 api/data/Android/50/2 -> api_data_Android_50_1.json
+		 *
+		 * @param encodedPath
+		 * @param fixture
+		 * @return
+		 */
+		public Builder alias(String encodedPath, String fixture) {
+			mAliases.put(encodedPath.startsWith("/") ? encodedPath : "/" + encodedPath, fixture);
+			return this;
+		}
+
+		public GankReplayServer build() {
+			return new GankReplayServer(this);
+		}
+	}
+}
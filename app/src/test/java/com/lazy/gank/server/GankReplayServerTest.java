@@ -0,0 +1,174 @@
+package com.lazy.gank.server;
+
+import com.lazy.gank.Fixtures;
+import com.lazy.gank.entity.GankResult;
+import com.lazy.gank.entity.GankResults;
+import com.lazy.gank.entity.adapter.GankGson;
+import com.lazy.gank.network.EndpointMatcher;
+import com.lazy.gank.network.GankService;
+import com.lazy.gank.network.metrics.NetworkMetrics;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.HttpException;
+import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class GankReplayServerTest {
+	private final List<GankReplayServer> mServers = new ArrayList<>();
+
+	@After
+	public void tearDown() throws Exception {
+		for (GankReplayServer server : mServers) {
+			server.shutdown();
+		}
+	}
+
+	private GankReplayServer start(GankReplayServer.Builder builder) throws Exception {
+		GankReplayServer server = builder.build();
+		server.start();
+		mServers.add(server);
+		return server;
+	}
+
+	private static GankService service(GankReplayServer server, OkHttpClient client) {
+		return new Retrofit.Builder()
+				.baseUrl(server.url())
+				.addConverterFactory(GsonConverterFactory.create(GankGson.getInstance()))
+				.addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+				.client(client)
+				.build()
+				.create(GankService.class);
+	}
+
+	@Test
+	public void replaysRecordedResponses() throws Exception {
+		GankReplayServer server = start(new GankReplayServer.Builder()
+				.alias("api/data/Android/50/2", Fixtures.DATA_ANDROID_50));
+		GankService service = service(server, new OkHttpClient());
+
+		assertEquals(50, service.getCategoryData("Android", 50, 1).toBlocking().first().getResults().size());
+		assertEquals(50, service.getCategoryData("Android", 50, 2).toBlocking().first().getResults().size());
+		assertEquals(10, service.getCategoryData("福利", 10, 1).toBlocking().first().getResults().size());
+		assertFalse(service.getDayHistoty(null).toBlocking().first().getResults().isEmpty());
+		assertNotNull(service.getHistoty(10, 1).toBlocking().first());
+		assertNotNull(service.getHistotyByDay("2016", "09", "12").toBlocking().first());
+		try {
+			service.getCategoryData("iOS", 10, 1).toBlocking().first();
+			fail();
+		} catch (RuntimeException e) {
+			//toBlocking() 把受检异常包一层
+			assertEquals(404, ((HttpException) e.getCause()).code());
+		}
+		assertEquals(6, server.getServedCount());
+	}
+
+	@Test
+	public void sameSeedInjectsSameErrors() throws Exception {
+		GankReplayServer.Builder builder = new GankReplayServer.Builder()
+				.serverErrorRate(0.3)
+				.disconnectRate(0.1)
+				.seed(42);
+		String first = failurePattern(start(builder));
+		String second = failurePattern(start(builder));
+
+		assertEquals(first, second);
+		assertTrue(first, first.contains("x"));
+		assertTrue(first, first.contains("."));
+	}
+
+	private static String failurePattern(GankReplayServer server) {
+		OkHttpClient client = new OkHttpClient.Builder().retryOnConnectionFailure(false).build();
+		GankService service = service(server, client);
+		StringBuilder pattern = new StringBuilder();
+		for (int i = 0; i < 30; i++) {
+			try {
+				service.getCategoryData("all", 20, 1).toBlocking().first();
+				pattern.append('.');
+			} catch (RuntimeException e) {
+				pattern.append('x');
+			}
+		}
+		assertEquals(pattern.toString().replace(".", "").length(), server.getInjectedErrorCount());
+		return pattern.toString();
+	}
+
+	@Test
+	public void latencyAndBandwidthSlowDownResponses() throws Exception {
+		//15208 字节 / 30000 字节每秒 ≈ 500ms, 再加 100ms 延迟
+		GankReplayServer server = start(new GankReplayServer.Builder()
+				.latency(100, 0)
+				.bandwidth(30000));
+		GankService service = service(server, new OkHttpClient());
+
+		long start = System.nanoTime();
+		GankResults<GankResult> results = service.getCategoryData("Android", 50, 1).toBlocking().first();
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertEquals(50, results.getResults().size());
+		assertTrue("elapsed " + elapsed, elapsed >= 500);
+	}
+
+	@Test
+	public void concurrentLoadIsVisibleInNetworkMetrics() throws Exception {
+		GankReplayServer server = start(new GankReplayServer.Builder().latency(5, 5));
+		NetworkMetrics metrics = new NetworkMetrics(new EndpointMatcher(GankService.class));
+		OkHttpClient client = new OkHttpClient.Builder()
+				.dns(metrics.dns())
+				.socketFactory(metrics.socketFactory())
+				.addInterceptor(metrics.interceptor())
+				.addNetworkInterceptor(metrics.networkInterceptor())
+				.build();
+		final GankService service = service(server, client);
+
+		final int threads = 4;
+		final int perThread = 25;
+		final AtomicInteger ok = new AtomicInteger();
+		final CountDownLatch done = new CountDownLatch(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		for (int t = 0; t < threads; t++) {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int i = 0; i < perThread; i++) {
+							if (!service.getCategoryData("all", 20, 1).toBlocking().first().error) {
+								ok.incrementAndGet();
+							}
+						}
+					} finally {
+						done.countDown();
+					}
+				}
+			});
+		}
+		assertTrue(done.await(30, TimeUnit.SECONDS));
+		executor.shutdown();
+
+		assertEquals(threads * perThread, ok.get());
+		assertEquals(threads * perThread, server.getServedCount());
+		assertEquals(threads * perThread, metrics.get("api/data/{category}/{count}/{page}").totalLatency().count);
+		assertTrue(metrics.getThroughputEstimator().getLatencyMillis() >= 5);
+		assertTrue(metrics.getThroughputEstimator().getBytesPerSecond() > 0);
+	}
+}
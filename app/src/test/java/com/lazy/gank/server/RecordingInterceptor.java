@@ -0,0 +1,45 @@
+package com.lazy.gank.server;
+
+import com.lazy.gank.Fixtures;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Created by lazy on 2026/10/17.
+ *
+ * @Describe 把成功的 GET 响应 body 按 {@link Fixtures#nameOf(String)} 写进目录, 供 {@link GankReplayServer} 回放
+ */
+public final class RecordingInterceptor implements Interceptor {
+	private final File mDirectory;
+
+	public RecordingInterceptor(File directory) {
+		this.mDirectory = directory;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		Response response = chain.proceed(request);
+		if (!"GET".equals(request.method()) || !response.isSuccessful()) {
+			return response;
+		}
+		byte[] body = response.body().bytes();
+		File file = new File(mDirectory, Fixtures.nameOf(request.url().encodedPath()));
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(body);
+		} finally {
+			out.close();
+		}
+		return response.newBuilder()
+				.body(ResponseBody.create(response.body().contentType(), body))
+				.build();
+	}
+}
@@ -0,0 +1,48 @@
+package com.lazy.gank.util;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created by lazy on 2026/10/17.
+ */
+public class GankDateFormatTest {
+
+	@Test
+	public void parseGankFormats() throws Exception {
+		SimpleDateFormat iso = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ", Locale.US);
+		assertEquals(iso.parse("2016-09-12T11:39:55.131+0000").getTime(), GankDateFormat.parse("2016-09-12T11:39:55.131Z"));
+		assertEquals(iso.parse("2016-09-01T11:38:12.986+0000").getTime(), GankDateFormat.parse("2016-09-01T11:38:12.986000"));
+		assertEquals(iso.parse("2016-09-12T11:39:55.000+0800").getTime(), GankDateFormat.parse("2016-09-12 11:39:55+08:00"));
+		assertEquals(iso.parse("2016-02-29T00:00:00.000+0000").getTime(), GankDateFormat.parse("2016-02-29"));
+		assertEquals(GankDateFormat.INVALID, GankDateFormat.parse("Sep 12, 2016 11:39:55 AM"));
+		assertEquals(GankDateFormat.INVALID, GankDateFormat.parse("2016-09-12T11:39"));
+	}
+
+	@Test
+	public void epochMillisOfDay() {
+		assertEquals(GankDateFormat.parse("2016-09-12"), GankDateFormat.epochMillisOfDay(20160912));
+		assertEquals(GankDateFormat.parse("2016-02-29"), GankDateFormat.epochMillisOfDay(20160229));
+		assertEquals(0, GankDateFormat.epochMillisOfDay(19700101));
+	}
+
+	@Test
+	public void formatMatchesSimpleDateFormat() {
+		SimpleDateFormat monthDay = new SimpleDateFormat("MM-dd H:m");
+		SimpleDateFormat iso = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+		iso.setTimeZone(TimeZone.getTimeZone("UTC"));
+		long start = GankDateFormat.parse("1999-12-31T23:59:59.999Z");
+		for (long millis = start; millis < start + 30L * 366 * 24 * 3600 * 1000; millis += 7919L * 60 * 1000 + 13) {
+			Date date = new Date(millis);
+			assertEquals(monthDay.format(date), GankDateFormat.formatMonthDayTime(millis));
+			assertEquals(iso.format(date), GankDateFormat.formatIso(millis));
+			assertEquals(millis, GankDateFormat.parse(GankDateFormat.formatIso(millis)));
+		}
+	}
+}